@@ -0,0 +1,116 @@
+package com.github.natche.cyderutils.animation;
+
+import com.google.common.base.Preconditions;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A single timeline which advances every active {@link FrameAnimation} once per frame on the event dispatch thread.
+ * All animations are driven by one {@link Timer} instead of a sleeping thread per animation, and since every
+ * animation mutates its components within the same event, Swing coalesces their repaints into a single pass.
+ * The timer only runs while animations are active.
+ */
+public enum AnimationScheduler {
+    /** The animation scheduler instance. */
+    INSTANCE;
+
+    /** The delay between frames in milliseconds, approximately the refresh interval of a 60Hz display. */
+    private static final int FRAME_DELAY_MS = 16;
+
+    /** Animations scheduled since the last frame, moved onto the active list at the start of each frame. */
+    private final ConcurrentLinkedQueue<ScheduledAnimation> pendingAnimations = new ConcurrentLinkedQueue<>();
+
+    /** The animations advanced each frame; only accessed on the event dispatch thread. */
+    private final ArrayList<ScheduledAnimation> activeAnimations = new ArrayList<>();
+
+    /** The timer which fires frames on the event dispatch thread. */
+    private final Timer frameTimer;
+
+    AnimationScheduler() {
+        frameTimer = new Timer(FRAME_DELAY_MS, e -> advanceFrame(System.nanoTime()));
+        frameTimer.setInitialDelay(0);
+        frameTimer.setCoalesce(true);
+    }
+
+    /**
+     * Schedules the provided animation to be advanced each frame until it completes.
+     * This method may be invoked from any thread.
+     *
+     * @param animation the animation
+     * @return the scheduled animation which may be used to cancel it
+     * @throws NullPointerException if the provided animation is null
+     */
+    @CanIgnoreReturnValue
+    public ScheduledAnimation schedule(FrameAnimation animation) {
+        return schedule(animation, () -> {});
+    }
+
+    /**
+     * Schedules the provided animation to be advanced each frame until it completes.
+     * This method may be invoked from any thread.
+     *
+     * @param animation  the animation
+     * @param onFinished the runnable to invoke on the event dispatch thread
+     *                   once the animation completes or is canceled
+     * @return the scheduled animation which may be used to cancel it
+     * @throws NullPointerException if the provided animation or runnable is null
+     */
+    @CanIgnoreReturnValue
+    public ScheduledAnimation schedule(FrameAnimation animation, Runnable onFinished) {
+        Preconditions.checkNotNull(animation);
+        Preconditions.checkNotNull(onFinished);
+
+        ScheduledAnimation ret = new ScheduledAnimation(animation, onFinished);
+        pendingAnimations.add(ret);
+        frameTimer.start();
+        return ret;
+    }
+
+    /**
+     * Returns whether any animations are scheduled or active.
+     *
+     * @return whether any animations are scheduled or active
+     */
+    public boolean isRunning() {
+        return frameTimer.isRunning();
+    }
+
+    /**
+     * Returns the number of animations which have received a frame and have not yet finished.
+     * Must only be invoked on the event dispatch thread.
+     *
+     * @return the number of active animations
+     */
+    int getActiveAnimationCount() {
+        return activeAnimations.size();
+    }
+
+    /**
+     * Advances all active animations by one frame, stopping the timer if none remain.
+     * Must only be invoked on the event dispatch thread.
+     *
+     * @param frameNanos the value of {@link System#nanoTime()} for the frame
+     */
+    void advanceFrame(long frameNanos) {
+        ScheduledAnimation pending;
+        while ((pending = pendingAnimations.poll()) != null) {
+            activeAnimations.add(pending);
+        }
+
+        Iterator<ScheduledAnimation> iterator = activeAnimations.iterator();
+        while (iterator.hasNext()) {
+            if (!iterator.next().advance(frameNanos)) iterator.remove();
+        }
+
+        if (activeAnimations.isEmpty()) {
+            frameTimer.stop();
+
+            // An animation may have been scheduled between draining the queue and stopping the timer
+            if (!pendingAnimations.isEmpty()) frameTimer.start();
+        }
+    }
+}
@@ -2,8 +2,6 @@ package com.github.natche.cyderutils.animation;
 
 import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
-import com.github.natche.cyderutils.threads.CyderThreadRunner;
-import com.github.natche.cyderutils.threads.ThreadUtil;
 
 import java.awt.*;
 import java.time.Duration;
@@ -164,7 +162,9 @@ public final class ComponentAnimator {
     }
 
     /**
-     * Animates this component.
+     * Animates this component on the {@link AnimationScheduler}.
+     * The component moves {@link #getAnimationIncrement()} pixels per {@link #getAnimationDelay()},
+     * with its position derived from the elapsed time so that dropped frames do not slow the animation.
      *
      * @return this animator
      * @throws IllegalStateException if this component is already animating
@@ -176,55 +176,34 @@ public final class ComponentAnimator {
 
         isAnimating.set(true);
 
-        String animationThreadName = getAnimationThreadName();
-        CyderThreadRunner.submit(() -> {
-            switch (animationDirection) {
-                case LEFT -> {
-                    int y = animationComponent.getY();
-                    animationComponent.setLocation(animationStart, y);
-                    for (int i = animationStart ; i >= animationEnd ; i -= animationIncrement) {
-                        if (stoppingAnimation.get()) break;
-                        animationComponent.setLocation(i, y);
-                        ThreadUtil.sleep(animationDelay);
-                    }
-                    animationComponent.setLocation(animationEnd, y);
-                }
-                case RIGHT -> {
-                    int y = animationComponent.getY();
-                    animationComponent.setLocation(animationStart, y);
-                    for (int i = animationStart ; i <= animationEnd ; i += animationIncrement) {
-                        if (stoppingAnimation.get()) break;
-                        animationComponent.setLocation(i, y);
-                        ThreadUtil.sleep(animationDelay);
-                    }
-                    animationComponent.setLocation(animationEnd, y);
-                }
-                case TOP -> {
-                    int x = animationComponent.getX();
-                    animationComponent.setLocation(x, animationStart);
-                    for (int i = animationStart ; i >= animationEnd ; i -= animationIncrement) {
-                        if (stoppingAnimation.get()) break;
-                        animationComponent.setLocation(x, i);
-                        ThreadUtil.sleep(animationDelay);
-                    }
-                    animationComponent.setLocation(x, animationEnd);
-                }
-                case BOTTOM -> {
-                    int x = animationComponent.getX();
-                    animationComponent.setLocation(x, animationStart);
-                    for (int i = animationStart ; i <= animationEnd ; i += animationIncrement) {
-                        if (stoppingAnimation.get()) break;
-                        animationComponent.setLocation(x, i);
-                        ThreadUtil.sleep(animationDelay);
-                    }
-                    animationComponent.setLocation(x, animationEnd);
-                }
-                case default -> throw new IllegalStateException("Invalid animation direction: " + animationDirection);
+        boolean horizontal = switch (animationDirection) {
+            case LEFT, RIGHT -> true;
+            case TOP, BOTTOM -> false;
+            case default -> throw new IllegalStateException("Invalid animation direction: " + animationDirection);
+        };
+        int fixedCoordinate = horizontal ? animationComponent.getY() : animationComponent.getX();
+        int distance = Math.abs(animationEnd - animationStart);
+        int sign = animationEnd > animationStart ? 1 : -1;
+        long delayNanos = animationDelay.toNanos();
+        int increment = animationIncrement;
+
+        AnimationScheduler.INSTANCE.schedule(elapsedNanos -> {
+            long steps = delayNanos == 0 ? Long.MAX_VALUE : elapsedNanos / delayNanos;
+            long travelled = steps >= distance ? distance : Math.min(distance, steps * increment);
+            boolean complete = stoppingAnimation.get() || travelled == distance;
+
+            int position = complete ? animationEnd : animationStart + sign * (int) travelled;
+            if (horizontal) {
+                animationComponent.setLocation(position, fixedCoordinate);
+            } else {
+                animationComponent.setLocation(fixedCoordinate, position);
             }
 
+            return !complete;
+        }, () -> {
             isAnimating.set(false);
             stoppingAnimation.set(false);
-        }, animationThreadName);
+        });
 
         return this;
     }
@@ -286,16 +265,4 @@ public final class ComponentAnimator {
                 && animationDelay.equals(other.animationDelay)
                 && animationIncrement == other.animationIncrement;
     }
-
-    /**
-     * Returns the name for the thread which animates this component.
-     *
-     * @return the name for the thread which animates this component
-     */
-    private String getAnimationThreadName() {
-        return "ComponentAnimatorThread{direction=" + animationDirection
-                + ", animationStart=" + animationStart
-                + ", animationEnd=" + animationEnd
-                + "}";
-    }
 }
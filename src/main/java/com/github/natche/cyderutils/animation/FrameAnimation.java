@@ -0,0 +1,16 @@
+package com.github.natche.cyderutils.animation;
+
+/** An animation advanced once per frame by the {@link AnimationScheduler}. */
+@FunctionalInterface
+public interface FrameAnimation {
+    /**
+     * Advances this animation to the state it should have after the provided amount of time.
+     * This is always invoked on the event dispatch thread. Frames may be dropped under load
+     * so implementations should derive their state from the elapsed time rather than
+     * from the number of times this method has been invoked.
+     *
+     * @param elapsedNanos the nanoseconds elapsed since this animation received its first frame
+     * @return whether this animation should continue to receive frames
+     */
+    boolean advance(long elapsedNanos);
+}
@@ -0,0 +1,97 @@
+package com.github.natche.cyderutils.animation;
+
+import com.google.common.base.Preconditions;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/** A {@link FrameAnimation} which has been scheduled on the {@link AnimationScheduler}. */
+public final class ScheduledAnimation {
+    /** The value of {@link #startNanos} before this animation receives its first frame. */
+    private static final long NOT_STARTED = -1L;
+
+    /** The animation to advance each frame. */
+    private final FrameAnimation animation;
+
+    /** The runnable to invoke on the event dispatch thread once this animation finishes or is canceled. */
+    private final Runnable onFinished;
+
+    /** Whether cancellation of this animation has been requested. */
+    private final AtomicBoolean canceled = new AtomicBoolean();
+
+    /** Whether this animation has finished, either by completing or by being canceled. */
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    /** The value of {@link System#nanoTime()} at the first frame this animation received. */
+    private long startNanos = NOT_STARTED;
+
+    /**
+     * Constructs a new scheduled animation.
+     *
+     * @param animation  the animation to advance each frame
+     * @param onFinished the runnable to invoke once the animation finishes or is canceled
+     */
+    ScheduledAnimation(FrameAnimation animation, Runnable onFinished) {
+        this.animation = Preconditions.checkNotNull(animation);
+        this.onFinished = Preconditions.checkNotNull(onFinished);
+    }
+
+    /**
+     * Requests that this animation stop receiving frames.
+     * The animation is removed, and its finished callback invoked, on the next frame.
+     *
+     * @return whether this animation had not already finished or been canceled
+     */
+    public boolean cancel() {
+        return !finished.get() && canceled.compareAndSet(false, true);
+    }
+
+    /**
+     * Returns whether this animation has finished, either by completing or by being canceled.
+     *
+     * @return whether this animation has finished
+     */
+    public boolean isFinished() {
+        return finished.get();
+    }
+
+    /**
+     * Advances this animation for the frame occurring at the provided time.
+     * Must only be invoked on the event dispatch thread.
+     *
+     * @param frameNanos the value of {@link System#nanoTime()} for the current frame
+     * @return whether this animation should continue to receive frames
+     */
+    boolean advance(long frameNanos) {
+        if (startNanos == NOT_STARTED) startNanos = frameNanos;
+
+        boolean keepAnimating = false;
+        try {
+            keepAnimating = !canceled.get() && animation.advance(frameNanos - startNanos);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        if (!keepAnimating) finish();
+        return keepAnimating;
+    }
+
+    /** Marks this animation as finished and invokes the finished callback. */
+    private void finish() {
+        finished.set(true);
+
+        try {
+            onFinished.run();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "ScheduledAnimation{"
+                + "canceled=" + canceled.get()
+                + ", finished=" + finished.get()
+                + "}";
+    }
+}
@@ -1,15 +1,15 @@
 package com.github.natche.cyderutils.animation.harmonics;
 
+import com.github.natche.cyderutils.animation.AnimationScheduler;
 import com.google.common.base.Preconditions;
 import com.github.natche.cyderutils.annotations.ForReadability;
 import com.github.natche.cyderutils.color.CyderColors;
-import com.github.natche.cyderutils.threads.CyderThreadRunner;
-import com.github.natche.cyderutils.threads.ThreadUtil;
 
 import javax.swing.*;
 import java.awt.*;
 import java.time.Duration;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /** A rectangle which can grow and shrink (oscillate) in a specific cardinal direction (horizontally or vertically). */
 public final class HarmonicRectangle extends JLabel {
@@ -179,7 +179,9 @@ public final class HarmonicRectangle extends JLabel {
     }
 
     /**
-     * Starts the animation.
+     * Starts the animation on the {@link AnimationScheduler}.
+     * One step is taken per {@link #getAnimationDelay()} with the number of steps due derived
+     * from the elapsed time, so steps missed due to dropped frames are caught up on the next frame.
      *
      * @throws IllegalStateException if already animating or waiting to stop animating
      */
@@ -189,31 +191,27 @@ public final class HarmonicRectangle extends JLabel {
 
         isAnimating.set(true);
 
-        CyderThreadRunner.submit(() -> {
-            while (isAnimating.get() && !stoppingAnimation.get()) {
-                innerAnimationStep();
-                ThreadUtil.sleep(animationDelay);
+        long delayNanos = animationDelay.toNanos();
+        AtomicLong stepsTaken = new AtomicLong();
+        AnimationScheduler.INSTANCE.schedule(elapsedNanos -> {
+            if (stoppingAnimation.get()) return false;
+
+            long stepsDue = delayNanos == 0 ? stepsTaken.get() + 1 : elapsedNanos / delayNanos + 1;
+            if (stepsDue > stepsTaken.get()) {
+                while (stepsTaken.get() < stepsDue) {
+                    applyAnimationStep();
+                    stepsTaken.incrementAndGet();
+                }
+
+                revalidate();
+                repaint();
             }
 
+            return true;
+        }, () -> {
             isAnimating.set(false);
             stoppingAnimation.set(false);
-        }, getAnimationThreadName());
-    }
-
-    /**
-     * Returns the name of the thread to animate this harmonic rectangle.
-     *
-     * @return the name of the thread to animate this harmonic rectangle
-     */
-    @ForReadability
-    private String getAnimationThreadName() {
-        return "HarmonicRectangleAnimatorThread{"
-                + "harmonicDirection=" + harmonicDirection
-                + ", minWidth=" + minWidth
-                + ", minHeight=" + minHeight
-                + ", maxWidth=" + maxWidth
-                + ", maxHeight=" + maxHeight
-                + "}";
+        });
     }
 
     /**
@@ -231,14 +229,18 @@ public final class HarmonicRectangle extends JLabel {
 
     /** Performs a singular animation frame step. */
     private void innerAnimationStep() {
+        applyAnimationStep();
+        revalidate();
+        repaint();
+    }
+
+    /** Resizes this component by a singular animation step without repainting. */
+    private void applyAnimationStep() {
         switch (harmonicDirection) {
             case HORIZONTAL -> innerHorizontalAnimationStep();
             case VERTICAL -> innerVerticalAnimationStep();
             default -> throw new IllegalStateException("Invalid harmonic direction: " + harmonicDirection);
         }
-
-        revalidate();
-        repaint();
     }
 
     /** Takes an animation step in the horizontal direction. */
@@ -3,13 +3,10 @@ package com.github.natche.cyderutils.elevation;
 import com.google.common.base.Preconditions;
 import com.github.natche.cyderutils.elevation.models.ElevationData;
 import com.github.natche.cyderutils.exceptions.IllegalMethodException;
+import com.github.natche.cyderutils.network.HttpTransport;
 import com.github.natche.cyderutils.strings.CyderStrings;
-import com.github.natche.cyderutils.utils.SerializationUtil;
 
 import java.awt.*;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.URL;
 import java.util.Optional;
 
 /** A utility class for elevation queries. */
@@ -47,8 +44,8 @@ public final class ElevationUtil {
 
         String queryString = BASE + "output=json&x=" + lon + "&y=" + lat + UNITS_TAG + unit.getName();
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new URL(queryString).openStream()))) {
-            ElevationData elevationData = SerializationUtil.fromJson(reader, ElevationData.class);
+        try {
+            ElevationData elevationData = HttpTransport.INSTANCE.readJson(queryString, ElevationData.class);
             return Optional.of(Double.parseDouble(elevationData.getUepqs().getElevationData().getElevation()));
         } catch (Exception e) {
             e.printStackTrace();
@@ -1,5 +1,6 @@
 package com.github.natche.cyderutils.files;
 
+import com.github.natche.cyderutils.files.dedupe.FileDeduplicator;
 import com.github.natche.cyderutils.files.exceptions.UnsupportedOsException;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
@@ -14,7 +15,6 @@ import com.github.natche.cyderutils.strings.StringUtil;
 import com.github.natche.cyderutils.threads.CyderThreadFactory;
 import com.github.natche.cyderutils.utils.ArrayUtil;
 import com.github.natche.cyderutils.utils.OsUtil;
-import net.lingala.zip4j.ZipFile;
 
 import java.awt.*;
 import java.io.*;
@@ -31,8 +31,6 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
 /** Static utilities having to do with files, their names, properties, and attributes. */
 public final class FileUtil {
@@ -445,7 +443,8 @@ public final class FileUtil {
 
     /**
      * Returns whether the contents of the two files are equal.
-     * If either of the files does not exist then false is returned.
+     * If either of the files does not exist or is not a file then false is returned.
+     * To find duplicates among many files use {@link FileDeduplicator#findDuplicates(Path)}.
      *
      * @param file    the first file
      * @param fileTwo the second file
@@ -456,11 +455,10 @@ public final class FileUtil {
         Preconditions.checkNotNull(file);
         Preconditions.checkNotNull(fileTwo);
 
-        if (!file.exists() || !fileTwo.exists()) return false;
+        if (!file.isFile() || !fileTwo.isFile()) return false;
 
         try {
-            // todo static
-            return com.google.common.io.Files.equal(file, fileTwo);
+            return FileDeduplicator.contentsEqual(file.toPath(), fileTwo.toPath());
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -468,12 +466,8 @@ public final class FileUtil {
         return false;
     }
 
-    // todo zip file util
-
-    // todo this should be files obviously right?
-
     /**
-     * Zips the provided file/folder and deletes the original if successful and requested.
+     * Zips the provided file or directory tree to the provided destination, deflating in parallel.
      *
      * @param source      the file/dir to zip
      * @param destination the destination of the zip archive
@@ -487,23 +481,7 @@ public final class FileUtil {
         Preconditions.checkArgument(!destination.isEmpty());
 
         try {
-            FileOutputStream fos = new FileOutputStream(destination);
-            ZipOutputStream zos = new ZipOutputStream(fos);
-
-            File fileToZip = new File(source);
-            FileInputStream fis = new FileInputStream(fileToZip);
-            ZipEntry zipEntry = new ZipEntry(fileToZip.getName());
-            zos.putNextEntry(zipEntry);
-
-            byte[] bytes = DataUnit.KILOBYTE.getByteArray(1);
-            int length;
-            while ((length = fis.read(bytes)) >= 0) {
-                zos.write(bytes, 0, length);
-            }
-
-            closeIfNotNull(zos);
-            closeIfNotNull(fis);
-            closeIfNotNull(fos);
+            ZipArchiver.archive(new File(source), new File(destination));
         } catch (Exception e) {
             e.printStackTrace();
             return false;
@@ -513,24 +491,22 @@ public final class FileUtil {
     }
 
     /**
-     * Unzips the provided zip directory to the provided directory.
+     * Unzips the provided zip archive to the provided directory, entry by entry.
      *
      * @param sourceZip         the source zip archive
      * @param destinationFolder the folder to extract the contents of the zip archive to
-     * @return the file or list of files that were extracted
+     * @return the files that were extracted, excluding directories
+     * @throws IOException if the archive cannot be read, an entry cannot be written,
+     *                     or an entry would be extracted outside the destination folder
      */
     @CanIgnoreReturnValue
-    public static ImmutableList<File> unzip(File sourceZip, File destinationFolder) {
+    public static ImmutableList<File> unzip(File sourceZip, File destinationFolder) throws IOException {
         Preconditions.checkNotNull(sourceZip);
         Preconditions.checkNotNull(destinationFolder);
         Preconditions.checkArgument(sourceZip.exists());
         Preconditions.checkArgument(destinationFolder.exists());
 
-        try (ZipFile zipFile = new ZipFile(sourceZip)) {
-            zipFile.extractAll(destinationFolder.getAbsolutePath());
-        } catch (IOException e) {}
-
-        return null; // todo fix me, will probably need to use a directory watcher?
+        return ZipArchiver.extract(sourceZip, destinationFolder);
     }
 
     // todo could be some kind of a chained op like
@@ -0,0 +1,428 @@
+package com.github.natche.cyderutils.files;
+
+import com.github.natche.cyderutils.threads.CyderThreadFactory;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A read-only, memory-mapped view of a potentially very large text file.
+ * The file is mapped in segments and a sparse line-offset index is built in the background by scanning
+ * fixed size chunks of the mapped bytes for newlines in parallel. Once indexed, any window of lines may be
+ * decoded without reading the rest of the file onto the heap. Searches scan the mapped bytes on a background
+ * thread and stream hits to a consumer as they are found.
+ * <p>
+ * Lines are separated by {@code '\n'}; a trailing {@code '\r'} is removed from decoded lines and a trailing
+ * newline at the end of the file does not begin a new line. Text is decoded as UTF-8.
+ */
+public final class MappedTextFile implements Closeable {
+    /** The number of bytes mapped by each segment. */
+    private static final int SEGMENT_SIZE = 1 << 30;
+
+    /** The number of bytes scanned by each indexing task, a divisor of {@link #SEGMENT_SIZE}. */
+    private static final int CHUNK_SIZE = 1 << 23;
+
+    /** The number of lines between consecutive offsets recorded by the sparse line index. */
+    private static final int LINES_PER_CHECKPOINT = 64;
+
+    /** The maximum number of bytes decoded from a single line; longer lines are truncated. */
+    public static final int MAXIMUM_DECODED_LINE_LENGTH = 1 << 13;
+
+    /** The newline byte. */
+    private static final byte NEWLINE = '\n';
+
+    /** The carriage return byte. */
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    /** The shared pool indexing and searching mapped files. */
+    private static final ExecutorService scanExecutor;
+
+    static {
+        CyderThreadFactory threadFactory = new CyderThreadFactory("MappedTextFile Scanner");
+        scanExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = threadFactory.newThread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** The mapped file. */
+    private final File file;
+
+    /** The channel the segments are mapped from. */
+    private final FileChannel channel;
+
+    /** The length of the file in bytes. */
+    private final long length;
+
+    /** The mapped segments of the file, each {@link #SEGMENT_SIZE} bytes except for the last. */
+    private final MappedByteBuffer[] segments;
+
+    /** The number of bytes scanned by the indexing tasks so far. */
+    private final AtomicLong bytesIndexed = new AtomicLong();
+
+    /** The future completed with the line index once every chunk has been scanned. */
+    private final CompletableFuture<LineIndex> lineIndex;
+
+    /**
+     * A hit found when searching the mapped bytes.
+     *
+     * @param line       the zero-indexed line the hit begins on
+     * @param byteOffset the offset of the first byte of the hit within the file
+     */
+    public record SearchHit(long line, long byteOffset) {}
+
+    /**
+     * The newlines found within a chunk.
+     *
+     * @param newlineCount the number of newlines in the chunk which begin a line
+     * @param checkpoints  the offsets of the lines begun by every {@link #LINES_PER_CHECKPOINT}th newline
+     */
+    private record ChunkIndex(long newlineCount, long[] checkpoints) {}
+
+    /**
+     * The sparse line index of the file.
+     *
+     * @param chunks             the index of each chunk in file order
+     * @param firstNewlineCounts the number of newlines preceding each chunk, plus a final total
+     */
+    private record LineIndex(ChunkIndex[] chunks, long[] firstNewlineCounts) {
+        /**
+         * Returns the number of newlines which begin a line.
+         *
+         * @return the number of newlines which begin a line
+         */
+        long newlineCount() {
+            return firstNewlineCounts[firstNewlineCounts.length - 1];
+        }
+    }
+
+    /**
+     * Maps the provided file and begins indexing its lines in the background.
+     *
+     * @param file the text file
+     * @throws NullPointerException     if the provided file is null
+     * @throws IllegalArgumentException if the provided file does not exist or is not a file
+     * @throws IOException              if the file cannot be opened or mapped
+     */
+    public MappedTextFile(File file) throws IOException {
+        Preconditions.checkNotNull(file);
+        Preconditions.checkArgument(file.isFile());
+
+        this.file = file;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+
+        try {
+            this.length = channel.size();
+            int segmentCount = (int) ((length + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+            this.segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0 ; i < segmentCount ; i++) {
+                long start = (long) i * SEGMENT_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE, length - start));
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+
+        this.lineIndex = buildLineIndex();
+    }
+
+    /**
+     * Returns the mapped file.
+     *
+     * @return the mapped file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the length of the file in bytes.
+     *
+     * @return the length of the file in bytes
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Returns whether the line index has been built.
+     *
+     * @return whether the line index has been built
+     */
+    public boolean isIndexed() {
+        return lineIndex.isDone() && !lineIndex.isCompletedExceptionally();
+    }
+
+    /**
+     * Returns the fraction of the file scanned for newlines so far, between zero and one inclusive.
+     *
+     * @return the fraction of the file scanned for newlines so far
+     */
+    public double getIndexingProgress() {
+        return length == 0 ? 1.0 : bytesIndexed.get() / (double) length;
+    }
+
+    /**
+     * Returns a future completed with the number of lines once the line index has been built.
+     *
+     * @return a future completed with the number of lines
+     */
+    public CompletableFuture<Long> getLineCount() {
+        return lineIndex.thenApply(index -> length == 0 ? 0L : index.newlineCount() + 1);
+    }
+
+    /**
+     * Decodes up to the provided number of lines beginning at the provided line.
+     * Lines longer than {@link #MAXIMUM_DECODED_LINE_LENGTH} bytes are truncated.
+     *
+     * @param firstLine the zero-indexed first line to decode
+     * @param count     the maximum number of lines to decode
+     * @return the decoded lines, fewer than requested if the end of the file is reached
+     * @throws IllegalArgumentException if the first line or count is negative
+     * @throws IllegalStateException    if the line index has not been built
+     */
+    public ImmutableList<String> getLines(long firstLine, int count) {
+        Preconditions.checkArgument(firstLine >= 0);
+        Preconditions.checkArgument(count >= 0);
+        Preconditions.checkState(isIndexed());
+
+        LineIndex index = lineIndex.join();
+        long lineCount = length == 0 ? 0 : index.newlineCount() + 1;
+        if (firstLine >= lineCount || count == 0) return ImmutableList.of();
+
+        ImmutableList.Builder<String> ret = ImmutableList.builder();
+        long position = findLineStart(index, firstLine);
+        long lastLine = Math.min(lineCount, firstLine + count);
+        for (long line = firstLine ; line < lastLine ; line++) {
+            long end = findNewline(position);
+            ret.add(decode(position, end));
+            position = end + 1;
+        }
+        return ret.build();
+    }
+
+    /**
+     * Searches the mapped bytes for the UTF-8 encoding of the provided text on a background thread,
+     * passing each hit to the provided consumer in file order as it is found. The search stops early
+     * if the returned future is cancelled.
+     *
+     * @param text        the text to search for
+     * @param hitConsumer the consumer of hits, invoked on the searching thread
+     * @return a future completed with the total number of hits
+     * @throws NullPointerException     if either argument is null
+     * @throws IllegalArgumentException if the provided text is empty
+     */
+    public CompletableFuture<Long> search(String text, Consumer<SearchHit> hitConsumer) {
+        Preconditions.checkNotNull(text);
+        Preconditions.checkNotNull(hitConsumer);
+        Preconditions.checkArgument(!text.isEmpty());
+
+        byte[] needle = text.getBytes(StandardCharsets.UTF_8);
+        CompletableFuture<Long> ret = new CompletableFuture<>();
+        scanExecutor.execute(() -> {
+            try {
+                ret.complete(scanForHits(needle, hitConsumer, ret));
+            } catch (Throwable throwable) {
+                ret.completeExceptionally(throwable);
+            }
+        });
+        return ret;
+    }
+
+    /** Closes the underlying channel and abandons indexing. Mapped segments remain valid until collected. */
+    @Override
+    public void close() throws IOException {
+        lineIndex.cancel(false);
+        channel.close();
+    }
+
+    /**
+     * Scans every chunk of the file for newlines in parallel.
+     *
+     * @return a future completed with the line index
+     */
+    private CompletableFuture<LineIndex> buildLineIndex() {
+        int chunkCount = (int) ((length + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        List<CompletableFuture<ChunkIndex>> chunkFutures = new ArrayList<>(chunkCount);
+        for (int i = 0 ; i < chunkCount ; i++) {
+            long start = (long) i * CHUNK_SIZE;
+            chunkFutures.add(CompletableFuture.supplyAsync(() -> indexChunk(start), scanExecutor));
+        }
+
+        return CompletableFuture.allOf(chunkFutures.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            ChunkIndex[] chunks = chunkFutures.stream().map(CompletableFuture::join).toArray(ChunkIndex[]::new);
+            long[] firstNewlineCounts = new long[chunks.length + 1];
+            for (int i = 0 ; i < chunks.length ; i++) {
+                firstNewlineCounts[i + 1] = firstNewlineCounts[i] + chunks[i].newlineCount();
+            }
+            return new LineIndex(chunks, firstNewlineCounts);
+        });
+    }
+
+    /**
+     * Scans the chunk beginning at the provided offset for newlines which begin a line, recording the offset
+     * of the line begun by every {@link #LINES_PER_CHECKPOINT}th newline.
+     *
+     * @param chunkStart the offset of the chunk, a multiple of {@link #CHUNK_SIZE}
+     * @return the index of the chunk
+     */
+    private ChunkIndex indexChunk(long chunkStart) {
+        MappedByteBuffer segment = segments[(int) (chunkStart / SEGMENT_SIZE)];
+        int start = (int) (chunkStart % SEGMENT_SIZE);
+        // A newline ending the file does not begin a line
+        int end = (int) (Math.min(chunkStart + CHUNK_SIZE, length - 1) - (chunkStart - start));
+
+        long[] checkpoints = new long[16];
+        int checkpointCount = 0;
+        long newlineCount = 0;
+        for (int i = start ; i < end ; i++) {
+            if (segment.get(i) != NEWLINE) continue;
+
+            if (newlineCount % LINES_PER_CHECKPOINT == 0) {
+                if (checkpointCount == checkpoints.length) {
+                    checkpoints = Arrays.copyOf(checkpoints, checkpointCount * 2);
+                }
+                checkpoints[checkpointCount++] = chunkStart - start + i + 1;
+            }
+            newlineCount++;
+        }
+
+        bytesIndexed.addAndGet(Math.min(CHUNK_SIZE, length - chunkStart));
+        return new ChunkIndex(newlineCount, Arrays.copyOf(checkpoints, checkpointCount));
+    }
+
+    /**
+     * Returns the offset of the first byte of the provided line.
+     *
+     * @param index the line index
+     * @param line  the zero-indexed line, less than the number of lines
+     * @return the offset of the first byte of the line
+     */
+    private long findLineStart(LineIndex index, long line) {
+        if (line == 0) return 0;
+
+        long newline = line - 1;
+        int chunk = Arrays.binarySearch(index.firstNewlineCounts(), newline);
+        // Skip over chunks without newlines which share a starting count
+        if (chunk >= 0) {
+            while (index.chunks()[chunk].newlineCount() == 0) chunk++;
+        } else {
+            chunk = -chunk - 2;
+        }
+
+        long localNewline = newline - index.firstNewlineCounts()[chunk];
+        long position = index.chunks()[chunk].checkpoints()[(int) (localNewline / LINES_PER_CHECKPOINT)];
+        for (long skip = localNewline % LINES_PER_CHECKPOINT ; skip > 0 ; skip--) {
+            position = findNewline(position) + 1;
+        }
+        return position;
+    }
+
+    /**
+     * Returns the offset of the first newline at or after the provided offset, or the length of the file if none.
+     *
+     * @param from the offset to begin scanning at
+     * @return the offset of the next newline or the length of the file
+     */
+    private long findNewline(long from) {
+        for (long position = from ; position < length ; position++) {
+            if (byteAt(position) == NEWLINE) return position;
+        }
+        return length;
+    }
+
+    /**
+     * Decodes the bytes between the provided offsets as a line, removing a trailing carriage return
+     * and truncating to {@link #MAXIMUM_DECODED_LINE_LENGTH} bytes.
+     *
+     * @param start the offset of the first byte, inclusive
+     * @param end   the offset of the last byte, exclusive
+     * @return the decoded line
+     */
+    private String decode(long start, long end) {
+        if (end > start && byteAt(end - 1) == CARRIAGE_RETURN) end--;
+        int byteCount = (int) Math.min(end - start, MAXIMUM_DECODED_LINE_LENGTH);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(byteCount);
+        for (long position = start ; position < start + byteCount ; position++) {
+            bytes.write(byteAt(position));
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Scans the whole file for the provided bytes, counting newlines to determine the line of each hit.
+     *
+     * @param needle      the bytes to search for
+     * @param hitConsumer the consumer of hits
+     * @param search      the future of the search, checked for cancellation after each chunk
+     * @return the number of hits found
+     */
+    private long scanForHits(byte[] needle, Consumer<SearchHit> hitConsumer, CompletableFuture<Long> search) {
+        byte first = needle[0];
+        long hits = 0;
+        long line = 0;
+
+        for (int segmentIndex = 0 ; segmentIndex < segments.length ; segmentIndex++) {
+            MappedByteBuffer segment = segments[segmentIndex];
+            long segmentStart = (long) segmentIndex * SEGMENT_SIZE;
+            int segmentLength = segment.limit();
+
+            for (int i = 0 ; i < segmentLength ; i++) {
+                if (i % CHUNK_SIZE == 0 && search.isDone()) return hits;
+
+                byte current = segment.get(i);
+                if (current == first && matchesAt(segmentStart + i, needle)) {
+                    hitConsumer.accept(new SearchHit(line, segmentStart + i));
+                    hits++;
+                }
+                if (current == NEWLINE) line++;
+            }
+        }
+
+        return hits;
+    }
+
+    /**
+     * Returns whether the provided bytes occur at the provided offset.
+     *
+     * @param position the offset
+     * @param needle   the bytes
+     * @return whether the provided bytes occur at the provided offset
+     */
+    private boolean matchesAt(long position, byte[] needle) {
+        if (position + needle.length > length) return false;
+        for (int i = 1 ; i < needle.length ; i++) {
+            if (byteAt(position + i) != needle[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the byte at the provided offset.
+     *
+     * @param position the offset, less than the length of the file
+     * @return the byte at the provided offset
+     */
+    private byte byteAt(long position) {
+        return segments[(int) (position / SEGMENT_SIZE)].get((int) (position % SEGMENT_SIZE));
+    }
+}
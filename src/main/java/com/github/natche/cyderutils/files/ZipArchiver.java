@@ -0,0 +1,703 @@
+package com.github.natche.cyderutils.files;
+
+import com.github.natche.cyderutils.exceptions.IllegalMethodException;
+import com.github.natche.cyderutils.strings.CyderStrings;
+import com.github.natche.cyderutils.threads.CyderThreadFactory;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * A zip archive engine for whole directory trees.
+ * <p>
+ * Archiving splits each file into chunks which are deflated in parallel, each chunk primed with the final
+ * {@value #DICTIONARY_SIZE} bytes of the chunk before it, and written in order as a single deflate stream per entry
+ * in the manner of pigz. Throughput therefore scales with cores rather than being bound to a single deflater,
+ * while the number of chunks in flight, and thus memory, is bounded. Entries of a single chunk which do not shrink
+ * are stored instead. ZIP64 records are written once sizes, offsets, or the number of entries require them.
+ * Whether an entry records ZIP64 sizes is decided from its size when reading it begins; an entry which grows
+ * past the sizes its local header can record while being archived fails the archive.
+ * <p>
+ * Extraction streams entries one at a time and rejects any entry which would resolve outside the destination
+ * directory, such as through {@code ../} segments or absolute paths.
+ */
+public final class ZipArchiver {
+    /** The number of uncompressed bytes deflated by each task. */
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    /** The number of preceding bytes each chunk is primed with, the size of the deflate window. */
+    private static final int DICTIONARY_SIZE = 1 << 15;
+
+    /** The number of chunks read ahead of the writer per deflating thread. */
+    private static final int CHUNKS_IN_FLIGHT_PER_THREAD = 4;
+
+    /** The size of the buffer entries are extracted through. */
+    private static final int EXTRACTION_BUFFER_SIZE = 1 << 20;
+
+    /** The size of an entry above which it is written with ZIP64 sizes, as it may compress to 4 GiB or more. */
+    private static final long ZIP64_ENTRY_THRESHOLD = 0xF000_0000L;
+
+    /** The value of a 32-bit field whose value is instead within a ZIP64 record. */
+    private static final long ZIP64_MAGIC = 0xFFFF_FFFFL;
+
+    /** The value of a 16-bit entry count whose value is instead within a ZIP64 record. */
+    private static final int ZIP64_ENTRY_COUNT_MAGIC = 0xFFFF;
+
+    /** The signature of a local file header. */
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+
+    /** The signature of a central directory file header. */
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+
+    /** The signature of the ZIP64 end of central directory record. */
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+
+    /** The signature of the ZIP64 end of central directory locator. */
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+
+    /** The signature of the end of central directory record. */
+    private static final int END_SIGNATURE = 0x06054b50;
+
+    /** The header id of the ZIP64 extended information extra field. */
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+
+    /** The version needed to extract entries using deflate. */
+    private static final int VERSION_DEFLATE = 20;
+
+    /** The version needed to extract entries using ZIP64 records. */
+    private static final int VERSION_ZIP64 = 45;
+
+    /** The general purpose flag denoting names encoded as UTF-8. */
+    private static final int UTF8_FLAG = 1 << 11;
+
+    /** The MS-DOS attribute denoting a directory. */
+    private static final int DIRECTORY_ATTRIBUTE = 0x10;
+
+    /** The length of a local file header excluding the name and extra field. */
+    private static final int LOCAL_HEADER_LENGTH = 30;
+
+    /** The offset of the crc within a local file header. */
+    private static final int LOCAL_HEADER_CRC_OFFSET = 14;
+
+    /** The earliest year representable by a DOS date. */
+    private static final int DOS_EPOCH_YEAR = 1980;
+
+    /** The separator of names within an archive. */
+    private static final String SEPARATOR = "/";
+
+    /**
+     * Suppress default constructor.
+     *
+     * @throws IllegalMethodException if invoked
+     */
+    private ZipArchiver() {
+        throw new IllegalMethodException(CyderStrings.ATTEMPTED_INSTANTIATION);
+    }
+
+    /**
+     * A file or directory to archive.
+     *
+     * @param path the path of the file or directory
+     * @param name the name of the entry within the archive, ending in a separator for directories
+     */
+    private record EntrySource(Path path, String name) {
+        /**
+         * Returns whether this entry is a directory.
+         *
+         * @return whether this entry is a directory
+         */
+        private boolean isDirectory() {
+            return name.endsWith(SEPARATOR);
+        }
+    }
+
+    /**
+     * An entry written to the archive, recorded for the central directory.
+     *
+     * @param name             the name of the entry, encoded as UTF-8
+     * @param method           the compression method
+     * @param dosTime          the last modified time in DOS format
+     * @param crc              the crc of the uncompressed contents
+     * @param compressedSize   the compressed size
+     * @param uncompressedSize the uncompressed size
+     * @param offset           the offset of the local file header
+     * @param zip64            whether the local file header records the sizes in a ZIP64 extra field
+     * @param directory        whether the entry is a directory
+     */
+    private record WrittenEntry(byte[] name, int method, long dosTime, long crc, long compressedSize,
+                                long uncompressedSize, long offset, boolean zip64, boolean directory) {}
+
+    /**
+     * A chunk of an entry read and submitted for deflating.
+     *
+     * @param entry      the index of the entry
+     * @param input      the uncompressed bytes, beginning at index zero
+     * @param length     the number of uncompressed bytes
+     * @param first      whether this is the first chunk of the entry
+     * @param last       whether this is the last chunk of the entry
+     * @param zip64      whether the entry is written with ZIP64 sizes, decided from its size when reading began
+     * @param compressed the future of the deflated bytes and their length
+     */
+    private record PendingChunk(int entry, byte[] input, int length, boolean first, boolean last,
+                                boolean zip64, Future<DeflatedChunk> compressed) {}
+
+    /**
+     * The deflated bytes of a chunk.
+     *
+     * @param data   the deflated bytes, beginning at index zero
+     * @param length the number of deflated bytes
+     */
+    private record DeflatedChunk(byte[] data, int length) {}
+
+    /**
+     * Archives the provided file or directory tree to the provided destination using a thread per processor.
+     *
+     * @param source      the file or directory to archive
+     * @param destination the archive to create or replace
+     * @return the names of the entries archived, in archive order
+     * @throws NullPointerException     if either file is null
+     * @throws IllegalArgumentException if the source does not exist
+     * @throws IOException              if the source cannot be read or the archive cannot be written
+     */
+    public static ImmutableList<String> archive(File source, File destination) throws IOException {
+        return archive(source, destination, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Archives the provided file or directory tree to the provided destination. A directory is archived
+     * beneath an entry of its own name. If the archive cannot be written, any partial archive is deleted.
+     *
+     * @param source      the file or directory to archive
+     * @param destination the archive to create or replace
+     * @param threads     the number of threads to deflate with
+     * @return the names of the entries archived, in archive order
+     * @throws NullPointerException     if either file is null
+     * @throws IllegalArgumentException if the source does not exist or the number of threads is not positive
+     * @throws IOException              if the source cannot be read or the archive cannot be written
+     */
+    public static ImmutableList<String> archive(File source, File destination, int threads) throws IOException {
+        Preconditions.checkNotNull(source);
+        Preconditions.checkNotNull(destination);
+        Preconditions.checkArgument(source.exists());
+        Preconditions.checkArgument(threads > 0);
+
+        ImmutableList<EntrySource> entries = collectEntries(source.toPath(), destination.toPath());
+
+        CyderThreadFactory threadFactory = new CyderThreadFactory("ZipArchiver Deflater");
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = threadFactory.newThread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Path destinationPath = destination.toPath();
+        try (FileChannel channel = FileChannel.open(destinationPath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeArchive(channel, entries, executor, threads * CHUNKS_IN_FLIGHT_PER_THREAD);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(destinationPath);
+            throw e;
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return entries.stream().map(EntrySource::name).collect(ImmutableList.toImmutableList());
+    }
+
+    /**
+     * Extracts the provided archive into the provided directory, entry by entry.
+     *
+     * @param archive     the archive to extract
+     * @param destination the directory to extract into
+     * @return the files extracted, excluding directories, in archive order
+     * @throws NullPointerException     if either file is null
+     * @throws IllegalArgumentException if the archive does not exist or the destination is not a directory
+     * @throws ZipException             if an entry would be extracted outside the destination
+     * @throws IOException              if the archive cannot be read or an entry cannot be written
+     */
+    public static ImmutableList<File> extract(File archive, File destination) throws IOException {
+        Preconditions.checkNotNull(archive);
+        Preconditions.checkNotNull(destination);
+        Preconditions.checkArgument(archive.isFile());
+        Preconditions.checkArgument(destination.isDirectory());
+
+        Path root = destination.toPath().toAbsolutePath().normalize();
+        ImmutableList.Builder<File> ret = ImmutableList.builder();
+        byte[] buffer = new byte[EXTRACTION_BUFFER_SIZE];
+
+        try (ZipFile zipFile = new ZipFile(archive, StandardCharsets.UTF_8)) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                Path target = root.resolve(entry.getName()).normalize();
+                if (!target.startsWith(root) || target.equals(root)) {
+                    throw new ZipException("Entry would be extracted outside of the destination: " + entry.getName());
+                }
+
+                if (entry.isDirectory()) {
+                    Files.createDirectories(target);
+                    continue;
+                }
+
+                Files.createDirectories(target.getParent());
+                try (InputStream inputStream = zipFile.getInputStream(entry);
+                     OutputStream outputStream = Files.newOutputStream(target)) {
+                    int read;
+                    while ((read = inputStream.read(buffer)) != -1) {
+                        outputStream.write(buffer, 0, read);
+                    }
+                }
+
+                File extracted = target.toFile();
+                if (entry.getTime() != -1) extracted.setLastModified(entry.getTime());
+                ret.add(extracted);
+            }
+        }
+
+        return ret.build();
+    }
+
+    /**
+     * Returns the entries of the provided file or directory tree, parents before their children.
+     *
+     * @param source      the file or directory to archive
+     * @param destination the archive, excluded if within the source
+     * @return the entries to archive
+     * @throws IOException if the source cannot be walked
+     */
+    private static ImmutableList<EntrySource> collectEntries(Path source, Path destination) throws IOException {
+        Path root = source.toAbsolutePath().normalize();
+        Path excluded = destination.toAbsolutePath().normalize();
+        Path base = root.getParent() == null ? root : root.getParent();
+
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths.filter(path -> !path.equals(excluded))
+                    .map(path -> {
+                        String name = base.relativize(path).toString().replace(File.separator, SEPARATOR);
+                        return new EntrySource(path, Files.isDirectory(path) ? name + SEPARATOR : name);
+                    })
+                    .sorted((first, second) -> first.name().compareTo(second.name()))
+                    .collect(ImmutableList.toImmutableList());
+        }
+    }
+
+    /**
+     * Writes the provided entries to the channel, reading chunks ahead of the writer so that up to the
+     * provided number are deflating at once.
+     *
+     * @param channel        the channel of the archive
+     * @param entries        the entries to write
+     * @param executor       the executor to deflate chunks on
+     * @param chunksInFlight the maximum number of chunks read but not yet written
+     * @throws IOException if an entry cannot be read or the archive cannot be written
+     */
+    private static void writeArchive(FileChannel channel, List<EntrySource> entries,
+                                     ExecutorService executor, int chunksInFlight) throws IOException {
+        List<WrittenEntry> written = new ArrayList<>(entries.size());
+        ArrayDeque<PendingChunk> pending = new ArrayDeque<>();
+        CRC32[] crcs = new CRC32[entries.size()];
+
+        // The entry being read, its channel, whether it is written with ZIP64 sizes, and the last chunk read from it
+        int readEntry = 0;
+        FileChannel readChannel = null;
+        boolean readZip64 = false;
+        byte[] previousInput = null;
+        int previousLength = 0;
+
+        // The header of the entry being written, completed once its last chunk is written
+        long headerOffset = 0;
+        long compressedSize = 0;
+        long uncompressedSize = 0;
+        long dosTime = 0;
+        int method = ZipEntry.DEFLATED;
+
+        try {
+            while (readEntry < entries.size() || !pending.isEmpty()) {
+                while (readEntry < entries.size() && pending.size() < chunksInFlight) {
+                    EntrySource entry = entries.get(readEntry);
+                    if (entry.isDirectory()) {
+                        pending.add(new PendingChunk(readEntry++, null, 0, true, true, false, null));
+                        continue;
+                    }
+
+                    boolean first = readChannel == null;
+                    if (first) {
+                        readChannel = FileChannel.open(entry.path(), StandardOpenOption.READ);
+                        readZip64 = isZip64(readChannel.size());
+                        crcs[readEntry] = new CRC32();
+                        previousInput = null;
+                    }
+
+                    byte[] input = new byte[CHUNK_SIZE];
+                    int length = readFully(readChannel, input);
+                    boolean last = length < CHUNK_SIZE || readChannel.position() == readChannel.size();
+                    crcs[readEntry].update(input, 0, length);
+
+                    byte[] dictionary = previousInput;
+                    int dictionaryLength = Math.min(previousLength, DICTIONARY_SIZE);
+                    int dictionaryOffset = previousLength - dictionaryLength;
+                    Future<DeflatedChunk> compressed = executor.submit(() -> deflate(input, length,
+                            dictionary, dictionaryOffset, dictionaryLength, last));
+                    pending.add(new PendingChunk(readEntry, input, length, first, last, readZip64, compressed));
+
+                    previousInput = input;
+                    previousLength = length;
+                    if (last) {
+                        readChannel.close();
+                        readChannel = null;
+                        readEntry++;
+                    }
+                }
+
+                PendingChunk chunk = pending.poll();
+                EntrySource entry = entries.get(chunk.entry());
+                byte[] name = entry.name().getBytes(StandardCharsets.UTF_8);
+                if (chunk.first()) dosTime = toDosTime(Files.getLastModifiedTime(entry.path()).toMillis());
+
+                if (entry.isDirectory()) {
+                    long offset = channel.position();
+                    writeLocalHeader(channel, name, ZipEntry.STORED, dosTime, false);
+                    written.add(new WrittenEntry(name, ZipEntry.STORED, dosTime, 0, 0, 0, offset, false, true));
+                    continue;
+                }
+
+                DeflatedChunk deflated = await(chunk.compressed());
+                if (chunk.first()) {
+                    // An entry of a single chunk which does not shrink is stored instead
+                    boolean store = chunk.last() && deflated.length() >= chunk.length();
+                    method = store ? ZipEntry.STORED : ZipEntry.DEFLATED;
+                    headerOffset = channel.position();
+                    compressedSize = 0;
+                    uncompressedSize = 0;
+                    writeLocalHeader(channel, name, method, dosTime, chunk.zip64());
+                }
+
+                if (method == ZipEntry.STORED) {
+                    writeFully(channel, ByteBuffer.wrap(chunk.input(), 0, chunk.length()));
+                    compressedSize += chunk.length();
+                } else {
+                    writeFully(channel, ByteBuffer.wrap(deflated.data(), 0, deflated.length()));
+                    compressedSize += deflated.length();
+                }
+                uncompressedSize += chunk.length();
+
+                if (chunk.last()) {
+                    // A header written without a ZIP64 extra field has no room for sizes which no longer fit
+                    if (!chunk.zip64() && (uncompressedSize >= ZIP64_MAGIC || compressedSize >= ZIP64_MAGIC)) {
+                        throw new ZipException("Entry grew too large while being archived: " + entry.name());
+                    }
+
+                    long crc = crcs[chunk.entry()].getValue();
+                    completeLocalHeader(channel, headerOffset, name.length, crc,
+                            compressedSize, uncompressedSize, chunk.zip64());
+                    written.add(new WrittenEntry(name, method, dosTime, crc, compressedSize,
+                            uncompressedSize, headerOffset, chunk.zip64(), false));
+                    crcs[chunk.entry()] = null;
+                }
+            }
+
+            writeCentralDirectory(channel, written);
+        } finally {
+            if (readChannel != null) readChannel.close();
+            pending.forEach(chunk -> {
+                if (chunk.compressed() != null) chunk.compressed().cancel(true);
+            });
+        }
+    }
+
+    /**
+     * Deflates the provided chunk as part of a single raw deflate stream, primed with the bytes preceding it.
+     * Chunks other than the last end with a sync flush so that the next chunk begins on a byte boundary.
+     *
+     * @param input            the uncompressed bytes
+     * @param length           the number of uncompressed bytes
+     * @param dictionary       the array holding the bytes preceding the chunk, null if none
+     * @param dictionaryOffset the offset of the preceding bytes within the dictionary array
+     * @param dictionaryLength the number of preceding bytes
+     * @param last             whether this is the last chunk of the stream
+     * @return the deflated chunk
+     */
+    private static DeflatedChunk deflate(byte[] input, int length, byte[] dictionary,
+                                         int dictionaryOffset, int dictionaryLength, boolean last) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            if (dictionary != null && dictionaryLength > 0) {
+                deflater.setDictionary(dictionary, dictionaryOffset, dictionaryLength);
+            }
+            deflater.setInput(input, 0, length);
+            if (last) deflater.finish();
+
+            int flush = last ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH;
+            byte[] output = new byte[length + length / 8 + 64];
+            int outputLength = 0;
+            while (true) {
+                if (outputLength == output.length) output = Arrays.copyOf(output, output.length * 2);
+                int space = output.length - outputLength;
+                int deflated = deflater.deflate(output, outputLength, space, flush);
+                outputLength += deflated;
+                if (last ? deflater.finished() : deflated < space) break;
+            }
+
+            return new DeflatedChunk(output, outputLength);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Writes a local file header whose crc and sizes are completed once the contents are written.
+     *
+     * @param channel the channel of the archive
+     * @param name    the name of the entry, encoded as UTF-8
+     * @param method  the compression method
+     * @param dosTime the last modified time in DOS format
+     * @param zip64   whether the sizes are written to a ZIP64 extra field
+     * @throws IOException if the header cannot be written
+     */
+    private static void writeLocalHeader(FileChannel channel, byte[] name, int method, long dosTime,
+                                         boolean zip64) throws IOException {
+        int extraLength = zip64 ? 20 : 0;
+        ByteBuffer header = littleEndian(LOCAL_HEADER_LENGTH + name.length + extraLength);
+        header.putInt(LOCAL_HEADER_SIGNATURE)
+                .putShort((short) (zip64 ? VERSION_ZIP64 : VERSION_DEFLATE))
+                .putShort((short) UTF8_FLAG)
+                .putShort((short) method)
+                .putInt((int) dosTime)
+                .putInt(0)
+                .putInt(zip64 ? (int) ZIP64_MAGIC : 0)
+                .putInt(zip64 ? (int) ZIP64_MAGIC : 0)
+                .putShort((short) name.length)
+                .putShort((short) extraLength)
+                .put(name);
+        if (zip64) {
+            header.putShort((short) ZIP64_EXTRA_ID).putShort((short) 16).putLong(0).putLong(0);
+        }
+        writeFully(channel, header.flip());
+    }
+
+    /**
+     * Completes the crc and sizes of the local file header at the provided offset, restoring the channel position.
+     *
+     * @param channel          the channel of the archive
+     * @param headerOffset     the offset of the local file header
+     * @param nameLength       the length of the encoded name
+     * @param crc              the crc of the uncompressed contents
+     * @param compressedSize   the compressed size
+     * @param uncompressedSize the uncompressed size
+     * @param zip64            whether the header was written with a ZIP64 extra field
+     * @throws IOException if the header cannot be written
+     */
+    private static void completeLocalHeader(FileChannel channel, long headerOffset, int nameLength, long crc,
+                                            long compressedSize, long uncompressedSize,
+                                            boolean zip64) throws IOException {
+        long position = channel.position();
+
+        if (zip64) {
+            channel.position(headerOffset + LOCAL_HEADER_CRC_OFFSET);
+            writeFully(channel, littleEndian(4).putInt((int) crc).flip());
+            channel.position(headerOffset + LOCAL_HEADER_LENGTH + nameLength + 4);
+            writeFully(channel, littleEndian(16).putLong(uncompressedSize).putLong(compressedSize).flip());
+        } else {
+            channel.position(headerOffset + LOCAL_HEADER_CRC_OFFSET);
+            writeFully(channel, littleEndian(12).putInt((int) crc)
+                    .putInt((int) compressedSize).putInt((int) uncompressedSize).flip());
+        }
+
+        channel.position(position);
+    }
+
+    /**
+     * Writes the central directory and end of central directory records, including the ZIP64 records if required.
+     *
+     * @param channel the channel of the archive
+     * @param entries the entries written
+     * @throws IOException if the records cannot be written
+     */
+    private static void writeCentralDirectory(FileChannel channel, List<WrittenEntry> entries) throws IOException {
+        long directoryOffset = channel.position();
+
+        for (WrittenEntry entry : entries) {
+            boolean zip64Sizes = entry.uncompressedSize() >= ZIP64_MAGIC || entry.compressedSize() >= ZIP64_MAGIC;
+            boolean zip64Offset = entry.offset() >= ZIP64_MAGIC;
+            int extraDataLength = (zip64Sizes ? 16 : 0) + (zip64Offset ? 8 : 0);
+            int extraLength = extraDataLength == 0 ? 0 : 4 + extraDataLength;
+            boolean zip64 = extraLength > 0 || entry.zip64();
+
+            ByteBuffer header = littleEndian(46 + entry.name().length + extraLength);
+            header.putInt(CENTRAL_HEADER_SIGNATURE)
+                    .putShort((short) VERSION_ZIP64)
+                    .putShort((short) (zip64 ? VERSION_ZIP64 : VERSION_DEFLATE))
+                    .putShort((short) UTF8_FLAG)
+                    .putShort((short) entry.method())
+                    .putInt((int) entry.dosTime())
+                    .putInt((int) entry.crc())
+                    .putInt((int) (zip64Sizes ? ZIP64_MAGIC : entry.compressedSize()))
+                    .putInt((int) (zip64Sizes ? ZIP64_MAGIC : entry.uncompressedSize()))
+                    .putShort((short) entry.name().length)
+                    .putShort((short) extraLength)
+                    .putShort((short) 0)
+                    .putShort((short) 0)
+                    .putShort((short) 0)
+                    .putInt(entry.directory() ? DIRECTORY_ATTRIBUTE : 0)
+                    .putInt((int) (zip64Offset ? ZIP64_MAGIC : entry.offset()))
+                    .put(entry.name());
+            if (extraLength > 0) {
+                header.putShort((short) ZIP64_EXTRA_ID).putShort((short) extraDataLength);
+                if (zip64Sizes) header.putLong(entry.uncompressedSize()).putLong(entry.compressedSize());
+                if (zip64Offset) header.putLong(entry.offset());
+            }
+            writeFully(channel, header.flip());
+        }
+
+        long directoryEnd = channel.position();
+        long directorySize = directoryEnd - directoryOffset;
+        boolean zip64 = entries.size() >= ZIP64_ENTRY_COUNT_MAGIC
+                || directorySize >= ZIP64_MAGIC || directoryOffset >= ZIP64_MAGIC;
+
+        if (zip64) {
+            ByteBuffer records = littleEndian(56 + 20);
+            records.putInt(ZIP64_END_SIGNATURE)
+                    .putLong(44)
+                    .putShort((short) VERSION_ZIP64)
+                    .putShort((short) VERSION_ZIP64)
+                    .putInt(0)
+                    .putInt(0)
+                    .putLong(entries.size())
+                    .putLong(entries.size())
+                    .putLong(directorySize)
+                    .putLong(directoryOffset);
+            records.putInt(ZIP64_LOCATOR_SIGNATURE)
+                    .putInt(0)
+                    .putLong(directoryEnd)
+                    .putInt(1);
+            writeFully(channel, records.flip());
+        }
+
+        int entryCount = zip64 ? ZIP64_ENTRY_COUNT_MAGIC : entries.size();
+        ByteBuffer end = littleEndian(22);
+        end.putInt(END_SIGNATURE)
+                .putShort((short) 0)
+                .putShort((short) 0)
+                .putShort((short) entryCount)
+                .putShort((short) entryCount)
+                .putInt((int) (zip64 ? ZIP64_MAGIC : directorySize))
+                .putInt((int) (zip64 ? ZIP64_MAGIC : directoryOffset))
+                .putShort((short) 0);
+        writeFully(channel, end.flip());
+    }
+
+    /**
+     * Returns whether an entry of the provided size, when reading it began, is written with ZIP64 sizes.
+     *
+     * @param uncompressedSize the uncompressed size
+     * @return whether the entry is written with ZIP64 sizes
+     */
+    private static boolean isZip64(long uncompressedSize) {
+        return uncompressedSize >= ZIP64_ENTRY_THRESHOLD;
+    }
+
+    /**
+     * Returns the provided time in DOS format, clamped to the DOS epoch.
+     *
+     * @param millis the time in milliseconds since the unix epoch
+     * @return the time in DOS format
+     */
+    private static long toDosTime(long millis) {
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+        if (time.getYear() < DOS_EPOCH_YEAR) return 1 << 21 | 1 << 16;
+
+        return (long) (time.getYear() - DOS_EPOCH_YEAR) << 25
+                | (long) time.getMonthValue() << 21
+                | (long) time.getDayOfMonth() << 16
+                | (long) time.getHour() << 11
+                | (long) time.getMinute() << 5
+                | (long) time.getSecond() >> 1;
+    }
+
+    /**
+     * Returns a new little-endian heap buffer of the provided capacity.
+     *
+     * @param capacity the capacity
+     * @return a new little-endian buffer
+     */
+    private static ByteBuffer littleEndian(int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Reads from the provided channel until the array is full or the channel is exhausted.
+     *
+     * @param channel the channel
+     * @param array   the array to read into
+     * @return the number of bytes read
+     * @throws IOException if the channel cannot be read
+     */
+    private static int readFully(FileChannel channel, byte[] array) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(array);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) == -1) break;
+        }
+        return buffer.position();
+    }
+
+    /**
+     * Writes the remaining bytes of the provided buffer to the channel.
+     *
+     * @param channel the channel
+     * @param buffer  the buffer
+     * @throws IOException if the channel cannot be written
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Waits for the provided deflated chunk.
+     *
+     * @param future the future of the deflated chunk
+     * @return the deflated chunk
+     * @throws IOException if interrupted or deflating failed
+     */
+    private static DeflatedChunk await(Future<DeflatedChunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while deflating");
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to deflate chunk", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.github.natche.cyderutils.files.dedupe;
+
+import com.github.natche.cyderutils.exceptions.IllegalMethodException;
+import com.github.natche.cyderutils.files.DataUnit;
+import com.github.natche.cyderutils.strings.CyderStrings;
+import com.github.natche.cyderutils.utils.SecurityUtil;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * An engine for comparing file contents and locating duplicate files.
+ * Duplicates are found in three stages, each only operating on the survivors of the previous one:
+ * <ul>
+ *     <li>Files are grouped by size</li>
+ *     <li>Files are grouped by a hash of their first and last {@link #SAMPLE_SIZE} bytes</li>
+ *     <li>Files are grouped by a hash of their full contents</li>
+ * </ul>
+ * The hashing stages run in parallel.
+ */
+public final class FileDeduplicator {
+    /** The number of bytes sampled from both the head and the tail of a file during the second stage. */
+    private static final int SAMPLE_SIZE = (int) DataUnit.KILOBYTE.get(4);
+
+    /** The size of the regions mapped at once when comparing two files. */
+    private static final long MAPPED_REGION_SIZE = DataUnit.MEGABYTE.get(64);
+
+    /** The hashing algorithm used by the sampling and full content stages. */
+    private static final SecurityUtil.HashingAlgorithm hashingAlgorithm = SecurityUtil.HashingAlgorithm.SHA256;
+
+    /**
+     * Suppress default constructor.
+     *
+     * @throws IllegalMethodException if invoked
+     */
+    private FileDeduplicator() {
+        throw new IllegalMethodException(CyderStrings.ATTEMPTED_INSTANTIATION);
+    }
+
+    /**
+     * Returns whether the contents of the two provided files are equal.
+     * The files are compared over memory-mapped regions and the comparison exits on the first mismatch.
+     *
+     * @param first  the first file
+     * @param second the second file
+     * @return whether the contents of the two files are equal
+     * @throws NullPointerException     if either path is null
+     * @throws IllegalArgumentException if either path is not a regular file
+     * @throws IOException              if either file cannot be read
+     */
+    public static boolean contentsEqual(Path first, Path second) throws IOException {
+        Preconditions.checkNotNull(first);
+        Preconditions.checkNotNull(second);
+        Preconditions.checkArgument(Files.isRegularFile(first));
+        Preconditions.checkArgument(Files.isRegularFile(second));
+
+        if (Files.isSameFile(first, second)) return true;
+
+        try (FileChannel firstChannel = FileChannel.open(first, StandardOpenOption.READ);
+             FileChannel secondChannel = FileChannel.open(second, StandardOpenOption.READ)) {
+            long size = firstChannel.size();
+            if (size != secondChannel.size()) return false;
+
+            for (long position = 0 ; position < size ; position += MAPPED_REGION_SIZE) {
+                long regionSize = Math.min(MAPPED_REGION_SIZE, size - position);
+                MappedByteBuffer firstRegion = firstChannel.map(FileChannel.MapMode.READ_ONLY, position, regionSize);
+                MappedByteBuffer secondRegion = secondChannel.map(FileChannel.MapMode.READ_ONLY, position, regionSize);
+                if (firstRegion.mismatch(secondRegion) != -1) return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Finds all groups of regular files with identical contents beneath the provided directory.
+     * Symbolic links are not followed and files or directories which cannot be read are skipped.
+     *
+     * @param root the directory to search
+     * @return the groups of duplicate files, each containing at least two files
+     * @throws NullPointerException     if the provided root is null
+     * @throws IllegalArgumentException if the provided root is not a directory
+     * @throws IOException              if the provided root cannot be walked
+     */
+    public static ImmutableList<ImmutableList<Path>> findDuplicates(Path root) throws IOException {
+        Preconditions.checkNotNull(root);
+        Preconditions.checkArgument(Files.isDirectory(root));
+
+        List<Candidate> candidates = new ArrayList<>();
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                if (attributes.isRegularFile()) candidates.add(new Candidate(file, attributes.size()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exception) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        return findDuplicateCandidates(candidates);
+    }
+
+    /**
+     * Finds all groups of files with identical contents among the provided files.
+     * Files which are not regular files or cannot be read are skipped.
+     *
+     * @param files the files to compare
+     * @return the groups of duplicate files, each containing at least two files
+     * @throws NullPointerException if the provided collection is null
+     */
+    public static ImmutableList<ImmutableList<Path>> findDuplicates(Collection<Path> files) {
+        Preconditions.checkNotNull(files);
+
+        List<Candidate> candidates = new ArrayList<>();
+        files.stream().distinct().filter(Files::isRegularFile).forEach(file -> {
+            try {
+                candidates.add(new Candidate(file, Files.size(file)));
+            } catch (IOException ignored) {}
+        });
+
+        return findDuplicateCandidates(candidates);
+    }
+
+    /**
+     * Runs the size, sampling, and full content stages over the provided candidates.
+     *
+     * @param candidates the candidate files
+     * @return the groups of duplicate files, each containing at least two files
+     */
+    private static ImmutableList<ImmutableList<Path>> findDuplicateCandidates(List<Candidate> candidates) {
+        List<Candidate> sizeSurvivors = candidates.stream()
+                .collect(Collectors.groupingBy(Candidate::size))
+                .values().stream()
+                .filter(group -> group.size() > 1)
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+
+        Collection<List<Candidate>> sampleGroups = groupByKey(sizeSurvivors, FileDeduplicator::sampleKey);
+
+        List<List<Candidate>> duplicates = new ArrayList<>();
+        List<Candidate> sampleSurvivors = new ArrayList<>();
+        sampleGroups.forEach(group -> {
+            // The samples of files no larger than two samples cover their full contents
+            if (group.get(0).size() <= 2L * SAMPLE_SIZE) {
+                duplicates.add(group);
+            } else {
+                sampleSurvivors.addAll(group);
+            }
+        });
+
+        duplicates.addAll(groupByKey(sampleSurvivors, FileDeduplicator::fullKey));
+
+        return duplicates.stream()
+                .map(group -> group.stream().map(Candidate::file).sorted()
+                        .collect(ImmutableList.toImmutableList()))
+                .sorted(Comparator.comparing(group -> group.get(0)))
+                .collect(ImmutableList.toImmutableList());
+    }
+
+    /**
+     * Groups the provided candidates in parallel by the key computed for each,
+     * discarding candidates without a key and groups with a single member.
+     *
+     * @param candidates the candidates to group
+     * @param keyFunction the function to compute the key of a candidate
+     * @return the groups containing at least two candidates
+     */
+    private static Collection<List<Candidate>> groupByKey(List<Candidate> candidates,
+                                                          Function<Candidate, Optional<String>> keyFunction) {
+        ConcurrentMap<String, List<Candidate>> groups = candidates.parallelStream()
+                .flatMap(candidate -> keyFunction.apply(candidate).map(key -> Map.entry(key, candidate)).stream())
+                .collect(Collectors.groupingByConcurrent(Map.Entry::getKey,
+                        Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+
+        return groups.values().stream().filter(group -> group.size() > 1).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the key of the provided candidate for the sampling stage, namely its size
+     * and the hash of its first and last {@link #SAMPLE_SIZE} bytes.
+     *
+     * @param candidate the candidate
+     * @return the sampling key of the candidate, empty if the file could not be read
+     */
+    private static Optional<String> sampleKey(Candidate candidate) {
+        long size = candidate.size();
+
+        try (FileChannel channel = FileChannel.open(candidate.file(), StandardOpenOption.READ)) {
+            int headSize = (int) Math.min(size, SAMPLE_SIZE);
+            int tailSize = (int) Math.min(size - headSize, SAMPLE_SIZE);
+
+            ByteBuffer sample = ByteBuffer.allocate(headSize + tailSize);
+            readFully(channel, sample.limit(headSize), 0);
+            readFully(channel, sample.limit(headSize + tailSize), size - tailSize);
+
+            return Optional.of(size + ":"
+                    + SecurityUtil.toHexString(SecurityUtil.hash(hashingAlgorithm, sample.array())));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the key of the provided candidate for the full content stage, namely its size
+     * and the hash of its contents.
+     *
+     * @param candidate the candidate
+     * @return the full content key of the candidate, empty if the file could not be read
+     */
+    private static Optional<String> fullKey(Candidate candidate) {
+        try {
+            return Optional.of(candidate.size() + ":"
+                    + SecurityUtil.toHexString(SecurityUtil.hash(hashingAlgorithm, candidate.file())));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Fills the remaining space of the provided buffer from the channel starting at the provided position.
+     *
+     * @param channel  the channel to read from
+     * @param buffer   the buffer to fill
+     * @param position the position in the channel to start reading from
+     * @throws IOException if the channel ends before the buffer is filled
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read == -1) throw new IOException("Unexpected end of file");
+            position += read;
+        }
+    }
+
+    /**
+     * A file considered during duplicate detection.
+     *
+     * @param file the path to the file
+     * @param size the size of the file in bytes
+     */
+    private record Candidate(Path file, long size) {}
+}
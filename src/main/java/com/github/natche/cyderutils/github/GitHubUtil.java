@@ -5,17 +5,15 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.reflect.TypeToken;
 import com.github.natche.cyderutils.exceptions.IllegalMethodException;
 import com.github.natche.cyderutils.github.parsers.Issue;
+import com.github.natche.cyderutils.network.HttpTransport;
 import com.github.natche.cyderutils.process.ProcessUtil;
 import com.github.natche.cyderutils.threads.CyderThreadFactory;
 import com.github.natche.cyderutils.utils.OsUtil;
 import com.github.natche.cyderutils.utils.SerializationUtil;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.lang.reflect.Type;
-import java.net.URL;
 import java.util.HashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -91,18 +89,7 @@ public final class GitHubUtil {
 
         try {
             String urlString = GITHUB_REPOS_API_HEADER + "/" + user + "/" + githubRepo + "/" + ISSUES;
-            URL url = new URL(urlString);
-
-            BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream()));
-            StringBuilder sb = new StringBuilder();
-            String line;
-
-            while ((line = reader.readLine()) != null) {
-                sb.append(line);
-            }
-
-            reader.close();
-            String rawJson = sb.toString();
+            String rawJson = HttpTransport.INSTANCE.readString(urlString);
 
             ret = SerializationUtil.fromJson(rawJson, Issue[].class);
         } catch (IOException ignored) {}
@@ -119,18 +106,7 @@ public final class GitHubUtil {
         HashMap<String, Integer> ret = new HashMap<>();
 
         try {
-            URL url = new URL(cyderLanguagesUrl);
-
-            BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream()));
-            StringBuilder sb = new StringBuilder();
-            String line;
-
-            while ((line = reader.readLine()) != null) {
-                sb.append(line);
-            }
-
-            reader.close();
-            String rawJson = sb.toString();
+            String rawJson = HttpTransport.INSTANCE.readString(cyderLanguagesUrl);
 
             Type type = new TypeToken<HashMap<String, Integer>>() {}.getType();
             ret = SerializationUtil.fromJson(rawJson, type);
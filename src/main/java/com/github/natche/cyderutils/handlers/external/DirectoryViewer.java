@@ -220,6 +220,7 @@ public final class DirectoryViewer {
 
         cyderScrollList = new CyderScrollList(SCROLL_WIDTH, SCROLL_HEIGHT, CyderScrollList.SelectionPolicy.SINGLE);
         cyderScrollList.setScrollFont(CyderFonts.SEGOE_20.deriveFont(16f));
+        cyderScrollList.setRenderMode(CyderScrollList.RenderMode.VIRTUALIZED);
 
         currentFiles.forEach(file ->
                 cyderScrollList.addElementWithDoubleClickAction(file.getName(), () -> {
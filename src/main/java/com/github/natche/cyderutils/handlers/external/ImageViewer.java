@@ -1,13 +1,15 @@
 package com.github.natche.cyderutils.handlers.external;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import com.github.natche.cyderutils.files.watcher.DirectoryWatcher;
 import com.github.natche.cyderutils.files.FileUtil;
 import com.github.natche.cyderutils.files.watcher.WatchDirectoryEvent;
 import com.github.natche.cyderutils.files.watcher.WatchDirectorySubscriber;
 import com.github.natche.cyderutils.getter.GetInputBuilder;
 import com.github.natche.cyderutils.getter.GetterUtil;
-import com.github.natche.cyderutils.image.CyderImage;
+import com.github.natche.cyderutils.image.DecodedImageCache;
+import com.github.natche.cyderutils.image.SubsampledImageDecoder;
 import com.github.natche.cyderutils.threads.CyderThreadFactory;
 import com.github.natche.cyderutils.threads.CyderThreadRunner;
 import com.github.natche.cyderutils.ui.drag.button.LeftButton;
@@ -20,7 +22,6 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
-import java.awt.image.BufferedImage;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -28,7 +29,6 @@ import java.util.Optional;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.IntStream;
 
 /** A widget which displays the images supported by Cyder in a provided directory. */
@@ -51,8 +51,18 @@ public class ImageViewer {
     /** The getter util instance used to acquire the new filename from the user during a rename image attempt. */
     private final GetterUtil getterUtil = GetterUtil.getInstance();
 
-    /** The list of valid image files in the current directory, not recursive. */
-    private final ArrayList<File> validDirectoryImages = new ArrayList<>();
+    /** The number of images on either side of the current image decoded ahead of time. */
+    private static final int PREFETCH_DISTANCE = 2;
+
+    /**
+     * The list of valid image files in the current directory, not recursive.
+     * Refreshed when the directory watcher reports a change rather than on each transition.
+     * Once the frame is shown, this is read and written only on the event dispatch thread.
+     */
+    private ImmutableList<File> validDirectoryImages = ImmutableList.of();
+
+    /** The cache of images decoded to fit within {@link #maxFrameSize}, including prefetched neighbors. */
+    private final DecodedImageCache decodedImageCache;
 
     /** The watcher for the image directory. */
     private final DirectoryWatcher imageDirectoryWatcher;
@@ -60,7 +70,10 @@ public class ImageViewer {
     /** The starting directory/file. */
     private final File imageDirectory;
 
-    /** The current index of the valid directory images list. */
+    /**
+     * The current index of the valid directory images list.
+     * Once the frame is shown, this is read and written only on the event dispatch thread.
+     */
     private int currentIndex;
 
     /** The image frame. */
@@ -100,6 +113,8 @@ public class ImageViewer {
         File watchDirectory = imageDirectoryOrFile.isFile()
                 ? imageDirectoryOrFile.getParentFile() : imageDirectoryOrFile;
         this.imageDirectoryWatcher = new DirectoryWatcher(watchDirectory);
+        this.decodedImageCache = new DecodedImageCache(maxFrameSize, DecodedImageCache.DEFAULT_CAPACITY,
+                "ImageViewer decoder, directory: " + watchDirectory);
     }
 
     /**
@@ -109,9 +124,10 @@ public class ImageViewer {
      */
     public Future<Boolean> showGui() {
         return Executors.newSingleThreadExecutor(generateThreadFactory()).submit(() -> {
-            refreshImageFiles();
+            applyImageFiles(listImageFiles());
 
             File currentImage = getCurrentImageFile();
+            currentIndex = Math.max(0, validDirectoryImages.indexOf(currentImage));
 
             ImageIcon newImage = scaleImageIfNeeded(currentImage);
             pictureFrame = new CyderFrame.Builder()
@@ -127,6 +143,7 @@ public class ImageViewer {
                 @Override
                 public void windowClosed(WindowEvent e) {
                     imageDirectoryWatcher.stopWatching();
+                    decodedImageCache.shutdown();
                 }
             });
 
@@ -144,9 +161,12 @@ public class ImageViewer {
             pictureFrame.getTopDragLabel().addRightButton(lastButton, 0);
 
             revalidateNavigationButtonVisibility();
-            startDirectoryWatcher();
 
             pictureFrame.finalizeAndShow();
+            prefetchNeighbors();
+
+            // Started last as its refreshes are applied on the EDT, which owns the image list from here on
+            startDirectoryWatcher();
 
             return true;
         });
@@ -158,13 +178,9 @@ public class ImageViewer {
      * @return a reference to the current image file. The first image is returned otherwise
      */
     private File getCurrentImageFile() {
-        AtomicReference<File> currentImage = new AtomicReference<>(validDirectoryImages.get(0));
-        if (imageDirectory.isFile()) {
-            validDirectoryImages.stream()
-                    .filter(image -> image.equals(imageDirectory))
-                    .findFirst().ifPresent(currentImage::set);
-        }
-        return currentImage.get();
+        ImmutableList<File> images = validDirectoryImages;
+        if (imageDirectory.isFile() && images.contains(imageDirectory)) return imageDirectory;
+        return images.get(0);
     }
 
     /**
@@ -176,33 +192,71 @@ public class ImageViewer {
         return new CyderThreadFactory("ImageViewer showGui thread, directory" + ": " + imageDirectory);
     }
 
-    /** Refreshes the {@link #validDirectoryImages} list based on the currently set {@link #imageDirectory}. */
-    private void refreshImageFiles() {
-        validDirectoryImages.clear();
-
+    /**
+     * Lists the valid image files of the currently set {@link #imageDirectory}.
+     * This may be invoked on any thread.
+     *
+     * @return the valid image files of the image directory
+     */
+    private ImmutableList<File> listImageFiles() {
         File[] neighbors = imageDirectory.isDirectory()
                 ? imageDirectory.listFiles()
                 : imageDirectory.getParentFile().listFiles();
-        if (ArrayUtil.nullOrEmpty(neighbors)) return;
-        Arrays.stream(neighbors).filter(FileUtil::isSupportedImageExtension).forEach(validDirectoryImages::add);
+        return ArrayUtil.nullOrEmpty(neighbors)
+                ? ImmutableList.of()
+                : Arrays.stream(neighbors)
+                .filter(FileUtil::isSupportedImageExtension)
+                .collect(ImmutableList.toImmutableList());
+    }
+
+    /**
+     * Replaces the {@link #validDirectoryImages} list with the provided images.
+     * The current index is moved to follow the current image if it remains, and clamped otherwise.
+     * Once the frame is shown, this must be invoked on the event dispatch thread.
+     *
+     * @param images the valid image files of the image directory
+     */
+    private void applyImageFiles(ImmutableList<File> images) {
+        ImmutableList<File> previousImages = validDirectoryImages;
+        File previousImage = currentIndex < previousImages.size() ? previousImages.get(currentIndex) : null;
+        validDirectoryImages = images;
+
+        int previousImageIndex = previousImage == null ? -1 : images.indexOf(previousImage);
+        currentIndex = previousImageIndex != -1
+                ? previousImageIndex
+                : Math.max(0, Math.min(currentIndex, images.size() - 1));
     }
 
     /** Transitions to the next image if possible. */
     private void transitionForward() {
-        refreshImageFiles();
-        if (validDirectoryImages.size() < 2) return;
-        currentIndex = currentIndex == validDirectoryImages.size() - 1 ? 0 : currentIndex + 1;
+        int size = validDirectoryImages.size();
+        if (size < 2) return;
+        currentIndex = currentIndex >= size - 1 ? 0 : currentIndex + 1;
         revalidateFromTransition();
     }
 
     /** Transitions to the previous image if possible. */
     private void transitionBackward() {
-        refreshImageFiles();
-        if (validDirectoryImages.size() < 2) return;
-        currentIndex = currentIndex == 0 ? validDirectoryImages.size() - 1 : currentIndex - 1;
+        int size = validDirectoryImages.size();
+        if (size < 2) return;
+        currentIndex = currentIndex <= 0 ? size - 1 : currentIndex - 1;
         revalidateFromTransition();
     }
 
+    /** Begins decoding the images within {@link #PREFETCH_DISTANCE} of the current image in the background. */
+    private void prefetchNeighbors() {
+        ImmutableList<File> images = validDirectoryImages;
+        int size = images.size();
+        if (size < 2) return;
+
+        ArrayList<File> neighbors = new ArrayList<>();
+        for (int distance = 1 ; distance <= Math.min(PREFETCH_DISTANCE, size / 2) ; distance++) {
+            neighbors.add(images.get(Math.floorMod(currentIndex + distance, size)));
+            neighbors.add(images.get(Math.floorMod(currentIndex - distance, size)));
+        }
+        decodedImageCache.prefetch(neighbors);
+    }
+
     /** The logic to perform following a transition. */
     private void revalidateFromTransition() {
         Point oldCenterPoint = pictureFrame.getCenterPointOnScreen();
@@ -212,11 +266,13 @@ public class ImageViewer {
         pictureFrame.setCenterPoint(oldCenterPoint);
         pictureFrame.refreshBackground();
         revalidateTitle(FileUtil.getFilename(validDirectoryImages.get(currentIndex).getName()));
+        prefetchNeighbors();
     }
 
     /**
      * Returns a scaled image icon for the provided image
      * file if the image is bigger than MAX_LEN x MAX_LEN.
+     * The image is decoded directly at the scaled size, or taken from the cache if prefetched.
      *
      * @param imageFile the image file to process
      * @return the ImageIcon from the image file guaranteed to be no bigger than MAX_LEN x MAX_LEN
@@ -227,9 +283,7 @@ public class ImageViewer {
         Preconditions.checkArgument(imageFile.isFile());
 
         try {
-            CyderImage cyderImage = CyderImage.fromFile(imageFile);
-            cyderImage.ensureFitsInBounds(maxFrameSize);
-            return cyderImage.getImageIcon();
+            return new ImageIcon(decodedImageCache.get(imageFile).image());
         } catch (Exception e) {
             throw new IllegalStateException("Could not generate ImageIcon for file" + ":"
                     + " " + imageFile.getAbsolutePath() + ", error: " + e.getMessage());
@@ -247,12 +301,12 @@ public class ImageViewer {
 
         getterUtil.closeAllGetInputFrames();
 
-        String initialFieldText = FileUtil.getFilename(validDirectoryImages.get(currentIndex));
+        String initialFieldText = FileUtil.getFilename(currentRename);
 
         CyderThreadRunner.submit(() -> {
             try {
                 GetInputBuilder builder = new GetInputBuilder(RENAME, "New filename for"
-                        + " " + "\"" + validDirectoryImages.get(currentIndex).getName() + "\"")
+                        + " " + "\"" + currentRename.getName() + "\"")
                         .setRelativeTo(pictureFrame)
                         .setInitialFieldText(initialFieldText)
                         .setSubmitButtonText(RENAME);
@@ -261,21 +315,22 @@ public class ImageViewer {
 
                 String requestedName = optionalName.get();
 
-                File oldFileReference = new File(validDirectoryImages.get(currentIndex).getAbsolutePath());
-                File newFileReference = new File(oldFileReference.getAbsolutePath()
-                        .replace(FileUtil.getFilename(oldFileReference), requestedName));
+                File newFileReference = new File(currentRename.getAbsolutePath()
+                        .replace(FileUtil.getFilename(currentRename), requestedName));
 
-                if (oldFileReference.renameTo(newFileReference)) {
+                if (currentRename.renameTo(newFileReference)) {
                     pictureFrame.notify("Successfully renamed to " + "\"" + requestedName + "\"");
 
-                    refreshImageFiles();
-                    IntStream.range(0, validDirectoryImages.size())
-                            .forEach(index -> {
-                                if (FileUtil.getFilename(validDirectoryImages.get(index)).equals(requestedName)) {
-                                    currentIndex = index;
-                                }
-                            });
-                    revalidateTitle(requestedName);
+                    ImmutableList<File> images = listImageFiles();
+                    SwingUtilities.invokeLater(() -> {
+                        applyImageFiles(images);
+                        IntStream.range(0, images.size())
+                                .filter(index -> FileUtil.getFilename(images.get(index)).equals(requestedName))
+                                .reduce((first, second) -> second)
+                                .ifPresent(index -> currentIndex = index);
+                        revalidateTitle(requestedName);
+                        revalidateNavigationButtonVisibility();
+                    });
                 } else {
                     pictureFrame.notify("Could not rename at this time");
                 }
@@ -297,9 +352,9 @@ public class ImageViewer {
         title = title.trim();
 
         try {
-            BufferedImage image = CyderImage.fromFile(validDirectoryImages.get(currentIndex)).getBufferedImage();
-            int width = image.getWidth();
-            int height = image.getHeight();
+            SubsampledImageDecoder.DecodedImage image = decodedImageCache.get(validDirectoryImages.get(currentIndex));
+            int width = image.sourceWidth();
+            int height = image.sourceHeight();
             pictureFrame.setTitle(title + "\"" + "[" + width + "x" + height + "]");
         } catch (Exception e) {
             e.printStackTrace();
@@ -315,8 +370,14 @@ public class ImageViewer {
         WatchDirectorySubscriber subscriber = new WatchDirectorySubscriber() {
             @Override
             public void onEvent(DirectoryWatcher broker, WatchDirectoryEvent event, File eventFile) {
-                refreshImageFiles();
-                revalidateNavigationButtonVisibility();
+                if (eventFile != null) decodedImageCache.invalidate(eventFile);
+
+                // The directory is listed on the watcher thread and the result applied on the EDT
+                ImmutableList<File> images = listImageFiles();
+                SwingUtilities.invokeLater(() -> {
+                    applyImageFiles(images);
+                    revalidateNavigationButtonVisibility();
+                });
             }
         };
         subscriber.subscribeTo(WatchDirectoryEvent.FILE_ADDED,
@@ -327,7 +388,6 @@ public class ImageViewer {
 
     /** Revalidates the visibility of the navigation buttons. */
     private void revalidateNavigationButtonVisibility() {
-        refreshImageFiles();
         setNavigationButtonsVisibility(validDirectoryImages.size() > 1);
     }
 
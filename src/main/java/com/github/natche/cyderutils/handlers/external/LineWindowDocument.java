@@ -0,0 +1,77 @@
+package com.github.natche.cyderutils.handlers.external;
+
+import com.google.common.base.Preconditions;
+
+import javax.swing.text.AttributeSet;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.PlainDocument;
+import java.util.List;
+
+/**
+ * A read-only document holding only the window of lines currently visible from a much larger text.
+ * The window is replaced in a single edit by {@link #setWindow(long, List)}; all other edits are ignored.
+ */
+final class LineWindowDocument extends PlainDocument {
+    /** The serialization version of this document. */
+    private static final long serialVersionUID = 1L;
+
+    /** The zero-indexed line of the larger text the window begins at. */
+    private long firstLine;
+
+    /** Whether the window is currently being replaced, the only time edits are permitted. */
+    private boolean replacingWindow;
+
+    /** Constructs a new empty line window document. */
+    LineWindowDocument() {}
+
+    /**
+     * Replaces the contents of this document with the provided lines.
+     *
+     * @param firstLine the zero-indexed line of the larger text the provided lines begin at
+     * @param lines     the lines of the window
+     * @throws NullPointerException     if the provided lines are null
+     * @throws IllegalArgumentException if the first line is negative
+     */
+    void setWindow(long firstLine, List<String> lines) {
+        Preconditions.checkNotNull(lines);
+        Preconditions.checkArgument(firstLine >= 0);
+
+        this.firstLine = firstLine;
+        replacingWindow = true;
+        try {
+            remove(0, getLength());
+            insertString(0, String.join("\n", lines), null);
+        } catch (BadLocationException e) {
+            e.printStackTrace();
+        } finally {
+            replacingWindow = false;
+        }
+    }
+
+    /**
+     * Returns the zero-indexed line of the larger text the window begins at.
+     *
+     * @return the zero-indexed line of the larger text the window begins at
+     */
+    long getFirstLine() {
+        return firstLine;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Ignored unless the window is being replaced.
+     */
+    @Override
+    public void insertString(int offset, String text, AttributeSet attributes) throws BadLocationException {
+        if (replacingWindow) super.insertString(offset, text, attributes);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Ignored unless the window is being replaced.
+     */
+    @Override
+    public void remove(int offset, int length) throws BadLocationException {
+        if (replacingWindow) super.remove(offset, length);
+    }
+}
@@ -4,7 +4,9 @@ import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.github.natche.cyderutils.color.CyderColors;
 import com.github.natche.cyderutils.enumerations.Extension;
+import com.github.natche.cyderutils.files.DataUnit;
 import com.github.natche.cyderutils.files.FileUtil;
+import com.github.natche.cyderutils.files.MappedTextFile;
 import com.github.natche.cyderutils.layouts.CyderPartitionedLayout;
 import com.github.natche.cyderutils.ui.button.CyderButton;
 import com.github.natche.cyderutils.ui.field.CyderCaret;
@@ -16,7 +18,12 @@ import com.github.natche.cyderutils.utils.OsUtil;
 import javax.swing.*;
 import javax.swing.border.Border;
 import javax.swing.border.LineBorder;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.DefaultHighlighter;
+import javax.swing.text.Element;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
@@ -24,8 +31,15 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-
-/** A handler for viewing text files. */
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A handler for viewing text files.
+ * Files of at least {@link #LARGE_FILE_THRESHOLD} bytes are opened read-only in a large-file mode
+ * which memory-maps the file and decodes only the visible window of lines.
+ */
 public class TextViewer {
     /** The file currently being displayed. */
     private File file;
@@ -64,6 +78,54 @@ public class TextViewer {
     /** The frame for this text editor. */
     private CyderFrame textFrame;
 
+    /** The length in bytes at and above which files are opened in the read-only large-file mode. */
+    public static final long LARGE_FILE_THRESHOLD = DataUnit.MEGABYTE.get(8);
+
+    /** The maximum number of search hits retained for navigation in the large-file mode. */
+    private static final int MAXIMUM_RETAINED_HITS = 10_000;
+
+    /** The number of lines scrolled per mouse wheel notch in the large-file mode. */
+    private static final int LINES_PER_WHEEL_NOTCH = 3;
+
+    /** The width of the line scroll bar in the large-file mode. */
+    private static final int lineScrollBarWidth = 15;
+
+    /** The search field hint text. */
+    private static final String SEARCH = "Search";
+
+    /** The mapped file displayed in the large-file mode, null if the file is displayed in full. */
+    private MappedTextFile mappedFile;
+
+    /** The document holding the visible window of lines in the large-file mode. */
+    private LineWindowDocument windowDocument;
+
+    /** The area displaying the visible window of lines in the large-file mode. */
+    private JTextArea windowArea;
+
+    /** The scroll bar selecting the first visible line in the large-file mode. */
+    private JScrollBar lineScrollBar;
+
+    /** The number of lines visible at once in the large-file mode. */
+    private int windowLineCount;
+
+    /** The search in progress or most recently completed in the large-file mode. */
+    private CompletableFuture<Long> currentSearch = CompletableFuture.completedFuture(0L);
+
+    /** The query of the current search. */
+    private String currentSearchQuery = "";
+
+    /** The hits of the current search retained for navigation. */
+    private final List<MappedTextFile.SearchHit> searchHits = new ArrayList<>();
+
+    /** The index of the hit most recently navigated to. */
+    private int searchHitIndex;
+
+    /**
+     * The generation of the current search, incremented as each search starts. A search whose generation is
+     * no longer current may still be passing hits to its consumer, which are then ignored.
+     */
+    private int searchGeneration;
+
     /**
      * Returns a new text viewer instance to view the provided file.
      *
@@ -90,6 +152,8 @@ public class TextViewer {
      */
     @CanIgnoreReturnValue
     public boolean showGui() {
+        if (file.length() >= LARGE_FILE_THRESHOLD) return showLargeFileGui();
+
         textFrame = new CyderFrame.Builder()
                 .setWidth(defaultFrameWidth)
                 .setHeight(defaultFrameHeight)
@@ -148,6 +212,214 @@ public class TextViewer {
         return true;
     }
 
+    /**
+     * Opens the read-only large-file mode gui which memory-maps the file, indexes its lines in the background,
+     * and decodes only the visible window of lines.
+     *
+     * @return whether the gui opened successfully
+     */
+    private boolean showLargeFileGui() {
+        try {
+            mappedFile = new MappedTextFile(file);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+
+        textFrame = new CyderFrame.Builder()
+                .setWidth(defaultFrameWidth)
+                .setHeight(defaultFrameHeight)
+                .build();
+        textFrame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                closeMappedFile();
+            }
+        });
+
+        nameField = new CyderTextField();
+        nameField.setFont(nameFieldFont);
+        nameField.setForeground(CyderColors.navy);
+        nameField.setBackground(CyderColors.vanilla);
+        nameField.setSize(300, 40);
+        nameField.setToolTipText("Filename");
+        nameField.setBorder(nameFieldBorder);
+        nameField.setText(FileUtil.getFilename(file));
+        nameField.setEditable(false);
+
+        windowDocument = new LineWindowDocument();
+        windowArea = new JTextArea(windowDocument);
+        windowArea.setBounds(0, 0, scrollLength - lineScrollBarWidth, scrollHeight);
+        windowArea.setBackground(CyderColors.vanilla);
+        windowArea.setBorder(new LineBorder(CyderColors.navy, 5));
+        windowArea.setEditable(false);
+        windowArea.setSelectionColor(CyderColors.selectionColor);
+        windowArea.setFont(nameFieldFont);
+        windowArea.setForeground(CyderColors.navy);
+        windowArea.addMouseWheelListener(e -> lineScrollBar.setValue(
+                lineScrollBar.getValue() + e.getWheelRotation() * LINES_PER_WHEEL_NOTCH));
+
+        Insets areaInsets = windowArea.getInsets();
+        int lineHeight = windowArea.getFontMetrics(nameFieldFont).getHeight();
+        windowLineCount = Math.max(1, (scrollHeight - areaInsets.top - areaInsets.bottom) / lineHeight);
+
+        lineScrollBar = new JScrollBar(Adjustable.VERTICAL, 0, windowLineCount, 0, windowLineCount);
+        lineScrollBar.setBounds(scrollLength - lineScrollBarWidth, 0, lineScrollBarWidth, scrollHeight);
+        lineScrollBar.setEnabled(false);
+        lineScrollBar.addAdjustmentListener(e -> displayWindow(e.getValue()));
+
+        JPanel windowPanel = new JPanel(null);
+        windowPanel.setOpaque(false);
+        windowPanel.setSize(scrollLength, scrollHeight);
+        windowPanel.add(windowArea);
+        windowPanel.add(lineScrollBar);
+
+        CyderTextField searchField = new CyderTextField();
+        searchField.setSize(scrollLength, 40);
+        searchField.setHintText(SEARCH);
+        searchField.setToolTipText("Enter to search or move to the next hit");
+        searchField.addActionListener(e -> searchAction(searchField.getText()));
+
+        CyderPartitionedLayout textLayout = new CyderPartitionedLayout();
+        textLayout.spacer(2);
+        textLayout.addComponentMaintainSize(nameField);
+        textLayout.spacer(2);
+        textLayout.addComponentMaintainSize(windowPanel);
+        textLayout.spacer(2);
+        textLayout.addComponentMaintainSize(searchField);
+        textLayout.spacer(2);
+
+        textFrame.setTitle(FileUtil.getFilename(file) + " (indexing)");
+        textFrame.setCyderLayout(textLayout);
+        textFrame.finalizeAndShow();
+
+        mappedFile.getLineCount().whenComplete((lineCount, throwable) -> SwingUtilities.invokeLater(() -> {
+            if (throwable != null) {
+                textFrame.notify("Could not index lines of file");
+                return;
+            }
+
+            lineScrollBar.setMaximum((int) Math.min(Integer.MAX_VALUE, Math.max(lineCount, windowLineCount)));
+            lineScrollBar.setEnabled(true);
+            displayWindow(0);
+            textFrame.setTitle(FileUtil.getFilename(file) + " (" + lineCount + " lines)");
+        }));
+
+        return true;
+    }
+
+    /**
+     * Decodes and displays the window of lines beginning at the provided line if the file has been indexed.
+     *
+     * @param firstLine the zero-indexed first visible line
+     */
+    private void displayWindow(long firstLine) {
+        if (!mappedFile.isIndexed()) return;
+
+        windowDocument.setWindow(firstLine, mappedFile.getLines(firstLine, windowLineCount));
+        windowArea.getHighlighter().removeAllHighlights();
+        windowArea.setCaretPosition(0);
+    }
+
+    /**
+     * Starts a search of the mapped file for the provided query or, if the query is that of the current search,
+     * moves to the next hit of the current search.
+     *
+     * @param query the query
+     */
+    private void searchAction(String query) {
+        if (query.isEmpty()) return;
+
+        if (query.equals(currentSearchQuery)) {
+            synchronized (searchHits) {
+                if (!searchHits.isEmpty()) {
+                    searchHitIndex = (searchHitIndex + 1) % searchHits.size();
+                    showSearchHit(searchHits.get(searchHitIndex));
+                }
+            }
+            return;
+        }
+
+        currentSearch.cancel(false);
+        int generation;
+        synchronized (searchHits) {
+            generation = ++searchGeneration;
+            searchHits.clear();
+            searchHitIndex = 0;
+        }
+        currentSearchQuery = query;
+
+        currentSearch = mappedFile.search(query, hit -> {
+            synchronized (searchHits) {
+                if (generation != searchGeneration || searchHits.size() == MAXIMUM_RETAINED_HITS) return;
+                searchHits.add(hit);
+                if (searchHits.size() == 1) SwingUtilities.invokeLater(() -> {
+                    if (isCurrentSearch(generation)) showSearchHit(hit);
+                });
+            }
+        });
+        CompletableFuture<Long> search = currentSearch;
+        search.whenComplete((hits, throwable) -> SwingUtilities.invokeLater(() -> {
+            if (search.isCancelled() || !isCurrentSearch(generation)) return;
+            if (throwable != null) {
+                textFrame.notify("Could not search file");
+            } else {
+                textFrame.notify("Found " + hits + " hit" + (hits == 1 ? "" : "s") + " for \"" + query + "\"");
+            }
+        }));
+    }
+
+    /**
+     * Returns whether the search of the provided generation is the current search.
+     *
+     * @param generation the generation of the search
+     * @return whether the search is the current search
+     */
+    private boolean isCurrentSearch(int generation) {
+        synchronized (searchHits) {
+            return generation == searchGeneration;
+        }
+    }
+
+    /**
+     * Scrolls the window to contain the line of the provided hit and highlights the line.
+     *
+     * @param hit the hit
+     */
+    private void showSearchHit(MappedTextFile.SearchHit hit) {
+        if (!mappedFile.isIndexed()) return;
+
+        int firstLine = (int) Math.max(0, Math.min(hit.line() - windowLineCount / 2,
+                lineScrollBar.getMaximum() - windowLineCount));
+        if (lineScrollBar.getValue() == firstLine) {
+            displayWindow(firstLine);
+        } else {
+            lineScrollBar.setValue(firstLine);
+        }
+
+        int windowLine = (int) (hit.line() - windowDocument.getFirstLine());
+        Element root = windowDocument.getDefaultRootElement();
+        if (windowLine < 0 || windowLine >= root.getElementCount()) return;
+
+        Element line = root.getElement(windowLine);
+        try {
+            windowArea.getHighlighter().addHighlight(line.getStartOffset(), line.getEndOffset(),
+                    new DefaultHighlighter.DefaultHighlightPainter(CyderColors.selectionColor));
+        } catch (BadLocationException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /** Cancels any search in progress and closes the mapped file. */
+    private void closeMappedFile() {
+        currentSearch.cancel(false);
+        try {
+            mappedFile.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
     /**
      * Reads and returns the contents of the file.
      *
@@ -362,22 +362,31 @@ public final class CyderImage {
     }
 
     /**
-     * Resizes this image to the requested dimensions.
+     * Resizes this image to the requested dimensions using {@link ScalingMethod#PROGRESSIVE_BILINEAR}.
      *
      * @param width  the width to resize this image to
      * @param height the height to resize this image to
      * @throws IllegalArgumentException if the provided width or height is less than one
      */
     public void resizeImage(int width, int height) {
+        resizeImage(width, height, ScalingMethod.PROGRESSIVE_BILINEAR);
+    }
+
+    /**
+     * Resizes this image to the requested dimensions using the provided scaling method.
+     *
+     * @param width         the width to resize this image to
+     * @param height        the height to resize this image to
+     * @param scalingMethod the method to scale this image with
+     * @throws NullPointerException     if the provided scaling method is null
+     * @throws IllegalArgumentException if the provided width or height is less than one
+     */
+    public void resizeImage(int width, int height, ScalingMethod scalingMethod) {
         Preconditions.checkArgument(width > 0);
         Preconditions.checkArgument(height > 0);
+        Preconditions.checkNotNull(scalingMethod);
 
-        Image transferImage = image.getScaledInstance(width, height, Image.SCALE_SMOOTH);
-        image = new BufferedImage(transferImage.getWidth(null),
-                transferImage.getHeight(null), BufferedImage.TYPE_INT_ARGB);
-        Graphics2D graphics = image.createGraphics();
-        graphics.drawImage(transferImage, 0, 0, null);
-        graphics.dispose();
+        image = ImageScaler.scale(image, width, height, scalingMethod);
     }
 
     /**
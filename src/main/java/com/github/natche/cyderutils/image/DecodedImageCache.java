@@ -0,0 +1,186 @@
+package com.github.natche.cyderutils.image;
+
+import com.github.natche.cyderutils.threads.CyderThreadFactory;
+import com.google.common.base.Preconditions;
+
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A least-recently-used cache of image files decoded on a background pool to fit within fixed bounds
+ * using {@link SubsampledImageDecoder}. Images likely to be requested soon, such as the neighbors of the image
+ * currently displayed, may be prefetched so that requesting them later completes immediately.
+ * Entries are keyed by the path, size, and last modified time of the file so modified files are decoded again.
+ * Cached images are shared and must not be mutated.
+ */
+public final class DecodedImageCache {
+    /** The default maximum number of decoded images to retain. */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /** The number of threads decoding images. */
+    private static final int DECODER_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
+    /** The bounds images are decoded to fit within. */
+    private final Dimension bounds;
+
+    /** The pool decoding images in the background. */
+    private final ExecutorService decodeExecutor;
+
+    /** The decoded or decoding images, least recently used first. */
+    private final LinkedHashMap<Key, CompletableFuture<SubsampledImageDecoder.DecodedImage>> decodedImages;
+
+    /**
+     * The state of a file which determines its decoded image.
+     *
+     * @param path         the absolute path of the file
+     * @param length       the length of the file
+     * @param lastModified the last modified time of the file
+     */
+    private record Key(String path, long length, long lastModified) {
+        /**
+         * Returns the key for the current state of the provided file.
+         *
+         * @param file the file
+         * @return the key for the current state of the provided file
+         */
+        static Key of(File file) {
+            return new Key(file.getAbsolutePath(), file.length(), file.lastModified());
+        }
+    }
+
+    /**
+     * Constructs a new decoded image cache.
+     *
+     * @param bounds     the bounds images are decoded to fit within
+     * @param capacity   the maximum number of decoded images to retain
+     * @param threadName the name of the threads decoding images
+     * @throws NullPointerException     if the provided bounds or thread name is null
+     * @throws IllegalArgumentException if the bounds are less than one pixel in either dimension,
+     *                                  the capacity is less than one, or the thread name is empty
+     */
+    public DecodedImageCache(Dimension bounds, int capacity, String threadName) {
+        Preconditions.checkNotNull(bounds);
+        Preconditions.checkNotNull(threadName);
+        Preconditions.checkArgument(bounds.width > 0 && bounds.height > 0);
+        Preconditions.checkArgument(capacity > 0);
+        Preconditions.checkArgument(!threadName.trim().isEmpty());
+
+        this.bounds = new Dimension(bounds);
+        this.decodedImages = new LinkedHashMap<>(capacity + 1, 1.0f, true) {
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<Key, CompletableFuture<SubsampledImageDecoder.DecodedImage>> eldest) {
+                return size() > capacity;
+            }
+        };
+
+        CyderThreadFactory threadFactory = new CyderThreadFactory(threadName);
+        this.decodeExecutor = Executors.newFixedThreadPool(DECODER_THREADS, runnable -> {
+            Thread thread = threadFactory.newThread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the future decoded image of the provided file, decoding it in the background if not cached.
+     *
+     * @param file the image file
+     * @return the future decoded image
+     * @throws NullPointerException if the provided file is null
+     */
+    public synchronized CompletableFuture<SubsampledImageDecoder.DecodedImage> getFuture(File file) {
+        Preconditions.checkNotNull(file);
+
+        Key key = Key.of(file);
+        CompletableFuture<SubsampledImageDecoder.DecodedImage> future = decodedImages.get(key);
+        if (future != null) return future;
+
+        CompletableFuture<SubsampledImageDecoder.DecodedImage> decoding = CompletableFuture.supplyAsync(() -> {
+            try {
+                return SubsampledImageDecoder.decodeToFit(file, bounds);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, decodeExecutor);
+        decodedImages.put(key, decoding);
+
+        // Failures are not retained so that a later request may try again
+        decoding.whenComplete((image, throwable) -> {
+            if (throwable == null) return;
+            synchronized (this) {
+                decodedImages.remove(key, decoding);
+            }
+        });
+
+        return decoding;
+    }
+
+    /**
+     * Returns the decoded image of the provided file, waiting for it to be decoded if necessary.
+     *
+     * @param file the image file
+     * @return the decoded image
+     * @throws NullPointerException if the provided file is null
+     * @throws IOException          if the file cannot be decoded
+     */
+    public SubsampledImageDecoder.DecodedImage get(File file) throws IOException {
+        try {
+            return getFuture(file).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException uncheckedIOException) throw uncheckedIOException.getCause();
+            if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Begins decoding each of the provided files in the background if not already cached.
+     *
+     * @param files the image files
+     * @throws NullPointerException if the provided collection is null
+     */
+    public void prefetch(Collection<File> files) {
+        Preconditions.checkNotNull(files);
+
+        files.forEach(this::getFuture);
+    }
+
+    /**
+     * Removes every decoded image of the provided file regardless of the state it was decoded from.
+     *
+     * @param file the image file
+     * @throws NullPointerException if the provided file is null
+     */
+    public synchronized void invalidate(File file) {
+        Preconditions.checkNotNull(file);
+
+        String path = file.getAbsolutePath();
+        decodedImages.keySet().removeIf(key -> key.path().equals(path));
+    }
+
+    /**
+     * Returns the number of decoded or decoding images currently retained.
+     *
+     * @return the number of decoded or decoding images currently retained
+     */
+    public synchronized int size() {
+        return decodedImages.size();
+    }
+
+    /** Removes all images from this cache and stops the background pool. */
+    public synchronized void shutdown() {
+        decodedImages.clear();
+        decodeExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,276 @@
+package com.github.natche.cyderutils.image;
+
+import com.github.natche.cyderutils.exceptions.IllegalMethodException;
+import com.github.natche.cyderutils.strings.CyderStrings;
+import com.google.common.base.Preconditions;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Utilities for scaling images without {@link Image#getScaledInstance(int, int, int)},
+ * the slowest scaling path offered by AWT.
+ */
+public final class ImageScaler {
+    /** The radius of the Lanczos kernel. */
+    private static final int LANCZOS_RADIUS = 3;
+
+    /** The number of channels of an ARGB pixel. */
+    private static final int CHANNELS = 4;
+
+    /** The maximum value of a color channel. */
+    private static final float MAX_CHANNEL_VALUE = 255f;
+
+    /** Suppress default constructor. */
+    private ImageScaler() {
+        throw new IllegalMethodException(CyderStrings.ATTEMPTED_INSTANTIATION);
+    }
+
+    /**
+     * Returns a new image of the provided source scaled to the provided size
+     * using {@link ScalingMethod#PROGRESSIVE_BILINEAR}.
+     *
+     * @param source the image to scale
+     * @param width  the width of the scaled image
+     * @param height the height of the scaled image
+     * @return a new ARGB image of the provided size
+     * @throws NullPointerException     if the provided source is null
+     * @throws IllegalArgumentException if the provided width or height is less than one
+     */
+    public static BufferedImage scale(BufferedImage source, int width, int height) {
+        return scale(source, width, height, ScalingMethod.PROGRESSIVE_BILINEAR);
+    }
+
+    /**
+     * Returns a new image of the provided source scaled to the provided size using the provided method.
+     *
+     * @param source the image to scale
+     * @param width  the width of the scaled image
+     * @param height the height of the scaled image
+     * @param method the scaling method
+     * @return a new ARGB image of the provided size
+     * @throws NullPointerException     if the provided source or method is null
+     * @throws IllegalArgumentException if the provided width or height is less than one
+     */
+    public static BufferedImage scale(BufferedImage source, int width, int height, ScalingMethod method) {
+        Preconditions.checkNotNull(source);
+        Preconditions.checkNotNull(method);
+        Preconditions.checkArgument(width > 0);
+        Preconditions.checkArgument(height > 0);
+
+        return switch (method) {
+            case FAST -> draw(source, width, height, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            case PROGRESSIVE_BILINEAR -> scaleProgressively(source, width, height);
+            case LANCZOS -> scaleLanczos(source, width, height);
+        };
+    }
+
+    /**
+     * Scales the provided image by halving each axis which is at least twice its target length
+     * until neither is, then drawing the result at the target size. Upscaled axes use bicubic interpolation.
+     *
+     * @param source the image to scale
+     * @param width  the width of the scaled image
+     * @param height the height of the scaled image
+     * @return the scaled image
+     */
+    private static BufferedImage scaleProgressively(BufferedImage source, int width, int height) {
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+
+        while (currentWidth / 2 >= width || currentHeight / 2 >= height) {
+            if (currentWidth / 2 >= width) currentWidth /= 2;
+            if (currentHeight / 2 >= height) currentHeight /= 2;
+            current = draw(current, currentWidth, currentHeight, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        }
+
+        if (current != source && currentWidth == width && currentHeight == height) return current;
+
+        boolean upscaling = width > currentWidth || height > currentHeight;
+        return draw(current, width, height, upscaling
+                ? RenderingHints.VALUE_INTERPOLATION_BICUBIC
+                : RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+    }
+
+    /**
+     * Draws the provided image onto a new ARGB image of the provided size.
+     *
+     * @param source            the image to draw
+     * @param width             the width of the new image
+     * @param height            the height of the new image
+     * @param interpolationHint the value of {@link RenderingHints#KEY_INTERPOLATION} to draw with
+     * @return the new image
+     */
+    private static BufferedImage draw(Image source, int width, int height, Object interpolationHint) {
+        BufferedImage ret = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = ret.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolationHint);
+        graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        graphics.drawImage(source, 0, 0, width, height, null);
+        graphics.dispose();
+        return ret;
+    }
+
+    /**
+     * Scales the provided image with a separable Lanczos filter, filtering rows and then columns in parallel.
+     * Channels are filtered premultiplied by alpha so transparent pixels do not bleed color.
+     *
+     * @param source the image to scale
+     * @param width  the width of the scaled image
+     * @param height the height of the scaled image
+     * @return the scaled image
+     */
+    private static BufferedImage scaleLanczos(BufferedImage source, int width, int height) {
+        int sourceWidth = source.getWidth();
+        int sourceHeight = source.getHeight();
+
+        int[] sourcePixels = source.getRGB(0, 0, sourceWidth, sourceHeight, null, 0, sourceWidth);
+        float[] premultiplied = new float[sourcePixels.length * CHANNELS];
+        IntStream.range(0, sourceHeight).parallel().forEach(y -> {
+            for (int x = 0 ; x < sourceWidth ; x++) {
+                int index = y * sourceWidth + x;
+                int pixel = sourcePixels[index];
+                float alpha = (pixel >>> 24) / MAX_CHANNEL_VALUE;
+                int offset = index * CHANNELS;
+                premultiplied[offset] = pixel >>> 24;
+                premultiplied[offset + 1] = ((pixel >> 16) & 0xff) * alpha;
+                premultiplied[offset + 2] = ((pixel >> 8) & 0xff) * alpha;
+                premultiplied[offset + 3] = (pixel & 0xff) * alpha;
+            }
+        });
+
+        // Filter each row horizontally
+        Contributions columns = computeContributions(sourceWidth, width);
+        float[] horizontal = new float[width * sourceHeight * CHANNELS];
+        IntStream.range(0, sourceHeight).parallel().forEach(y -> {
+            for (int x = 0 ; x < width ; x++) {
+                float[] weights = columns.weights()[x];
+                int start = columns.starts()[x];
+                int targetOffset = (y * width + x) * CHANNELS;
+                for (int i = 0 ; i < weights.length ; i++) {
+                    int sourceOffset = (y * sourceWidth + start + i) * CHANNELS;
+                    for (int channel = 0 ; channel < CHANNELS ; channel++) {
+                        horizontal[targetOffset + channel] += premultiplied[sourceOffset + channel] * weights[i];
+                    }
+                }
+            }
+        });
+
+        // Filter each column of the horizontally filtered rows vertically
+        Contributions rows = computeContributions(sourceHeight, height);
+        int[] scaledPixels = new int[width * height];
+        IntStream.range(0, height).parallel().forEach(y -> {
+            float[] weights = rows.weights()[y];
+            int start = rows.starts()[y];
+            float[] accumulated = new float[CHANNELS];
+            for (int x = 0 ; x < width ; x++) {
+                Arrays.fill(accumulated, 0f);
+                for (int i = 0 ; i < weights.length ; i++) {
+                    int sourceOffset = ((start + i) * width + x) * CHANNELS;
+                    for (int channel = 0 ; channel < CHANNELS ; channel++) {
+                        accumulated[channel] += horizontal[sourceOffset + channel] * weights[i];
+                    }
+                }
+                scaledPixels[y * width + x] = toArgb(accumulated);
+            }
+        });
+
+        BufferedImage ret = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        ret.setRGB(0, 0, width, height, scaledPixels, 0, width);
+        return ret;
+    }
+
+    /**
+     * Converts the provided premultiplied channels to an ARGB pixel, clamping each channel.
+     *
+     * @param premultiplied the alpha, red, green, and blue channels with colors premultiplied by alpha
+     * @return the ARGB pixel
+     */
+    private static int toArgb(float[] premultiplied) {
+        int alpha = clampChannel(premultiplied[0]);
+        if (alpha == 0) return 0;
+
+        float alphaScale = MAX_CHANNEL_VALUE / alpha;
+        int red = clampChannel(premultiplied[1] * alphaScale);
+        int green = clampChannel(premultiplied[2] * alphaScale);
+        int blue = clampChannel(premultiplied[3] * alphaScale);
+        return alpha << 24 | red << 16 | green << 8 | blue;
+    }
+
+    /**
+     * Rounds and clamps the provided value to the range of a color channel.
+     *
+     * @param value the value
+     * @return the value rounded and clamped to [0, 255]
+     */
+    private static int clampChannel(float value) {
+        return Math.max(0, Math.min(255, Math.round(value)));
+    }
+
+    /**
+     * The source samples and their weights contributing to each target sample along one axis.
+     *
+     * @param starts  the index of the first contributing source sample for each target sample
+     * @param weights the normalized weights of the contributing source samples for each target sample
+     */
+    private record Contributions(int[] starts, float[][] weights) {}
+
+    /**
+     * Computes the Lanczos contributions of source samples to target samples along one axis.
+     * When downscaling, the kernel is widened by the scale factor so every source sample contributes.
+     *
+     * @param sourceLength the number of source samples
+     * @param targetLength the number of target samples
+     * @return the contributions
+     */
+    private static Contributions computeContributions(int sourceLength, int targetLength) {
+        double scale = (double) targetLength / sourceLength;
+        double filterScale = Math.max(1.0, 1.0 / scale);
+        double support = LANCZOS_RADIUS * filterScale;
+
+        int[] starts = new int[targetLength];
+        float[][] weights = new float[targetLength][];
+        for (int i = 0 ; i < targetLength ; i++) {
+            double center = (i + 0.5) / scale;
+            int first = Math.max(0, (int) Math.floor(center - support));
+            int last = Math.min(sourceLength - 1, (int) Math.ceil(center + support));
+
+            float[] sampleWeights = new float[last - first + 1];
+            double total = 0;
+            for (int j = first ; j <= last ; j++) {
+                double weight = lanczos((j + 0.5 - center) / filterScale);
+                sampleWeights[j - first] = (float) weight;
+                total += weight;
+            }
+
+            if (total != 0) {
+                for (int j = 0 ; j < sampleWeights.length ; j++) {
+                    sampleWeights[j] /= (float) total;
+                }
+            }
+
+            starts[i] = first;
+            weights[i] = sampleWeights;
+        }
+
+        return new Contributions(starts, weights);
+    }
+
+    /**
+     * Evaluates the Lanczos kernel at the provided distance.
+     *
+     * @param distance the distance from the kernel center in samples
+     * @return the weight of the kernel at the provided distance
+     */
+    private static double lanczos(double distance) {
+        if (distance == 0) return 1;
+        if (Math.abs(distance) >= LANCZOS_RADIUS) return 0;
+
+        double piDistance = Math.PI * distance;
+        return LANCZOS_RADIUS * Math.sin(piDistance) * Math.sin(piDistance / LANCZOS_RADIUS)
+                / (piDistance * piDistance);
+    }
+}
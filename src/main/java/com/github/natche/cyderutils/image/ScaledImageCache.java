@@ -0,0 +1,132 @@
+package com.github.natche.cyderutils.image;
+
+import com.google.common.base.Preconditions;
+
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A least-recently-used cache of scaled copies of a single source image keyed by size.
+ * Used to let repeatedly resized components, such as the background of a frame being
+ * drag-resized, reuse recently computed scales instead of scaling the source again.
+ * Cached images are shared and must not be mutated.
+ */
+public final class ScaledImageCache {
+    /** The default maximum number of scaled images to retain. */
+    public static final int DEFAULT_CAPACITY = 8;
+
+    /** The image scaled copies are made of. */
+    private final BufferedImage source;
+
+    /** The method used to scale the source image. */
+    private final ScalingMethod scalingMethod;
+
+    /** The scaled images, least recently used first. */
+    private final LinkedHashMap<Size, BufferedImage> scaledImages;
+
+    /**
+     * A size of a scaled image.
+     *
+     * @param width  the width
+     * @param height the height
+     */
+    private record Size(int width, int height) {}
+
+    /**
+     * Constructs a new scaled image cache retaining up to {@link #DEFAULT_CAPACITY} images
+     * scaled using {@link ScalingMethod#PROGRESSIVE_BILINEAR}.
+     *
+     * @param source the image scaled copies are made of
+     * @throws NullPointerException if the provided source is null
+     */
+    public ScaledImageCache(BufferedImage source) {
+        this(source, DEFAULT_CAPACITY, ScalingMethod.PROGRESSIVE_BILINEAR);
+    }
+
+    /**
+     * Constructs a new scaled image cache.
+     *
+     * @param source        the image scaled copies are made of
+     * @param capacity      the maximum number of scaled images to retain
+     * @param scalingMethod the method used to scale the source image
+     * @throws NullPointerException     if the provided source or scaling method is null
+     * @throws IllegalArgumentException if the provided capacity is less than one
+     */
+    public ScaledImageCache(BufferedImage source, int capacity, ScalingMethod scalingMethod) {
+        Preconditions.checkNotNull(source);
+        Preconditions.checkNotNull(scalingMethod);
+        Preconditions.checkArgument(capacity > 0);
+
+        this.source = source;
+        this.scalingMethod = scalingMethod;
+        this.scaledImages = new LinkedHashMap<>(capacity + 1, 1.0f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Size, BufferedImage> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the image scaled copies are made of.
+     *
+     * @return the image scaled copies are made of
+     */
+    public BufferedImage getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the source image scaled to the provided size, scaling and caching it if not present.
+     *
+     * @param width  the width
+     * @param height the height
+     * @return the source image scaled to the provided size
+     * @throws IllegalArgumentException if the provided width or height is less than one
+     */
+    public synchronized BufferedImage get(int width, int height) {
+        Preconditions.checkArgument(width > 0);
+        Preconditions.checkArgument(height > 0);
+
+        return scaledImages.computeIfAbsent(new Size(width, height),
+                size -> ImageScaler.scale(source, width, height, scalingMethod));
+    }
+
+    /**
+     * Returns the source image scaled to the provided size if it is cached.
+     *
+     * @param width  the width
+     * @param height the height
+     * @return the source image scaled to the provided size if it is cached
+     */
+    public synchronized Optional<BufferedImage> getIfPresent(int width, int height) {
+        return Optional.ofNullable(scaledImages.get(new Size(width, height)));
+    }
+
+    /**
+     * Returns the number of scaled images cached.
+     *
+     * @return the number of scaled images cached
+     */
+    public synchronized int size() {
+        return scaledImages.size();
+    }
+
+    /** Removes all scaled images from this cache. */
+    public synchronized void clear() {
+        scaledImages.clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized String toString() {
+        return "ScaledImageCache{"
+                + "sourceWidth=" + source.getWidth()
+                + ", sourceHeight=" + source.getHeight()
+                + ", scalingMethod=" + scalingMethod
+                + ", size=" + scaledImages.size()
+                + "}";
+    }
+}
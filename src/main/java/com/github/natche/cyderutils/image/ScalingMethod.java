@@ -0,0 +1,22 @@
+package com.github.natche.cyderutils.image;
+
+/** The methods {@link ImageScaler} may use to scale an image. */
+public enum ScalingMethod {
+    /**
+     * A single bilinear draw to the target size.
+     * Suitable for transient previews; downscales by more than half will alias.
+     */
+    FAST,
+
+    /**
+     * Downscales by repeated bilinear halving followed by a final bilinear draw,
+     * and upscales by a single bicubic draw. The default, balancing quality and speed.
+     */
+    PROGRESSIVE_BILINEAR,
+
+    /**
+     * A separable Lanczos filter with a radius of three computed in parallel.
+     * The highest quality and the slowest method, intended for offline use.
+     */
+    LANCZOS
+}
@@ -0,0 +1,166 @@
+package com.github.natche.cyderutils.image;
+
+import com.github.natche.cyderutils.exceptions.IllegalMethodException;
+import com.github.natche.cyderutils.strings.CyderStrings;
+import com.google.common.base.Preconditions;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Utilities for decoding image files directly at the size they are displayed at.
+ * Rather than decoding every pixel of a large image only to discard most of them when scaling down,
+ * the decoder is asked to read only every nth row and column via
+ * {@link ImageReadParam#setSourceSubsampling(int, int, int, int)}, producing an image no smaller than
+ * the display size which is then scaled to exactly that size.
+ */
+public final class SubsampledImageDecoder {
+    /** Suppress default constructor. */
+    private SubsampledImageDecoder() {
+        throw new IllegalMethodException(CyderStrings.ATTEMPTED_INSTANTIATION);
+    }
+
+    /**
+     * An image decoded to fit within bounds along with the dimensions of its source.
+     *
+     * @param image        the decoded image
+     * @param sourceWidth  the width of the image stored in the file
+     * @param sourceHeight the height of the image stored in the file
+     */
+    public record DecodedImage(BufferedImage image, int sourceWidth, int sourceHeight) {
+        /**
+         * Constructs a new decoded image.
+         *
+         * @throws NullPointerException     if the provided image is null
+         * @throws IllegalArgumentException if either source dimension is less than one
+         */
+        public DecodedImage {
+            Preconditions.checkNotNull(image);
+            Preconditions.checkArgument(sourceWidth > 0);
+            Preconditions.checkArgument(sourceHeight > 0);
+        }
+    }
+
+    /**
+     * Reads the dimensions of the image stored in the provided file from its header without decoding it.
+     *
+     * @param file the image file
+     * @return the dimensions of the image
+     * @throws NullPointerException     if the provided file is null
+     * @throws IllegalArgumentException if the provided file does not exist or is not a file
+     * @throws IOException              if no reader supports the file or its header cannot be read
+     */
+    public static Dimension readDimensions(File file) throws IOException {
+        Preconditions.checkNotNull(file);
+        Preconditions.checkArgument(file.isFile());
+
+        try (ImageInputStream input = ImageIO.createImageInputStream(file)) {
+            ImageReader reader = getReader(input, file);
+            try {
+                return new Dimension(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Decodes the image stored in the provided file scaled to fit within the provided bounds,
+     * preserving its aspect ratio. Images already within the bounds are decoded at their stored size.
+     *
+     * @param file   the image file
+     * @param bounds the bounds the decoded image must fit within
+     * @return the decoded image
+     * @throws NullPointerException     if either argument is null
+     * @throws IllegalArgumentException if the provided file does not exist or is not a file,
+     *                                  or the bounds are less than one pixel in either dimension
+     * @throws IOException              if no reader supports the file or it cannot be decoded
+     */
+    public static DecodedImage decodeToFit(File file, Dimension bounds) throws IOException {
+        Preconditions.checkNotNull(file);
+        Preconditions.checkNotNull(bounds);
+        Preconditions.checkArgument(file.isFile());
+        Preconditions.checkArgument(bounds.width > 0 && bounds.height > 0);
+
+        try (ImageInputStream input = ImageIO.createImageInputStream(file)) {
+            ImageReader reader = getReader(input, file);
+            try {
+                int sourceWidth = reader.getWidth(0);
+                int sourceHeight = reader.getHeight(0);
+                Dimension fitted = computeFittedSize(sourceWidth, sourceHeight, bounds);
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = computeSubsampling(sourceWidth, sourceHeight, fitted);
+                if (subsampling > 1) param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+
+                BufferedImage decoded = reader.read(0, param);
+                if (decoded.getWidth() != fitted.width || decoded.getHeight() != fitted.height) {
+                    decoded = ImageScaler.scale(decoded, fitted.width, fitted.height);
+                }
+
+                return new DecodedImage(decoded, sourceWidth, sourceHeight);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Returns the largest size with the aspect ratio of the provided source size which fits within the
+     * provided bounds and does not exceed the source size.
+     *
+     * @param sourceWidth  the source width
+     * @param sourceHeight the source height
+     * @param bounds       the bounds
+     * @return the fitted size, at least one pixel in each dimension
+     */
+    static Dimension computeFittedSize(int sourceWidth, int sourceHeight, Dimension bounds) {
+        double scale = Math.min(1.0, Math.min(bounds.width / (double) sourceWidth,
+                bounds.height / (double) sourceHeight));
+        int width = Math.max(1, Math.min(bounds.width, (int) Math.round(sourceWidth * scale)));
+        int height = Math.max(1, Math.min(bounds.height, (int) Math.round(sourceHeight * scale)));
+        return new Dimension(width, height);
+    }
+
+    /**
+     * Returns the largest subsampling factor which decodes the provided source size to
+     * no smaller than the provided target size in either dimension. Subsampling by {@code n}
+     * keeps {@code ceil(length / n)} pixels, never fewer than the target as {@code n <= length / target}.
+     *
+     * @param sourceWidth  the source width
+     * @param sourceHeight the source height
+     * @param target       the target size
+     * @return the subsampling factor, at least one
+     */
+    static int computeSubsampling(int sourceWidth, int sourceHeight, Dimension target) {
+        int horizontal = sourceWidth / target.width;
+        int vertical = sourceHeight / target.height;
+        return Math.max(1, Math.min(horizontal, vertical));
+    }
+
+    /**
+     * Returns a reader for the provided input with the input set.
+     *
+     * @param input the image input stream, null if one could not be created
+     * @param file  the file the input reads, used for error messages
+     * @return the reader
+     * @throws IOException if no reader supports the input
+     */
+    private static ImageReader getReader(ImageInputStream input, File file) throws IOException {
+        if (input == null) throw new IOException("Could not open image file: " + file.getAbsolutePath());
+
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) throw new IOException("No image reader supports file: " + file.getAbsolutePath());
+
+        ImageReader reader = readers.next();
+        reader.setInput(input, true, true);
+        return reader;
+    }
+}
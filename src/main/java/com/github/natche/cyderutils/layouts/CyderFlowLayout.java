@@ -9,6 +9,7 @@ import com.github.natche.cyderutils.ui.pane.CyderPanel;
 import javax.annotation.Nullable;
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.HashSet;
 
 /**
  * A simple flow layout to quickly add components and ensure their
@@ -48,6 +49,9 @@ public class CyderFlowLayout extends CyderLayout {
     /** The comprehensive list of components managed by this layout. */
     private final ArrayList<Component> components = new ArrayList<>();
 
+    /** The set of components managed by this layout for constant time membership checks. */
+    private final HashSet<Component> componentSet = new HashSet<>();
+
     /**
      * The CyderPanel that this layout is in control of. This is where the
      * width and height that we are in control from comes and it is what we add/remove
@@ -55,6 +59,24 @@ public class CyderFlowLayout extends CyderLayout {
      */
     private CyderPanel associatedPanel;
 
+    /** The width of each component when last measured, parallel to {@link #components}. */
+    private int[] measuredWidths = new int[0];
+
+    /** The height of each component when last measured, parallel to {@link #components}. */
+    private int[] measuredHeights = new int[0];
+
+    /** The rows computed from the measured component sizes during the last layout pass. */
+    private ImmutableList<FlowRow> rows = ImmutableList.of();
+
+    /** Whether the components, gaps, or padding have changed since the last layout pass. */
+    private boolean structureChanged = true;
+
+    /** The width of the associated panel during the last layout pass. */
+    private int lastPanelWidth = -1;
+
+    /** The height of the associated panel during the last layout pass. */
+    private int lastPanelHeight = -1;
+
     /**
      * Constructs a new FlowLayout with horizontal alignment CENTER,
      * vertical alignment of TOP, and component gaps of 5 pixels.
@@ -125,10 +147,11 @@ public class CyderFlowLayout extends CyderLayout {
     @Override
     public void addComponent(Component component) {
         Preconditions.checkNotNull(component);
-        Preconditions.checkState(!components.contains(component));
+        Preconditions.checkState(componentSet.add(component));
 
         components.add(component);
-        revalidateComponents();
+        invalidateRows();
+        requestRevalidation();
     }
 
     /**
@@ -138,40 +161,54 @@ public class CyderFlowLayout extends CyderLayout {
      */
     @Override
     public void removeComponent(Component component) {
-        for (Component flowComponent : components) {
-            if (flowComponent.equals(component)) {
-                components.remove(flowComponent);
-                revalidateComponents();
-                return;
-            }
-        }
+        if (!componentSet.remove(component)) return;
+
+        components.remove(component);
+        if (associatedPanel != null && component.getParent() == associatedPanel) associatedPanel.remove(component);
+        invalidateRows();
+        requestRevalidation();
     }
 
-    /** {@inheritDoc} */
+    /**
+     * Revalidates the components managed by this layout. Measured component sizes and the rows derived
+     * from them are cached; rows are only recomputed when components are added or removed, a component's
+     * size changes, the gaps or padding change, or the panel width changes. If none of those nor the panel
+     * height changed since the last pass, this method returns without touching any component.
+     */
     @Override
     public void revalidateComponents() {
         if (!shouldRevalidateComponents()) return;
 
-        Component focusOwner = findFocusOwner();
+        boolean sizesChanged = measureComponents();
+        int panelWidth = associatedPanel.getWidth();
+        int panelHeight = associatedPanel.getHeight();
+        boolean rowsInvalid = structureChanged || sizesChanged || panelWidth != lastPanelWidth;
+        if (!rowsInvalid && panelHeight == lastPanelHeight) return;
 
-        ArrayList<ArrayList<Component>> rows = getRows();
+        if (rowsInvalid) rows = computeRows(panelWidth);
+        structureChanged = false;
+        lastPanelWidth = panelWidth;
+        lastPanelHeight = panelHeight;
 
-        // Find the max component height of each row
-        ArrayList<Integer> maxRowHeights = new ArrayList<>();
-        for (ArrayList<Component> row : rows) {
-            int currentRowMax = 0;
-            for (Component rowComponent : row) currentRowMax = Math.max(currentRowMax, rowComponent.getHeight());
-            maxRowHeights.add(currentRowMax);
-        }
+        Component focusOwner = findFocusOwner();
+        placeRows(panelWidth, panelHeight);
+        if (focusOwner != null) focusOwner.requestFocus();
+    }
 
+    /**
+     * Places the components of the cached rows which fit on the panel.
+     *
+     * @param panelWidth  the width of the associated panel
+     * @param panelHeight the height of the associated panel
+     */
+    private void placeRows(int panelWidth, int panelHeight) {
         // Calculate how many rows of components we can show
         int numRows = 0;
         int currentHeight = 0;
-        int panelHeight = associatedPanel.getHeight();
-        for (int maxRowHeight : maxRowHeights) {
+        for (FlowRow row : rows) {
             // If we can fit part of the next row on the panel
-            if (currentHeight + maxRowHeight < panelHeight) {
-                currentHeight += maxRowHeight;
+            if (currentHeight + row.maxHeight() < panelHeight) {
+                currentHeight += row.maxHeight();
                 numRows++;
             } else {
                 break;
@@ -191,113 +228,69 @@ public class CyderFlowLayout extends CyderLayout {
             // Component rows are spaced evenly to take up the space available
             case CENTER -> {
                 int rowHeightsOfVisibleRows = 0;
-                for (int i = 0 ; i < numRows ; i++) rowHeightsOfVisibleRows += maxRowHeights.get(i);
-                currentHeightCenterIncrement = (associatedPanel.getHeight() - rowHeightsOfVisibleRows) / (numRows + 1);
+                for (int i = 0 ; i < numRows ; i++) rowHeightsOfVisibleRows += rows.get(i).maxHeight();
+                currentHeightCenterIncrement = (panelHeight - rowHeightsOfVisibleRows) / (numRows + 1);
                 currentHeightCenteringY = currentHeightCenterIncrement;
             }
             // Component rows are placed to border the bottom with minimum vertical spacing
             case BOTTOM -> {
                 int rowHeights = 0;
-                for (int aMaxHeight : maxRowHeights) rowHeights += aMaxHeight;
-                currentHeightCenteringY = associatedPanel.getHeight() - verticalGap * rows.size() - rowHeights;
+                for (FlowRow row : rows) rowHeights += row.maxHeight();
+                currentHeightCenteringY = panelHeight - verticalGap * rows.size() - rowHeights;
             }
             // Component rows are spaced with the minimum vertical spacing and centered in the available space
             case CENTER_STATIC -> {
                 int sumRowHeights = 0;
-                for (int aMaxHeight : maxRowHeights) sumRowHeights += aMaxHeight + verticalGap;
+                for (FlowRow row : rows) sumRowHeights += row.maxHeight() + verticalGap;
                 // one less than num components always
                 sumRowHeights -= verticalGap;
-                currentHeightCenteringY = associatedPanel.getHeight() / 2 - sumRowHeights / 2;
+                currentHeightCenteringY = panelHeight / 2 - sumRowHeights / 2;
             }
             default -> throw new IllegalArgumentException("Invalid vertical alignment: " + verticalAlignment);
         }
 
-        int maxRowWidth = associatedPanel.getWidth() - 2 * horizontalPadding;
+        int maxRowWidth = panelWidth - 2 * horizontalPadding;
 
         for (int i = 0 ; i < numRows ; i++) {
-            ArrayList<Component> currentRow = rows.remove(0);
-            int currentRowMaxHeight = maxRowHeights.remove(0);
-            currentHeightCenteringY += (currentRowMaxHeight / 2);
-            if (currentHeightCenteringY > associatedPanel.getHeight()) break;
-
-            // Figure out how much width this row requires
-            int currentRowNecessaryWidth = 0;
-            for (Component flowComponent : currentRow) {
-                currentRowNecessaryWidth += flowComponent.getWidth() + horizontalGap;
-            }
-            // Account for last addition of horizontal gap
-            currentRowNecessaryWidth -= horizontalGap;
+            FlowRow currentRow = rows.get(i);
+            currentHeightCenteringY += (currentRow.maxHeight() / 2);
+            if (currentHeightCenteringY > panelHeight) break;
 
-            // Defined outside switch for readability
+            int excessWidth = maxRowWidth - currentRow.necessaryWidth();
+            // The starting x of the row and the additional spacing between its components
             int currentX;
-            // Figure out how to place current row components on the content pane
+            int additionalWidthPartition = 0;
             switch (horizontalAlignment) {
                 // Place components on the left with the minimum spacing in between
-                case LEFT -> {
-                    currentX = horizontalPadding;
-                    for (Component flowComponent : currentRow) {
-                        int flowComponentY = currentHeightCenteringY - (flowComponent.getHeight() / 2);
-                        flowComponent.setLocation(currentX, flowComponentY);
-                        associatedPanel.add(flowComponent);
-
-                        currentX += flowComponent.getWidth() + horizontalGap;
-
-                        if (flowComponent instanceof CyderPanel panel) {
-                            panel.revalidateComponents();
-                        }
-                    }
-                }
+                case LEFT -> currentX = horizontalPadding;
                 // Components are evenly spaced utilizing all available space
                 case CENTER -> {
-                    int remainingWidthPartition = maxRowWidth - currentRowNecessaryWidth;
-                    int additionalWidthPartition = remainingWidthPartition / (currentRow.size() + 1);
+                    additionalWidthPartition = excessWidth / (currentRow.size() + 1);
                     currentX = additionalWidthPartition + horizontalPadding;
-                    for (Component flowComponent : currentRow) {
-                        int flowComponentY = currentHeightCenteringY - (flowComponent.getHeight() / 2);
-                        flowComponent.setLocation(currentX, flowComponentY);
-                        associatedPanel.add(flowComponent);
-
-                        currentX += flowComponent.getWidth() + horizontalGap + additionalWidthPartition;
-
-                        if (flowComponent instanceof CyderPanel panel) {
-                            panel.revalidateComponents();
-                        }
-                    }
                 }
                 // Components are spaced with minimum spacing and then the row is centered on the content pane
-                case CENTER_STATIC -> {
-                    currentX = horizontalPadding + (maxRowWidth - currentRowNecessaryWidth) / 2;
-                    for (Component flowComponent : currentRow) {
-                        int flowComponentY = currentHeightCenteringY - (flowComponent.getHeight() / 2);
-                        flowComponent.setLocation(currentX, flowComponentY);
-                        associatedPanel.add(flowComponent);
-
-                        currentX += flowComponent.getWidth() + horizontalGap;
-
-                        if (flowComponent instanceof CyderPanel panel) {
-                            panel.revalidateComponents();
-                        }
-                    }
-                }
+                case CENTER_STATIC -> currentX = horizontalPadding + excessWidth / 2;
                 // Components are placed on the right with the minimum spacing in between
-                case RIGHT -> {
-                    currentX = horizontalPadding + (maxRowWidth - currentRowNecessaryWidth);
-                    for (Component flowComponent : currentRow) {
-                        int flowComponentY = currentHeightCenteringY - (flowComponent.getHeight() / 2);
-                        flowComponent.setLocation(currentX, flowComponentY);
-                        associatedPanel.add(flowComponent);
-
-                        currentX += flowComponent.getWidth() + horizontalGap;
-
-                        if (flowComponent instanceof CyderPanel panel) {
-                            panel.revalidateComponents();
-                        }
-                    }
+                case RIGHT -> currentX = horizontalPadding + excessWidth;
+                default -> throw new IllegalArgumentException("Invalid horizontal alignment: " + horizontalAlignment);
+            }
+
+            for (int index = currentRow.startIndex() ; index < currentRow.endIndex() ; index++) {
+                Component flowComponent = components.get(index);
+                int flowComponentY = currentHeightCenteringY - (measuredHeights[index] / 2);
+                flowComponent.setLocation(currentX, flowComponentY);
+                // Re-adding a child removes and re-adds it, notifying the whole hierarchy, so only add once
+                if (flowComponent.getParent() != associatedPanel) associatedPanel.add(flowComponent);
+
+                currentX += measuredWidths[index] + horizontalGap + additionalWidthPartition;
+
+                if (flowComponent instanceof CyderPanel panel) {
+                    panel.revalidateComponents();
                 }
             }
 
             // Increment the centering line by the other half of the current row's max component height
-            currentHeightCenteringY += currentRowMaxHeight / 2;
+            currentHeightCenteringY += currentRow.maxHeight() / 2;
 
             // Increment vertical gap based on vertical alignment to the next starting centering y
             switch (verticalAlignment) {
@@ -308,53 +301,123 @@ public class CyderFlowLayout extends CyderLayout {
                 default -> throw new IllegalArgumentException("Invalid vertical alignment: " + verticalAlignment);
             }
         }
+    }
 
-        if (focusOwner != null) focusOwner.requestFocus();
+    /**
+     * Records the current size of each component in {@link #measuredWidths} and {@link #measuredHeights}.
+     *
+     * @return whether any size differs from the previously measured size
+     */
+    @ForReadability
+    private boolean measureComponents() {
+        int count = components.size();
+        boolean changed = measuredWidths.length != count;
+        if (changed) {
+            measuredWidths = new int[count];
+            measuredHeights = new int[count];
+        }
+
+        for (int i = 0 ; i < count ; i++) {
+            Component component = components.get(i);
+            int width = component.getWidth();
+            int height = component.getHeight();
+            if (width != measuredWidths[i] || height != measuredHeights[i]) {
+                measuredWidths[i] = width;
+                measuredHeights[i] = height;
+                changed = true;
+            }
+        }
+
+        return changed;
     }
 
     /**
-     * Calculates and returns the the current rows that may be placed
-     * on the content pane with the current provided space.
+     * Calculates and returns the rows the components wrap into for the provided panel width
+     * using the measured component sizes.
      *
+     * @param panelWidth the width of the associated panel
      * @return the list of rows
      */
     @ForReadability
-    private ArrayList<ArrayList<Component>> getRows() {
-        ArrayList<ArrayList<Component>> rows = new ArrayList<>();
-        ArrayList<Component> currentRow = new ArrayList<>();
+    private ImmutableList<FlowRow> computeRows(int panelWidth) {
+        ImmutableList.Builder<FlowRow> ret = ImmutableList.builder();
 
+        int rowStartIndex = 0;
         int currentRowWidth = 0;
-        int maxRowWidth = associatedPanel.getWidth() - 2 * horizontalPadding;
+        int maxRowWidth = panelWidth - 2 * horizontalPadding;
+
+        for (int i = 0 ; i < measuredWidths.length ; i++) {
+            int componentWidth = measuredWidths[i];
 
-        // validate all rows and figure out if we can display some/all rows
-        for (Component flowComponent : components) {
             // If this component cannot start on this row, then wrap it to a new row
-            if (currentRowWidth + flowComponent.getWidth() + horizontalGap > maxRowWidth) {
+            if (currentRowWidth + componentWidth + horizontalGap > maxRowWidth) {
                 // Ensure at least one component on this row
-                if (currentRow.isEmpty()) {
-                    currentRow.add(flowComponent);
-                    rows.add(currentRow);
-
-                    currentRow = new ArrayList<>();
+                if (i == rowStartIndex) {
+                    ret.add(createRow(i, i + 1));
+                    rowStartIndex = i + 1;
                     currentRowWidth = 0;
                 } else {
-                    // Something already on row so add and make new row list
-
-                    rows.add(currentRow);
-
-                    currentRow = new ArrayList<>();
-                    currentRowWidth = flowComponent.getWidth() + horizontalGap;
-                    currentRow.add(flowComponent);
+                    // Something already on row so end it and start a new row with this component
+                    ret.add(createRow(rowStartIndex, i));
+                    rowStartIndex = i;
+                    currentRowWidth = componentWidth + horizontalGap;
                 }
             } else { // Component fits on this row
-                currentRowWidth += flowComponent.getWidth() + horizontalGap;
-                currentRow.add(flowComponent);
+                currentRowWidth += componentWidth + horizontalGap;
             }
         }
 
         // If loop exited before hitting row width limit
-        if (!currentRow.isEmpty()) rows.add(currentRow);
-        return rows;
+        if (rowStartIndex < measuredWidths.length) ret.add(createRow(rowStartIndex, measuredWidths.length));
+        return ret.build();
+    }
+
+    /**
+     * Creates a row of the components in the provided index range using the measured component sizes.
+     *
+     * @param startIndex the index of the first component of the row
+     * @param endIndex   the index after the last component of the row
+     * @return the row
+     */
+    private FlowRow createRow(int startIndex, int endIndex) {
+        int necessaryWidth = 0;
+        int maxHeight = 0;
+        for (int i = startIndex ; i < endIndex ; i++) {
+            necessaryWidth += measuredWidths[i] + horizontalGap;
+            maxHeight = Math.max(maxHeight, measuredHeights[i]);
+        }
+
+        // Account for last addition of horizontal gap
+        necessaryWidth -= horizontalGap;
+        return new FlowRow(startIndex, endIndex, necessaryWidth, maxHeight);
+    }
+
+    /**
+     * A row of consecutive components.
+     *
+     * @param startIndex     the index of the first component of the row
+     * @param endIndex       the index after the last component of the row
+     * @param necessaryWidth the width the components and the gaps between them require
+     * @param maxHeight      the height of the tallest component of the row
+     */
+    private record FlowRow(int startIndex, int endIndex, int necessaryWidth, int maxHeight) {
+        /**
+         * Returns the number of components on this row.
+         *
+         * @return the number of components on this row
+         */
+        int size() {
+            return endIndex - startIndex;
+        }
+    }
+
+    /**
+     * Marks the cached rows as stale, forcing the next layout pass to recompute them.
+     * Invoked following changes to the components, gaps, or padding.
+     */
+    @ForReadability
+    private void invalidateRows() {
+        structureChanged = true;
     }
 
     /**
@@ -389,6 +452,7 @@ public class CyderFlowLayout extends CyderLayout {
     @Override
     public void setAssociatedPanel(CyderPanel panel) {
         associatedPanel = panel;
+        invalidateRows();
         revalidateComponents();
     }
 
@@ -454,6 +518,7 @@ public class CyderFlowLayout extends CyderLayout {
      */
     public void setHorizontalGap(int horizontalGap) {
         this.horizontalGap = horizontalGap;
+        invalidateRows();
     }
 
     /**
@@ -472,6 +537,7 @@ public class CyderFlowLayout extends CyderLayout {
      */
     public void setVerticalGap(int verticalGap) {
         this.verticalGap = verticalGap;
+        invalidateRows();
     }
 
     /**
@@ -490,6 +556,7 @@ public class CyderFlowLayout extends CyderLayout {
      */
     public void setHorizontalPadding(int horizontalPadding) {
         this.horizontalPadding = horizontalPadding;
+        invalidateRows();
     }
 
     /**
@@ -508,5 +575,6 @@ public class CyderFlowLayout extends CyderLayout {
      */
     public void setVerticalPadding(int verticalPadding) {
         this.verticalPadding = verticalPadding;
+        invalidateRows();
     }
 }
@@ -7,7 +7,7 @@ import com.github.natche.cyderutils.strings.ToStringUtil;
 import com.github.natche.cyderutils.ui.pane.CyderPanel;
 
 import java.awt.*;
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
 
 /** A grid layout specific for {@link CyderPanel}s. */
 public class CyderGridLayout extends CyderLayout {
@@ -26,6 +26,29 @@ public class CyderGridLayout extends CyderLayout {
     /** The CyderPanel this layout manager will manage. */
     private CyderPanel associatedPanel;
 
+    /** The cell of each component in the grid, in the order the components were added. */
+    private final LinkedHashMap<Component, GridCell> cellIndex = new LinkedHashMap<>();
+
+    /** The linear index, in column-major order, before which every cell is known to be occupied. */
+    private int firstPossiblyEmptyCell;
+
+    /** Whether components have been added or removed since the last layout pass. */
+    private boolean structureChanged = true;
+
+    /** The width of the associated panel during the last layout pass. */
+    private int lastPanelWidth = -1;
+
+    /** The height of the associated panel during the last layout pass. */
+    private int lastPanelHeight = -1;
+
+    /**
+     * The location of a cell in the grid.
+     *
+     * @param x the x index of the cell
+     * @param y the y index of the cell
+     */
+    private record GridCell(int x, int y) {}
+
     /** Constructs a new CyderGridLayout with a singular grid cell. */
     public CyderGridLayout() {
         this(defaultHorizontalAndVerticalCells, defaultHorizontalAndVerticalCells);
@@ -59,17 +82,7 @@ public class CyderGridLayout extends CyderLayout {
     /** {@inheritDoc} */
     @Override
     public ImmutableList<Component> getLayoutComponents() {
-        ArrayList<Component> ret = new ArrayList<>();
-
-        for (GridComponent[] component : components) {
-            for (int j = 0 ; j < components[0].length ; j++) {
-                if (component[j] != null) {
-                    ret.add(component[j].getComponent());
-                }
-            }
-        }
-
-        return ImmutableList.copyOf(ret);
+        return ImmutableList.copyOf(cellIndex.keySet());
     }
 
     /**
@@ -81,94 +94,105 @@ public class CyderGridLayout extends CyderLayout {
     public void setAssociatedPanel(CyderPanel associatedPanel) {
         this.associatedPanel = Preconditions.checkNotNull(associatedPanel);
 
+        structureChanged = true;
         revalidateComponents();
     }
 
-    /** {@inheritDoc} */
+    /**
+     * Revalidates the components managed by this layout. Only occupied cells are visited, and if no
+     * components were added or removed and the panel size is unchanged since the last pass,
+     * this method returns without touching any component.
+     */
     @Override
     public void revalidateComponents() {
         if (associatedPanel == null) return;
 
-        int widthPartition = associatedPanel.getWidth() / horizontalCells;
-        int heightPartition = associatedPanel.getHeight() / verticalCells;
+        int panelWidth = associatedPanel.getWidth();
+        int panelHeight = associatedPanel.getHeight();
+        if (!structureChanged && panelWidth == lastPanelWidth && panelHeight == lastPanelHeight) return;
+        structureChanged = false;
+        lastPanelWidth = panelWidth;
+        lastPanelHeight = panelHeight;
+
+        int widthPartition = panelWidth / horizontalCells;
+        int heightPartition = panelHeight / verticalCells;
 
         Component focusOwner = null;
 
-        for (int xCell = 0 ; xCell < horizontalCells ; xCell++) {
-            for (int yCell = 0 ; yCell < verticalCells ; yCell++) {
-                if (components[xCell][yCell] == null) continue;
+        for (GridCell cell : cellIndex.values()) {
+            int currentCellStartX = cell.x() * widthPartition;
+            int currentCellStartY = cell.y() * heightPartition;
+            GridComponent refComponent = components[cell.x()][cell.y()];
 
-                int currentCellStartX = xCell * widthPartition;
-                int currentCellStartY = yCell * heightPartition;
-                GridComponent refComponent = components[xCell][yCell];
+            // Determine focus owner if not yet set
+            if (refComponent.getComponent().isFocusOwner() && focusOwner == null) {
+                focusOwner = refComponent.getComponent();
+            }
 
-                // Determine focus owner if not yet set
-                if (refComponent.getComponent().isFocusOwner() && focusOwner == null) {
-                    focusOwner = refComponent.getComponent();
+            // If the component is a CyderPanel, give it as much space to work with as possible
+            if (refComponent.getComponent() instanceof CyderPanel panel) {
+                refComponent.getComponent().setBounds(
+                        currentCellStartX, currentCellStartY, widthPartition, heightPartition);
+                panel.revalidateComponents();
+            } else if (refComponent.getOriginalWidth() >= widthPartition ||
+                    refComponent.getOriginalHeight() >= heightPartition) {
+                // Doesn't fit in the partitioned space so give it as much as possible
+                refComponent.getComponent().setBounds(currentCellStartX, currentCellStartY,
+                        // Only one dimension might be over the max value
+                        // so take the min of partition and dimensional length
+                        Math.min(widthPartition, refComponent.getOriginalWidth()),
+                        Math.min(heightPartition, refComponent.getOriginalHeight()));
+            } else {
+                // Fits so calculate how to position it in the grid cell based on the position
+
+                int centeringXAdditive = (widthPartition - refComponent.getOriginalWidth()) / 2;
+                int centeringYAdditive = (heightPartition - refComponent.getOriginalHeight()) / 2;
+
+                int positionAdjustX = 0;
+                int positionAdjustY = 0;
+
+                switch (refComponent.getPosition()) {
+                    case TOP_LEFT:
+                        positionAdjustX = -(widthPartition - refComponent.getOriginalWidth()) / 2;
+                        positionAdjustY = -(heightPartition - refComponent.getOriginalHeight()) / 2;
+                        break;
+                    case TOP:
+                        positionAdjustY = -(heightPartition - refComponent.getOriginalHeight()) / 2;
+                        break;
+                    case TOP_RIGHT:
+                        positionAdjustX = (widthPartition - refComponent.getOriginalWidth()) / 2;
+                        positionAdjustY = -(heightPartition - refComponent.getOriginalHeight()) / 2;
+                        break;
+                    case LEFT:
+                        positionAdjustX = -(widthPartition - refComponent.getOriginalWidth()) / 2;
+                        break;
+                    case MIDDLE:
+                        break;
+                    case RIGHT:
+                        positionAdjustX = (widthPartition - refComponent.getOriginalWidth()) / 2;
+                        break;
+                    case BOTTOM_LEFT:
+                        positionAdjustX = -(widthPartition - refComponent.getOriginalWidth()) / 2;
+                        positionAdjustY = (heightPartition - refComponent.getOriginalHeight()) / 2;
+                        break;
+                    case BOTTOM:
+                        positionAdjustY = (heightPartition - refComponent.getOriginalHeight()) / 2;
+                        break;
+                    case BOTTOM_RIGHT:
+                        positionAdjustX = (widthPartition - refComponent.getOriginalWidth()) / 2;
+                        positionAdjustY = (heightPartition - refComponent.getOriginalHeight()) / 2;
+                        break;
                 }
 
-                // If the component is a CyderPanel, give it as much space to work with as possible
-                if (refComponent.getComponent() instanceof CyderPanel panel) {
-                    refComponent.getComponent().setBounds(
-                            currentCellStartX, currentCellStartY, widthPartition, heightPartition);
-                    panel.revalidateComponents();
-                } else if (refComponent.getOriginalWidth() >= widthPartition ||
-                        refComponent.getOriginalHeight() >= heightPartition) {
-                    // Doesn't fit in the partitioned space so give it as much as possible
-                    refComponent.getComponent().setBounds(currentCellStartX, currentCellStartY,
-                            // Only one dimension might be over the max value
-                            // so take the min of partition and dimensional length
-                            Math.min(widthPartition, refComponent.getOriginalWidth()),
-                            Math.min(heightPartition, refComponent.getOriginalHeight()));
-                } else {
-                    // Fits so calculate how to position it in the grid cell based on the position
-
-                    int centeringXAdditive = (widthPartition - refComponent.getOriginalWidth()) / 2;
-                    int centeringYAdditive = (heightPartition - refComponent.getOriginalHeight()) / 2;
-
-                    int positionAdjustX = 0;
-                    int positionAdjustY = 0;
-
-                    switch (refComponent.getPosition()) {
-                        case TOP_LEFT:
-                            positionAdjustX = -(widthPartition - refComponent.getOriginalWidth()) / 2;
-                            positionAdjustY = -(heightPartition - refComponent.getOriginalHeight()) / 2;
-                            break;
-                        case TOP:
-                            positionAdjustY = -(heightPartition - refComponent.getOriginalHeight()) / 2;
-                            break;
-                        case TOP_RIGHT:
-                            positionAdjustX = (widthPartition - refComponent.getOriginalWidth()) / 2;
-                            positionAdjustY = -(heightPartition - refComponent.getOriginalHeight()) / 2;
-                            break;
-                        case LEFT:
-                            positionAdjustX = -(widthPartition - refComponent.getOriginalWidth()) / 2;
-                            break;
-                        case MIDDLE:
-                            break;
-                        case RIGHT:
-                            positionAdjustX = (widthPartition - refComponent.getOriginalWidth()) / 2;
-                            break;
-                        case BOTTOM_LEFT:
-                            positionAdjustX = -(widthPartition - refComponent.getOriginalWidth()) / 2;
-                            positionAdjustY = (heightPartition - refComponent.getOriginalHeight()) / 2;
-                            break;
-                        case BOTTOM:
-                            positionAdjustY = (heightPartition - refComponent.getOriginalHeight()) / 2;
-                            break;
-                        case BOTTOM_RIGHT:
-                            positionAdjustX = (widthPartition - refComponent.getOriginalWidth()) / 2;
-                            positionAdjustY = (heightPartition - refComponent.getOriginalHeight()) / 2;
-                            break;
-                    }
-
-                    refComponent.getComponent().setBounds(
-                            currentCellStartX + centeringXAdditive + positionAdjustX,
-                            currentCellStartY + centeringYAdditive + positionAdjustY,
-                            refComponent.getOriginalWidth(),
-                            refComponent.getOriginalHeight());
-                }
+                refComponent.getComponent().setBounds(
+                        currentCellStartX + centeringXAdditive + positionAdjustX,
+                        currentCellStartY + centeringYAdditive + positionAdjustY,
+                        refComponent.getOriginalWidth(),
+                        refComponent.getOriginalHeight());
+            }
 
+            // Re-adding a child removes and re-adds it, notifying the whole hierarchy, so only add once
+            if (refComponent.getComponent().getParent() != associatedPanel) {
                 associatedPanel.add(refComponent.getComponent());
             }
         }
@@ -182,22 +206,7 @@ public class CyderGridLayout extends CyderLayout {
      * @param component the component to add to the grid if possible
      */
     public void addComponent(Component component) {
-        Preconditions.checkNotNull(component);
-
-        for (int x = 0 ; x < horizontalCells ; x++) {
-            for (int y = 0 ; y < verticalCells ; y++) {
-                if (components[x][y] == null) {
-                    components[x][y] = new GridComponent(
-                            component,
-                            component.getWidth(),
-                            component.getHeight(),
-                            GridPosition.MIDDLE);
-                    repaint();
-                    return;
-                }
-            }
-        }
-
+        addComponent(component, GridPosition.MIDDLE);
     }
 
     /**
@@ -213,18 +222,12 @@ public class CyderGridLayout extends CyderLayout {
         Preconditions.checkNotNull(component);
         Preconditions.checkNotNull(sectionPosition);
 
-        for (int x = 0 ; x < horizontalCells ; x++) {
-            for (int y = 0 ; y < verticalCells ; y++) {
-                if (components[x][y] == null) {
-                    components[x][y] = new GridComponent(
-                            component,
-                            component.getWidth(),
-                            component.getHeight(),
-                            sectionPosition);
-                    repaint();
-                    return true;
-                }
-            }
+        int cellCount = horizontalCells * verticalCells;
+        while (firstPossiblyEmptyCell < cellCount) {
+            int x = firstPossiblyEmptyCell / verticalCells;
+            int y = firstPossiblyEmptyCell % verticalCells;
+            if (components[x][y] == null) return placeComponent(component, x, y, sectionPosition);
+            firstPossiblyEmptyCell++;
         }
 
         return false;
@@ -240,20 +243,7 @@ public class CyderGridLayout extends CyderLayout {
      */
     @CanIgnoreReturnValue
     public boolean addComponent(Component component, int x, int y) {
-        Preconditions.checkNotNull(component);
-        Preconditions.checkArgument(x >= 0);
-        Preconditions.checkArgument(y >= 0);
-        Preconditions.checkArgument(x < horizontalCells);
-        Preconditions.checkArgument(y < verticalCells);
-
-        if (components[x][y] != null) return false;
-        components[x][y] = new GridComponent(
-                component,
-                component.getWidth(),
-                component.getHeight(),
-                GridPosition.MIDDLE);
-        repaint();
-        return true;
+        return addComponent(component, x, y, GridPosition.MIDDLE);
     }
 
     /**
@@ -276,12 +266,31 @@ public class CyderGridLayout extends CyderLayout {
         Preconditions.checkArgument(y < verticalCells);
 
         if (components[x][y] != null) return false;
+        return placeComponent(component, x, y, sectionPosition);
+    }
+
+    /**
+     * Places the provided component in the provided empty cell, records it in the cell index,
+     * and requests a layout pass.
+     *
+     * @param component       the component to place
+     * @param x               the x index of the cell
+     * @param y               the y index of the cell
+     * @param sectionPosition the position of the component within its cell
+     * @return true
+     * @throws IllegalStateException if the component is already managed by this layout
+     */
+    private boolean placeComponent(Component component, int x, int y, GridPosition sectionPosition) {
+        Preconditions.checkState(!cellIndex.containsKey(component));
+
         components[x][y] = new GridComponent(
                 component,
                 component.getWidth(),
                 component.getHeight(),
                 sectionPosition);
-        repaint();
+        cellIndex.put(component, new GridCell(x, y));
+        structureChanged = true;
+        requestRevalidation();
         return true;
     }
 
@@ -293,14 +302,8 @@ public class CyderGridLayout extends CyderLayout {
     public void removeComponent(Component component) {
         Preconditions.checkNotNull(component);
 
-        for (int x = 0 ; x < horizontalCells ; x++) {
-            for (int y = 0 ; y < verticalCells ; y++) {
-                if (components[x][y].getComponent() == component) {
-                    components[x][y] = null;
-                    return;
-                }
-            }
-        }
+        GridCell cell = cellIndex.get(component);
+        if (cell != null) clearCell(cell.x(), cell.y());
     }
 
     /**
@@ -320,11 +323,29 @@ public class CyderGridLayout extends CyderLayout {
         if (components[x][y] == null) {
             return false;
         } else {
-            components[x][y] = null;
+            clearCell(x, y);
             return true;
         }
     }
 
+    /**
+     * Removes the component in the provided occupied cell from the grid, the cell index, and the panel,
+     * and requests a layout pass.
+     *
+     * @param x the x index of the cell
+     * @param y the y index of the cell
+     */
+    private void clearCell(int x, int y) {
+        Component component = components[x][y].getComponent();
+        components[x][y] = null;
+        cellIndex.remove(component);
+        firstPossiblyEmptyCell = Math.min(firstPossiblyEmptyCell, x * verticalCells + y);
+
+        if (associatedPanel != null && component.getParent() == associatedPanel) associatedPanel.remove(component);
+        structureChanged = true;
+        requestRevalidation();
+    }
+
     /** {@inheritDoc} */
     @Override
     public Dimension getPackSize() {
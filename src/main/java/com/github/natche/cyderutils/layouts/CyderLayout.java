@@ -6,6 +6,7 @@ import com.github.natche.cyderutils.ui.pane.CyderPanel;
 import javax.swing.*;
 import java.awt.*;
 import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * A base layout class to suppress confusing, leftover
@@ -15,6 +16,9 @@ public abstract class CyderLayout extends JLabel {
     /** The unsupported string. */
     private static final String UNSUPPORTED = "Unsupported";
 
+    /** Whether a coalesced revalidation has been posted to the event queue and has not yet run. */
+    private final AtomicBoolean revalidationPending = new AtomicBoolean();
+
     /**
      * Adds the specified component to the layout.
      * The layout will figure out how add the component to the panel successfully.
@@ -36,6 +40,21 @@ public abstract class CyderLayout extends JLabel {
     /** Recalculates the bounds of all components currently managed by the layout. */
     public abstract void revalidateComponents();
 
+    /**
+     * Requests that {@link #revalidateComponents()} be invoked on the event dispatch thread.
+     * Requests made before the posted pass runs are coalesced into it, meaning any number of
+     * structural changes, resizes, or repaints within one event-loop tick result in a single layout pass.
+     * This method may be invoked from any thread.
+     */
+    public final void requestRevalidation() {
+        if (!revalidationPending.compareAndSet(false, true)) return;
+
+        SwingUtilities.invokeLater(() -> {
+            revalidationPending.set(false);
+            revalidateComponents();
+        });
+    }
+
     /**
      * Sets the CyderPanel for the LayoutManager to add to and manage the components of.
      *
@@ -0,0 +1,363 @@
+package com.github.natche.cyderutils.math;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+/**
+ * A number theory engine answering primality and factorization queries from lazily grown tables.
+ * <p>
+ * Primality below {@link #MAXIMUM_SIEVE_LIMIT} is answered by a bitset of the odd numbers, grown a segment at a
+ * time by a segmented sieve of Eratosthenes so that each segment stays within cache while being sieved.
+ * Larger values are tested with a Miller-Rabin test over a set of bases deterministic for all 64-bit values,
+ * multiplying in Montgomery form to avoid 128-bit division. Factorization below
+ * {@link #MAXIMUM_FACTOR_TABLE_LIMIT} reads a table of smallest prime factors.
+ * <p>
+ * Tables are replaced rather than mutated when grown so that queries never lock; only growth is synchronized.
+ */
+public enum NumberTheory {
+    /** The number theory instance. */
+    INSTANCE;
+
+    /** The number of values sieved at a time when growing the sieve. */
+    private static final int SEGMENT_LENGTH = 1 << 18;
+
+    /** The exclusive upper bound the sieve may grow to, above which Miller-Rabin is used. */
+    private static final int MAXIMUM_SIEVE_LIMIT = 1 << 26;
+
+    /** The exclusive upper bound the smallest prime factor table may grow to. */
+    private static final int MAXIMUM_FACTOR_TABLE_LIMIT = 1 << 22;
+
+    /** The Miller-Rabin bases which correctly classify every 64-bit value. */
+    private static final long[] millerRabinBases = {2, 325, 9375, 28178, 450775, 9780504, 1795265022};
+
+    /** The largest prime representable by a long. */
+    private static final long LARGEST_LONG_PRIME = Long.MAX_VALUE - 24;
+
+    /**
+     * A sieved range of values.
+     *
+     * @param compositeOdds the bitset of odd values which are not prime, bit {@code i} denoting {@code 2i + 1}
+     * @param limit         the exclusive upper bound of the sieved values
+     */
+    private record Sieve(long[] compositeOdds, int limit) {
+        /**
+         * Returns whether the provided odd value within the sieved range is not prime.
+         *
+         * @param odd the odd value
+         * @return whether the value is not prime
+         */
+        private boolean isComposite(long odd) {
+            int bit = (int) (odd >>> 1);
+            return (compositeOdds[bit >>> 6] & 1L << bit) != 0;
+        }
+    }
+
+    /** The current sieve, replaced when grown. */
+    private volatile Sieve sieve = new Sieve(new long[0], 0);
+
+    /** The smallest prime factor of each odd value by index {@code i} denoting {@code 2i + 1}, replaced when grown. */
+    private volatile int[] smallestFactors = new int[0];
+
+    /**
+     * Returns whether the provided value is prime.
+     *
+     * @param value the value
+     * @return whether the value is prime
+     */
+    public boolean isPrime(long value) {
+        if (value < 2) return false;
+        if (value < 4) return true;
+        if ((value & 1) == 0) return false;
+
+        if (value < MAXIMUM_SIEVE_LIMIT) return !ensureSieved(value).isComposite(value);
+        return isPrimeMillerRabin(value);
+    }
+
+    /**
+     * Returns the smallest prime greater than the provided value.
+     *
+     * @param value the value
+     * @return the smallest prime greater than the value
+     * @throws ArithmeticException if no such prime is representable by a long
+     */
+    public long nextPrime(long value) {
+        if (value < 2) return 2;
+        if (value >= LARGEST_LONG_PRIME) throw new ArithmeticException("No prime greater than " + value);
+
+        long candidate = (value + 1) | 1;
+        while (candidate < MAXIMUM_SIEVE_LIMIT) {
+            Sieve current = ensureSieved(candidate);
+            long next = nextOddPrime(current, candidate);
+            if (next != -1) return next;
+            candidate = current.limit() + 1;
+        }
+
+        while (!isPrimeMillerRabin(candidate)) candidate += 2;
+        return candidate;
+    }
+
+    /**
+     * Returns an infinite stream of the primes in ascending order.
+     *
+     * @return an infinite stream of the primes
+     */
+    public LongStream primes() {
+        return LongStream.iterate(2, this::nextPrime);
+    }
+
+    /**
+     * Returns a stream of the primes within the provided range in ascending order.
+     *
+     * @param lowerBound the lower bound of the range, inclusive
+     * @param upperBound the upper bound of the range, exclusive
+     * @return a stream of the primes within the range
+     * @throws IllegalArgumentException if the lower bound is greater than the upper bound
+     */
+    public LongStream primes(long lowerBound, long upperBound) {
+        Preconditions.checkArgument(lowerBound <= upperBound);
+
+        if (upperBound <= 2 || lowerBound > LARGEST_LONG_PRIME) return LongStream.empty();
+        long first = lowerBound <= 2 ? 2 : nextPrime(lowerBound - 1);
+        return LongStream.iterate(first, prime -> prime < upperBound,
+                prime -> prime >= LARGEST_LONG_PRIME ? upperBound : nextPrime(prime));
+    }
+
+    /**
+     * Returns the smallest prime factor of the provided value.
+     *
+     * @param value the value
+     * @return the smallest prime factor of the value
+     * @throws IllegalArgumentException if the value is less than two
+     */
+    public int smallestPrimeFactor(int value) {
+        Preconditions.checkArgument(value >= 2);
+
+        if ((value & 1) == 0) return 2;
+        if (value < MAXIMUM_FACTOR_TABLE_LIMIT) return ensureFactorTable(value)[value >>> 1];
+
+        // The smallest factor of a composite int is below 46341, well within the sieve
+        for (long prime = 3 ; prime * prime <= value ; prime = nextPrime(prime)) {
+            if (value % prime == 0) return (int) prime;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the sieve, grown if required to contain the provided value.
+     *
+     * @param value the value, less than {@link #MAXIMUM_SIEVE_LIMIT}
+     * @return the sieve containing the value
+     */
+    private Sieve ensureSieved(long value) {
+        Sieve current = sieve;
+        return value < current.limit() ? current : growSieve(value);
+    }
+
+    /**
+     * Grows the sieve to contain the provided value, at least doubling its limit.
+     *
+     * @param value the value, less than {@link #MAXIMUM_SIEVE_LIMIT}
+     * @return the grown sieve
+     */
+    private synchronized Sieve growSieve(long value) {
+        Sieve current = sieve;
+        if (value < current.limit()) return current;
+
+        int oldLimit = current.limit();
+        long requiredLimit = (value / SEGMENT_LENGTH + 1) * SEGMENT_LENGTH;
+        int newLimit = (int) Math.min(MAXIMUM_SIEVE_LIMIT, Math.max(requiredLimit, 2L * oldLimit));
+
+        long[] compositeOdds = Arrays.copyOf(current.compositeOdds(), newLimit / (2 * Long.SIZE));
+        if (oldLimit == 0) compositeOdds[0] |= 1L;
+        for (int segmentStart = oldLimit ; segmentStart < newLimit ; segmentStart += SEGMENT_LENGTH) {
+            sieveSegment(compositeOdds, segmentStart, segmentStart + SEGMENT_LENGTH);
+        }
+
+        Sieve ret = new Sieve(compositeOdds, newLimit);
+        sieve = ret;
+        return ret;
+    }
+
+    /**
+     * Marks the odd composites within the provided segment, every smaller value having been sieved.
+     *
+     * @param compositeOdds the bitset of odd composites
+     * @param start         the start of the segment, inclusive
+     * @param end           the end of the segment, exclusive
+     */
+    private static void sieveSegment(long[] compositeOdds, int start, int end) {
+        for (int prime = 3 ; (long) prime * prime < end ; prime += 2) {
+            // A composite below the square root of the end has a smaller factor which has already marked it
+            int primeBit = prime >>> 1;
+            if ((compositeOdds[primeBit >>> 6] & 1L << primeBit) != 0) continue;
+
+            long multiple = Math.max((long) prime * prime, (start + prime - 1L) / prime * prime);
+            if ((multiple & 1) == 0) multiple += prime;
+            for ( ; multiple < end ; multiple += 2L * prime) {
+                int bit = (int) (multiple >>> 1);
+                compositeOdds[bit >>> 6] |= 1L << bit;
+            }
+        }
+    }
+
+    /**
+     * Returns the smallest prime within the provided sieve at least the provided odd value.
+     *
+     * @param current the sieve
+     * @param odd     the odd value within the sieve
+     * @return the smallest prime at least the value, -1 if none within the sieve
+     */
+    private static long nextOddPrime(Sieve current, long odd) {
+        long[] compositeOdds = current.compositeOdds();
+        int bit = (int) (odd >>> 1);
+        int word = bit >>> 6;
+        long primes = ~compositeOdds[word] & -1L << bit;
+        while (primes == 0) {
+            if (++word == compositeOdds.length) return -1;
+            primes = ~compositeOdds[word];
+        }
+        return 2L * (word * (long) Long.SIZE + Long.numberOfTrailingZeros(primes)) + 1;
+    }
+
+    /**
+     * Returns the smallest prime factor table, grown if required to contain the provided odd value.
+     *
+     * @param odd the odd value, less than {@link #MAXIMUM_FACTOR_TABLE_LIMIT}
+     * @return the smallest prime factor table containing the value
+     */
+    private int[] ensureFactorTable(int odd) {
+        int[] current = smallestFactors;
+        return odd >>> 1 < current.length ? current : growFactorTable(odd);
+    }
+
+    /**
+     * Grows the smallest prime factor table to contain the provided odd value, at least doubling its size.
+     *
+     * @param odd the odd value, less than {@link #MAXIMUM_FACTOR_TABLE_LIMIT}
+     * @return the grown table
+     */
+    private synchronized int[] growFactorTable(int odd) {
+        int[] current = smallestFactors;
+        if (odd >>> 1 < current.length) return current;
+
+        int oldLimit = 2 * current.length;
+        long requiredLimit = ((long) odd / SEGMENT_LENGTH + 1) * SEGMENT_LENGTH;
+        int newLimit = (int) Math.min(MAXIMUM_FACTOR_TABLE_LIMIT, Math.max(requiredLimit, 2L * oldLimit));
+        int[] ret = Arrays.copyOf(current, newLimit / 2);
+
+        // Primes ascend, so the first to reach each composite is its smallest factor
+        Sieve primes = ensureSieved(newLimit - 1);
+        for (long prime = 3 ; prime * prime < newLimit ; prime = nextOddPrime(primes, prime + 2)) {
+            long multiple = Math.max(prime * prime, (oldLimit + prime - 1) / prime * prime);
+            if ((multiple & 1) == 0) multiple += prime;
+            for ( ; multiple < newLimit ; multiple += 2 * prime) {
+                int index = (int) (multiple >>> 1);
+                if (ret[index] == 0) ret[index] = (int) prime;
+            }
+        }
+        for (int index = oldLimit / 2 ; index < ret.length ; index++) {
+            if (ret[index] == 0) ret[index] = 2 * index + 1;
+        }
+
+        smallestFactors = ret;
+        return ret;
+    }
+
+    /**
+     * Returns whether the provided odd value greater than three is prime using a Miller-Rabin test
+     * deterministic for all 64-bit values.
+     *
+     * @param value the odd value greater than three
+     * @return whether the value is prime
+     */
+    private static boolean isPrimeMillerRabin(long value) {
+        long inverse = negatedInverse(value);
+
+        // R = 2^64, so R mod value and R^2 mod value are the Montgomery forms of one and R
+        long one = Long.remainderUnsigned(-1L, value) + 1;
+        long rSquared = one;
+        for (int i = 0 ; i < Long.SIZE ; i++) {
+            rSquared = rSquared << 1;
+            if (Long.compareUnsigned(rSquared, value) >= 0) rSquared -= value;
+        }
+        long minusOne = value - one;
+
+        int twos = Long.numberOfTrailingZeros(value - 1);
+        long odd = (value - 1) >>> twos;
+
+        for (long base : millerRabinBases) {
+            long reduced = base % value;
+            if (reduced == 0) continue;
+
+            long power = montgomeryPower(montgomeryMultiply(reduced, rSquared, value, inverse),
+                    odd, one, value, inverse);
+            if (power == one || power == minusOne) continue;
+
+            boolean witnessed = true;
+            for (int i = 1 ; i < twos && witnessed ; i++) {
+                power = montgomeryMultiply(power, power, value, inverse);
+                if (power == minusOne) witnessed = false;
+            }
+            if (witnessed) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the provided base in Montgomery form raised to the provided exponent.
+     *
+     * @param base     the base in Montgomery form
+     * @param exponent the non-negative exponent
+     * @param one      one in Montgomery form
+     * @param modulus  the odd modulus
+     * @param inverse  the negated inverse of the modulus modulo 2^64
+     * @return the power in Montgomery form
+     */
+    private static long montgomeryPower(long base, long exponent, long one, long modulus, long inverse) {
+        long ret = one;
+        while (exponent != 0) {
+            if ((exponent & 1) != 0) ret = montgomeryMultiply(ret, base, modulus, inverse);
+            base = montgomeryMultiply(base, base, modulus, inverse);
+            exponent >>>= 1;
+        }
+        return ret;
+    }
+
+    /**
+     * Returns {@code alpha * beta / 2^64} modulo the provided modulus.
+     *
+     * @param alpha   the first factor, less than the modulus
+     * @param beta    the second factor, less than the modulus
+     * @param modulus the odd positive modulus
+     * @param inverse the negated inverse of the modulus modulo 2^64
+     * @return the Montgomery product, less than the modulus
+     */
+    private static long montgomeryMultiply(long alpha, long beta, long modulus, long inverse) {
+        long low = alpha * beta;
+        long high = Math.multiplyHigh(alpha, beta);
+
+        // Adding a multiple of the modulus clears the low word, carrying one unless it was already clear
+        long multiple = low * inverse;
+        long multipleHigh = Math.multiplyHigh(multiple, modulus) + (multiple >> 63 & modulus);
+        long ret = high + multipleHigh + (low != 0 ? 1 : 0);
+        return Long.compareUnsigned(ret, modulus) >= 0 ? ret - modulus : ret;
+    }
+
+    /**
+     * Returns the negated inverse of the provided odd value modulo 2^64.
+     *
+     * @param odd the odd value
+     * @return the negated inverse of the value modulo 2^64
+     */
+    private static long negatedInverse(long odd) {
+        // Each Newton iteration doubles the correct low bits, starting from the three of an odd value
+        long inverse = odd;
+        for (int i = 0 ; i < 5 ; i++) {
+            inverse *= 2 - odd * inverse;
+        }
+        return -inverse;
+    }
+}
@@ -3,7 +3,6 @@ package com.github.natche.cyderutils.math;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.math.BigIntegerMath;
-import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.github.natche.cyderutils.exceptions.IllegalMethodException;
 import com.github.natche.cyderutils.strings.CyderStrings;
 import com.github.natche.cyderutils.utils.ArrayUtil;
@@ -16,6 +15,12 @@ import java.util.stream.IntStream;
 
 /** A util for working with numbers and not necessarily math. */
 public final class NumberUtil {
+    /** The Fibonacci numbers representable by an int, by index. */
+    private static final int[] fibonacciNumbers = computeIntFibonacciNumbers();
+
+    /** The Catalan numbers representable by an int, by index. */
+    private static final int[] catalanNumbers = computeIntCatalanNumbers();
+
     /** Suppress default constructor. */
     private NumberUtil() {
         throw new IllegalMethodException(CyderStrings.ATTEMPTED_INSTANTIATION);
@@ -43,66 +48,44 @@ public final class NumberUtil {
     }
 
     /**
-     * Determines if the provided number if a prime.
+     * Determines if the provided number is a prime.
      *
      * @param num the possibly prime number to validate
      * @return whether the provided number was a prime
      */
     public static boolean isPrime(int num) {
-        boolean ret = true;
-
-        for (int i = 2 ; i < Math.ceil(Math.sqrt(num)) ; i++)
-            if (num % i == 0) {
-                ret = false;
-                break;
-            }
+        return NumberTheory.INSTANCE.isPrime(num);
+    }
 
-        return ret;
+    /**
+     * Determines if the provided number is a prime.
+     *
+     * @param num the possibly prime number to validate
+     * @return whether the provided number was a prime
+     */
+    public static boolean isPrime(long num) {
+        return NumberTheory.INSTANCE.isPrime(num);
     }
 
     /**
-     * Returns a list of the prime factors of the provided integer.
-     * If the provided integer is a prime, 1 and num are returned.
+     * Returns a list of the distinct prime factors of the provided integer in ascending order.
+     * If the provided integer is one, an empty list is returned.
      *
      * @param num the number to find prime factors of
      * @return a list of prime factors of num
+     * @throws IllegalArgumentException if the provided number is not positive
      */
     public static ImmutableList<Integer> primeFactors(int num) {
-        ArrayList<Integer> ret = new ArrayList<>() {
-            /**
-             * Adds the provided integer to the array list if it is not already contained.
-             *
-             * @param i the integer to add
-             * @return whether the integer was added
-             */
-            @Override
-            @CanIgnoreReturnValue
-            public boolean add(Integer i) {
-                if (!contains(i)) {
-                    return super.add(i);
-                }
-
-                return false;
-            }
-        };
-
-        while (num % 2 == 0) {
-            ret.add(2);
-            num /= 2;
-        }
-
-        for (int i = 3 ; i <= Math.sqrt(num) ; i += 2) {
-            while (num % i == 0) {
-                ret.add(i);
-                num /= i;
-            }
-        }
+        Preconditions.checkArgument(num > 0);
 
-        if (num > 2) {
-            ret.add(num);
+        ImmutableList.Builder<Integer> ret = ImmutableList.builder();
+        while (num > 1) {
+            int factor = NumberTheory.INSTANCE.smallestPrimeFactor(num);
+            ret.add(factor);
+            while (num % factor == 0) num /= factor;
         }
 
-        return ImmutableList.copyOf(ret);
+        return ret.build();
     }
 
     /**
@@ -139,23 +122,42 @@ public final class NumberUtil {
      *
      * @param n the index of the Fibonacci number to compute
      * @return the nth number of the Fibonacci sequence
+     * @throws ArithmeticException if the Fibonacci number overflows an int,
+     *                             see {@link #computeNthFibonacciBigInteger(int)}
      */
     public static int computeNthFibonacci(int n) {
         Preconditions.checkArgument(n >= 0);
 
-        int a = 0;
-        int b = 1;
-        int c;
+        if (n >= fibonacciNumbers.length) throw new ArithmeticException("Fibonacci number overflows an int: " + n);
+        return fibonacciNumbers[n];
+    }
 
-        if (n == 0) return a;
+    /**
+     * Computes the nth number of the Fibonacci sequence using fast doubling,
+     * requiring a logarithmic number of multiplications.
+     *
+     * @param n the index of the Fibonacci number to compute
+     * @return the nth number of the Fibonacci sequence
+     */
+    public static BigInteger computeNthFibonacciBigInteger(int n) {
+        Preconditions.checkArgument(n >= 0);
 
-        for (int i = 2 ; i <= n ; i++) {
-            c = a + b;
-            a = b;
-            b = c;
+        // Invariant: current is F(k) and next is F(k + 1) for k the bits of n consumed so far
+        BigInteger current = BigInteger.ZERO;
+        BigInteger next = BigInteger.ONE;
+        for (int bit = Integer.SIZE - 1 - Integer.numberOfLeadingZeros(n) ; bit >= 0 ; bit--) {
+            BigInteger doubled = current.multiply(next.shiftLeft(1).subtract(current));
+            BigInteger doubledNext = current.multiply(current).add(next.multiply(next));
+            if ((n >>> bit & 1) == 0) {
+                current = doubled;
+                next = doubledNext;
+            } else {
+                current = doubledNext;
+                next = doubled.add(doubledNext);
+            }
         }
 
-        return b;
+        return current;
     }
 
     /**
@@ -163,11 +165,58 @@ public final class NumberUtil {
      *
      * @param n the index of the Catalan number to compute
      * @return the nth Catalan number
+     * @throws ArithmeticException if the Catalan number overflows an int,
+     *                             see {@link #computeNthCatalanBigInteger(int)}
      */
     public static int computeNthCatalan(int n) {
         Preconditions.checkArgument(n >= 0);
 
-        return computeFactorial(2 * n).divide(computeFactorial(n).multiply(computeFactorial(n + 1))).intValue();
+        if (n >= catalanNumbers.length) throw new ArithmeticException("Catalan number overflows an int: " + n);
+        return catalanNumbers[n];
+    }
+
+    /**
+     * Computes the nth Catalan number as the central binomial coefficient divided by {@code n + 1}.
+     *
+     * @param n the index of the Catalan number to compute
+     * @return the nth Catalan number
+     */
+    public static BigInteger computeNthCatalanBigInteger(int n) {
+        Preconditions.checkArgument(n >= 0);
+
+        return BigIntegerMath.binomial(2 * n, n).divide(BigInteger.valueOf(n + 1L));
+    }
+
+    /**
+     * Returns the Fibonacci numbers representable by an int, by index.
+     *
+     * @return the Fibonacci numbers representable by an int
+     */
+    private static int[] computeIntFibonacciNumbers() {
+        List<Integer> ret = new ArrayList<>(List.of(0, 1));
+        long next = 1;
+        while (next <= Integer.MAX_VALUE) {
+            ret.add((int) next);
+            next = (long) ret.get(ret.size() - 1) + ret.get(ret.size() - 2);
+        }
+        return ret.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Returns the Catalan numbers representable by an int, by index,
+     * using the recurrence {@code C(n) = C(n - 1) * 2(2n - 1) / (n + 1)}.
+     *
+     * @return the Catalan numbers representable by an int
+     */
+    private static int[] computeIntCatalanNumbers() {
+        List<Integer> ret = new ArrayList<>(List.of(1));
+        long next = 1;
+        while (next <= Integer.MAX_VALUE) {
+            ret.add((int) next);
+            int n = ret.size();
+            next = (long) ret.get(n - 1) * 2 * (2 * n - 1) / (n + 1);
+        }
+        return ret.stream().mapToInt(Integer::intValue).toArray();
     }
 
     /**
@@ -3,18 +3,16 @@ package com.github.natche.cyderutils.network;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
 import com.github.natche.cyderutils.constants.CyderRegexPatterns;
-import com.github.natche.cyderutils.threads.CyderThreadRunner;
-import com.github.natche.cyderutils.threads.ThreadUtil;
 
-import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.time.Duration;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Optional;
 
 /**
  * A latency checker which pings a provided ip:port and determines
  * a status based on a provided map of latency values to categories.
+ * Checkers do not own a thread; each is an endpoint of a {@link LatencyMonitor},
+ * by default one shared by all checkers, which probes every endpoint from a single event loop.
  */
 public final class HighLatencyChecker {
     /** The IP address this checker will ping. */
@@ -32,26 +30,14 @@ public final class HighLatencyChecker {
     /** The delay between latency refreshes. */
     private final Duration pingDelay;
 
-    /** The frequency at which to check to exit the wait between latency refreshes should occur at. */
-    private final Duration exitRefreshLatencySleepCheckFrequency;
+    /** The name of this checker. */
+    private final String checkerName;
 
-    /** The frequency at which to check to exit the spin wait thread when refreshing the latency. */
-    private final Duration exitGetLatencySpinWaitCheckFrequency;
+    /** The monitor which pings the remote of this checker. */
+    private final LatencyMonitor latencyMonitor;
 
-    /** The name of the thread which refreshes the latency. */
-    private final String checkerThreadName;
-
-    /** Whether this high latency checker is currently running. */
-    private final AtomicBoolean refreshLatencyThreadRunning = new AtomicBoolean(false);
-
-    /** Whether this high latency checker's {@link #stop()} method has been invoked but the thread has not yet exited. */
-    private final AtomicBoolean refreshLatencyThreadStopping = new AtomicBoolean(false);
-
-    /** The current status of this latency checker. */
-    private String currentStatus;
-
-    /** The current latency of this latency checker. */
-    private long currentLatency;
+    /** The endpoint most recently monitored by this checker, null if never started. */
+    private volatile LatencyMonitor.Endpoint endpoint;
 
     /**
      * Constructs a new HighLatencyChecker from the provided builder.
@@ -64,55 +50,30 @@ public final class HighLatencyChecker {
         this.latencyCategorizer = builder.latencyCategorizer;
         this.remoteName = builder.remoteName;
         this.pingDelay = builder.pingDelay;
-        this.exitRefreshLatencySleepCheckFrequency = builder.exitRefreshLatencySleepCheckFrequency;
-        this.exitGetLatencySpinWaitCheckFrequency = builder.exitGetLatencySpinWaitCheckFrequency;
-        this.checkerThreadName = builder.checkerThreadName;
-
-        this.currentStatus = latencyCategorizer.getUnreachableString();
-        this.currentLatency = Long.MAX_VALUE;
+        this.checkerName = builder.checkerName;
+        this.latencyMonitor = builder.latencyMonitor;
     }
 
     /**
      * Starts this latency checker if not running.
+     * The remote is pinged immediately and then {@link Builder#setPingDelay(Duration)} after each ping completes,
+     * each ping timing out after the maximum latency level of the categorizer.
+     * The remote is resolved each time this checker is started; if it cannot be resolved,
+     * the remote is reported as unreachable until this checker is restarted.
      *
      * @throws IllegalStateException if this checker is already running
-     *                               or has not yet stopped after a {@link #stop()} invocation
      */
-    public void start() {
-        Preconditions.checkState(!refreshLatencyThreadRunning.get());
-        Preconditions.checkState(!refreshLatencyThreadStopping.get());
-        refreshLatencyThreadRunning.set(true);
-
-        CyderThreadRunner.submit(() -> {
-            while (refreshLatencyThreadRunning.get() && !refreshLatencyThreadRunning.get()) {
-                try {
-                    Future<Long> newLatencyFuture = NetworkUtil.getLatency(ipAddress, port.getPort(),
-                            (int) latencyCategorizer.getMaxLatencyLevel());
-                    while (!newLatencyFuture.isDone()) {
-                        if (!refreshLatencyThreadRunning.get()) newLatencyFuture.cancel(true);
-                        ThreadUtil.sleep(exitGetLatencySpinWaitCheckFrequency.toMillis());
-                    }
-
-                    long newLatency = newLatencyFuture.get();
-                    this.currentLatency = newLatency;
-                    this.currentStatus = latencyCategorizer.categorize(newLatency);
-                } catch (IOException | ExecutionException | InterruptedException e) {
-                    this.currentLatency = Long.MAX_VALUE;
-                    this.currentStatus = latencyCategorizer.getUnreachableString();
-                }
-
-                ThreadUtil.sleepWithChecks(pingDelay.toMillis(),
-                        exitRefreshLatencySleepCheckFrequency.toMillis(), () -> !isRunning());
-            }
-
-            refreshLatencyThreadRunning.set(false);
-            refreshLatencyThreadStopping.set(false);
-        }, checkerThreadName);
+    public synchronized void start() {
+        Preconditions.checkState(!isRunning());
+
+        InetSocketAddress address = new InetSocketAddress(ipAddress, port.getPort());
+        Duration timeout = Duration.ofMillis(Math.max(1, latencyCategorizer.getMaxLatencyLevel()));
+        endpoint = latencyMonitor.monitor(address, pingDelay, timeout, latencyCategorizer);
     }
 
-    /** Stops this latency checker if running. */
-    public void stop() {
-        refreshLatencyThreadStopping.get();
+    /** Stops this latency checker if running. The most recent latency and status remain available. */
+    public synchronized void stop() {
+        if (endpoint != null) endpoint.cancel();
     }
 
     /**
@@ -121,27 +82,46 @@ public final class HighLatencyChecker {
      * @return whether the latency checker is running
      */
     public boolean isRunning() {
-        return refreshLatencyThreadRunning.get();
+        LatencyMonitor.Endpoint currentEndpoint = endpoint;
+        return currentEndpoint != null && !currentEndpoint.isCancelled();
     }
 
     /**
-     * Returns the current status of this latency checker.
-     * If the checker has not yet ran, then {@link LatencyCategorizer#getUnreachableString()} will be returned.
+     * Returns the current status of this latency checker, the category of the moving average latency.
+     * If the checker has not yet ran or the most recent ping failed,
+     * then {@link LatencyCategorizer#getUnreachableString()} will be returned.
      *
      * @return the current status of this latency checker
      */
     public String getCurrentStatus() {
-        return currentStatus;
+        LatencyMonitor.Endpoint currentEndpoint = endpoint;
+        if (currentEndpoint == null) return latencyCategorizer.getUnreachableString();
+        return currentEndpoint.getStatus();
     }
 
     /**
-     * Returns the current latency of this latency checker.
-     * If the checker has not yet ran, then {@link Long#MAX_VALUE} will be returned.
+     * Returns the latency in milliseconds of the most recent ping of this latency checker.
+     * If the checker has not yet ran or the most recent ping failed, then {@link Long#MAX_VALUE} will be returned.
      *
      * @return the current latency of this latency checker
      */
     public long getCurrentLatency() {
-        return currentLatency;
+        return getStatistics()
+                .filter(LatencyStatistics::isReachable)
+                .flatMap(LatencyStatistics::getLatestLatency)
+                .map(Duration::toMillis)
+                .orElse(Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns the latency statistics of the most recent run of this latency checker.
+     *
+     * @return the latency statistics if this checker has been started, empty optional else
+     */
+    public Optional<LatencyStatistics> getStatistics() {
+        LatencyMonitor.Endpoint currentEndpoint = endpoint;
+        if (currentEndpoint == null) return Optional.empty();
+        return Optional.of(currentEndpoint.getStatistics());
     }
 
     /**
@@ -153,6 +133,15 @@ public final class HighLatencyChecker {
         return remoteName;
     }
 
+    /**
+     * Returns the name of this latency checker.
+     *
+     * @return the name of this latency checker
+     */
+    public String getCheckerName() {
+        return checkerName;
+    }
+
     /** {@inheritDoc} */
     @Override
     public boolean equals(Object o) {
@@ -168,12 +157,8 @@ public final class HighLatencyChecker {
                 && other.remoteName.equals(remoteName)
                 && other.latencyCategorizer.equals(latencyCategorizer)
                 && other.pingDelay.equals(pingDelay)
-                && other.exitGetLatencySpinWaitCheckFrequency.equals(exitGetLatencySpinWaitCheckFrequency)
-                && other.exitRefreshLatencySleepCheckFrequency.equals(exitRefreshLatencySleepCheckFrequency)
-                && other.checkerThreadName.equals(checkerThreadName)
-                && other.refreshLatencyThreadRunning.equals(refreshLatencyThreadRunning)
-                && other.currentLatency == currentLatency
-                && other.currentStatus.equals(currentStatus);
+                && other.checkerName.equals(checkerName)
+                && other.latencyMonitor == latencyMonitor;
     }
 
     /** {@inheritDoc} */
@@ -184,29 +169,24 @@ public final class HighLatencyChecker {
         ret = 31 * ret + remoteName.hashCode();
         ret = 31 * ret + latencyCategorizer.hashCode();
         ret = 31 * ret + pingDelay.hashCode();
-        ret = 31 * ret + exitGetLatencySpinWaitCheckFrequency.hashCode();
-        ret = 31 * ret + exitRefreshLatencySleepCheckFrequency.hashCode();
-        ret = 31 * ret + checkerThreadName.hashCode();
-        ret = 31 * ret + refreshLatencyThreadRunning.hashCode();
-        ret = 31 * ret + Long.hashCode(currentLatency);
-        ret = 31 * ret + currentStatus.hashCode();
+        ret = 31 * ret + checkerName.hashCode();
+        ret = 31 * ret + System.identityHashCode(latencyMonitor);
         return ret;
     }
 
     /** {@inheritDoc} */
+    @Override
     public String toString() {
         return "LatencyChecker{"
                 + "ipAddress=\"" + ipAddress + "\""
-                + ", port=" + port + ", "
+                + ", port=" + port
                 + ", remoteName=\"" + remoteName + "\""
                 + ", latencyCategorizer=" + latencyCategorizer
                 + ", pingDelay=" + pingDelay
-                + ", exitGetLatencySpinWaitCheckFrequency=" + exitGetLatencySpinWaitCheckFrequency
-                + ", exitRefreshLatencySleepCheckFrequency=" + exitRefreshLatencySleepCheckFrequency
-                + ", checkerThreadName=\"" + checkerThreadName + "\""
-                + ", refreshLatencyThreadRunning=" + refreshLatencyThreadRunning
-                + ", currentLatency=" + currentLatency
-                + ", currentStatus=\"" + currentStatus + "\""
+                + ", checkerName=\"" + checkerName + "\""
+                + ", running=" + isRunning()
+                + ", currentLatency=" + getCurrentLatency()
+                + ", currentStatus=\"" + getCurrentStatus() + "\""
                 + "}";
     }
 
@@ -221,38 +201,36 @@ public final class HighLatencyChecker {
                 1500L, "High"),
                 DEFAULT_REMOTE_NAME + " unreachable");
         private static final Duration DEFAULT_PING_DELAY = Duration.ofSeconds(5);
-        private static final Duration EXIT_REFRESH_LATENCY_SLEEP_CHECK_FREQUENCY = Duration.ofMillis(100);
-        private static final Duration EXIT_GET_LATENCY_SPIN_WAIT_CHECK_FREQUENCY = Duration.ofMillis(50);
+        private static final LatencyMonitor DEFAULT_LATENCY_MONITOR
+                = new LatencyMonitor("High Latency Checker Monitor");
 
         private String ipAddress;
         private Port port;
         private LatencyCategorizer latencyCategorizer;
         private String remoteName;
         private Duration pingDelay;
-        private Duration exitRefreshLatencySleepCheckFrequency;
-        private Duration exitGetLatencySpinWaitCheckFrequency;
-        private final String checkerThreadName;
+        private LatencyMonitor latencyMonitor;
+        private final String checkerName;
 
         /**
          * Constructs a new instance of a Builder for a {@link HighLatencyChecker}.
          * All defaults are used for all internal parameters.
          *
-         * @param checkerThreadName the thread name for the latency refresh thread
-         * @throws NullPointerException     if the provided checker thread name is null
-         * @throws IllegalArgumentException if the provided checker thread name is empty
+         * @param checkerName the name of the checker
+         * @throws NullPointerException     if the provided checker name is null
+         * @throws IllegalArgumentException if the provided checker name is empty
          */
-        public Builder(String checkerThreadName) {
-            Preconditions.checkNotNull(checkerThreadName);
-            Preconditions.checkArgument(!checkerThreadName.trim().isEmpty());
+        public Builder(String checkerName) {
+            Preconditions.checkNotNull(checkerName);
+            Preconditions.checkArgument(!checkerName.trim().isEmpty());
 
             this.ipAddress = DEFAULT_IP_ADDRESS;
             this.port = Port.from(CommonServicePort.HTTP);
             this.latencyCategorizer = DEFAULT_LATENCY_CATEGORIZER;
             this.remoteName = DEFAULT_REMOTE_NAME;
             this.pingDelay = DEFAULT_PING_DELAY;
-            this.exitRefreshLatencySleepCheckFrequency = EXIT_REFRESH_LATENCY_SLEEP_CHECK_FREQUENCY;
-            this.exitGetLatencySpinWaitCheckFrequency = EXIT_GET_LATENCY_SPIN_WAIT_CHECK_FREQUENCY;
-            this.checkerThreadName = checkerThreadName;
+            this.latencyMonitor = DEFAULT_LATENCY_MONITOR;
+            this.checkerName = checkerName;
         }
 
         /**
@@ -360,12 +338,13 @@ public final class HighLatencyChecker {
          * @return this builder
          * @throws NullPointerException     if the provided duration is null
          * @throws IllegalArgumentException if the provided duration is negative
+         * @deprecated this has no effect, refreshes are scheduled by the {@link LatencyMonitor} and are
+         * cancelled immediately when the checker is stopped
          */
+        @Deprecated
         public Builder setExitRefreshLatencySleepCheckFrequency(Duration exitRefreshLatencySleepCheckFrequency) {
             Preconditions.checkNotNull(exitRefreshLatencySleepCheckFrequency);
             Preconditions.checkArgument(!exitRefreshLatencySleepCheckFrequency.isNegative());
-
-            this.exitRefreshLatencySleepCheckFrequency = exitRefreshLatencySleepCheckFrequency;
             return this;
         }
 
@@ -376,12 +355,26 @@ public final class HighLatencyChecker {
          * @return this builder
          * @throws NullPointerException     if the provided duration is null
          * @throws IllegalArgumentException if the provided duration is negative
+         * @deprecated this has no effect, pings are performed asynchronously by the {@link LatencyMonitor}
+         * without a spin wait thread
          */
+        @Deprecated
         public Builder setExitGetLatencySpinWaitCheckFrequency(Duration exitGetLatencySpinWaitCheckFrequency) {
             Preconditions.checkNotNull(exitGetLatencySpinWaitCheckFrequency);
             Preconditions.checkArgument(!exitGetLatencySpinWaitCheckFrequency.isNegative());
+            return this;
+        }
 
-            this.exitGetLatencySpinWaitCheckFrequency = exitGetLatencySpinWaitCheckFrequency;
+        /**
+         * Sets the monitor which pings the remote of the checker, by default a monitor shared by all checkers.
+         *
+         * @param latencyMonitor the latency monitor
+         * @return this builder
+         * @throws NullPointerException if the provided latency monitor is null
+         */
+        public Builder setLatencyMonitor(LatencyMonitor latencyMonitor) {
+            Preconditions.checkNotNull(latencyMonitor);
+            this.latencyMonitor = latencyMonitor;
             return this;
         }
 
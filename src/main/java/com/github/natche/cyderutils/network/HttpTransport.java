@@ -0,0 +1,645 @@
+package com.github.natche.cyderutils.network;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import com.github.natche.cyderutils.threads.CyderThreadFactory;
+import com.github.natche.cyderutils.utils.SerializationUtil;
+
+import java.io.*;
+import java.lang.ref.Cleaner;
+import java.lang.reflect.Type;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * The shared HTTP transport used for reading from http and https urls.
+ * A single {@link HttpClient} is used so connections are reused and HTTP/2 is negotiated where supported.
+ * Responses are requested gzip encoded and decoded transparently. The number of requests in flight to
+ * each host is limited; a request waits for a permit of its host for at most its timeout, and the permit of a
+ * streamed body is released when the body is closed or, failing that, garbage collected. Requests failing with
+ * an I/O error or a transient status code are retried with jittered exponential backoff, or after the delay
+ * requested by a Retry-After header if one is present and short enough. String responses carrying an ETag or
+ * Last-Modified validator are cached and revalidated with a conditional request, a 304 response reusing the
+ * cached body.
+ */
+public enum HttpTransport {
+    /** The http transport instance. */
+    INSTANCE;
+
+    /** The time in seconds to wait for a connection to be established. */
+    private static final int CONNECT_TIMEOUT_SECONDS = 10;
+
+    /** The time to wait for the response headers of a request. */
+    private static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    /** The maximum number of requests in flight to a single host. */
+    private static final int MAXIMUM_CONCURRENT_REQUESTS_PER_HOST = 6;
+
+    /** The maximum number of attempts made for a single request. */
+    private static final int MAXIMUM_ATTEMPTS = 3;
+
+    /** The delay before the first retry, doubled for each subsequent retry before jitter is applied. */
+    private static final Duration BASE_RETRY_DELAY = Duration.ofMillis(250);
+
+    /** The maximum delay requested by a Retry-After header which is waited out before retrying. */
+    private static final Duration MAXIMUM_RETRY_AFTER_DELAY = Duration.ofSeconds(10);
+
+    /** The status codes indicating a transient failure for which a request is retried. */
+    private static final ImmutableSet<Integer> RETRYABLE_STATUS_CODES = ImmutableSet.of(429, 502, 503, 504);
+
+    /** The status code of a successful response without a body. */
+    private static final int NO_CONTENT = 204;
+
+    /** The status code of a response to a conditional request indicating the cached body is current. */
+    private static final int NOT_MODIFIED = 304;
+
+    /** The maximum number of string responses cached for revalidation. */
+    private static final int MAXIMUM_CACHED_RESPONSES = 64;
+
+    /** The maximum length in chars of a string response cached for revalidation. */
+    private static final int MAXIMUM_CACHED_RESPONSE_LENGTH = 1024 * 1024;
+
+    /** The HEAD request method. */
+    private static final String HEAD = "HEAD";
+
+    /** The gzip content encoding. */
+    private static final String GZIP = "gzip";
+
+    /** The charset parameter of a content type. */
+    private static final String CHARSET_PARAMETER = "charset=";
+
+    /** The accept encoding header. */
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+
+    /** The content encoding header. */
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+
+    /** The content type header. */
+    private static final String CONTENT_TYPE = "Content-Type";
+
+    /** The entity tag header. */
+    private static final String ETAG = "ETag";
+
+    /** The header carrying the delay a client should wait before retrying. */
+    private static final String RETRY_AFTER = "Retry-After";
+
+    /** The last modified header. */
+    private static final String LAST_MODIFIED = "Last-Modified";
+
+    /** The conditional request header carrying an entity tag. */
+    private static final String IF_NONE_MATCH = "If-None-Match";
+
+    /** The conditional request header carrying a last modified date. */
+    private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+
+    /** The name of the threads used by the http client. */
+    private static final String CLIENT_THREAD_NAME = "Http Transport Client";
+
+    /** The cleaner releasing the host permits of streamed bodies garbage collected without being closed. */
+    private static final Cleaner PERMIT_CLEANER = Cleaner.create(new CyderThreadFactory("Http Transport Cleaner"));
+
+    /** The shared http client. */
+    private final HttpClient client;
+
+    /** The permits limiting the requests in flight to each host. */
+    private final ConcurrentHashMap<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    /** The string responses cached for revalidation, least recently used first. */
+    private final LinkedHashMap<URI, CachedResponse> cachedResponses = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<URI, CachedResponse> eldest) {
+            return size() > MAXIMUM_CACHED_RESPONSES;
+        }
+    };
+
+    HttpTransport() {
+        CyderThreadFactory threadFactory = new CyderThreadFactory(CLIENT_THREAD_NAME);
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofSeconds(CONNECT_TIMEOUT_SECONDS))
+                .executor(Executors.newCachedThreadPool(runnable -> {
+                    Thread thread = threadFactory.newThread(runnable);
+                    thread.setDaemon(true);
+                    return thread;
+                }))
+                .build();
+    }
+
+    /**
+     * A string response retained for revalidation.
+     *
+     * @param body         the body
+     * @param etag         the entity tag validator, null if absent
+     * @param lastModified the last modified validator, null if absent
+     */
+    private record CachedResponse(String body, String etag, String lastModified) {}
+
+    /**
+     * A response whose body is being streamed. Closing the response closes the body and releases the host permit.
+     *
+     * @param statusCode the status code
+     * @param headers    the headers
+     * @param body       the decoded body
+     */
+    private record StreamedResponse(int statusCode, HttpHeaders headers, InputStream body) implements Closeable {
+        /** {@inheritDoc} */
+        @Override
+        public void close() throws IOException {
+            body.close();
+        }
+    }
+
+    /**
+     * Sends a HEAD request to the provided url and returns the status code of the response.
+     * Redirects are followed.
+     *
+     * @param url     the http or https url
+     * @param timeout the time to wait for the response
+     * @return the status code of the response
+     * @throws NullPointerException     if either argument is null
+     * @throws IllegalArgumentException if the url is not a valid http or https url or the timeout is not positive
+     * @throws IOException              if the request fails after all attempts
+     */
+    public int head(String url, Duration timeout) throws IOException {
+        return head(url, timeout, MAXIMUM_ATTEMPTS);
+    }
+
+    /**
+     * Sends a single HEAD request to the provided url without retrying and returns the status code of the
+     * response. Redirects are followed. This is intended for reachability probes, which should fail
+     * within the provided timeout rather than after several attempts and their backoff.
+     *
+     * @param url     the http or https url
+     * @param timeout the time to wait for a permit of the host and for the response
+     * @return the status code of the response
+     * @throws NullPointerException     if either argument is null
+     * @throws IllegalArgumentException if the url is not a valid http or https url or the timeout is not positive
+     * @throws IOException              if the request fails
+     */
+    public int probe(String url, Duration timeout) throws IOException {
+        return head(url, timeout, 1);
+    }
+
+    /**
+     * Sends a HEAD request to the provided url and returns the status code of the response.
+     *
+     * @param url             the http or https url
+     * @param timeout         the time to wait for the response
+     * @param maximumAttempts the maximum number of attempts
+     * @return the status code of the response
+     * @throws IOException if the request fails after all attempts
+     */
+    private int head(String url, Duration timeout, int maximumAttempts) throws IOException {
+        Preconditions.checkNotNull(timeout);
+        Preconditions.checkArgument(!timeout.isNegative() && !timeout.isZero());
+
+        HttpRequest request = newRequestBuilder(toUri(url), timeout)
+                .method(HEAD, HttpRequest.BodyPublishers.noBody())
+                .build();
+        try (StreamedResponse response = send(request, maximumAttempts)) {
+            return response.statusCode();
+        }
+    }
+
+    /**
+     * Opens a stream of the body of the response to a GET request to the provided url.
+     * The stream must be closed to release the connection to the host.
+     *
+     * @param url the http or https url
+     * @return the decoded body of the response
+     * @throws NullPointerException     if the provided url is null
+     * @throws IllegalArgumentException if the provided url is not a valid http or https url
+     * @throws IOException              if the request fails after all attempts or the response is not successful
+     */
+    public InputStream openStream(String url) throws IOException {
+        StreamedResponse response = send(newRequestBuilder(toUri(url), DEFAULT_REQUEST_TIMEOUT).GET().build());
+        checkSuccessful(response, url);
+        return response.body();
+    }
+
+    /**
+     * Reads the body of the response to a GET request to the provided url as a string.
+     * If the response to a previous read of the url carried a validator, the request is made conditional
+     * and the previous body is returned if the server reports it is unchanged.
+     *
+     * @param url the http or https url
+     * @return the body of the response
+     * @throws NullPointerException     if the provided url is null
+     * @throws IllegalArgumentException if the provided url is not a valid http or https url
+     * @throws IOException              if the request fails after all attempts or the response is not successful
+     */
+    public String readString(String url) throws IOException {
+        URI uri = toUri(url);
+
+        CachedResponse cached;
+        synchronized (cachedResponses) {
+            cached = cachedResponses.get(uri);
+        }
+
+        HttpRequest.Builder builder = newRequestBuilder(uri, DEFAULT_REQUEST_TIMEOUT).GET();
+        if (cached != null) {
+            if (cached.etag() != null) builder.header(IF_NONE_MATCH, cached.etag());
+            if (cached.lastModified() != null) builder.header(IF_MODIFIED_SINCE, cached.lastModified());
+        }
+
+        try (StreamedResponse response = send(builder.build())) {
+            if (cached != null && response.statusCode() == NOT_MODIFIED) return cached.body();
+            checkSuccessful(response, url);
+
+            String body = new String(response.body().readAllBytes(), getCharset(response.headers()));
+            String etag = response.headers().firstValue(ETAG).orElse(null);
+            String lastModified = response.headers().firstValue(LAST_MODIFIED).orElse(null);
+
+            synchronized (cachedResponses) {
+                if ((etag != null || lastModified != null) && body.length() <= MAXIMUM_CACHED_RESPONSE_LENGTH) {
+                    cachedResponses.put(uri, new CachedResponse(body, etag, lastModified));
+                } else {
+                    cachedResponses.remove(uri);
+                }
+            }
+
+            return body;
+        }
+    }
+
+    /**
+     * Deserializes the body of the response to a GET request to the provided url as it is streamed.
+     *
+     * @param url   the http or https url
+     * @param clazz the class to deserialize the body to
+     * @param <T>   the type of the class to deserialize
+     * @return the deserialized body
+     * @throws NullPointerException     if either argument is null
+     * @throws IllegalArgumentException if the provided url is not a valid http or https url
+     * @throws IOException              if the request fails after all attempts or the response is not successful
+     */
+    public <T> T readJson(String url, Class<T> clazz) throws IOException {
+        Preconditions.checkNotNull(clazz);
+
+        try (Reader reader = openReader(url)) {
+            return SerializationUtil.fromJson(reader, clazz);
+        }
+    }
+
+    /**
+     * Deserializes the body of the response to a GET request to the provided url as it is streamed.
+     *
+     * @param url  the http or https url
+     * @param type the type to deserialize the body to
+     * @param <T>  the type to deserialize
+     * @return the deserialized body
+     * @throws NullPointerException     if either argument is null
+     * @throws IllegalArgumentException if the provided url is not a valid http or https url
+     * @throws IOException              if the request fails after all attempts or the response is not successful
+     */
+    public <T> T readJson(String url, Type type) throws IOException {
+        Preconditions.checkNotNull(type);
+
+        try (Reader reader = openReader(url)) {
+            return SerializationUtil.fromJson(reader, type);
+        }
+    }
+
+    /**
+     * Returns the number of string responses currently cached for revalidation.
+     *
+     * @return the number of string responses currently cached for revalidation
+     */
+    public int getCachedResponseCount() {
+        synchronized (cachedResponses) {
+            return cachedResponses.size();
+        }
+    }
+
+    /** Removes all string responses cached for revalidation. */
+    public void clearCache() {
+        synchronized (cachedResponses) {
+            cachedResponses.clear();
+        }
+    }
+
+    /**
+     * Opens a reader of the body of the response to a GET request to the provided url
+     * using the charset of the response.
+     *
+     * @param url the http or https url
+     * @return the reader
+     * @throws IOException if the request fails after all attempts or the response is not successful
+     */
+    private Reader openReader(String url) throws IOException {
+        StreamedResponse response = send(newRequestBuilder(toUri(url), DEFAULT_REQUEST_TIMEOUT).GET().build());
+        checkSuccessful(response, url);
+        return new BufferedReader(new InputStreamReader(response.body(), getCharset(response.headers())));
+    }
+
+    /**
+     * Sends the provided request, waiting for a permit of its host and retrying transient failures.
+     * The permit is held until the returned response is closed.
+     *
+     * @param request the request
+     * @return the response
+     * @throws IOException if the request fails after all attempts
+     */
+    private StreamedResponse send(HttpRequest request) throws IOException {
+        return send(request, MAXIMUM_ATTEMPTS);
+    }
+
+    /**
+     * Sends the provided request, waiting for a permit of its host for at most the timeout of the request and
+     * retrying transient failures up to the provided number of attempts. The permit is held until the returned
+     * response is closed.
+     *
+     * @param request         the request
+     * @param maximumAttempts the maximum number of attempts
+     * @return the response
+     * @throws IOException if no permit became available in time or the request fails after all attempts
+     */
+    private StreamedResponse send(HttpRequest request, int maximumAttempts) throws IOException {
+        Semaphore permits = hostPermits.computeIfAbsent(getHostKey(request.uri()),
+                host -> new Semaphore(MAXIMUM_CONCURRENT_REQUESTS_PER_HOST));
+        Duration permitTimeout = request.timeout().orElse(DEFAULT_REQUEST_TIMEOUT);
+        try {
+            if (!permits.tryAcquire(permitTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new IOException("Timed out after " + permitTimeout + " waiting for a connection to "
+                        + request.uri().getHost());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for a connection to " + request.uri().getHost());
+        }
+
+        boolean permitTransferred = false;
+        try {
+            for (int attempt = 1 ; ; attempt++) {
+                HttpResponse<InputStream> response;
+                try {
+                    response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                } catch (IOException e) {
+                    if (attempt >= maximumAttempts) throw e;
+                    backoff(attempt);
+                    continue;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted requesting " + request.uri());
+                }
+
+                if (RETRYABLE_STATUS_CODES.contains(response.statusCode()) && attempt < maximumAttempts) {
+                    Optional<Duration> retryAfter = getRetryAfter(response.headers());
+                    if (retryAfter.isEmpty() || retryAfter.get().compareTo(MAXIMUM_RETRY_AFTER_DELAY) <= 0) {
+                        response.body().close();
+                        if (retryAfter.isPresent()) {
+                            sleep(retryAfter.get().toMillis());
+                        } else {
+                            backoff(attempt);
+                        }
+                        continue;
+                    }
+                }
+
+                InputStream body = releasingOnClose(response.body(), permits);
+                if (hasBody(request, response.statusCode())) body = decode(body, response.headers());
+                permitTransferred = true;
+                return new StreamedResponse(response.statusCode(), response.headers(), body);
+            }
+        } finally {
+            if (!permitTransferred) permits.release();
+        }
+    }
+
+    /**
+     * Returns whether a response with the provided status code to the provided request may carry a body.
+     *
+     * @param request    the request
+     * @param statusCode the status code of the response
+     * @return whether the response may carry a body
+     */
+    private static boolean hasBody(HttpRequest request, int statusCode) {
+        return !request.method().equals(HEAD) && statusCode != NO_CONTENT && statusCode != NOT_MODIFIED;
+    }
+
+    /**
+     * Sleeps before the next attempt of a request, for a random duration between half of and the full
+     * exponentially increasing delay.
+     *
+     * @param attempt the number of the attempt which failed, starting at one
+     * @throws InterruptedIOException if interrupted while sleeping
+     */
+    private static void backoff(int attempt) throws InterruptedIOException {
+        long delay = BASE_RETRY_DELAY.toMillis() << (attempt - 1);
+        sleep(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+    }
+
+    /**
+     * Sleeps for the provided number of milliseconds before the next attempt of a request.
+     *
+     * @param millis the number of milliseconds to sleep for
+     * @throws InterruptedIOException if interrupted while sleeping
+     */
+    private static void sleep(long millis) throws InterruptedIOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted awaiting retry");
+        }
+    }
+
+    /**
+     * Returns the delay requested by the Retry-After header of a response, given either in seconds or as
+     * an HTTP date. A date in the past is a delay of zero.
+     *
+     * @param headers the headers of the response
+     * @return the requested delay, empty if the header is absent or malformed
+     */
+    private static Optional<Duration> getRetryAfter(HttpHeaders headers) {
+        Optional<String> retryAfter = headers.firstValue(RETRY_AFTER).map(String::trim);
+        if (retryAfter.isEmpty()) return Optional.empty();
+
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(retryAfter.get()))));
+        } catch (NumberFormatException ignored) {}
+
+        try {
+            ZonedDateTime date = ZonedDateTime.parse(retryAfter.get(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            Duration delay = Duration.between(ZonedDateTime.now(date.getZone()), date);
+            return Optional.of(delay.isNegative() ? Duration.ZERO : delay);
+        } catch (DateTimeParseException ignored) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Wraps the provided body so that closing it releases a permit of the provided semaphore exactly once.
+     * Should the wrapped body be garbage collected without being closed, the body is closed and the permit
+     * released by {@link #PERMIT_CLEANER} so that a leaked body cannot exhaust the permits of its host.
+     *
+     * @param body    the body
+     * @param permits the semaphore
+     * @return the wrapped body
+     */
+    private static InputStream releasingOnClose(InputStream body, Semaphore permits) {
+        // The cleaning action must not reference the wrapper or it would never become unreachable
+        Runnable release = () -> {
+            try {
+                body.close();
+            } catch (IOException ignored) {
+                // The permit is released regardless
+            } finally {
+                permits.release();
+            }
+        };
+
+        return new FilterInputStream(body) {
+            /** The registration releasing the permit, run at most once. */
+            private final Cleaner.Cleanable cleanable = PERMIT_CLEANER.register(this, release);
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    cleanable.clean();
+                }
+            }
+        };
+    }
+
+    /**
+     * Decodes the provided body according to its content encoding.
+     *
+     * @param body    the body
+     * @param headers the headers of the response
+     * @return the decoded body
+     * @throws IOException if the body claims to be gzip encoded but is not
+     */
+    private static InputStream decode(InputStream body, HttpHeaders headers) throws IOException {
+        Optional<String> encoding = headers.firstValue(CONTENT_ENCODING);
+        if (encoding.isEmpty() || !encoding.get().trim().equalsIgnoreCase(GZIP)) return body;
+
+        try {
+            return new GZIPInputStream(body);
+        } catch (IOException e) {
+            body.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes the provided response and throws if its status code does not indicate success.
+     *
+     * @param response the response
+     * @param url      the url requested
+     * @throws IOException if the status code does not indicate success
+     */
+    private static void checkSuccessful(StreamedResponse response, String url) throws IOException {
+        int statusCode = response.statusCode();
+        if (statusCode >= NetworkUtil.MIN_SUCCESSFUL_RESPONSE_CODE
+                && statusCode <= NetworkUtil.MAX_SUCCESSFUL_RESPONSE_CODE) return;
+
+        response.close();
+        throw new IOException("Server returned HTTP response code: " + statusCode + " for URL: " + url);
+    }
+
+    /**
+     * Returns the charset of the body described by the provided headers, UTF-8 if unspecified or unsupported.
+     *
+     * @param headers the headers of the response
+     * @return the charset of the body
+     */
+    private static Charset getCharset(HttpHeaders headers) {
+        Optional<String> contentType = headers.firstValue(CONTENT_TYPE);
+        if (contentType.isEmpty()) return StandardCharsets.UTF_8;
+
+        for (String parameter : contentType.get().split(";")) {
+            String trimmed = parameter.trim();
+            if (!trimmed.toLowerCase(Locale.ROOT).startsWith(CHARSET_PARAMETER)) continue;
+
+            String name = trimmed.substring(CHARSET_PARAMETER.length()).replace("\"", "");
+            try {
+                return Charset.forName(name);
+            } catch (IllegalArgumentException ignored) {
+                return StandardCharsets.UTF_8;
+            }
+        }
+
+        return StandardCharsets.UTF_8;
+    }
+
+    /**
+     * Returns a new request builder for the provided uri accepting gzip encoded responses.
+     *
+     * @param uri     the uri
+     * @param timeout the time to wait for the response headers
+     * @return the request builder
+     */
+    private static HttpRequest.Builder newRequestBuilder(URI uri, Duration timeout) {
+        return HttpRequest.newBuilder(uri).timeout(timeout).header(ACCEPT_ENCODING, GZIP);
+    }
+
+    /**
+     * Returns the key identifying the host of the provided uri for concurrency limiting.
+     *
+     * @param uri the uri
+     * @return the key identifying the host
+     */
+    private static String getHostKey(URI uri) {
+        return uri.getHost().toLowerCase(Locale.ROOT) + ":" + uri.getPort();
+    }
+
+    /**
+     * Parses the provided http or https url. Urls which are not strictly valid uris, such as those containing raw
+     * spaces, quotes, or percent signs within their query, are parsed leniently as a {@link URL} and have their
+     * illegal characters quoted.
+     *
+     * @param url the url
+     * @return the uri
+     * @throws NullPointerException     if the provided url is null
+     * @throws IllegalArgumentException if the provided url is not a valid http or https url
+     */
+    static URI toUri(String url) {
+        Preconditions.checkNotNull(url);
+        Preconditions.checkArgument(!url.trim().isEmpty());
+
+        URI uri;
+        try {
+            uri = new URI(url.trim());
+        } catch (URISyntaxException strictException) {
+            try {
+                URL lenient = new URL(url.trim());
+                uri = new URI(lenient.getProtocol(), lenient.getUserInfo(), lenient.getHost(), lenient.getPort(),
+                        lenient.getPath(), lenient.getQuery(), lenient.getRef());
+            } catch (MalformedURLException | URISyntaxException e) {
+                throw new IllegalArgumentException("Invalid url: " + url, e);
+            }
+        }
+
+        String scheme = uri.getScheme();
+        Preconditions.checkArgument(scheme != null
+                && (scheme.equalsIgnoreCase("http") || scheme.equalsIgnoreCase("https")));
+        Preconditions.checkArgument(uri.getHost() != null);
+        return uri;
+    }
+}
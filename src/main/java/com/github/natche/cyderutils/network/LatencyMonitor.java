@@ -0,0 +1,468 @@
+package com.github.natche.cyderutils.network;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.github.natche.cyderutils.threads.CyderThreadFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A monitor of the TCP connect latency of many endpoints using a single event loop thread.
+ * Each endpoint is probed by a non-blocking connect multiplexed by one {@link Selector}, the next probe
+ * being scheduled its interval after the previous completes. Every endpoint keeps {@link LatencyStatistics}
+ * and is categorized by its own {@link LatencyCategorizer}.
+ * <p>
+ * The event loop thread is started when the first endpoint is monitored and exits once no endpoints remain,
+ * so an idle monitor holds no thread or selector.
+ */
+public final class LatencyMonitor {
+    /** The name of the event loop thread. */
+    private final String threadName;
+
+    /** The endpoints monitored or cancelled by other threads, awaiting processing by the event loop. */
+    private final ConcurrentLinkedQueue<Endpoint> pendingChanges = new ConcurrentLinkedQueue<>();
+
+    /** The endpoints currently monitored. */
+    private final Set<Endpoint> endpoints = Collections.synchronizedSet(new LinkedHashSet<>());
+
+    /** The selector of the running event loop, null if not running. */
+    private Selector selector;
+
+    /** The running event loop thread, null if not running. */
+    private Thread eventLoopThread;
+
+    /**
+     * Constructs a new latency monitor.
+     *
+     * @param threadName the name of the event loop thread
+     * @throws NullPointerException     if the provided thread name is null
+     * @throws IllegalArgumentException if the provided thread name is empty
+     */
+    public LatencyMonitor(String threadName) {
+        Preconditions.checkNotNull(threadName);
+        Preconditions.checkArgument(!threadName.trim().isEmpty());
+
+        this.threadName = threadName;
+    }
+
+    /**
+     * Begins monitoring the provided address, probing it immediately and then repeatedly.
+     * An unresolved address is monitored as unreachable, each probe failing without a connection attempt.
+     *
+     * @param address     the address to probe
+     * @param interval    the time to wait after each probe completes before starting the next
+     * @param timeout     the time to wait for each connection to be accepted or refused
+     * @param categorizer the categorizer of the average latency of the endpoint
+     * @return the monitored endpoint
+     * @throws NullPointerException     if any argument is null
+     * @throws IllegalArgumentException if the interval is negative or the timeout is not positive
+     * @throws IllegalStateException    if the event loop cannot be started
+     */
+    public Endpoint monitor(InetSocketAddress address, Duration interval,
+                            Duration timeout, LatencyCategorizer categorizer) {
+        Preconditions.checkNotNull(address);
+        Preconditions.checkNotNull(interval);
+        Preconditions.checkNotNull(timeout);
+        Preconditions.checkNotNull(categorizer);
+        Preconditions.checkArgument(!interval.isNegative());
+        Preconditions.checkArgument(!timeout.isNegative() && !timeout.isZero());
+
+        Endpoint endpoint = new Endpoint(this, address, interval, timeout, categorizer);
+        endpoints.add(endpoint);
+        pendingChanges.add(endpoint);
+        ensureEventLoopRunning();
+        return endpoint;
+    }
+
+    /**
+     * Returns the endpoints currently monitored.
+     *
+     * @return the endpoints currently monitored
+     */
+    public ImmutableList<Endpoint> getEndpoints() {
+        synchronized (endpoints) {
+            return ImmutableList.copyOf(endpoints);
+        }
+    }
+
+    /**
+     * Returns whether the event loop thread is running.
+     *
+     * @return whether the event loop thread is running
+     */
+    public synchronized boolean isRunning() {
+        return eventLoopThread != null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "LatencyMonitor{"
+                + "threadName=\"" + threadName + "\""
+                + ", endpoints=" + endpoints.size()
+                + ", running=" + isRunning()
+                + "}";
+    }
+
+    /**
+     * Removes the provided cancelled endpoint and queues its in flight probe to be closed.
+     *
+     * @param endpoint the cancelled endpoint
+     */
+    private void cancel(Endpoint endpoint) {
+        endpoints.remove(endpoint);
+        pendingChanges.add(endpoint);
+        wakeup();
+    }
+
+    /** Wakes the event loop if blocked selecting. */
+    private synchronized void wakeup() {
+        if (selector != null) selector.wakeup();
+    }
+
+    /**
+     * Starts the event loop if not running, otherwise wakes it to process pending changes.
+     *
+     * @throws IllegalStateException if a selector cannot be opened
+     */
+    private synchronized void ensureEventLoopRunning() {
+        if (eventLoopThread != null) {
+            selector.wakeup();
+            return;
+        }
+
+        try {
+            selector = Selector.open();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to open selector", e);
+        }
+
+        eventLoopThread = new CyderThreadFactory(threadName).newThread(new EventLoop(selector));
+        eventLoopThread.setDaemon(true);
+        eventLoopThread.start();
+    }
+
+    /**
+     * Stops the event loop if no endpoints remain to be monitored.
+     *
+     * @return whether the event loop should exit
+     */
+    private synchronized boolean stopIfIdle() {
+        if (!endpoints.isEmpty() || !pendingChanges.isEmpty()) return false;
+
+        try {
+            selector.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        selector = null;
+        eventLoopThread = null;
+        return true;
+    }
+
+    /**
+     * A probe scheduled to start or in flight, ordered by the time it is due or times out.
+     *
+     * @param endpoint the endpoint
+     * @param time     the {@link System#nanoTime()} the probe is due or times out
+     */
+    private record ScheduledProbe(Endpoint endpoint, long time) {}
+
+    /** The event loop starting, completing, and expiring probes. */
+    private final class EventLoop implements Runnable {
+        /** The selector multiplexing the in flight probes. */
+        private final Selector selector;
+
+        /** The probes awaiting their start time, earliest first. */
+        private final PriorityQueue<ScheduledProbe> dueProbes
+                = new PriorityQueue<>(Comparator.comparingLong(ScheduledProbe::time));
+
+        /** The deadlines of the probes in flight, earliest first. Completed probes are discarded lazily. */
+        private final PriorityQueue<ScheduledProbe> probeDeadlines
+                = new PriorityQueue<>(Comparator.comparingLong(ScheduledProbe::time));
+
+        /**
+         * Constructs a new event loop.
+         *
+         * @param selector the selector multiplexing the in flight probes
+         */
+        EventLoop(Selector selector) {
+            this.selector = selector;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void run() {
+            while (true) {
+                processPendingChanges();
+                if (endpoints.isEmpty() && stopIfIdle()) return;
+
+                startDueProbes();
+
+                try {
+                    selector.select(this::finishConnect, computeSelectTimeoutMillis());
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+
+                expireProbes();
+            }
+        }
+
+        /** Schedules the first probe of newly monitored endpoints and closes the probes of cancelled endpoints. */
+        private void processPendingChanges() {
+            Endpoint endpoint;
+            while ((endpoint = pendingChanges.poll()) != null) {
+                if (endpoint.cancelled) {
+                    endpoint.closeChannel();
+                } else {
+                    dueProbes.add(new ScheduledProbe(endpoint, System.nanoTime()));
+                }
+            }
+        }
+
+        /** Starts the probe of every endpoint which is due. */
+        private void startDueProbes() {
+            long now = System.nanoTime();
+            while (!dueProbes.isEmpty() && dueProbes.peek().time() - now <= 0) {
+                Endpoint endpoint = dueProbes.poll().endpoint();
+                if (!endpoint.cancelled) startProbe(endpoint);
+            }
+        }
+
+        /**
+         * Starts a probe of the provided endpoint.
+         *
+         * @param endpoint the endpoint
+         */
+        private void startProbe(Endpoint endpoint) {
+            endpoint.probeStart = System.nanoTime();
+
+            if (endpoint.address.isUnresolved()) {
+                completeProbe(endpoint, false);
+                return;
+            }
+
+            try {
+                endpoint.channel = SocketChannel.open();
+                endpoint.channel.configureBlocking(false);
+                if (endpoint.channel.connect(endpoint.address)) {
+                    completeProbe(endpoint, true);
+                } else {
+                    endpoint.channel.register(selector, SelectionKey.OP_CONNECT, endpoint);
+                    probeDeadlines.add(new ScheduledProbe(endpoint, endpoint.probeStart + endpoint.timeout.toNanos()));
+                }
+            } catch (IOException e) {
+                completeProbe(endpoint, false);
+            }
+        }
+
+        /**
+         * Completes the probe of the endpoint attached to the provided key whose channel is ready to finish connecting.
+         *
+         * @param key the selected key
+         */
+        private void finishConnect(SelectionKey key) {
+            Endpoint endpoint = (Endpoint) key.attachment();
+
+            boolean connected;
+            try {
+                connected = endpoint.channel.finishConnect();
+            } catch (IOException e) {
+                connected = false;
+            }
+
+            completeProbe(endpoint, connected);
+        }
+
+        /** Fails every in flight probe whose deadline has passed. */
+        private void expireProbes() {
+            long now = System.nanoTime();
+            while (!probeDeadlines.isEmpty() && probeDeadlines.peek().time() - now <= 0) {
+                Endpoint endpoint = probeDeadlines.poll().endpoint();
+                if (endpoint.channel != null && endpoint.probeStart + endpoint.timeout.toNanos() - now <= 0) {
+                    completeProbe(endpoint, false);
+                }
+            }
+        }
+
+        /**
+         * Records the result of the in flight probe of the provided endpoint and schedules its next probe.
+         *
+         * @param endpoint  the endpoint
+         * @param connected whether the connection was accepted
+         */
+        private void completeProbe(Endpoint endpoint, boolean connected) {
+            long now = System.nanoTime();
+            endpoint.closeChannel();
+
+            if (connected) {
+                endpoint.statistics.recordSuccess(Duration.ofNanos(now - endpoint.probeStart));
+            } else {
+                endpoint.statistics.recordFailure();
+            }
+
+            if (!endpoint.cancelled) dueProbes.add(new ScheduledProbe(endpoint, now + endpoint.interval.toNanos()));
+        }
+
+        /**
+         * Returns the time to select for, until the next probe is due or the next in flight probe times out.
+         *
+         * @return the time in milliseconds to select for, zero to select until woken
+         */
+        private long computeSelectTimeoutMillis() {
+            long next = Long.MAX_VALUE;
+            if (!dueProbes.isEmpty()) next = dueProbes.peek().time();
+            if (!probeDeadlines.isEmpty()) {
+                long deadline = probeDeadlines.peek().time();
+                if (next == Long.MAX_VALUE || deadline - next < 0) next = deadline;
+            }
+            if (next == Long.MAX_VALUE) return 0;
+
+            long remainingNanos = next - System.nanoTime();
+            return Math.max(1, Duration.ofNanos(remainingNanos).toMillis() + 1);
+        }
+    }
+
+    /** An endpoint monitored by a {@link LatencyMonitor}. */
+    public static final class Endpoint {
+        /** The monitor of this endpoint. */
+        private final LatencyMonitor monitor;
+
+        /** The address probed. */
+        private final InetSocketAddress address;
+
+        /** The time to wait after each probe completes before starting the next. */
+        private final Duration interval;
+
+        /** The time to wait for each connection to be accepted or refused. */
+        private final Duration timeout;
+
+        /** The categorizer of the average latency of this endpoint. */
+        private final LatencyCategorizer categorizer;
+
+        /** The latency statistics of this endpoint. */
+        private final LatencyStatistics statistics = new LatencyStatistics();
+
+        /** Whether monitoring of this endpoint has been cancelled. */
+        private volatile boolean cancelled;
+
+        /** The channel of the in flight probe, null if none. Only accessed by the event loop. */
+        private SocketChannel channel;
+
+        /** The {@link System#nanoTime()} the most recent probe started at. Only accessed by the event loop. */
+        private long probeStart;
+
+        /**
+         * Constructs a new endpoint.
+         *
+         * @param monitor     the monitor of this endpoint
+         * @param address     the address probed
+         * @param interval    the time to wait after each probe completes before starting the next
+         * @param timeout     the time to wait for each connection to be accepted or refused
+         * @param categorizer the categorizer of the average latency of this endpoint
+         */
+        private Endpoint(LatencyMonitor monitor, InetSocketAddress address, Duration interval,
+                         Duration timeout, LatencyCategorizer categorizer) {
+            this.monitor = monitor;
+            this.address = address;
+            this.interval = interval;
+            this.timeout = timeout;
+            this.categorizer = categorizer;
+        }
+
+        /**
+         * Returns the address probed.
+         *
+         * @return the address probed
+         */
+        public InetSocketAddress getAddress() {
+            return address;
+        }
+
+        /**
+         * Returns the time to wait after each probe completes before starting the next.
+         *
+         * @return the time to wait after each probe completes before starting the next
+         */
+        public Duration getInterval() {
+            return interval;
+        }
+
+        /**
+         * Returns the time to wait for each connection to be accepted or refused.
+         *
+         * @return the time to wait for each connection to be accepted or refused
+         */
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        /**
+         * Returns the latency statistics of this endpoint.
+         *
+         * @return the latency statistics of this endpoint
+         */
+        public LatencyStatistics getStatistics() {
+            return statistics;
+        }
+
+        /**
+         * Returns the category of the average latency of this endpoint, or the unreachable string
+         * of the categorizer if no probe has succeeded or the most recent probe failed.
+         *
+         * @return the category of the average latency of this endpoint
+         */
+        public String getStatus() {
+            if (!statistics.isReachable()) return categorizer.getUnreachableString();
+            return statistics.getAverageLatency()
+                    .map(average -> categorizer.categorize(average.toMillis()))
+                    .orElse(categorizer.getUnreachableString());
+        }
+
+        /**
+         * Returns whether monitoring of this endpoint has been cancelled.
+         *
+         * @return whether monitoring of this endpoint has been cancelled
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /** Stops monitoring this endpoint, closing any in flight probe. */
+        public void cancel() {
+            if (cancelled) return;
+            cancelled = true;
+            monitor.cancel(this);
+        }
+
+        /** Closes the channel of the in flight probe if present. */
+        private void closeChannel() {
+            if (channel == null) return;
+
+            try {
+                channel.close();
+            } catch (IOException ignored) {}
+            channel = null;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            return "Endpoint{"
+                    + "address=" + address
+                    + ", interval=" + interval
+                    + ", timeout=" + timeout
+                    + ", status=\"" + getStatus() + "\""
+                    + ", statistics=" + statistics
+                    + "}";
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.github.natche.cyderutils.network;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSortedMap;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Rolling latency statistics of a single endpoint. The most recent samples are retained in a fixed size window
+ * from which a logarithmic histogram and percentiles are derived, while an exponentially weighted moving average
+ * smooths the latency across all samples. Failed probes are counted but contribute no latency sample.
+ * Instances are safe for use by multiple threads.
+ */
+public final class LatencyStatistics {
+    /** The default number of samples retained in the rolling window. */
+    public static final int DEFAULT_WINDOW_SIZE = 128;
+
+    /** The default weight of each new sample in the moving average. */
+    public static final double DEFAULT_SMOOTHING_FACTOR = 0.2;
+
+    /** The number of histogram buckets, bucket {@code i} holding latencies below {@code 2^(i + 1)} microseconds. */
+    private static final int BUCKET_COUNT = 32;
+
+    /** The weight of each new sample in the moving average. */
+    private final double smoothingFactor;
+
+    /** The latencies in nanoseconds of the retained samples, a ring buffer. */
+    private final long[] window;
+
+    /** The number of retained samples within each histogram bucket. */
+    private final int[] bucketCounts = new int[BUCKET_COUNT];
+
+    /** The index the next sample is written to in the window. */
+    private int nextWindowIndex;
+
+    /** The number of samples currently retained in the window. */
+    private int windowCount;
+
+    /** The latency in nanoseconds of the most recent sample. */
+    private long latestNanos;
+
+    /** The moving average latency in nanoseconds, negative if no sample has been recorded. */
+    private double ewmaNanos = -1;
+
+    /** The total number of successful probes recorded. */
+    private long successCount;
+
+    /** The total number of failed probes recorded. */
+    private long failureCount;
+
+    /** The number of failed probes recorded since the most recent successful probe. */
+    private int consecutiveFailures;
+
+    /** Constructs new latency statistics using the default window size and smoothing factor. */
+    public LatencyStatistics() {
+        this(DEFAULT_WINDOW_SIZE, DEFAULT_SMOOTHING_FACTOR);
+    }
+
+    /**
+     * Constructs new latency statistics.
+     *
+     * @param windowSize      the number of samples retained in the rolling window
+     * @param smoothingFactor the weight of each new sample in the moving average, within (0, 1]
+     * @throws IllegalArgumentException if the window size is not positive or the smoothing factor is out of range
+     */
+    public LatencyStatistics(int windowSize, double smoothingFactor) {
+        Preconditions.checkArgument(windowSize > 0);
+        Preconditions.checkArgument(smoothingFactor > 0 && smoothingFactor <= 1);
+
+        this.window = new long[windowSize];
+        this.smoothingFactor = smoothingFactor;
+    }
+
+    /**
+     * Records a successful probe with the provided latency.
+     *
+     * @param latency the latency
+     * @throws NullPointerException     if the provided latency is null
+     * @throws IllegalArgumentException if the provided latency is negative
+     */
+    public synchronized void recordSuccess(Duration latency) {
+        Preconditions.checkNotNull(latency);
+        Preconditions.checkArgument(!latency.isNegative());
+
+        long nanos = latency.toNanos();
+        if (windowCount == window.length) {
+            bucketCounts[bucketOf(window[nextWindowIndex])]--;
+        } else {
+            windowCount++;
+        }
+        window[nextWindowIndex] = nanos;
+        bucketCounts[bucketOf(nanos)]++;
+        nextWindowIndex = (nextWindowIndex + 1) % window.length;
+
+        latestNanos = nanos;
+        ewmaNanos = ewmaNanos < 0 ? nanos : ewmaNanos + smoothingFactor * (nanos - ewmaNanos);
+        successCount++;
+        consecutiveFailures = 0;
+    }
+
+    /** Records a probe which failed to connect or timed out. */
+    public synchronized void recordFailure() {
+        failureCount++;
+        consecutiveFailures++;
+    }
+
+    /**
+     * Returns whether the most recent probe succeeded.
+     *
+     * @return whether the most recent probe succeeded
+     */
+    public synchronized boolean isReachable() {
+        return successCount > 0 && consecutiveFailures == 0;
+    }
+
+    /**
+     * Returns the latency of the most recent successful probe.
+     *
+     * @return the latency of the most recent successful probe if any, empty optional else
+     */
+    public synchronized Optional<Duration> getLatestLatency() {
+        if (successCount == 0) return Optional.empty();
+        return Optional.of(Duration.ofNanos(latestNanos));
+    }
+
+    /**
+     * Returns the exponentially weighted moving average of the latency of all successful probes.
+     *
+     * @return the moving average latency if any probe succeeded, empty optional else
+     */
+    public synchronized Optional<Duration> getAverageLatency() {
+        if (ewmaNanos < 0) return Optional.empty();
+        return Optional.of(Duration.ofNanos(Math.round(ewmaNanos)));
+    }
+
+    /**
+     * Returns the provided percentile of the latencies within the rolling window.
+     *
+     * @param percentile the percentile within [0, 100]
+     * @return the latency at the provided percentile if any samples are retained, empty optional else
+     * @throws IllegalArgumentException if the provided percentile is out of range
+     */
+    public synchronized Optional<Duration> getPercentileLatency(double percentile) {
+        Preconditions.checkArgument(percentile >= 0 && percentile <= 100);
+        if (windowCount == 0) return Optional.empty();
+
+        long[] sorted = Arrays.copyOf(window, windowCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * windowCount) - 1;
+        return Optional.of(Duration.ofNanos(sorted[Math.max(0, index)]));
+    }
+
+    /**
+     * Returns the histogram of the latencies within the rolling window. Each key is the exclusive upper bound
+     * of a bucket, a power of two microseconds, and each value the number of samples within that bucket.
+     * Empty buckets are omitted.
+     *
+     * @return the histogram of the latencies within the rolling window
+     */
+    public synchronized ImmutableSortedMap<Duration, Integer> getHistogram() {
+        ImmutableSortedMap.Builder<Duration, Integer> ret = ImmutableSortedMap.naturalOrder();
+        for (int bucket = 0 ; bucket < BUCKET_COUNT ; bucket++) {
+            if (bucketCounts[bucket] > 0) {
+                ret.put(Duration.ofNanos((1L << (bucket + 1)) * 1000L), bucketCounts[bucket]);
+            }
+        }
+        return ret.build();
+    }
+
+    /**
+     * Returns the number of samples currently retained in the rolling window.
+     *
+     * @return the number of samples currently retained in the rolling window
+     */
+    public synchronized int getWindowCount() {
+        return windowCount;
+    }
+
+    /**
+     * Returns the total number of successful probes recorded.
+     *
+     * @return the total number of successful probes recorded
+     */
+    public synchronized long getSuccessCount() {
+        return successCount;
+    }
+
+    /**
+     * Returns the total number of failed probes recorded.
+     *
+     * @return the total number of failed probes recorded
+     */
+    public synchronized long getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * Returns the number of failed probes recorded since the most recent successful probe.
+     *
+     * @return the number of consecutive failed probes
+     */
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized String toString() {
+        return "LatencyStatistics{"
+                + "latest=" + getLatestLatency().orElse(null)
+                + ", average=" + getAverageLatency().orElse(null)
+                + ", successCount=" + successCount
+                + ", failureCount=" + failureCount
+                + ", consecutiveFailures=" + consecutiveFailures
+                + "}";
+    }
+
+    /**
+     * Returns the histogram bucket of the provided latency.
+     *
+     * @param nanos the latency in nanoseconds
+     * @return the histogram bucket
+     */
+    private static int bucketOf(long nanos) {
+        long micros = nanos / 1000;
+        if (micros <= 1) return 0;
+        return Math.min(BUCKET_COUNT - 1, 63 - Long.numberOfLeadingZeros(micros));
+    }
+}
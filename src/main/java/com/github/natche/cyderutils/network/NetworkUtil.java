@@ -11,19 +11,18 @@ import com.github.natche.cyderutils.exceptions.IllegalMethodException;
 import com.github.natche.cyderutils.files.FileUtil;
 import com.github.natche.cyderutils.strings.CyderStrings;
 import com.github.natche.cyderutils.threads.CyderThreadFactory;
-import com.github.natche.cyderutils.threads.CyderThreadRunner;
-import com.github.natche.cyderutils.threads.ThreadUtil;
 import com.github.natche.cyderutils.time.TimeUtil;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 
 import java.io.*;
 import java.net.*;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 /** Utility methods revolving around networking, urls, servers, etc. */
 @SuppressWarnings("unused") /* Response codes */
@@ -37,9 +36,6 @@ public final class NetworkUtil {
     /** The string used to represent a space in a URL. */
     public static final String URL_SPACE = "%20";
 
-    /** The time in ms to wait for a local port to bind to determine whether it is available. */
-    private static final Duration LOCAL_PORT_AVAILABLE_TIMEOUT = Duration.ofMillis(400);
-
     /** Suppress default constructor. */
     private NetworkUtil() {
         throw new IllegalMethodException(CyderStrings.ATTEMPTED_INSTANTIATION);
@@ -72,9 +68,6 @@ public final class NetworkUtil {
     /** The slash-slash for urls. */
     private static final String slashSlash = "//";
 
-    /** So no head? */
-    private static final String HEAD = "HEAD";
-
     /** The minimum HTTP response code indicating a successful response. */
     public static final int MIN_SUCCESSFUL_RESPONSE_CODE = 200;
 
@@ -98,7 +91,7 @@ public final class NetworkUtil {
     private static final String HTTP = "http";
 
     /**
-     * Pings an HTTP URL. This effectively sends a HEAD request and returns {@code true}
+     * Pings an HTTP URL. This sends a single HEAD request without retrying and returns {@code true}
      * if the response code is contained by {@link #SITE_REACHABLE_RESPONSE_CODE_RANGE}.
      *
      * @param url The HTTP URL to be pinged
@@ -114,12 +107,7 @@ public final class NetworkUtil {
         }
 
         try {
-            HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
-            connection.setConnectTimeout(SITE_PING_TIMEOUT);
-            connection.setReadTimeout(SITE_PING_TIMEOUT);
-            connection.setRequestMethod(HEAD);
-
-            int responseCode = connection.getResponseCode();
+            int responseCode = HttpTransport.INSTANCE.probe(url, Duration.ofMillis(SITE_PING_TIMEOUT));
             return SITE_REACHABLE_RESPONSE_CODE_RANGE.contains(responseCode);
         } catch (Exception ignored) {}
 
@@ -128,6 +116,7 @@ public final class NetworkUtil {
 
     /**
      * Reads from the provided url and returns the response.
+     * Http and https urls are read using the shared {@link HttpTransport}.
      *
      * @param urlString the string of the url to ping and get contents from
      * @return the resulting url response
@@ -138,18 +127,14 @@ public final class NetworkUtil {
         Preconditions.checkArgument(!urlString.isEmpty());
 
         try {
-            URL url = new URL(urlString);
-            BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream()));
-            StringBuilder sb = new StringBuilder();
-            int read;
-            char[] chars = new char[DOWNLOAD_RESOURCE_BUFFER_SIZE];
-
-            while ((read = reader.read(chars)) != -1) {
-                sb.append(chars, 0, read);
+            String scheme = new URL(urlString.trim()).getProtocol();
+            if (HTTP.equalsIgnoreCase(scheme) || HTTPS.equalsIgnoreCase(scheme)) {
+                return HttpTransport.INSTANCE.readString(urlString);
             }
 
-            reader.close();
-            return sb.toString();
+            try (InputStream inputStream = new URL(urlString).openStream()) {
+                return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+            }
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -269,7 +254,8 @@ public final class NetworkUtil {
 
         CyderThreadFactory threadFactory = new CyderThreadFactory(
                 "Latency finder, ip: " + ip + ", port: " + port + ", timeout: " + timeout);
-        return Executors.newSingleThreadExecutor(threadFactory).submit(() -> {
+        ExecutorService executor = Executors.newSingleThreadExecutor(threadFactory);
+        Future<Long> ret = executor.submit(() -> {
             try (Socket socket = new Socket()) {
                 SocketAddress address = new InetSocketAddress(ip, port);
                 Stopwatch stopwatch = Stopwatch.createStarted();
@@ -278,12 +264,12 @@ public final class NetworkUtil {
                 return stopwatch.elapsed().toMillis();
             }
         });
+        executor.shutdown();
+        return ret;
     }
 
-    // todo this should be configurable or at least encapsulated in the Port class we wrote
     /**
      * Returns whether the local port is available for binding.
-     * Note this method blocks for approximately {@link #LOCAL_PORT_AVAILABLE_TIMEOUT}ms.
      *
      * @param port the local port
      * @return whether the local port is available for binding
@@ -291,18 +277,6 @@ public final class NetworkUtil {
     public static boolean localPortAvailable(int port) {
         Preconditions.checkArgument(portRange.contains(port));
 
-        AtomicBoolean ret = new AtomicBoolean(false);
-
-        CyderThreadRunner.submit(() -> {
-            try {
-                ServerSocket socket = new ServerSocket(port);
-                ret.set(true);
-                socket.close();
-            } catch (Exception ignored) {}
-        }, "Local Port Available Finder, port: " + port);
-
-        ThreadUtil.sleep(LOCAL_PORT_AVAILABLE_TIMEOUT.toMillis());
-
-        return ret.get();
+        return PortProber.isLocalPortAvailable(port);
     }
 }
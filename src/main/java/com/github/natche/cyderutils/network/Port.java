@@ -1,17 +1,13 @@
 package com.github.natche.cyderutils.network;
 
 import com.google.common.base.Preconditions;
-import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Range;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
-import com.github.natche.cyderutils.threads.CyderThreadFactory;
 
-import java.io.IOException;
-import java.net.ServerSocket;
+import java.net.InetSocketAddress;
 import java.time.Duration;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 /**
  * An encapsulator class for operations on ports, specifically within the range
@@ -27,9 +23,6 @@ public final class Port {
     /** The encapsulated port. */
     private final int port;
 
-    /** The executor service used by {@link #isAvailable()}. */
-    private final ExecutorService portAvailableFinderService;
-
     /** The time to wait for this local port to bind to determine whether it is available. */
     private Duration portAvailableTimeout = DEFAULT_PORT_AVAILABLE_TIMEOUT;
 
@@ -55,8 +48,6 @@ public final class Port {
         Preconditions.checkArgument(portRange.contains(port));
 
         this.port = port;
-        CyderThreadFactory threadFactory = new CyderThreadFactory("Port isAvailable, port=" + port);
-        this.portAvailableFinderService = Executors.newSingleThreadExecutor(threadFactory);
     }
 
     /**
@@ -94,31 +85,32 @@ public final class Port {
 
     /**
      * Returns whether this port is locally available and able to be bound to.
-     * Note this method is blocking and will hold the current thread until this
-     * port is found to be either bound or not bound.
+     * Binding is a local operation which succeeds or fails immediately,
+     * so {@link #getPortAvailableTimeout()} is never waited for.
      *
      * @return whether this port is locally available and able to be bound to
      */
-    public synchronized boolean isAvailable() {
-        Future<Boolean> futureIsAvailable = portAvailableFinderService.submit(
-                () -> {
-                    try (ServerSocket socket = new ServerSocket(port)) {
-                        return true;
-                    } catch (IOException ignored) {
-                        return false;
-                    }
-                }
-        );
-        Stopwatch timer = Stopwatch.createStarted();
-        while (!futureIsAvailable.isDone() && timer.elapsed().compareTo(portAvailableTimeout) < 0) Thread.onSpinWait();
-        futureIsAvailable.cancel(true);
-        if (futureIsAvailable.isDone()) {
-            try {
-                return futureIsAvailable.get();
-            } catch (Exception ignored) {}
-        }
+    public boolean isAvailable() {
+        return PortProber.isLocalPortAvailable(port);
+    }
+
+    /**
+     * Returns whether this port on the provided host accepts a connection within
+     * {@link #getPortAvailableTimeout()}.
+     *
+     * @param host the remote host
+     * @return whether this port on the provided host accepts a connection
+     * @throws NullPointerException     if the provided host is null
+     * @throws IllegalArgumentException if the provided host is empty or the timeout is zero
+     */
+    public boolean isOpenOn(String host) {
+        Preconditions.checkNotNull(host);
+        Preconditions.checkArgument(!host.isEmpty());
 
-        return false;
+        try (Stream<PortProbeResult> results = PortProber.probeRemote(
+                ImmutableList.of(new InetSocketAddress(host, port)), portAvailableTimeout, 1)) {
+            return results.anyMatch(result -> result.status() == PortProbeResult.Status.OPEN);
+        }
     }
 
     /** {@inheritDoc} */
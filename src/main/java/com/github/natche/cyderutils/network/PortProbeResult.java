@@ -0,0 +1,62 @@
+package com.github.natche.cyderutils.network;
+
+import com.google.common.base.Preconditions;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+
+/**
+ * The result of probing a single port by {@link PortProber}.
+ *
+ * @param address the address probed, the wildcard address for local ports
+ * @param status  the status of the port
+ * @param elapsed the time taken by the probe
+ */
+public record PortProbeResult(InetSocketAddress address, Status status, Duration elapsed) {
+    /** The possible statuses of a probed port. */
+    public enum Status {
+        /** The local port could be bound to. */
+        AVAILABLE,
+        /** The local port could not be bound to. */
+        IN_USE,
+        /** A connection to the remote port was accepted. */
+        OPEN,
+        /** A connection to the remote port was refused or otherwise failed. */
+        CLOSED,
+        /** A connection to the remote port was neither accepted nor refused before the timeout. */
+        TIMED_OUT,
+        /** The host of the remote address could not be resolved. */
+        UNRESOLVED;
+
+        /**
+         * Returns whether this status indicates the port may be used, that is available locally or open remotely.
+         *
+         * @return whether this status indicates the port may be used
+         */
+        public boolean isUsable() {
+            return this == AVAILABLE || this == OPEN;
+        }
+    }
+
+    /**
+     * Constructs a new port probe result.
+     *
+     * @throws NullPointerException     if any argument is null
+     * @throws IllegalArgumentException if the elapsed time is negative
+     */
+    public PortProbeResult {
+        Preconditions.checkNotNull(address);
+        Preconditions.checkNotNull(status);
+        Preconditions.checkNotNull(elapsed);
+        Preconditions.checkArgument(!elapsed.isNegative());
+    }
+
+    /**
+     * Returns the port probed.
+     *
+     * @return the port probed
+     */
+    public int port() {
+        return address.getPort();
+    }
+}
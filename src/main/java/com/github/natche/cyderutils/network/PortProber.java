@@ -0,0 +1,402 @@
+package com.github.natche.cyderutils.network;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ContiguousSet;
+import com.google.common.collect.DiscreteDomain;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Range;
+import com.github.natche.cyderutils.exceptions.IllegalMethodException;
+import com.github.natche.cyderutils.strings.CyderStrings;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A prober of local port availability and remote port reachability built on non-blocking NIO channels.
+ * <p>
+ * Local ports are probed by binding a {@link ServerSocketChannel}, which succeeds or fails immediately,
+ * so no thread or timeout is needed per probe. Remote ports are probed by connecting non-blocking
+ * {@link SocketChannel}s multiplexed by a single {@link Selector}, with many connections in flight
+ * at once and each bounded by its own deadline.
+ * <p>
+ * Results are returned as lazy streams; probes are only started as the stream is consumed, on the consuming
+ * thread, so short-circuiting operations such as {@link Stream#findFirst()} stop probing early.
+ * Remote probe streams hold a selector and open channels and should be closed, for instance
+ * using try-with-resources, if not fully consumed.
+ */
+public final class PortProber {
+    /** The default time to wait for a remote port to accept or refuse a connection. */
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofMillis(400);
+
+    /** The default maximum number of remote probes in flight at once. */
+    public static final int DEFAULT_MAXIMUM_CONCURRENT_PROBES = 512;
+
+    /** Suppress default constructor. */
+    private PortProber() {
+        throw new IllegalMethodException(CyderStrings.ATTEMPTED_INSTANTIATION);
+    }
+
+    /**
+     * Returns whether the provided local port is available and able to be bound to.
+     *
+     * @param port the local port
+     * @return whether the provided local port is available
+     * @throws IllegalArgumentException if the provided port is outside of {@link Port#portRange}
+     */
+    public static boolean isLocalPortAvailable(int port) {
+        Preconditions.checkArgument(Port.portRange.contains(port));
+
+        try (ServerSocketChannel channel = ServerSocketChannel.open()) {
+            channel.bind(new InetSocketAddress(port));
+            return true;
+        } catch (IOException ignored) {
+            return false;
+        }
+    }
+
+    /**
+     * Probes each local port in the provided range in ascending order.
+     *
+     * @param ports the range of local ports
+     * @return a lazy stream of the results
+     * @throws NullPointerException     if the provided range is null
+     * @throws IllegalArgumentException if the provided range is not enclosed by {@link Port#portRange}
+     */
+    public static Stream<PortProbeResult> probeLocal(Range<Integer> ports) {
+        Preconditions.checkNotNull(ports);
+        Preconditions.checkArgument(Port.portRange.encloses(ports));
+
+        return ContiguousSet.create(ports, DiscreteDomain.integers()).stream().map(PortProber::probeLocal);
+    }
+
+    /**
+     * Returns the local ports within the provided range which are available, in ascending order.
+     *
+     * @param ports the range of local ports
+     * @return a lazy stream of the available local ports
+     * @throws NullPointerException     if the provided range is null
+     * @throws IllegalArgumentException if the provided range is not enclosed by {@link Port#portRange}
+     */
+    public static Stream<Integer> findAvailableLocalPorts(Range<Integer> ports) {
+        return probeLocal(ports)
+                .filter(result -> result.status() == PortProbeResult.Status.AVAILABLE)
+                .map(PortProbeResult::port);
+    }
+
+    /**
+     * Returns the lowest local port within the provided range which is available.
+     *
+     * @param ports the range of local ports
+     * @return the lowest available local port if present, empty optional else
+     * @throws NullPointerException     if the provided range is null
+     * @throws IllegalArgumentException if the provided range is not enclosed by {@link Port#portRange}
+     */
+    public static Optional<Integer> findAvailableLocalPort(Range<Integer> ports) {
+        return findAvailableLocalPorts(ports).findFirst();
+    }
+
+    /**
+     * Probes each port in the provided range on the provided host using the default timeout and concurrency.
+     * The host is resolved once before any probe starts; if it cannot be resolved,
+     * every port is reported as {@link PortProbeResult.Status#UNRESOLVED}.
+     *
+     * @param host  the remote host
+     * @param ports the range of remote ports
+     * @return a lazy stream of the results in the order the probes complete
+     * @throws NullPointerException     if either argument is null
+     * @throws IllegalArgumentException if the host is empty or the range is not enclosed by {@link Port#portRange}
+     */
+    public static Stream<PortProbeResult> probeRemote(String host, Range<Integer> ports) {
+        Preconditions.checkNotNull(host);
+        Preconditions.checkNotNull(ports);
+        Preconditions.checkArgument(!host.isEmpty());
+        Preconditions.checkArgument(Port.portRange.encloses(ports));
+
+        InetAddress resolved;
+        try {
+            resolved = InetAddress.getByName(host);
+        } catch (UnknownHostException e) {
+            resolved = null;
+        }
+
+        InetAddress address = resolved;
+        ContiguousSet<Integer> portSet = ContiguousSet.create(ports, DiscreteDomain.integers());
+        Iterator<InetSocketAddress> targets = Iterators.transform(portSet.iterator(), port -> address == null
+                ? InetSocketAddress.createUnresolved(host, port)
+                : new InetSocketAddress(address, port));
+        return probeRemote(targets, portSet.size(), DEFAULT_CONNECT_TIMEOUT, DEFAULT_MAXIMUM_CONCURRENT_PROBES);
+    }
+
+    /**
+     * Probes each of the provided remote addresses.
+     *
+     * @param targets                 the remote addresses to probe
+     * @param timeout                 the time to wait for each address to accept or refuse a connection
+     * @param maximumConcurrentProbes the maximum number of probes in flight at once
+     * @return a lazy stream of the results in the order the probes complete
+     * @throws NullPointerException     if the targets or timeout are null
+     * @throws IllegalArgumentException if the timeout is not positive or the maximum concurrency is less than one
+     * @throws UncheckedIOException     if a selector cannot be opened
+     */
+    public static Stream<PortProbeResult> probeRemote(Collection<InetSocketAddress> targets,
+                                                      Duration timeout, int maximumConcurrentProbes) {
+        Preconditions.checkNotNull(targets);
+
+        return probeRemote(ImmutableList.copyOf(targets).iterator(), targets.size(),
+                timeout, maximumConcurrentProbes);
+    }
+
+    /**
+     * Probes each of the remote addresses of the provided iterator, which are only requested as probes start.
+     *
+     * @param targets                 the remote addresses to probe
+     * @param targetCount             the number of remote addresses
+     * @param timeout                 the time to wait for each address to accept or refuse a connection
+     * @param maximumConcurrentProbes the maximum number of probes in flight at once
+     * @return a lazy stream of the results in the order the probes complete
+     * @throws NullPointerException     if the timeout is null
+     * @throws IllegalArgumentException if the timeout is not positive or the maximum concurrency is less than one
+     * @throws UncheckedIOException     if a selector cannot be opened
+     */
+    private static Stream<PortProbeResult> probeRemote(Iterator<InetSocketAddress> targets, int targetCount,
+                                                       Duration timeout, int maximumConcurrentProbes) {
+        Preconditions.checkNotNull(timeout);
+        Preconditions.checkArgument(!timeout.isNegative() && !timeout.isZero());
+        Preconditions.checkArgument(maximumConcurrentProbes > 0);
+
+        RemoteProbeIterator iterator = new RemoteProbeIterator(targets, timeout, maximumConcurrentProbes);
+        Spliterator<PortProbeResult> spliterator = Spliterators.spliterator(
+                iterator, targetCount, Spliterator.SIZED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+    }
+
+    /**
+     * Probes the provided local port.
+     *
+     * @param port the local port
+     * @return the result
+     */
+    private static PortProbeResult probeLocal(int port) {
+        long start = System.nanoTime();
+        PortProbeResult.Status status = isLocalPortAvailable(port)
+                ? PortProbeResult.Status.AVAILABLE
+                : PortProbeResult.Status.IN_USE;
+        return new PortProbeResult(new InetSocketAddress(port), status, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * A connection attempt in flight.
+     *
+     * @param address the remote address
+     * @param channel the connecting channel
+     * @param start   the {@link System#nanoTime()} the attempt started at
+     */
+    private record InFlightProbe(InetSocketAddress address, SocketChannel channel, long start) {}
+
+    /**
+     * An iterator over the results of remote probes which drives the selector as results are requested.
+     * As every probe shares the same timeout, probes expire in the order they were started.
+     */
+    private static final class RemoteProbeIterator implements Iterator<PortProbeResult>, Closeable {
+        /** The addresses not yet probed. */
+        private final Iterator<InetSocketAddress> pendingTargets;
+
+        /** The timeout of each probe in nanoseconds. */
+        private final long timeoutNanos;
+
+        /** The maximum number of probes in flight at once. */
+        private final int maximumConcurrentProbes;
+
+        /** The selector multiplexing the in flight probes. */
+        private final Selector selector;
+
+        /** The probes in flight in the order they were started, thus the order of their deadlines. */
+        private final LinkedHashSet<InFlightProbe> inFlightProbes = new LinkedHashSet<>();
+
+        /** The results completed but not yet returned. */
+        private final ArrayDeque<PortProbeResult> completedResults = new ArrayDeque<>();
+
+        /** Whether this iterator has been closed. */
+        private boolean closed;
+
+        /**
+         * Constructs a new remote probe iterator.
+         *
+         * @param pendingTargets          the addresses to probe
+         * @param timeout                 the timeout of each probe
+         * @param maximumConcurrentProbes the maximum number of probes in flight at once
+         * @throws UncheckedIOException if a selector cannot be opened
+         */
+        RemoteProbeIterator(Iterator<InetSocketAddress> pendingTargets, Duration timeout,
+                            int maximumConcurrentProbes) {
+            this.pendingTargets = pendingTargets;
+            this.timeoutNanos = timeout.toNanos();
+            this.maximumConcurrentProbes = maximumConcurrentProbes;
+
+            try {
+                this.selector = Selector.open();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean hasNext() {
+            while (completedResults.isEmpty()) {
+                if (closed) return false;
+
+                startProbes();
+                if (!completedResults.isEmpty()) break;
+                if (inFlightProbes.isEmpty()) {
+                    close();
+                    return false;
+                }
+
+                awaitProbes();
+            }
+
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public PortProbeResult next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return completedResults.poll();
+        }
+
+        /** Closes the selector and every channel still connecting. */
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+
+            inFlightProbes.forEach(probe -> closeQuietly(probe.channel()));
+            inFlightProbes.clear();
+            closeQuietly(selector);
+        }
+
+        /** Starts probes until the maximum concurrency is reached or no targets remain. */
+        private void startProbes() {
+            while (inFlightProbes.size() < maximumConcurrentProbes && pendingTargets.hasNext()) {
+                InetSocketAddress address = pendingTargets.next();
+                long start = System.nanoTime();
+
+                if (address.isUnresolved()) {
+                    complete(address, PortProbeResult.Status.UNRESOLVED, start);
+                    continue;
+                }
+
+                SocketChannel channel = null;
+                try {
+                    channel = SocketChannel.open();
+                    channel.configureBlocking(false);
+                    if (channel.connect(address)) {
+                        closeQuietly(channel);
+                        complete(address, PortProbeResult.Status.OPEN, start);
+                    } else {
+                        InFlightProbe probe = new InFlightProbe(address, channel, start);
+                        channel.register(selector, SelectionKey.OP_CONNECT, probe);
+                        inFlightProbes.add(probe);
+                    }
+                } catch (IOException e) {
+                    if (channel != null) closeQuietly(channel);
+                    complete(address, PortProbeResult.Status.CLOSED, start);
+                }
+            }
+        }
+
+        /**
+         * Waits until at least one in flight probe connects, fails, or reaches its deadline,
+         * completing each such probe.
+         */
+        private void awaitProbes() {
+            InFlightProbe earliest = inFlightProbes.iterator().next();
+            long remainingNanos = earliest.start() + timeoutNanos - System.nanoTime();
+
+            if (remainingNanos > 0) {
+                long remainingMillis = Math.max(1, Duration.ofNanos(remainingNanos).toMillis());
+                try {
+                    selector.select(this::finishConnect, remainingMillis);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+
+            expireProbes();
+        }
+
+        /**
+         * Completes the probe attached to the provided key whose channel is ready to finish connecting.
+         *
+         * @param key the selected key
+         */
+        private void finishConnect(SelectionKey key) {
+            InFlightProbe probe = (InFlightProbe) key.attachment();
+
+            PortProbeResult.Status status;
+            try {
+                status = probe.channel().finishConnect()
+                        ? PortProbeResult.Status.OPEN
+                        : PortProbeResult.Status.CLOSED;
+            } catch (IOException e) {
+                status = PortProbeResult.Status.CLOSED;
+            }
+
+            inFlightProbes.remove(probe);
+            closeQuietly(probe.channel());
+            complete(probe.address(), status, probe.start());
+        }
+
+        /** Completes every in flight probe whose deadline has passed. */
+        private void expireProbes() {
+            long now = System.nanoTime();
+
+            Iterator<InFlightProbe> iterator = inFlightProbes.iterator();
+            while (iterator.hasNext()) {
+                InFlightProbe probe = iterator.next();
+                if (now - probe.start() < timeoutNanos) break;
+
+                iterator.remove();
+                closeQuietly(probe.channel());
+                complete(probe.address(), PortProbeResult.Status.TIMED_OUT, probe.start());
+            }
+        }
+
+        /**
+         * Queues the result of a completed probe.
+         *
+         * @param address the address probed
+         * @param status  the status of the port
+         * @param start   the {@link System#nanoTime()} the probe started at
+         */
+        private void complete(InetSocketAddress address, PortProbeResult.Status status, long start) {
+            completedResults.add(new PortProbeResult(address, status, Duration.ofNanos(System.nanoTime() - start)));
+        }
+
+        /**
+         * Closes the provided closeable, ignoring any exception.
+         *
+         * @param closeable the closeable
+         */
+        private static void closeQuietly(Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException ignored) {}
+        }
+    }
+}
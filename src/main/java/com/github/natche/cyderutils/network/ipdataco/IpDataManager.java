@@ -1,14 +1,13 @@
 package com.github.natche.cyderutils.network.ipdataco;
 
 import com.google.common.base.Preconditions;
-import com.github.natche.cyderutils.files.FileUtil;
+import com.github.natche.cyderutils.network.HttpTransport;
 import com.github.natche.cyderutils.network.ipdataco.models.IpData;
 import com.github.natche.cyderutils.threads.CyderThreadRunner;
 import com.github.natche.cyderutils.threads.ThreadUtil;
-import com.github.natche.cyderutils.utils.SerializationUtil;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Objects;
@@ -22,7 +21,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * for creating an ipdata account and acquiring a key.
  */
 public final class IpDataManager {
-    /** The byte read from a buffered reader which indicates the key used to query the ipdata API was invalid. */
+    /** The byte read from the response which indicates the key used to query the ipdata API was invalid. */
     private static final int INVALID_KEY_RESPONSE_READ = -1;
 
     /** The default timeout between state refreshes. */
@@ -134,14 +133,12 @@ public final class IpDataManager {
     /**
      * Refreshes this manager's stored IpData object.
      *
-     * @throws IOException if a BufferedReader cannot be created for reading from ipdata.co
+     * @throws IOException if reading from ipdata.co fails
      */
     public synchronized void refreshIpData() throws IOException {
         String queryUrl = baseUrl.getBaseUrl() + ipDataKey;
-        try (BufferedReader reader = FileUtil.bufferedReaderForUrl(queryUrl)) {
-            ipData = SerializationUtil.fromJson(reader, IpData.class);
-            lastRefreshTime = Instant.now();
-        }
+        ipData = HttpTransport.INSTANCE.readJson(queryUrl, IpData.class);
+        lastRefreshTime = Instant.now();
     }
 
     /**
@@ -191,8 +188,8 @@ public final class IpDataManager {
         Preconditions.checkArgument(!ipDataKey.isEmpty());
 
         String remote = ipDataBaseUrl + ipDataKey;
-        try (BufferedReader reader = FileUtil.bufferedReaderForUrl(remote)) {
-            int result = reader.read();
+        try (InputStream inputStream = HttpTransport.INSTANCE.openStream(remote)) {
+            int result = inputStream.read();
             return result != INVALID_KEY_RESPONSE_READ;
         } catch (Exception ignored) {
             return false;
@@ -2,7 +2,11 @@ package com.github.natche.cyderutils.network.scrapers;
 
 import java.util.Optional;
 
-/** An interface all scrapers must implement. */
+/**
+ * An interface all scrapers must implement.
+ * Scrapers should read documents through the {@link ScrapingRuntime}, preferring
+ * {@link ScrapingRuntime.RenderMode#STATIC} unless the page requires JavaScript.
+ */
 public interface Scraper {
     /**
      * Scrapes using this scraper and returns a new {@link ScraperResult}.
@@ -0,0 +1,260 @@
+package com.github.natche.cyderutils.network.scrapers;
+
+import com.github.natche.cyderutils.network.HttpTransport;
+import com.github.natche.cyderutils.threads.CyderThreadFactory;
+import com.google.common.base.Preconditions;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The runtime used by {@link Scraper}s to read documents.
+ * Pages which do not require JavaScript are read over plain HTTP through the {@link HttpTransport} and parsed
+ * by Jsoup. Pages which do are rendered by a small pool of warm headless browser sessions which are reused
+ * between reads and quit on shutdown. Parsed documents are cached per url and render mode for a time to live.
+ */
+public enum ScrapingRuntime {
+    /** The scraping runtime instance. */
+    INSTANCE;
+
+    /** The default time in minutes a read document is cached for. */
+    public static final int DEFAULT_TIME_TO_LIVE_MINUTES = 5;
+
+    /** The maximum number of headless browser sessions which may exist at once. */
+    private static final int MAXIMUM_BROWSER_SESSIONS = 2;
+
+    /** The maximum time to wait for a headless browser session to become available. */
+    private static final Duration BROWSER_SESSION_TIMEOUT = Duration.ofSeconds(60);
+
+    /** The maximum number of documents cached. */
+    private static final int MAXIMUM_CACHED_DOCUMENTS = 64;
+
+    /** The name of the thread quitting the headless browser sessions on shutdown. */
+    private static final String SHUTDOWN_THREAD_NAME = "Scraping Runtime Shutdown";
+
+    /** How a page must be loaded for its document to be complete. */
+    public enum RenderMode {
+        /** The page is complete as served and is read over plain HTTP. */
+        STATIC,
+
+        /** The page is built by JavaScript and is rendered by a headless browser. */
+        JAVASCRIPT
+    }
+
+    /**
+     * The key of a cached document.
+     *
+     * @param url        the url the document was read from
+     * @param renderMode the mode the document was rendered with
+     */
+    private record CacheKey(String url, RenderMode renderMode) {}
+
+    /**
+     * A cached document.
+     *
+     * @param document  the parsed document, cloned before being returned
+     * @param expiresAt the {@link System#nanoTime()} after which the document must be read again
+     */
+    private record CachedDocument(Document document, long expiresAt) {}
+
+    /** The cached documents, least recently used first. */
+    private final LinkedHashMap<CacheKey, CachedDocument> cachedDocuments = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CacheKey, CachedDocument> eldest) {
+            return size() > MAXIMUM_CACHED_DOCUMENTS;
+        }
+    };
+
+    /** The time a read document is cached for. */
+    private volatile Duration timeToLive = Duration.ofMinutes(DEFAULT_TIME_TO_LIVE_MINUTES);
+
+    /** The creator of headless browser sessions. */
+    private Supplier<WebDriver> browserSessionCreator = ScrapingRuntime::createBrowserSession;
+
+    /** The pool of headless browser sessions, created when first required. */
+    private SessionPool<WebDriver> browserSessions;
+
+    /** Whether the hook quitting the headless browser sessions on shutdown has been added. */
+    private boolean shutdownHookAdded;
+
+    /**
+     * Returns the document read from the provided url, using a cached document if one has not expired.
+     * The returned document is a copy and may be freely modified.
+     *
+     * @param url        the url to read
+     * @param renderMode how the page must be loaded for its document to be complete
+     * @return the document
+     * @throws NullPointerException     if either argument is null
+     * @throws IllegalArgumentException if the provided url is empty
+     * @throws IOException              if the page cannot be read or rendered
+     */
+    public Document readDocument(String url, RenderMode renderMode) throws IOException {
+        Preconditions.checkNotNull(url);
+        Preconditions.checkNotNull(renderMode);
+        Preconditions.checkArgument(!url.isEmpty());
+
+        CacheKey key = new CacheKey(url, renderMode);
+        synchronized (cachedDocuments) {
+            CachedDocument cached = cachedDocuments.get(key);
+            if (cached != null && cached.expiresAt() - System.nanoTime() > 0) return cached.document().clone();
+        }
+
+        Document document = switch (renderMode) {
+            case STATIC -> Jsoup.parse(HttpTransport.INSTANCE.readString(url), url);
+            case JAVASCRIPT -> Jsoup.parse(render(url), url);
+        };
+
+        Duration currentTimeToLive = timeToLive;
+        if (currentTimeToLive.isZero()) return document;
+
+        synchronized (cachedDocuments) {
+            cachedDocuments.put(key, new CachedDocument(document, System.nanoTime() + currentTimeToLive.toNanos()));
+        }
+        return document.clone();
+    }
+
+    /**
+     * Sets the time a read document is cached for. Documents already cached keep their original expiry.
+     *
+     * @param timeToLive the time a read document is cached for, zero to disable caching
+     * @throws NullPointerException     if the provided duration is null
+     * @throws IllegalArgumentException if the provided duration is negative
+     */
+    public void setTimeToLive(Duration timeToLive) {
+        Preconditions.checkNotNull(timeToLive);
+        Preconditions.checkArgument(!timeToLive.isNegative());
+
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Returns the time a read document is cached for.
+     *
+     * @return the time a read document is cached for
+     */
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Returns the number of documents currently cached, including expired documents not yet evicted.
+     *
+     * @return the number of documents currently cached
+     */
+    public int getCachedDocumentCount() {
+        synchronized (cachedDocuments) {
+            return cachedDocuments.size();
+        }
+    }
+
+    /** Removes all cached documents. */
+    public void clearCache() {
+        synchronized (cachedDocuments) {
+            cachedDocuments.clear();
+        }
+    }
+
+    /**
+     * Quits every headless browser session. Sessions currently rendering a page are quit once finished.
+     * A later read requiring JavaScript starts new sessions.
+     */
+    public void shutdown() {
+        SessionPool<WebDriver> sessions;
+        synchronized (this) {
+            sessions = browserSessions;
+            browserSessions = null;
+        }
+
+        if (sessions != null) sessions.close();
+    }
+
+    /**
+     * Sets the creator of headless browser sessions, quitting any existing sessions.
+     * This exists so that session failures may be simulated without a browser installed.
+     *
+     * @param browserSessionCreator the creator of headless browser sessions
+     * @throws NullPointerException if the provided creator is null
+     */
+    void setBrowserSessionCreator(Supplier<WebDriver> browserSessionCreator) {
+        Preconditions.checkNotNull(browserSessionCreator);
+
+        synchronized (this) {
+            this.browserSessionCreator = browserSessionCreator;
+        }
+        shutdown();
+    }
+
+    /** Restores the default creator of headless browser sessions, quitting any existing sessions. */
+    void resetBrowserSessionCreator() {
+        setBrowserSessionCreator(ScrapingRuntime::createBrowserSession);
+    }
+
+    /**
+     * Renders the provided url using a headless browser session and returns the page source.
+     * Any failure to borrow or start a session, such as no browser being installed, is reported as an
+     * {@link IOException}.
+     *
+     * @param url the url to render
+     * @return the page source
+     * @throws IOException if the page cannot be rendered
+     */
+    private String render(String url) throws IOException {
+        try (SessionPool.Lease<WebDriver> lease = getBrowserSessions().borrow(BROWSER_SESSION_TIMEOUT)) {
+            try {
+                WebDriver driver = lease.getSession();
+                driver.get(url);
+                return driver.getPageSource();
+            } catch (RuntimeException e) {
+                // The session may have crashed so it is quit and replaced
+                lease.discard();
+                throw new IOException("Could not render url: " + url, e);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a browser session", e);
+        } catch (RuntimeException e) {
+            // The pool was closed, timed out, or the browser session could not be started
+            throw new IOException("Could not start a browser session for url: " + url, e);
+        }
+    }
+
+    /**
+     * Returns the pool of headless browser sessions, creating it and adding the shutdown hook if necessary.
+     *
+     * @return the pool of headless browser sessions
+     */
+    private synchronized SessionPool<WebDriver> getBrowserSessions() {
+        if (browserSessions == null) {
+            browserSessions = new SessionPool<>(browserSessionCreator, WebDriver::quit, MAXIMUM_BROWSER_SESSIONS);
+        }
+
+        if (!shutdownHookAdded) {
+            shutdownHookAdded = true;
+            Thread shutdownHook = new CyderThreadFactory(SHUTDOWN_THREAD_NAME).newThread(this::shutdown);
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        }
+
+        return browserSessions;
+    }
+
+    /**
+     * Starts a new headless browser session.
+     *
+     * @return the new headless browser session
+     */
+    private static WebDriver createBrowserSession() {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless");
+        options.addArguments("--disable-gpu");
+        options.addArguments("--no-sandbox");
+        return new ChromeDriver(options);
+    }
+}
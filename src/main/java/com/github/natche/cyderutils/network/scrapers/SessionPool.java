@@ -0,0 +1,223 @@
+package com.github.natche.cyderutils.network.scrapers;
+
+import com.google.common.base.Preconditions;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A bounded pool of expensive, reusable sessions such as headless browsers.
+ * Sessions are created lazily when none are idle and fewer than the maximum exist, and are kept warm
+ * between borrows. A session whose use fails may be discarded rather than returned so that a
+ * fresh session replaces it. Closing the pool closes every idle session and each borrowed session as it
+ * is returned.
+ *
+ * @param <T> the type of session
+ */
+public final class SessionPool<T> implements AutoCloseable {
+    /** The creator of new sessions. */
+    private final Supplier<T> sessionCreator;
+
+    /** The closer of discarded sessions. */
+    private final Consumer<T> sessionCloser;
+
+    /** The maximum number of sessions which may exist at once. */
+    private final int maximumSessions;
+
+    /** The idle sessions, most recently returned last. */
+    private final ArrayDeque<T> idleSessions = new ArrayDeque<>();
+
+    /** The number of sessions which currently exist, idle or borrowed. */
+    private int sessionCount;
+
+    /** Whether this pool has been closed. */
+    private boolean closed;
+
+    /**
+     * A session borrowed from a pool, returned to the pool when closed.
+     *
+     * @param <T> the type of session
+     */
+    public static final class Lease<T> implements AutoCloseable {
+        /** The pool the session was borrowed from. */
+        private final SessionPool<T> pool;
+
+        /** The borrowed session. */
+        private final T session;
+
+        /** Whether the session should be closed rather than returned to the pool. */
+        private boolean discard;
+
+        /** Whether the session has been returned or discarded. */
+        private boolean released;
+
+        /**
+         * Constructs a new lease.
+         *
+         * @param pool    the pool the session was borrowed from
+         * @param session the borrowed session
+         */
+        private Lease(SessionPool<T> pool, T session) {
+            this.pool = pool;
+            this.session = session;
+        }
+
+        /**
+         * Returns the borrowed session.
+         *
+         * @return the borrowed session
+         * @throws IllegalStateException if this lease has been closed
+         */
+        public T getSession() {
+            Preconditions.checkState(!released);
+            return session;
+        }
+
+        /** Marks the session to be closed rather than returned to the pool, such as after it fails. */
+        public void discard() {
+            discard = true;
+        }
+
+        /** Returns the session to the pool, or closes it if discarded. */
+        @Override
+        public void close() {
+            if (released) return;
+            released = true;
+            pool.release(session, discard);
+        }
+    }
+
+    /**
+     * Constructs a new session pool.
+     *
+     * @param sessionCreator  the creator of new sessions
+     * @param sessionCloser   the closer of discarded sessions
+     * @param maximumSessions the maximum number of sessions which may exist at once
+     * @throws NullPointerException     if the creator or closer is null
+     * @throws IllegalArgumentException if the maximum number of sessions is less than one
+     */
+    public SessionPool(Supplier<T> sessionCreator, Consumer<T> sessionCloser, int maximumSessions) {
+        Preconditions.checkNotNull(sessionCreator);
+        Preconditions.checkNotNull(sessionCloser);
+        Preconditions.checkArgument(maximumSessions > 0);
+
+        this.sessionCreator = sessionCreator;
+        this.sessionCloser = sessionCloser;
+        this.maximumSessions = maximumSessions;
+    }
+
+    /**
+     * Borrows an idle session, creating one if none are idle and the maximum has not been reached,
+     * otherwise waiting up to the provided timeout for one to be returned.
+     *
+     * @param timeout the maximum time to wait for a session
+     * @return a lease on the borrowed session which must be closed
+     * @throws NullPointerException  if the provided timeout is null
+     * @throws IllegalStateException if this pool has been closed or no session became available in time
+     * @throws InterruptedException  if interrupted while waiting
+     */
+    public Lease<T> borrow(Duration timeout) throws InterruptedException {
+        Preconditions.checkNotNull(timeout);
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (this) {
+            while (true) {
+                Preconditions.checkState(!closed, "Session pool has been closed");
+
+                T idle = idleSessions.pollLast();
+                if (idle != null) return new Lease<>(this, idle);
+                if (sessionCount < maximumSessions) {
+                    sessionCount++;
+                    break;
+                }
+
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) throw new IllegalStateException("No session became available in " + timeout);
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+        }
+
+        // Sessions are created outside of the lock as creation may take seconds
+        try {
+            return new Lease<>(this, sessionCreator.get());
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                sessionCount--;
+                notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of sessions which currently exist, idle or borrowed.
+     *
+     * @return the number of sessions which currently exist
+     */
+    public synchronized int getSessionCount() {
+        return sessionCount;
+    }
+
+    /**
+     * Returns the number of idle sessions.
+     *
+     * @return the number of idle sessions
+     */
+    public synchronized int getIdleSessionCount() {
+        return idleSessions.size();
+    }
+
+    /** Closes every idle session; borrowed sessions are closed as they are returned. */
+    @Override
+    public void close() {
+        List<T> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayList<>(idleSessions);
+            sessionCount -= idleSessions.size();
+            idleSessions.clear();
+            notifyAll();
+        }
+
+        toClose.forEach(this::closeSession);
+    }
+
+    /**
+     * Returns the provided session to the idle sessions or closes it.
+     *
+     * @param session the session
+     * @param discard whether the session should be closed rather than returned
+     */
+    private void release(T session, boolean discard) {
+        synchronized (this) {
+            if (!discard && !closed) {
+                idleSessions.addLast(session);
+                notifyAll();
+                return;
+            }
+
+            sessionCount--;
+            notifyAll();
+        }
+
+        closeSession(session);
+    }
+
+    /**
+     * Closes the provided session, ignoring any failure.
+     *
+     * @param session the session
+     */
+    private void closeSession(T session) {
+        try {
+            sessionCloser.accept(session);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.github.natche.cyderutils.network.scrapers.showmyip;
 
 import com.github.natche.cyderutils.exceptions.IllegalMethodException;
 import com.github.natche.cyderutils.network.scrapers.Scraper;
+import com.github.natche.cyderutils.network.scrapers.ScrapingRuntime;
 import com.github.natche.cyderutils.strings.CyderStrings;
 import com.github.natche.cyderutils.utils.JsoupUtils;
 import org.jsoup.nodes.Document;
@@ -28,32 +29,47 @@ public final class ShowMyIpScraper implements Scraper {
 
     /**
      * Scrapes the showmyip.com page and returns a ShowMyIpResult object.
+     * The page is first read over plain HTTP and only rendered in a headless browser
+     * if the table is not present in the served page.
      *
      * @return an Optional containing the ShowMyIpResult if found, otherwise an empty Optional
      */
     public static Optional<ShowMyIpResult> scape() {
-        Optional<Document> document = JsoupUtils.readDocument(url);
-        if (document.isEmpty()) {
-            return Optional.empty();
-        }
-
-        Element table = document.get().select(tableDataElementQuery).first();
-        if (table != null) {
-            return Optional.of(new ShowMyIpResult(
-                    Key.IPv4.extractValue(table).orElse(""),
-                    Key.IPv6.extractValue(table).orElse(""),
-                    Key.COUNTRY.extractValue(table).orElse(""),
-                    Key.REGION.extractValue(table).orElse(""),
-                    Key.CITY.extractValue(table).orElse(""),
-                    Key.ZIP.extractValue(table).orElse(""),
-                    Key.TIMEZONE.extractValue(table).orElse(""),
-                    Key.ISP.extractValue(table).orElse(""),
-                    Key.ORGANIZATION.extractValue(table).orElse(""),
-                    Key.AS_NUMBER_AND_NAME.extractValue(table).orElse(""),
-                    Key.USER_AGENT.extractValue(table).orElse("")
-            ));
-        }
-
-        return Optional.empty();
+        Optional<Element> table = findTable(ScrapingRuntime.RenderMode.STATIC)
+                .or(() -> findTable(ScrapingRuntime.RenderMode.JAVASCRIPT));
+        return table.map(ShowMyIpScraper::parseTable);
+    }
+
+    /**
+     * Reads the showmyip.com page using the provided render mode and returns the table of data if present.
+     *
+     * @param renderMode the render mode
+     * @return the table of data if present
+     */
+    private static Optional<Element> findTable(ScrapingRuntime.RenderMode renderMode) {
+        Optional<Document> document = JsoupUtils.readDocument(url, renderMode);
+        return document.map(value -> value.select(tableDataElementQuery).first());
+    }
+
+    /**
+     * Parses the result from the provided table of data.
+     *
+     * @param table the table of data
+     * @return the parsed result
+     */
+    private static ShowMyIpResult parseTable(Element table) {
+        return new ShowMyIpResult(
+                Key.IPv4.extractValue(table).orElse(""),
+                Key.IPv6.extractValue(table).orElse(""),
+                Key.COUNTRY.extractValue(table).orElse(""),
+                Key.REGION.extractValue(table).orElse(""),
+                Key.CITY.extractValue(table).orElse(""),
+                Key.ZIP.extractValue(table).orElse(""),
+                Key.TIMEZONE.extractValue(table).orElse(""),
+                Key.ISP.extractValue(table).orElse(""),
+                Key.ORGANIZATION.extractValue(table).orElse(""),
+                Key.AS_NUMBER_AND_NAME.extractValue(table).orElse(""),
+                Key.USER_AGENT.extractValue(table).orElse("")
+        );
     }
 }
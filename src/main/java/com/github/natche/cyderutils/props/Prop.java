@@ -5,9 +5,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.errorprone.annotations.Immutable;
 import com.github.natche.cyderutils.exceptions.FatalException;
 
-import java.time.Instant;
 import java.util.Objects;
-import java.util.Optional;
 
 /**
  * An optional positional argument to adjust a setting about Cyder.
@@ -28,11 +26,8 @@ public final class Prop<T> {
     /** The cache of the default value after casting to the specified {@link #type}. */
     private final T cachedDefaultValue;
 
-    /** The cache of the prop value specified in a local prop file after being cast to the type specified by T. */
-    private T cachedCustomSpecifiedValue = null;
-
-    /** The instant at which this prop specified value was last attempted to be cached from the ini props. */
-    private Instant lastAttemptedCacheTime = Instant.ofEpochMilli(0);
+    /** The index of the slot holding the parsed custom value of this prop in the {@link PropRegistry}. */
+    private final int slot;
 
     /**
      * Constructs a new prop.
@@ -52,6 +47,7 @@ public final class Prop<T> {
         this.defaultValue = defaultValue;
         this.type = type;
         this.cachedDefaultValue = type.cast(defaultValue);
+        this.slot = PropRegistry.register(this);
     }
 
     /**
@@ -97,71 +93,74 @@ public final class Prop<T> {
      * @return whether a custom value is configured for this prop
      */
     public boolean customValuePresent() {
-        if (oldCache()) attemptToSetCachedCustomSpecifiedValue();
-        return cachedCustomSpecifiedValue != null;
+        return getCustomValue() != null;
     }
 
     /**
-     * Returns the value of this prop by first checking the prop files for the
-     * prop and if not present, returning the default value.
+     * Returns the value of this prop specified in the loaded prop files if present,
+     * otherwise the default value.
      *
      * @return the value for this prop
      */
     public T getValue() {
-        if (oldCache()) attemptToSetCachedCustomSpecifiedValue();
-        if (cachedCustomSpecifiedValue != null) return cachedCustomSpecifiedValue;
+        T customValue = getCustomValue();
+        if (customValue != null) return customValue;
 
         return cachedDefaultValue;
     }
 
     /**
-     * Returns whether this prop last attempted to cache its custom value from
-     * an old load of the ini props.
+     * Returns the index of the slot holding the parsed custom value of this prop in the {@link PropRegistry}.
      *
-     * @return whether the custom cache should be attempted to be set
+     * @return the slot index of this prop
      */
-    private boolean oldCache() {
-        return lastAttemptedCacheTime.isBefore(PropLoader.getLoadedInstant());
+    public int getSlot() {
+        return slot;
     }
 
     /**
-     * Attempts to set the cached custom prop specified value by invoking
-     * {@link PropLoader#getPropValueStringFromFile(String)} and providing this {@link #key}.
-     * The result is then attempted to be casted to T and stored for future reference.
+     * Returns the custom value of this prop parsed when the prop files were loaded.
+     *
+     * @return the custom value of this prop, null if not specified
      */
-    private void attemptToSetCachedCustomSpecifiedValue() {
-        Optional<String> optionalStringValue = PropLoader.getPropValueStringFromFile(getKey());
-
-        if (optionalStringValue.isPresent()) {
-            String stringValue = optionalStringValue.get();
-
-            if (type == PropValueList.class) {
-                cachedCustomSpecifiedValue = type.cast(new PropValueList(
-                        ImmutableList.copyOf(stringValue.split(PropConstants.splitListsAtChar))));
-            } else if (type == String.class) {
-                cachedCustomSpecifiedValue = type.cast(stringValue);
-            } else if (type == Boolean.class) {
-                cachedCustomSpecifiedValue = type.cast(Boolean.valueOf(stringValue));
-            } else if (type == Integer.class) {
-                cachedCustomSpecifiedValue = type.cast(Integer.valueOf(stringValue));
-            } else if (type == Double.class) {
-                cachedCustomSpecifiedValue = type.cast(Double.valueOf(stringValue));
-            } else if (type == Float.class) {
-                cachedCustomSpecifiedValue = type.cast(Float.valueOf(stringValue));
-            } else if (type == Byte.class) {
-                cachedCustomSpecifiedValue = type.cast(Byte.valueOf(stringValue));
-            } else if (type == Short.class) {
-                cachedCustomSpecifiedValue = type.cast(Short.valueOf(stringValue));
-            } else if (type == Long.class) {
-                cachedCustomSpecifiedValue = type.cast(Long.valueOf(stringValue));
-            } else if (type == Character.class) {
-                cachedCustomSpecifiedValue = type.cast(stringValue.charAt(0));
-            } else {
-                throw new FatalException("Case for type not handled. Type: " + type + ", stringValue: " + stringValue);
-            }
-        }
+    private T getCustomValue() {
+        return type.cast(PropRegistry.getCustomValue(slot));
+    }
 
-        lastAttemptedCacheTime = Instant.now();
+    /**
+     * Parses the provided value string, as specified in a prop file, to the type of this prop.
+     *
+     * @param stringValue the value string
+     * @return the parsed value
+     * @throws NumberFormatException if the value string is not a valid number for a numeric prop
+     */
+    T parseCustomValue(String stringValue) {
+        Preconditions.checkNotNull(stringValue);
+
+        if (type == PropValueList.class) {
+            return type.cast(new PropValueList(
+                    ImmutableList.copyOf(stringValue.split(PropConstants.splitListsAtChar))));
+        } else if (type == String.class) {
+            return type.cast(stringValue);
+        } else if (type == Boolean.class) {
+            return type.cast(Boolean.valueOf(stringValue));
+        } else if (type == Integer.class) {
+            return type.cast(Integer.valueOf(stringValue));
+        } else if (type == Double.class) {
+            return type.cast(Double.valueOf(stringValue));
+        } else if (type == Float.class) {
+            return type.cast(Float.valueOf(stringValue));
+        } else if (type == Byte.class) {
+            return type.cast(Byte.valueOf(stringValue));
+        } else if (type == Short.class) {
+            return type.cast(Short.valueOf(stringValue));
+        } else if (type == Long.class) {
+            return type.cast(Long.valueOf(stringValue));
+        } else if (type == Character.class) {
+            return type.cast(stringValue.charAt(0));
+        } else {
+            throw new FatalException("Case for type not handled. Type: " + type + ", stringValue: " + stringValue);
+        }
     }
 
     /** {@inheritDoc} */
@@ -178,7 +177,7 @@ public final class Prop<T> {
                 && getValue().equals(other.getValue())
                 && getType().equals(other.getType())
                 && defaultValue.equals(other.getDefaultValue())
-                && Objects.equals(cachedCustomSpecifiedValue, other.cachedCustomSpecifiedValue);
+                && Objects.equals(getCustomValue(), other.getCustomValue());
     }
 
     /** {@inheritDoc} */
@@ -188,7 +187,7 @@ public final class Prop<T> {
         ret = 31 * ret + getValue().hashCode();
         ret = 31 * ret + type.hashCode();
         ret = 31 * ret + defaultValue.hashCode();
-        ret = 31 * ret + Objects.hashCode(cachedCustomSpecifiedValue);
+        ret = 31 * ret + Objects.hashCode(getCustomValue());
         return ret;
     }
 
@@ -200,7 +199,8 @@ public final class Prop<T> {
                 + ", value=" + getValue()
                 + ", type=" + type
                 + ", defaultValue=" + defaultValue
-                + ", cachedCustomSpecifiedValue=" + cachedCustomSpecifiedValue
+                + ", slot=" + slot
+                + ", customValue=" + getCustomValue()
                 + "}";
     }
 }
@@ -41,6 +41,12 @@ final class PropConstants {
     /** The local propositional argument directory. */
     static final File localPropsDirectory = new File("props");
 
+    /**
+     * The binary snapshot of the props loaded from the {@link #localPropsDirectory}, written and read
+     * when snapshots are enabled via {@link PropLoader#setSnapshotsEnabled(boolean)}.
+     */
+    static final File localPropsSnapshotFile = new File(localPropsDirectory, ".props_snapshot.bin");
+
     /** The extension for prop files. */
     static final String propExtension = Extension.INI.getExtension();
 
@@ -33,6 +33,9 @@ public final class PropLoader {
     /** Whether the props have been loaded. */
     private static boolean propsLoaded;
 
+    /** Whether a binary snapshot of the loaded props should be read and written to speed up subsequent loads. */
+    private static boolean snapshotsEnabled;
+
     /** Suppress default constructor. */
     private PropLoader() {
         throw new IllegalMethodException(CyderStrings.ATTEMPTED_INSTANTIATION);
@@ -40,6 +43,7 @@ public final class PropLoader {
 
     /**
      * Reloads the props from the found prop files.
+     * The values are parsed once into the {@link PropRegistry}, after which reading a prop is an array load.
      * Note this does not check whether reloading props is permitted.
      * The caller is required to validate that before invoking this method.
      */
@@ -48,9 +52,30 @@ public final class PropLoader {
 
         props = ImmutableMap.of();
         loadProps();
+        PropRegistry.install(props);
         loadedInstant = Instant.now();
     }
 
+    /**
+     * Returns whether a binary snapshot of the loaded props is read and written to speed up subsequent loads.
+     *
+     * @return whether prop snapshots are enabled
+     */
+    public static boolean areSnapshotsEnabled() {
+        return snapshotsEnabled;
+    }
+
+    /**
+     * Sets whether a binary snapshot of the loaded props should be read and written to speed up subsequent loads.
+     * When enabled, loading props reads the snapshot instead of the prop files if none of the prop files
+     * have been added, removed, or modified since the snapshot was written.
+     *
+     * @param snapshotsEnabled whether prop snapshots are enabled
+     */
+    public static void setSnapshotsEnabled(boolean snapshotsEnabled) {
+        PropLoader.snapshotsEnabled = snapshotsEnabled;
+    }
+
     /**
      * Returns the props list size.
      *
@@ -152,15 +177,23 @@ public final class PropLoader {
         Preconditions.checkArgument(propsDirectory.exists());
         Preconditions.checkArgument(propsDirectory.isDirectory());
 
+        ImmutableList<File> propFiles = discoverPropFiles(propsDirectory);
+        File snapshotFile = new File(propsDirectory, localPropsSnapshotFile.getName());
+        if (snapshotsEnabled) {
+            Optional<ImmutableMap<String, String>> snapshotProps = PropSnapshot.read(snapshotFile, propFiles);
+            if (snapshotProps.isPresent()) return snapshotProps.get();
+        }
+
         LinkedHashMap<String, String> ret = new LinkedHashMap<>();
 
-        discoverPropFiles(propsDirectory)
-                .forEach(propFile -> {
-                    // todo Logger.log(LogTag.PROPS_ACTION, "Discovered prop file: " + propFile.getAbsolutePath());
-                    ret.putAll(extractPropsFromFile(propFile));
-                });
+        propFiles.forEach(propFile -> {
+            // todo Logger.log(LogTag.PROPS_ACTION, "Discovered prop file: " + propFile.getAbsolutePath());
+            ret.putAll(extractPropsFromFile(propFile));
+        });
 
-        return ImmutableMap.copyOf(ret);
+        ImmutableMap<String, String> extractedProps = ImmutableMap.copyOf(ret);
+        if (snapshotsEnabled) PropSnapshot.write(snapshotFile, propFiles, extractedProps);
+        return extractedProps;
     }
 
     /**
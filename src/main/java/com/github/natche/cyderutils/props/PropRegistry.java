@@ -0,0 +1,126 @@
+package com.github.natche.cyderutils.props;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.github.natche.cyderutils.exceptions.IllegalMethodException;
+import com.github.natche.cyderutils.strings.CyderStrings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The registry of every constructed {@link Prop}. Each prop is assigned a slot index upon construction,
+ * and the values loaded from the prop files are parsed once, when installed, into a table indexed by slot.
+ * Reading the custom value of a prop is therefore a single array load rather than a lookup and parse.
+ * Every prop declared in {@link Props} is registered before values are installed, without reflection,
+ * by initializing that class.
+ */
+public final class PropRegistry {
+    /** The lock guarding registration and installation. */
+    private static final Object lock = new Object();
+
+    /** The registered props indexed by slot. */
+    private static final ArrayList<Prop<?>> registeredProps = new ArrayList<>();
+
+    /** The raw values most recently installed, retained to parse the values of props registered later. */
+    private static ImmutableMap<String, String> installedRawValues = ImmutableMap.of();
+
+    /** The parsed custom value of each prop indexed by slot, null where no custom value is specified. */
+    private static volatile Object[] customValues = new Object[0];
+
+    /** Suppress default constructor. */
+    private PropRegistry() {
+        throw new IllegalMethodException(CyderStrings.ATTEMPTED_INSTANTIATION);
+    }
+
+    /**
+     * Returns the props registered thus far in slot order, including every prop declared in {@link Props}.
+     *
+     * @return the registered props
+     */
+    public static ImmutableList<Prop<?>> getRegisteredProps() {
+        Props.ensureRegistered();
+
+        synchronized (lock) {
+            return ImmutableList.copyOf(registeredProps);
+        }
+    }
+
+    /**
+     * Registers the provided prop, parsing its custom value if values have been installed.
+     * Invoked by the constructor of {@link Prop}.
+     *
+     * @param prop the prop to register
+     * @return the slot index of the prop
+     */
+    static int register(Prop<?> prop) {
+        Preconditions.checkNotNull(prop);
+
+        synchronized (lock) {
+            int slot = registeredProps.size();
+            registeredProps.add(prop);
+
+            String rawValue = installedRawValues.get(prop.getKey());
+            if (rawValue != null) {
+                Object[] values = Arrays.copyOf(customValues, slot + 1);
+                values[slot] = parseCustomValue(prop, rawValue);
+                customValues = values;
+            }
+
+            return slot;
+        }
+    }
+
+    /**
+     * Parses the provided raw values into the table of custom values for every registered prop,
+     * replacing the previously installed values. A value which cannot be parsed as the type of its prop
+     * is skipped, leaving that prop at its default value, without affecting the other props.
+     *
+     * @param rawValues the map of prop keys to the unparsed values loaded from the prop files
+     */
+    static void install(ImmutableMap<String, String> rawValues) {
+        Preconditions.checkNotNull(rawValues);
+
+        Props.ensureRegistered();
+
+        synchronized (lock) {
+            Object[] values = new Object[registeredProps.size()];
+            for (int slot = 0 ; slot < values.length ; slot++) {
+                Prop<?> prop = registeredProps.get(slot);
+                String rawValue = rawValues.get(prop.getKey());
+                if (rawValue != null) values[slot] = parseCustomValue(prop, rawValue);
+            }
+
+            installedRawValues = rawValues;
+            customValues = values;
+        }
+    }
+
+    /**
+     * Parses the provided raw value as the type of the provided prop.
+     *
+     * @param prop     the prop
+     * @param rawValue the unparsed value loaded from the prop files
+     * @return the parsed value, null if the value cannot be parsed as the type of the prop
+     */
+    private static Object parseCustomValue(Prop<?> prop, String rawValue) {
+        try {
+            return prop.parseCustomValue(rawValue);
+        } catch (NumberFormatException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Returns the parsed custom value for the provided slot.
+     *
+     * @param slot the slot index of a prop
+     * @return the parsed custom value, null if no custom value is specified
+     */
+    static Object getCustomValue(int slot) {
+        Object[] values = customValues;
+        return slot < values.length ? values[slot] : null;
+    }
+}
@@ -0,0 +1,173 @@
+package com.github.natche.cyderutils.props;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.github.natche.cyderutils.exceptions.IllegalMethodException;
+import com.github.natche.cyderutils.strings.CyderStrings;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * A binary snapshot of the props loaded from a set of prop files. The snapshot records the path, size,
+ * last modified time, and a checksum of the contents of each prop file it was produced from, and is only used
+ * while all of those match the prop files currently present, allowing a warm start to skip parsing the prop files.
+ * The checksum catches edits which preserve the size of a file within the granularity of its modification time.
+ */
+final class PropSnapshot {
+    /** The magic number beginning every snapshot. */
+    private static final int MAGIC = 0x43505250;
+
+    /** The version of the snapshot format. */
+    private static final int VERSION = 2;
+
+    /** The suffix of the temporary file a snapshot is written to before replacing the previous snapshot. */
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    /** Suppress default constructor. */
+    private PropSnapshot() {
+        throw new IllegalMethodException(CyderStrings.ATTEMPTED_INSTANTIATION);
+    }
+
+    /**
+     * Reads the props from the provided snapshot file if it was produced from exactly the provided prop files
+     * in their current state.
+     *
+     * @param snapshotFile the snapshot file
+     * @param propFiles    the prop files currently present
+     * @return the map of prop keys to values if the snapshot exists and is current, empty optional else
+     */
+    static Optional<ImmutableMap<String, String>> read(File snapshotFile, ImmutableList<File> propFiles) {
+        Preconditions.checkNotNull(snapshotFile);
+        Preconditions.checkNotNull(propFiles);
+
+        if (!snapshotFile.isFile()) return Optional.empty();
+        long snapshotLength = snapshotFile.length();
+
+        try (DataInputStream input = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(snapshotFile)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) return Optional.empty();
+
+            HashMap<String, File> currentFiles = new HashMap<>();
+            propFiles.forEach(propFile -> currentFiles.put(propFile.getAbsolutePath(), propFile));
+
+            int fileCount = input.readInt();
+            if (fileCount != currentFiles.size()) return Optional.empty();
+            for (int i = 0 ; i < fileCount ; i++) {
+                File currentFile = currentFiles.get(readString(input, snapshotLength));
+                long lastModified = input.readLong();
+                long length = input.readLong();
+                long checksum = input.readLong();
+                if (currentFile == null
+                        || currentFile.lastModified() != lastModified
+                        || currentFile.length() != length
+                        || checksum(currentFile) != checksum) {
+                    return Optional.empty();
+                }
+            }
+
+            int entryCount = input.readInt();
+            LinkedHashMap<String, String> ret = new LinkedHashMap<>();
+            for (int i = 0 ; i < entryCount ; i++) {
+                ret.put(readString(input, snapshotLength), readString(input, snapshotLength));
+            }
+
+            return Optional.of(ImmutableMap.copyOf(ret));
+        } catch (IOException | RuntimeException e) {
+            // A truncated or corrupt snapshot is discarded in favor of the prop files
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes a snapshot of the provided props, loaded from the provided prop files, to the provided snapshot file.
+     *
+     * @param snapshotFile the snapshot file
+     * @param propFiles    the prop files the props were loaded from
+     * @param props        the map of prop keys to values
+     */
+    static void write(File snapshotFile, ImmutableList<File> propFiles, ImmutableMap<String, String> props) {
+        Preconditions.checkNotNull(snapshotFile);
+        Preconditions.checkNotNull(propFiles);
+        Preconditions.checkNotNull(props);
+
+        File temporaryFile = new File(snapshotFile.getPath() + TEMPORARY_SUFFIX);
+
+        try {
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(temporaryFile)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+
+                output.writeInt(propFiles.size());
+                for (File propFile : propFiles) {
+                    writeString(output, propFile.getAbsolutePath());
+                    output.writeLong(propFile.lastModified());
+                    output.writeLong(propFile.length());
+                    output.writeLong(checksum(propFile));
+                }
+
+                output.writeInt(props.size());
+                for (Map.Entry<String, String> entry : props.entrySet()) {
+                    writeString(output, entry.getKey());
+                    writeString(output, entry.getValue());
+                }
+            }
+
+            Files.move(temporaryFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Computes the CRC-32 checksum of the contents of the provided file.
+     *
+     * @param file the file
+     * @return the checksum of the contents of the file
+     * @throws IOException if the file cannot be read
+     */
+    private static long checksum(File file) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(Files.readAllBytes(file.toPath()));
+        return crc.getValue();
+    }
+
+    /**
+     * Reads a length-prefixed UTF-8 string from the provided input.
+     *
+     * @param input     the input
+     * @param maxLength the maximum valid length in bytes, that of the snapshot file
+     * @return the string
+     * @throws IOException if the string cannot be read
+     */
+    private static String readString(DataInputStream input, long maxLength) throws IOException {
+        int length = input.readInt();
+        if (length < 0 || length > maxLength) throw new IOException("Invalid string length: " + length);
+
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a length-prefixed UTF-8 string to the provided output.
+     *
+     * @param output the output
+     * @param string the string
+     * @throws IOException if the string cannot be written
+     */
+    private static void writeString(DataOutputStream output, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+}
@@ -206,6 +206,13 @@ public final class Props {
     /** The password used for an autocypher if {@link #autocypher} is true. */
     public static final Prop<String> autocypherPassword = new Prop<>("autocypher_password", EMPTY, String.class);
 
+    /**
+     * Ensures every prop declared in this class has been constructed and thus registered with the
+     * {@link PropRegistry}. Invoking a static method initializes this class, constructing every declared prop,
+     * if it has not been already; the body is intentionally empty.
+     */
+    static void ensureRegistered() {}
+
     /** Suppress default constructor. */
     private Props() {
         throw new IllegalMethodException(CyderStrings.ATTEMPTED_INSTANTIATION);
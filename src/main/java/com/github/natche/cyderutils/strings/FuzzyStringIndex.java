@@ -0,0 +1,397 @@
+package com.github.natche.cyderutils.strings;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * A fuzzy index of strings supporting nearest-neighbor queries under the levenshtein distance.
+ * <p>
+ * Each string is padded with two sentinel chars on either side and split into overlapping trigrams which are
+ * recorded in an inverted index. A single edit changes at most three trigrams, so a string within distance
+ * {@code k} of a query shares all but at most {@code 3k} of the trigrams of the query (counted with multiplicity)
+ * and therefore at least one of any {@code 3k + 1} of them. A query reads only the posting lists of its rarest
+ * trigrams covering {@code 3k + 1} occurrences and verifies the strings found with a {@link LevenshteinMatcher},
+ * so the cost of a query depends on the lengths of a few short posting lists rather than on the size of the index.
+ * If a query has no more than {@code 3k} trigrams, such as a short query with a large tolerance, the filter
+ * cannot exclude anything and every string is verified.
+ * <p>
+ * A BK-tree was considered instead but its queries visit a large fraction of the tree once the vocabulary
+ * is large and the tolerance is more than a single edit.
+ * <p>
+ * Removed strings leave gaps in the posting lists which are skipped by queries; the index is compacted once
+ * removed strings outnumber live ones. Instances are safe for use by multiple threads.
+ */
+public final class FuzzyStringIndex {
+    /** The comparator ordering matches by distance, then by value. */
+    private static final Comparator<Match> matchComparator = Comparator
+            .comparingInt(Match::distance).thenComparing(Match::value);
+
+    /** The length of the grams recorded by the index. */
+    private static final int GRAM_LENGTH = 3;
+
+    /** The char padding either side of a string so that its first and last chars begin and end grams. */
+    private static final char PADDING = '\0';
+
+    /** The number of removed strings tolerated before the index is compacted, regardless of size. */
+    private static final int MINIMUM_COMPACTION_THRESHOLD = 1024;
+
+    /** The strings by id, null for removed strings. */
+    private final List<String> values = new ArrayList<>();
+
+    /** The ids of the live strings. */
+    private final HashMap<String, Integer> ids = new HashMap<>();
+
+    /** The posting lists of each gram. */
+    private final HashMap<Long, Postings> postings = new HashMap<>();
+
+    /** Whether each id has been verified against the current query, false outside of a query. */
+    private boolean[] visited = new boolean[0];
+
+    /** The ids visited during the current query. */
+    private int[] visitedIds = new int[0];
+
+    /** The number of removed strings whose ids remain in the posting lists. */
+    private int removedCount;
+
+    /**
+     * A string found within the tolerance of a query.
+     *
+     * @param value    the indexed string
+     * @param distance the levenshtein distance between the string and the query
+     */
+    public record Match(String value, int distance) {
+        /**
+         * Constructs a new match.
+         *
+         * @throws NullPointerException     if the provided value is null
+         * @throws IllegalArgumentException if the distance is negative
+         */
+        public Match {
+            Preconditions.checkNotNull(value);
+            Preconditions.checkArgument(distance >= 0);
+        }
+    }
+
+    /** The ids of the strings containing a gram. */
+    private static final class Postings {
+        /** The ids of the strings containing the gram, ascending. */
+        private int[] ids = new int[2];
+
+        /** The number of strings containing the gram. */
+        private int size;
+
+        /**
+         * Appends the provided id.
+         *
+         * @param id the id of the string
+         */
+        private void add(int id) {
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            ids[size++] = id;
+        }
+    }
+
+    /** Constructs a new empty fuzzy string index. */
+    public FuzzyStringIndex() {}
+
+    /**
+     * Returns a new fuzzy string index containing the provided strings.
+     *
+     * @param strings the strings
+     * @return a new fuzzy string index containing the provided strings
+     * @throws NullPointerException if the provided collection or any string is null
+     */
+    public static FuzzyStringIndex of(Collection<String> strings) {
+        Preconditions.checkNotNull(strings);
+
+        FuzzyStringIndex ret = new FuzzyStringIndex();
+        strings.forEach(ret::add);
+        return ret;
+    }
+
+    /**
+     * Adds the provided string to this index.
+     *
+     * @param string the string
+     * @return whether the string was added, false if already present
+     * @throws NullPointerException if the provided string is null
+     */
+    @CanIgnoreReturnValue
+    public synchronized boolean add(String string) {
+        Preconditions.checkNotNull(string);
+
+        if (ids.containsKey(string)) return false;
+
+        int id = values.size();
+        values.add(string);
+        ids.put(string, id);
+        countGrams(string).keySet().forEach(gram -> postings.computeIfAbsent(gram, ignored -> new Postings()).add(id));
+        return true;
+    }
+
+    /**
+     * Removes the provided string from this index.
+     *
+     * @param string the string
+     * @return whether the string was removed, false if not present
+     * @throws NullPointerException if the provided string is null
+     */
+    @CanIgnoreReturnValue
+    public synchronized boolean remove(String string) {
+        Preconditions.checkNotNull(string);
+
+        Integer id = ids.remove(string);
+        if (id == null) return false;
+
+        values.set(id, null);
+        removedCount++;
+        if (removedCount > Math.max(MINIMUM_COMPACTION_THRESHOLD, ids.size())) compact();
+        return true;
+    }
+
+    /**
+     * Returns whether the provided string is in this index.
+     *
+     * @param string the string
+     * @return whether the provided string is in this index
+     * @throws NullPointerException if the provided string is null
+     */
+    public synchronized boolean contains(String string) {
+        Preconditions.checkNotNull(string);
+
+        return ids.containsKey(string);
+    }
+
+    /**
+     * Returns the number of strings in this index.
+     *
+     * @return the number of strings in this index
+     */
+    public synchronized int size() {
+        return ids.size();
+    }
+
+    /**
+     * Returns every string within the provided tolerance of the query.
+     *
+     * @param query     the query
+     * @param tolerance the maximum levenshtein distance of a match
+     * @return the matches, closest first, ties ordered by value
+     * @throws NullPointerException     if the provided query is null
+     * @throws IllegalArgumentException if the tolerance is negative
+     */
+    public ImmutableList<Match> search(String query, int tolerance) {
+        return search(query, tolerance, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the closest strings within the provided tolerance of the query, at most the provided limit.
+     * Once the limit is reached, the tolerance shrinks to the distance of the furthest match retained.
+     *
+     * @param query     the query
+     * @param tolerance the maximum levenshtein distance of a match
+     * @param limit     the maximum number of matches
+     * @return the matches, closest first, ties ordered by value
+     * @throws NullPointerException     if the provided query is null
+     * @throws IllegalArgumentException if the tolerance is negative or the limit is less than one
+     */
+    public synchronized ImmutableList<Match> search(String query, int tolerance, int limit) {
+        Preconditions.checkNotNull(query);
+        Preconditions.checkArgument(tolerance >= 0);
+        Preconditions.checkArgument(limit > 0);
+
+        // The furthest match retained is at the head so that it may be replaced by a closer one
+        PriorityQueue<Match> matches = new PriorityQueue<>(matchComparator.reversed());
+        LevenshteinMatcher matcher = new LevenshteinMatcher(query);
+        long requiredOccurrences = (long) GRAM_LENGTH * tolerance + 1;
+
+        if (query.length() + GRAM_LENGTH - 1 < requiredOccurrences) {
+            // Too few grams for the filter to exclude anything, so every string is verified
+            for (String value : values) {
+                if (value != null) verify(matcher, value, tolerance, limit, matches);
+            }
+        } else {
+            int visitedCount = visitCandidates(query, requiredOccurrences);
+            for (int i = 0 ; i < visitedCount ; i++) {
+                int id = visitedIds[i];
+                visited[id] = false;
+
+                String value = values.get(id);
+                if (value != null) verify(matcher, value, tolerance, limit, matches);
+            }
+        }
+
+        List<Match> ret = new ArrayList<>(matches);
+        ret.sort(matchComparator);
+        return ImmutableList.copyOf(ret);
+    }
+
+    /**
+     * Returns the closest string within the provided tolerance of the query.
+     *
+     * @param query     the query
+     * @param tolerance the maximum levenshtein distance of a match
+     * @return the closest match if present, ties resolved by value
+     * @throws NullPointerException     if the provided query is null
+     * @throws IllegalArgumentException if the tolerance is negative
+     */
+    public Optional<Match> findClosest(String query, int tolerance) {
+        return search(query, tolerance, 1).stream().findFirst();
+    }
+
+    /**
+     * Returns the closest strings whose similarity to the query is at least the provided minimum,
+     * at most the provided limit. The similarity of two strings is one less their levenshtein distance
+     * divided by the length of the longer string, such as the ratio of {@code Props.similarCommandTolerance}.
+     *
+     * @param query             the query
+     * @param minimumSimilarity the minimum similarity of a match, greater than zero and at most one
+     * @param limit             the maximum number of matches
+     * @return the matches, closest first, ties ordered by value
+     * @throws NullPointerException     if the provided query is null
+     * @throws IllegalArgumentException if the minimum similarity is not within (0, 1] or the limit is less than one
+     */
+    public ImmutableList<Match> searchSimilar(String query, double minimumSimilarity, int limit) {
+        Preconditions.checkNotNull(query);
+        Preconditions.checkArgument(minimumSimilarity > 0 && minimumSimilarity <= 1);
+        Preconditions.checkArgument(limit > 0);
+
+        // A match differs in length by at most its distance, bounding the distance by the length of the query
+        double dissimilarity = 1 - minimumSimilarity;
+        int tolerance = (int) Math.floor(dissimilarity * query.length() / minimumSimilarity + 1e-9);
+
+        return search(query, tolerance).stream()
+                .filter(match -> match.distance() <= dissimilarity
+                        * Math.max(query.length(), match.value().length()) + 1e-9)
+                .limit(limit)
+                .collect(ImmutableList.toImmutableList());
+    }
+
+    /**
+     * Scores the provided string against the query and retains it if it is among the closest matches.
+     *
+     * @param matcher   the matcher of the query
+     * @param value     the string
+     * @param tolerance the maximum levenshtein distance of a match
+     * @param limit     the maximum number of matches
+     * @param matches   the matches retained so far, furthest first
+     */
+    private static void verify(LevenshteinMatcher matcher, String value, int tolerance,
+                               int limit, PriorityQueue<Match> matches) {
+        boolean full = matches.size() == limit;
+        int radius = full ? Math.min(tolerance, matches.peek().distance()) : tolerance;
+
+        int distance = matcher.distance(value, radius);
+        if (distance > radius) return;
+
+        Match match = new Match(value, distance);
+        if (!full) {
+            matches.add(match);
+        } else if (matchComparator.compare(match, matches.peek()) < 0) {
+            matches.poll();
+            matches.add(match);
+        }
+    }
+
+    /**
+     * Records the ids of the strings sharing any of the rarest grams of the provided query into
+     * {@link #visitedIds}, reading posting lists in ascending length until the grams read cover the
+     * required number of occurrences within the query.
+     *
+     * @param query               the query
+     * @param requiredOccurrences the number of occurrences within the query the grams read must cover
+     * @return the number of ids recorded in {@link #visitedIds}
+     */
+    private int visitCandidates(String query, long requiredOccurrences) {
+        if (visited.length < values.size()) {
+            visited = new boolean[values.size()];
+            visitedIds = new int[values.size()];
+        }
+
+        List<Map.Entry<Long, Integer>> grams = new ArrayList<>(countGrams(query).entrySet());
+        grams.sort(Comparator.comparingInt(gram -> postingsSize(gram.getKey())));
+
+        int visitedCount = 0;
+        long coveredOccurrences = 0;
+        for (Map.Entry<Long, Integer> gram : grams) {
+            if (coveredOccurrences >= requiredOccurrences) break;
+            coveredOccurrences += gram.getValue();
+
+            Postings gramPostings = postings.get(gram.getKey());
+            if (gramPostings == null) continue;
+            for (int i = 0 ; i < gramPostings.size ; i++) {
+                int id = gramPostings.ids[i];
+                if (visited[id]) continue;
+                visited[id] = true;
+                visitedIds[visitedCount++] = id;
+            }
+        }
+        return visitedCount;
+    }
+
+    /**
+     * Returns the number of strings containing the provided gram.
+     *
+     * @param gram the gram
+     * @return the number of strings containing the gram
+     */
+    private int postingsSize(long gram) {
+        Postings gramPostings = postings.get(gram);
+        return gramPostings == null ? 0 : gramPostings.size;
+    }
+
+    /**
+     * Returns the number of times each gram occurs within the provided string once padded.
+     *
+     * @param string the string
+     * @return the number of times each gram occurs by gram
+     */
+    private static Map<Long, Integer> countGrams(String string) {
+        int paddedLength = string.length() + 2 * (GRAM_LENGTH - 1);
+        Map<Long, Integer> ret = new HashMap<>();
+        for (int i = 0 ; i + GRAM_LENGTH <= paddedLength ; i++) {
+            long gram = 0;
+            for (int j = i ; j < i + GRAM_LENGTH ; j++) {
+                gram = gram << Character.SIZE | paddedCharAt(string, j);
+            }
+            ret.merge(gram, 1, Integer::sum);
+        }
+        return ret;
+    }
+
+    /**
+     * Returns the char at the provided index of the provided string once padded.
+     *
+     * @param string the string
+     * @param index  the index within the padded string
+     * @return the char at the index
+     */
+    private static char paddedCharAt(String string, int index) {
+        int unpaddedIndex = index - (GRAM_LENGTH - 1);
+        return unpaddedIndex < 0 || unpaddedIndex >= string.length() ? PADDING : string.charAt(unpaddedIndex);
+    }
+
+    /** Rebuilds the index from the live strings, discarding the ids of removed strings. */
+    private void compact() {
+        List<String> live = values.stream().filter(value -> value != null).toList();
+
+        values.clear();
+        ids.clear();
+        postings.clear();
+        visited = new boolean[0];
+        visitedIds = new int[0];
+        removedCount = 0;
+        live.forEach(this::add);
+    }
+}
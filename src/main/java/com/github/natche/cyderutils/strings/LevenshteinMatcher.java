@@ -0,0 +1,267 @@
+package com.github.natche.cyderutils.strings;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A matcher computing the levenshtein distance between a fixed query and any number of candidates using
+ * the bit-parallel algorithm of Myers as formulated by Hyyrö. Each column of the dynamic programming matrix
+ * is encoded as vertical delta bit vectors and advanced with a handful of word operations per candidate char.
+ * Queries of up to 64 chars use a single word; longer queries are split into 64 char blocks which pass
+ * horizontal deltas from one block to the next.
+ * <p>
+ * All working state is allocated once per matcher so that scoring candidates does not allocate.
+ * Instances are therefore not thread-safe.
+ */
+public final class LevenshteinMatcher {
+    /** The number of query chars encoded by each block. */
+    private static final int BLOCK_SIZE = Long.SIZE;
+
+    /** The query. */
+    private final String query;
+
+    /** The number of blocks the query is split into. */
+    private final int blockCount;
+
+    /** The bit within the last block corresponding to the last char of the query. */
+    private final long lastBit;
+
+    /** The distinct chars of the query, stored in an open addressing table. */
+    private final char[] tableChars;
+
+    /** Whether each slot of the table is in use. */
+    private final boolean[] tableUsed;
+
+    /** The match masks of each distinct query char, {@link #blockCount} words per table slot. */
+    private final long[] tableMasks;
+
+    /** The mask of the table capacity. */
+    private final int tableMask;
+
+    /** The positive vertical deltas of each block, reused between candidates. */
+    private final long[] positiveDeltas;
+
+    /** The negative vertical deltas of each block, reused between candidates. */
+    private final long[] negativeDeltas;
+
+    /**
+     * Constructs a new matcher for the provided query.
+     *
+     * @param query the query
+     * @throws NullPointerException if the provided query is null
+     */
+    public LevenshteinMatcher(String query) {
+        this.query = Preconditions.checkNotNull(query);
+
+        int length = query.length();
+        this.blockCount = Math.max(1, (length + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        this.lastBit = length == 0 ? 0 : 1L << ((length - 1) % BLOCK_SIZE);
+
+        int capacity = tableCapacity(query);
+        this.tableChars = new char[capacity];
+        this.tableUsed = new boolean[capacity];
+        this.tableMasks = new long[capacity * blockCount];
+        this.tableMask = capacity - 1;
+        for (int i = 0 ; i < length ; i++) {
+            int slot = findSlot(query.charAt(i));
+            tableUsed[slot] = true;
+            tableChars[slot] = query.charAt(i);
+            tableMasks[slot * blockCount + i / BLOCK_SIZE] |= 1L << (i % BLOCK_SIZE);
+        }
+
+        this.positiveDeltas = new long[blockCount];
+        this.negativeDeltas = new long[blockCount];
+    }
+
+    /**
+     * Returns the number of words of the match mask table a matcher for the provided query would allocate.
+     * The table holds a mask of every block for each distinct char of the query, so queries of many
+     * distinct chars require memory quadratic in their length.
+     *
+     * @param query the query
+     * @return the number of words of the match mask table
+     * @throws NullPointerException if the provided query is null
+     */
+    static long tableWords(CharSequence query) {
+        Preconditions.checkNotNull(query);
+
+        long blocks = Math.max(1, (query.length() + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        return blocks * tableCapacity(query);
+    }
+
+    /**
+     * Returns the capacity of the open addressing table for the distinct chars of the provided query,
+     * at least twice the number of distinct chars.
+     *
+     * @param query the query
+     * @return the capacity of the table
+     */
+    private static int tableCapacity(CharSequence query) {
+        long[] seen = new long[(Character.MAX_VALUE + 1) / Long.SIZE];
+        int distinct = 0;
+        for (int i = 0 ; i < query.length() ; i++) {
+            char c = query.charAt(i);
+            long bit = 1L << c;
+            if ((seen[c / Long.SIZE] & bit) == 0) {
+                seen[c / Long.SIZE] |= bit;
+                distinct++;
+            }
+        }
+
+        return Integer.highestOneBit(Math.max(8, distinct) * 2 - 1) << 1;
+    }
+
+    /**
+     * Returns the query of this matcher.
+     *
+     * @return the query of this matcher
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Returns the levenshtein distance between the query and the provided candidate.
+     *
+     * @param candidate the candidate
+     * @return the levenshtein distance between the query and the candidate
+     * @throws NullPointerException if the provided candidate is null
+     */
+    public int distance(CharSequence candidate) {
+        return distance(candidate, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the levenshtein distance between the query and the provided candidate if it does not exceed the
+     * provided maximum distance, otherwise {@code maximumDistance + 1}. Scoring stops as soon as the distance
+     * of the prefix scored so far, less the number of candidate chars remaining, exceeds the maximum distance.
+     *
+     * @param candidate       the candidate
+     * @param maximumDistance the maximum distance of interest
+     * @return the levenshtein distance if at most the maximum distance, otherwise {@code maximumDistance + 1}
+     * @throws NullPointerException     if the provided candidate is null
+     * @throws IllegalArgumentException if the maximum distance is negative
+     */
+    public int distance(CharSequence candidate, int maximumDistance) {
+        Preconditions.checkNotNull(candidate);
+        Preconditions.checkArgument(maximumDistance >= 0);
+
+        int exceeded = maximumDistance == Integer.MAX_VALUE ? maximumDistance : maximumDistance + 1;
+        int queryLength = query.length();
+        int candidateLength = candidate.length();
+        if (Math.abs(queryLength - candidateLength) > maximumDistance) return exceeded;
+        if (queryLength == 0) return candidateLength;
+
+        Arrays.fill(positiveDeltas, -1L);
+        Arrays.fill(negativeDeltas, 0L);
+
+        int score = queryLength;
+        int lastBlock = blockCount - 1;
+        for (int j = 0 ; j < candidateLength ; j++) {
+            int slot = findSlot(candidate.charAt(j));
+            boolean matched = tableUsed[slot];
+            int maskOffset = slot * blockCount;
+
+            // The top row of the matrix increases by one per column
+            int horizontalDelta = 1;
+            for (int block = 0 ; block < blockCount ; block++) {
+                long equal = matched ? tableMasks[maskOffset + block] : 0L;
+                long highBit = block == lastBlock ? lastBit : Long.MIN_VALUE;
+                horizontalDelta = advanceBlock(block, equal, horizontalDelta, highBit);
+            }
+            score += horizontalDelta;
+
+            if (score - (candidateLength - j - 1) > maximumDistance) return exceeded;
+        }
+
+        return score;
+    }
+
+    /**
+     * Computes the distance between the query and each of the provided candidates, bounded by the provided
+     * maximum distance, into the provided array without allocating.
+     *
+     * @param candidates      the candidates
+     * @param maximumDistance the maximum distance of interest
+     * @param distances       the array to store the distance of each candidate in, by index
+     * @throws NullPointerException     if the candidates or distances are null
+     * @throws IllegalArgumentException if the maximum distance is negative or the array is
+     *                                  shorter than the number of candidates
+     */
+    public void distances(List<? extends CharSequence> candidates, int maximumDistance, int[] distances) {
+        Preconditions.checkNotNull(candidates);
+        Preconditions.checkNotNull(distances);
+        Preconditions.checkArgument(maximumDistance >= 0);
+        Preconditions.checkArgument(distances.length >= candidates.size());
+
+        for (int i = 0 ; i < candidates.size() ; i++) {
+            distances[i] = distance(candidates.get(i), maximumDistance);
+        }
+    }
+
+    /**
+     * Returns the distance between the query and each of the provided candidates, bounded by the provided
+     * maximum distance.
+     *
+     * @param candidates      the candidates
+     * @param maximumDistance the maximum distance of interest
+     * @return the distance of each candidate, by index
+     * @throws NullPointerException     if the provided candidates are null
+     * @throws IllegalArgumentException if the maximum distance is negative
+     */
+    public int[] distances(List<? extends CharSequence> candidates, int maximumDistance) {
+        int[] ret = new int[Preconditions.checkNotNull(candidates).size()];
+        distances(candidates, maximumDistance, ret);
+        return ret;
+    }
+
+    /**
+     * Advances the provided block by one candidate char.
+     *
+     * @param block           the index of the block
+     * @param equal           the match mask of the candidate char within the block
+     * @param horizontalDelta the horizontal delta entering the top of the block, one of -1, 0, or 1
+     * @param highBit         the bit of the bottom row of the block
+     * @return the horizontal delta leaving the bottom row of the block
+     */
+    private int advanceBlock(int block, long equal, int horizontalDelta, long highBit) {
+        long positive = positiveDeltas[block];
+        long negative = negativeDeltas[block];
+
+        long verticalChange = equal | negative;
+        if (horizontalDelta < 0) equal |= 1L;
+        long horizontalChange = (((equal & positive) + positive) ^ positive) | equal;
+        long positiveHorizontal = negative | ~(horizontalChange | positive);
+        long negativeHorizontal = positive & horizontalChange;
+
+        int ret = (positiveHorizontal & highBit) != 0 ? 1 : (negativeHorizontal & highBit) != 0 ? -1 : 0;
+
+        positiveHorizontal <<= 1;
+        negativeHorizontal <<= 1;
+        if (horizontalDelta < 0) {
+            negativeHorizontal |= 1L;
+        } else if (horizontalDelta > 0) {
+            positiveHorizontal |= 1L;
+        }
+
+        positiveDeltas[block] = negativeHorizontal | ~(verticalChange | positiveHorizontal);
+        negativeDeltas[block] = positiveHorizontal & verticalChange;
+        return ret;
+    }
+
+    /**
+     * Returns the table slot holding the provided char, or the empty slot it would be stored in.
+     *
+     * @param c the char
+     * @return the slot
+     */
+    private int findSlot(char c) {
+        int slot = (c * 0x9E3779B1) >>> 16 & tableMask;
+        while (tableUsed[slot] && tableChars[slot] != c) {
+            slot = (slot + 1) & tableMask;
+        }
+        return slot;
+    }
+}
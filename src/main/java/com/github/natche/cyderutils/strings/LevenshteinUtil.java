@@ -2,10 +2,18 @@ package com.github.natche.cyderutils.strings;
 
 import com.google.common.base.Preconditions;
 import com.github.natche.cyderutils.exceptions.IllegalMethodException;
-import com.github.natche.cyderutils.math.NumberUtil;
 
 /** Utilities related to the Levenshtein distance of strings. */
 public final class LevenshteinUtil {
+    /** The maximum length of a string matched by a single word of the bit-parallel {@link LevenshteinMatcher}. */
+    private static final int SINGLE_WORD_LENGTH = Long.SIZE;
+
+    /**
+     * The maximum number of words of the match mask table of a {@link LevenshteinMatcher}, beyond which
+     * distances are computed using two rows of the dynamic programming matrix instead.
+     */
+    private static final long MAXIMUM_MATCHER_TABLE_WORDS = 1L << 20;
+
     /**
      * Suppress default constructor.
      *
@@ -17,7 +25,10 @@ public final class LevenshteinUtil {
 
     /**
      * Returns the levenshtein distance between string alpha and string beta.
-     * From <a href="http://rosettacode.org/wiki/Levenshtein_distance#Iterative_space_optimized_.28even_bounded.29</a>
+     * The shorter string is used as the query of a bit-parallel {@link LevenshteinMatcher} unless its match
+     * masks would exceed {@link #MAXIMUM_MATCHER_TABLE_WORDS} words, such as for long strings of many distinct
+     * chars, in which case two rows of the dynamic programming matrix are computed instead.
+     * To score one string against many, construct a matcher once and reuse it.
      *
      * @param alpha the first string
      * @param beta  the second string
@@ -30,48 +41,85 @@ public final class LevenshteinUtil {
         // Simplest case
         if (alpha.equals(beta)) return 0;
 
+        // If one is empty, the distance is the length of the other
+        if (alpha.isEmpty()) return beta.length();
+        if (beta.isEmpty()) return alpha.length();
+
+        String shorter = alpha.length() <= beta.length() ? alpha : beta;
+        String longer = shorter == alpha ? beta : alpha;
+        if (LevenshteinMatcher.tableWords(shorter) > MAXIMUM_MATCHER_TABLE_WORDS) {
+            return computeBoundedLevenshteinDistance(shorter, longer, longer.length());
+        }
+
+        return new LevenshteinMatcher(shorter).distance(longer);
+    }
+
+    /**
+     * Returns the levenshtein distance between string alpha and string beta if it does not exceed the provided
+     * maximum distance, otherwise {@code maximumDistance + 1}. If the shorter string fits within a single word, a
+     * bit-parallel {@link LevenshteinMatcher} with a cutoff is used. Otherwise, following Ukkonen, only the diagonal
+     * band of cells within the maximum distance of the main diagonal is computed, and computation stops as soon as
+     * every cell of a row exceeds the maximum distance.
+     *
+     * @param alpha           the first string
+     * @param beta            the second string
+     * @param maximumDistance the maximum distance of interest
+     * @return the levenshtein distance between alpha and beta if at most the maximum distance,
+     * otherwise {@code maximumDistance + 1}
+     * @throws NullPointerException     if either string is null
+     * @throws IllegalArgumentException if the maximum distance is negative
+     */
+    public static int computeBoundedLevenshteinDistance(String alpha, String beta, int maximumDistance) {
+        Preconditions.checkNotNull(alpha);
+        Preconditions.checkNotNull(beta);
+        Preconditions.checkArgument(maximumDistance >= 0);
+
         int lengthAlpha = alpha.length();
         int lengthBeta = beta.length();
 
-        // If one is empty, the distance is the length of the other
-        if (lengthAlpha == 0) return lengthBeta;
-        if (lengthBeta == 0) return lengthAlpha;
-
-        if (lengthAlpha < lengthBeta) {
-            // Swap lengths
-            int tempAlphaLength = lengthAlpha;
-            lengthAlpha = lengthBeta;
-            lengthBeta = tempAlphaLength;
-
-            // Swap strings
-            String tempAlphaString = alpha;
-            alpha = beta;
-            beta = tempAlphaString;
-        }
+        // The distance never exceeds the length of the longer string
+        int bound = Math.min(maximumDistance, Math.max(lengthAlpha, lengthBeta));
+        int exceeded = maximumDistance == Integer.MAX_VALUE ? maximumDistance : maximumDistance + 1;
+        if (Math.abs(lengthAlpha - lengthBeta) > bound) return exceeded;
 
-        // Initialize cost array
-        int[] cost = new int[lengthBeta + 1];
-        for (int i = 0 ; i <= lengthBeta ; i += 1) {
-            cost[i] = i;
+        if (Math.min(lengthAlpha, lengthBeta) <= SINGLE_WORD_LENGTH) {
+            return lengthAlpha <= lengthBeta
+                    ? new LevenshteinMatcher(alpha).distance(beta, maximumDistance)
+                    : new LevenshteinMatcher(beta).distance(alpha, maximumDistance);
         }
 
-        for (int i = 1 ; i <= lengthAlpha ; i += 1) {
-            cost[0] = i;
-            int previous = i - 1;
-            // minimum cost for next generation
-            int min = previous;
+        // Cells outside of the band hold bound + 1 which can never lead to a distance within the bound
+        int outside = bound + 1;
+        int[] previous = new int[lengthBeta + 1];
+        int[] current = new int[lengthBeta + 1];
+        for (int j = 0 ; j <= lengthBeta ; j++) {
+            previous[j] = j <= bound ? j : outside;
+        }
 
-            for (int j = 1 ; j <= lengthBeta ; j += 1) {
-                // cost of alpha[0, i] to beta[0, j], same char is 0, different is +1 cost
-                int act = previous + (alpha.charAt(i - 1) == beta.charAt(j - 1) ? 0 : 1);
-                cost[j] = NumberUtil.min(1 + (previous = cost[j]), 1 + cost[j - 1], act);
+        for (int i = 1 ; i <= lengthAlpha ; i++) {
+            int start = Math.max(1, i - bound);
+            int end = Math.min(lengthBeta, i + bound);
+            current[start - 1] = start == 1 ? Math.min(i, outside) : outside;
+            int rowMinimum = current[start - 1];
 
-                if (previous < min) {
-                    min = previous;
-                }
+            char alphaChar = alpha.charAt(i - 1);
+            for (int j = start ; j <= end ; j++) {
+                int substitution = previous[j - 1] + (alphaChar == beta.charAt(j - 1) ? 0 : 1);
+                int deletion = previous[j] + 1;
+                int insertion = current[j - 1] + 1;
+                int cell = Math.min(outside, Math.min(substitution, Math.min(deletion, insertion)));
+                current[j] = cell;
+                if (cell < rowMinimum) rowMinimum = cell;
             }
+            if (end < lengthBeta) current[end + 1] = outside;
+
+            if (rowMinimum > bound) return exceeded;
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
         }
 
-        return cost[lengthBeta];
+        return previous[lengthBeta] > bound ? exceeded : previous[lengthBeta];
     }
 }
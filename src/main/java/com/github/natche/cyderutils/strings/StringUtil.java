@@ -409,7 +409,8 @@ public final class StringUtil {
     }
 
     /**
-     * Filters out simple leet speech from the provided string.
+     * Filters out simple leet speech from the provided string, collapsing runs of whitespace into a single space.
+     * Chars are replaced as by {@link WordMatcher.Normalization#LEET}.
      *
      * @param string the string to filter leet out of
      * @return the resultant string after filtering
@@ -417,78 +418,28 @@ public final class StringUtil {
     public static String filterLeet(String string) {
         Preconditions.checkNotNull(string);
 
-        if (string.isEmpty()) return string;
-        String[] words = string.split(CyderRegexPatterns.whiteSpaceRegex);
-        if (words.length == 0) return string;
-
-        StringBuilder sb = new StringBuilder();
-        Arrays.stream(words).forEach(word ->
-                sb.append(replaceLeetChars(word)).append(" "));
-        return sb.toString().trim();
-    }
+        StringBuilder sb = new StringBuilder(string.length());
+        boolean pendingSpace = false;
+        for (int i = 0 ; i < string.length() ; i++) {
+            char c = string.charAt(i);
+            if (WordMatcher.isWhitespace(c)) {
+                pendingSpace = !sb.isEmpty();
+                continue;
+            }
 
-    /**
-     * Inner filtering of leet speech for words specifically, this is the main driver method that does the magic.
-     *
-     * @param word the word to filter leet out of
-     * @return the word having leet removed to the best of our abilities
-     */
-    private static String replaceLeetChars(String word) {
-        char[] chars = word.toCharArray();
-
-        for (int i = 0 ; i < chars.length ; i++) {
-            char c = chars[i];
-
-            /*
-            Ideally this should be redone or use a library.
-            I'd like to implement the rules from this table at some point:
-            https://cleanspeak.com/images/blog/leet-wiki-table.png
-             */
-
-            if (c == '4' || c == '@' || c == '^' || c == 'z' || c == 'Z') {
-                chars[i] = 'a';
-            } else if (c == '8' || c == '6') {
-                chars[i] = 'b';
-            } else if (c == '(' || c == '<' || c == '{') {
-                chars[i] = 'c';
-            } else if (c == '3' || c == '&') {
-                chars[i] = 'e';
-            } else if (c == '}') {
-                chars[i] = 'f';
-            } else if (c == '9') {
-                chars[i] = 'g';
-            } else if (c == '#') {
-                chars[i] = 'h';
-            } else if (c == '1' || c == '!' || c == '|') {
-                chars[i] = 'i';
-            } else if (c == ']') {
-                chars[i] = 'j';
-            } else if (c == '7') {
-                chars[i] = 'l';
-            } else if (c == '~') {
-                chars[i] = 'n';
-            } else if (c == '0') {
-                chars[i] = 'o';
-            } else if (c == '?' || c == 'q' || c == 'Q') {
-                chars[i] = 'p';
-            } else if (c == '2') {
-                chars[i] = 'r';
-            } else if (c == '$' || c == '5') {
-                chars[i] = 's';
-            } else if (c == '+') {
-                chars[i] = 't';
-            } else if (c == '*') {
-                chars[i] = 'x';
-            } else if (c == '%') {
-                chars[i] = 'z';
+            if (pendingSpace) {
+                sb.append(' ');
+                pendingSpace = false;
             }
+            sb.append((char) WordMatcher.Normalization.LEET.normalize(c));
         }
 
-        return String.valueOf(chars);
+        return sb.isEmpty() ? string : sb.toString();
     }
 
     /**
      * Tests whether the provided string has the provided word inside it.
+     * To test for any of many words, a {@link WordMatcher} finds them all in a single pass.
      *
      * @param userInput the master string to search through
      * @param findWord  the word to search the master string for
@@ -499,7 +450,8 @@ public final class StringUtil {
     }
 
     /**
-     * Tests whether the provided string has the provided word inside it.
+     * Tests whether the provided string has the provided word inside it, ignoring case.
+     * The word must be delimited by whitespace or the bounds of the string.
      *
      * @param userInput      the master string to search through
      * @param findWord       the word to search the master string for
@@ -519,15 +471,17 @@ public final class StringUtil {
                     .replace("*", "");
         }
 
-        userInput = userInput.toLowerCase();
-        findWord = findWord.toLowerCase();
-
-        String[] words = userInput.split(CyderRegexPatterns.whiteSpaceRegex);
+        int wordLength = findWord.length();
+        int index = 0;
+        while (index < userInput.length()) {
+            while (index < userInput.length() && WordMatcher.isWhitespace(userInput.charAt(index))) index++;
+            int end = index;
+            while (end < userInput.length() && !WordMatcher.isWhitespace(userInput.charAt(end))) end++;
 
-        for (String word : words) {
-            if (word.equalsIgnoreCase(findWord)) {
+            if (end - index == wordLength && userInput.regionMatches(true, index, findWord, 0, wordLength)) {
                 return true;
             }
+            index = end;
         }
 
         return false;
@@ -0,0 +1,508 @@
+package com.github.natche.cyderutils.strings;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A compiled matcher finding any number of words within text in a single linear pass using the
+ * Aho-Corasick algorithm. Words and text are normalized code point by code point, such as by folding case
+ * and replacing leet speech, as part of the scan so that the text is never copied.
+ * <p>
+ * The automaton is stored as a dense transition table over the distinct code points of the normalized words,
+ * every failure transition resolved at compile time, so each code point of the text costs a single table lookup.
+ * Code points absent from every word return the automaton to its root. Instances are immutable and thread-safe.
+ */
+public final class WordMatcher {
+    /** The number of code points of the ASCII range, indexed directly rather than hashed. */
+    private static final int ASCII_RANGE = 128;
+
+    /** The state of the root of the automaton. */
+    private static final int ROOT = 0;
+
+    /** The value denoting an absent word, state, or symbol. */
+    private static final int ABSENT = -1;
+
+    /** The ASCII chars replaced by {@link Normalization#LEET}, by index within {@link #leetReplacements}. */
+    private static final String leetChars = "4@^zZ86(<{3&}9#1!|]7~0?qQ2$5+*%";
+
+    /** The replacement of each char of {@link #leetChars}. */
+    private static final String leetReplacements = "aaaaabbccceefghiiijlnoppprsstxz";
+
+    /** The replacement of each ASCII code point under {@link Normalization#LEET}, the code point itself if none. */
+    private static final char[] leetTable = new char[ASCII_RANGE];
+
+    static {
+        for (int i = 0 ; i < ASCII_RANGE ; i++) {
+            leetTable[i] = (char) i;
+        }
+        for (int i = 0 ; i < leetChars.length() ; i++) {
+            leetTable[leetChars.charAt(i)] = leetReplacements.charAt(i);
+        }
+    }
+
+    /** The normalizations applied to each code point of the words and text before matching. */
+    public enum Normalization {
+        /** Code points are matched exactly. */
+        NONE,
+
+        /** Code points are converted to lower case. */
+        CASE,
+
+        /** Leet speech is replaced with the letters it represents, such as {@code 3} with {@code e}. */
+        LEET,
+
+        /** Leet speech is replaced and code points are then converted to lower case. */
+        LEET_AND_CASE;
+
+        /**
+         * Returns the provided code point normalized.
+         *
+         * @param codePoint the code point
+         * @return the normalized code point
+         */
+        public int normalize(int codePoint) {
+            return switch (this) {
+                case NONE -> codePoint;
+                case CASE -> Character.toLowerCase(codePoint);
+                case LEET -> codePoint < ASCII_RANGE ? leetTable[codePoint] : codePoint;
+                case LEET_AND_CASE -> Character.toLowerCase(codePoint < ASCII_RANGE
+                        ? leetTable[codePoint] : codePoint);
+            };
+        }
+    }
+
+    /** The boundaries a match must lie between. */
+    public enum Boundary {
+        /** Matches may begin and end anywhere, such as within other words. */
+        ANYWHERE,
+
+        /** Matches must not be preceded or followed by a letter or digit. */
+        WORD,
+
+        /** Matches must be preceded and followed by whitespace or the bounds of the text. */
+        WHITESPACE
+    }
+
+    /**
+     * A word found within text.
+     *
+     * @param word  the word, as provided to the builder
+     * @param start the index of the first char of the match within the text, inclusive
+     * @param end   the index following the last char of the match within the text, exclusive
+     */
+    public record Match(String word, int start, int end) {
+        /**
+         * Constructs a new match.
+         *
+         * @throws NullPointerException     if the provided word is null
+         * @throws IllegalArgumentException if the start is negative or after the end
+         */
+        public Match {
+            Preconditions.checkNotNull(word);
+            Preconditions.checkArgument(start >= 0);
+            Preconditions.checkArgument(start <= end);
+        }
+    }
+
+    /** The words of this matcher, by word id. */
+    private final ImmutableList<String> words;
+
+    /** The number of code points of each word, by word id. */
+    private final int[] wordLengths;
+
+    /** The number of code points of the longest word. */
+    private final int maximumWordLength;
+
+    /** The normalization applied to the words and text. */
+    private final Normalization normalization;
+
+    /** The boundaries matches must lie between. */
+    private final Boundary boundary;
+
+    /** The symbol of each normalized ASCII code point, {@link #ABSENT} if not within any word. */
+    private final int[] asciiSymbols;
+
+    /** The symbol of each normalized non-ASCII code point within any word. */
+    private final ImmutableMap<Integer, Integer> otherSymbols;
+
+    /** The number of distinct symbols. */
+    private final int symbolCount;
+
+    /** The next state of each state and symbol, {@link #symbolCount} entries per state. */
+    private final int[] transitions;
+
+    /** The word ending at each state, {@link #ABSENT} if none. */
+    private final int[] stateWords;
+
+    /** The nearest state reached by a proper suffix of each state at which a word ends, {@link #ABSENT} if none. */
+    private final int[] outputLinks;
+
+    /**
+     * Constructs a new word matcher from the provided builder.
+     *
+     * @param builder the builder
+     */
+    private WordMatcher(Builder builder) {
+        this.normalization = builder.normalization;
+        this.boundary = builder.boundary;
+
+        // Words equal once normalized share an id, reported as the word added first
+        Map<String, String> wordsByNormalized = new LinkedHashMap<>();
+        builder.words.forEach(word -> wordsByNormalized.putIfAbsent(normalize(word), word));
+        this.words = ImmutableList.copyOf(wordsByNormalized.values());
+
+        this.asciiSymbols = new int[ASCII_RANGE];
+        Arrays.fill(asciiSymbols, ABSENT);
+        Map<Integer, Integer> nonAsciiSymbols = new HashMap<>();
+        int nextSymbol = 0;
+
+        // The trie, each state mapping symbols to child states
+        List<Map<Integer, Integer>> children = new ArrayList<>();
+        children.add(new HashMap<>());
+        List<Integer> trieWords = new ArrayList<>();
+        trieWords.add(ABSENT);
+
+        this.wordLengths = new int[words.size()];
+        int wordId = 0;
+        for (String normalized : wordsByNormalized.keySet()) {
+            int state = ROOT;
+            int[] codePoints = normalized.codePoints().toArray();
+            for (int codePoint : codePoints) {
+                int symbol;
+                if (codePoint < ASCII_RANGE) {
+                    if (asciiSymbols[codePoint] == ABSENT) asciiSymbols[codePoint] = nextSymbol++;
+                    symbol = asciiSymbols[codePoint];
+                } else {
+                    Integer existing = nonAsciiSymbols.get(codePoint);
+                    if (existing == null) {
+                        existing = nextSymbol++;
+                        nonAsciiSymbols.put(codePoint, existing);
+                    }
+                    symbol = existing;
+                }
+
+                Integer child = children.get(state).get(symbol);
+                if (child == null) {
+                    child = children.size();
+                    children.add(new HashMap<>());
+                    trieWords.add(ABSENT);
+                    children.get(state).put(symbol, child);
+                }
+                state = child;
+            }
+
+            trieWords.set(state, wordId);
+            wordLengths[wordId++] = codePoints.length;
+        }
+
+        this.otherSymbols = ImmutableMap.copyOf(nonAsciiSymbols);
+        this.symbolCount = nextSymbol;
+        this.maximumWordLength = Arrays.stream(wordLengths).max().orElse(0);
+
+        int stateCount = children.size();
+        this.transitions = new int[stateCount * symbolCount];
+        this.stateWords = trieWords.stream().mapToInt(Integer::intValue).toArray();
+        this.outputLinks = new int[stateCount];
+        int[] failures = new int[stateCount];
+
+        // Breadth first so that the failure of each state is resolved before its children
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        outputLinks[ROOT] = ABSENT;
+        for (int symbol = 0 ; symbol < symbolCount ; symbol++) {
+            Integer child = children.get(ROOT).get(symbol);
+            if (child == null) continue;
+            transitions[symbol] = child;
+            failures[child] = ROOT;
+            outputLinks[child] = ABSENT;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int failure = failures[state];
+            for (int symbol = 0 ; symbol < symbolCount ; symbol++) {
+                Integer child = children.get(state).get(symbol);
+                int failureTransition = transitions[failure * symbolCount + symbol];
+                if (child == null) {
+                    transitions[state * symbolCount + symbol] = failureTransition;
+                    continue;
+                }
+
+                transitions[state * symbolCount + symbol] = child;
+                failures[child] = failureTransition;
+                outputLinks[child] = stateWords[failureTransition] != ABSENT
+                        ? failureTransition : outputLinks[failureTransition];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Returns the words of this matcher, excluding words equal to an earlier word once normalized.
+     *
+     * @return the words of this matcher
+     */
+    public ImmutableList<String> getWords() {
+        return words;
+    }
+
+    /**
+     * Returns the normalization applied to the words and text.
+     *
+     * @return the normalization applied to the words and text
+     */
+    public Normalization getNormalization() {
+        return normalization;
+    }
+
+    /**
+     * Returns the boundaries matches must lie between.
+     *
+     * @return the boundaries matches must lie between
+     */
+    public Boundary getBoundary() {
+        return boundary;
+    }
+
+    /**
+     * Returns every occurrence of the words of this matcher within the provided text, including overlapping
+     * occurrences. Matches are ordered by end index, longer matches first when ending at the same index.
+     *
+     * @param text the text
+     * @return every occurrence of the words within the text
+     * @throws NullPointerException if the provided text is null
+     */
+    public ImmutableList<Match> findAll(CharSequence text) {
+        Preconditions.checkNotNull(text);
+
+        ImmutableList.Builder<Match> ret = ImmutableList.builder();
+        scan(text, match -> {
+            ret.add(match);
+            return true;
+        });
+        return ret.build();
+    }
+
+    /**
+     * Returns the distinct words of this matcher found within the provided text, in order of first occurrence.
+     *
+     * @param text the text
+     * @return the distinct words found within the text
+     * @throws NullPointerException if the provided text is null
+     */
+    public ImmutableSet<String> findWords(CharSequence text) {
+        Preconditions.checkNotNull(text);
+
+        LinkedHashSet<String> ret = new LinkedHashSet<>();
+        scan(text, match -> {
+            ret.add(match.word());
+            return ret.size() < words.size();
+        });
+        return ImmutableSet.copyOf(ret);
+    }
+
+    /**
+     * Returns whether any word of this matcher occurs within the provided text, stopping at the first occurrence.
+     *
+     * @param text the text
+     * @return whether any word occurs within the text
+     * @throws NullPointerException if the provided text is null
+     */
+    public boolean containsAny(CharSequence text) {
+        Preconditions.checkNotNull(text);
+
+        boolean[] found = {false};
+        scan(text, match -> {
+            found[0] = true;
+            return false;
+        });
+        return found[0];
+    }
+
+    /**
+     * Scans the provided text, passing each match within the boundaries of this matcher to the provided consumer.
+     *
+     * @param text     the text
+     * @param consumer the consumer of matches, returning whether to continue scanning
+     */
+    private void scan(CharSequence text, Predicate<Match> consumer) {
+        if (symbolCount == 0) return;
+
+        // The index within the text of the most recent code points, enough to locate the start of any word
+        int[] codePointStarts = new int[maximumWordLength];
+        int codePointCount = 0;
+        int state = ROOT;
+
+        int index = 0;
+        while (index < text.length()) {
+            int codePoint = Character.codePointAt(text, index);
+            codePointStarts[codePointCount++ % maximumWordLength] = index;
+            index += Character.charCount(codePoint);
+
+            int symbol = symbolOf(normalization.normalize(codePoint));
+            state = symbol == ABSENT ? ROOT : transitions[state * symbolCount + symbol];
+
+            int output = stateWords[state] != ABSENT ? state : outputLinks[state];
+            for ( ; output != ABSENT ; output = outputLinks[output]) {
+                int wordId = stateWords[output];
+                int start = codePointStarts[(codePointCount - wordLengths[wordId]) % maximumWordLength];
+                if (!isBounded(text, start, index)) continue;
+                if (!consumer.test(new Match(words.get(wordId), start, index))) return;
+            }
+        }
+    }
+
+    /**
+     * Returns the symbol of the provided normalized code point.
+     *
+     * @param codePoint the normalized code point
+     * @return the symbol of the code point, {@link #ABSENT} if not within any word
+     */
+    private int symbolOf(int codePoint) {
+        if (codePoint < ASCII_RANGE) return asciiSymbols[codePoint];
+        return otherSymbols.getOrDefault(codePoint, ABSENT);
+    }
+
+    /**
+     * Returns whether the provided range of the text lies between the boundaries of this matcher.
+     *
+     * @param text  the text
+     * @param start the start of the range, inclusive
+     * @param end   the end of the range, exclusive
+     * @return whether the range lies between the boundaries of this matcher
+     */
+    private boolean isBounded(CharSequence text, int start, int end) {
+        return switch (boundary) {
+            case ANYWHERE -> true;
+            case WORD -> (start == 0 || !Character.isLetterOrDigit(Character.codePointBefore(text, start)))
+                    && (end == text.length() || !Character.isLetterOrDigit(Character.codePointAt(text, end)));
+            case WHITESPACE -> (start == 0 || isWhitespace(text.charAt(start - 1)))
+                    && (end == text.length() || isWhitespace(text.charAt(end)));
+        };
+    }
+
+    /**
+     * Returns the provided word normalized.
+     *
+     * @param word the word
+     * @return the normalized word
+     */
+    private String normalize(String word) {
+        StringBuilder ret = new StringBuilder(word.length());
+        word.codePoints().forEach(codePoint -> ret.appendCodePoint(normalization.normalize(codePoint)));
+        return ret.toString();
+    }
+
+    /**
+     * Returns whether the provided char is whitespace as matched by {@code \s}, the pattern words are split
+     * on by {@link StringUtil#hasWord(String, String)}.
+     *
+     * @param c the char
+     * @return whether the char is whitespace
+     */
+    static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /** A builder for constructing instances of {@link WordMatcher}. */
+    public static final class Builder {
+        /** The words to match. */
+        private final LinkedHashSet<String> words = new LinkedHashSet<>();
+
+        /** The normalization applied to the words and text. */
+        private Normalization normalization = Normalization.CASE;
+
+        /** The boundaries matches must lie between. */
+        private Boundary boundary = Boundary.WORD;
+
+        /**
+         * Constructs a new builder for a {@link WordMatcher} with the following defaults:
+         * <ul>
+         *     <li>normalization: {@link Normalization#CASE}</li>
+         *     <li>boundary: {@link Boundary#WORD}</li>
+         * </ul>
+         */
+        public Builder() {}
+
+        /**
+         * Adds the provided word to match.
+         *
+         * @param word the word
+         * @return this builder
+         * @throws NullPointerException     if the provided word is null
+         * @throws IllegalArgumentException if the provided word is empty
+         */
+        @CanIgnoreReturnValue
+        public Builder addWord(String word) {
+            Preconditions.checkNotNull(word);
+            Preconditions.checkArgument(!word.isEmpty());
+
+            words.add(word);
+            return this;
+        }
+
+        /**
+         * Adds the provided words to match.
+         *
+         * @param words the words
+         * @return this builder
+         * @throws NullPointerException     if the provided collection or any word is null
+         * @throws IllegalArgumentException if any word is empty
+         */
+        @CanIgnoreReturnValue
+        public Builder addWords(Collection<String> words) {
+            Preconditions.checkNotNull(words);
+
+            words.forEach(this::addWord);
+            return this;
+        }
+
+        /**
+         * Sets the normalization applied to the words and text.
+         *
+         * @param normalization the normalization
+         * @return this builder
+         * @throws NullPointerException if the provided normalization is null
+         */
+        @CanIgnoreReturnValue
+        public Builder setNormalization(Normalization normalization) {
+            this.normalization = Preconditions.checkNotNull(normalization);
+            return this;
+        }
+
+        /**
+         * Sets the boundaries matches must lie between.
+         *
+         * @param boundary the boundary
+         * @return this builder
+         * @throws NullPointerException if the provided boundary is null
+         */
+        @CanIgnoreReturnValue
+        public Builder setBoundary(Boundary boundary) {
+            this.boundary = Preconditions.checkNotNull(boundary);
+            return this;
+        }
+
+        /**
+         * Constructs a new word matcher from this builder.
+         *
+         * @return a new word matcher
+         */
+        public WordMatcher build() {
+            return new WordMatcher(this);
+        }
+    }
+}
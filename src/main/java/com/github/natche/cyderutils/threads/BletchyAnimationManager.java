@@ -1,12 +1,13 @@
 package com.github.natche.cyderutils.threads;
 
+import com.github.natche.cyderutils.animation.AnimationScheduler;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
-import com.github.natche.cyderutils.exceptions.FatalException;
 import com.github.natche.cyderutils.math.NumberUtil;
 import com.github.natche.cyderutils.strings.StringUtil;
 import com.github.natche.cyderutils.ui.pane.CyderOutputPane;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.IntStream;
@@ -155,6 +156,9 @@ public enum BletchyAnimationManager {
 
     /** Inner class used to invoke the bletchy animation. */
     private class Animator {
+        /** The value of {@link #shownStepIndex} when no animation step is shown. */
+        private static final int NO_STEP_SHOWN = -1;
+
         /** Whether the animation is active. */
         private final AtomicBoolean animationActive = new AtomicBoolean();
 
@@ -173,6 +177,21 @@ public enum BletchyAnimationManager {
         /** The Bletchy animation steps. */
         private final ArrayList<String> animationSteps;
 
+        /** The output pane this animation prints to. */
+        private final CyderOutputPane animationOutputPane;
+
+        /** The printer for the output pane this animation prints to. */
+        private final StringUtil animationPrinter;
+
+        /** Whether the output pane lock has been acquired. Only accessed on the event dispatch thread. */
+        private boolean lockAcquired;
+
+        /** The elapsed time at which the output pane lock was acquired. Only accessed on the event dispatch thread. */
+        private long lockAcquiredNanos;
+
+        /** The index of the animation step currently printed. Only accessed on the event dispatch thread. */
+        private int shownStepIndex = NO_STEP_SHOWN;
+
         /**
          * Constructs and a new BletchyAnimator thread.
          *
@@ -192,53 +211,70 @@ public enum BletchyAnimationManager {
             this.millisDelay = millisDelay;
 
             this.animationSteps = getBletchyArray(decodeString, useNumbers, useUnicode);
+            this.animationOutputPane = outputPane;
+            this.animationPrinter = printer;
         }
 
-        /** Starts the bletchy animation this animator is setup to perform. */
+        /**
+         * Starts the bletchy animation this animator is setup to perform on the {@link AnimationScheduler}.
+         * Each step is shown for the animation delay; steps which become overdue due to dropped frames are skipped.
+         */
         private void start() {
             Preconditions.checkArgument(!animationActive.get());
             animationActive.set(true);
 
-            String threadName = "Bletchy printing thread, finalString: \""
-                    + animationSteps.get(animationSteps.size() - 1) + "\"";
-            CyderThreadRunner.submit(() -> {
-                try {
-                    if (!outputPane.acquireLock()) {
-                        throw new FatalException("Failed to acquire output pane lock");
-                    }
-
-                    animationSteps.forEach(print -> {
-                        if (!animationActive.get()) return;
-
-                        try {
-                            printer.println(print);
-
-                            ThreadUtil.sleep(millisDelay);
-
-                            printer.removeLastElement();
-                            printer.removeLastElement();
+            AnimationScheduler.INSTANCE.schedule(this::advance, () -> {
+                if (lockAcquired) animationOutputPane.releaseLock();
+                kill();
+            });
+        }
 
-                            if (printer.documentContainsMoreThanDefaultElements()) {
-                                printer.println("");
-                            }
-                        } catch (Exception e) {
-                            e.printStackTrace();
-                        }
-                    });
+        /**
+         * Advances this animation to the step due at the provided time.
+         *
+         * @param elapsedNanos the nanoseconds elapsed since the animation was started
+         * @return whether the animation should continue to receive frames
+         */
+        private boolean advance(long elapsedNanos) {
+            if (!lockAcquired) {
+                if (!animationActive.get()) return false;
+                if (!animationOutputPane.tryAcquireLock()) return true;
+
+                lockAcquired = true;
+                lockAcquiredNanos = elapsedNanos;
+            }
+
+            long stepIndex = (elapsedNanos - lockAcquiredNanos) / Duration.ofMillis(millisDelay).toNanos();
+            boolean complete = !animationActive.get() || stepIndex >= animationSteps.size();
+            if (!complete && stepIndex == shownStepIndex) return true;
+
+            try {
+                if (shownStepIndex != NO_STEP_SHOWN) {
+                    animationPrinter.removeLastElement();
+                    animationPrinter.removeLastElement();
+
+                    if (animationPrinter.documentContainsMoreThanDefaultElements()) {
+                        animationPrinter.println("");
+                    }
+                }
 
-                    printer.println(animationSteps.get(animationSteps.size() - 1));
-                } catch (Exception e) {
-                    e.printStackTrace();
-                } finally {
-                    outputPane.releaseLock();
-                    kill();
+                if (complete) {
+                    animationPrinter.println(animationSteps.get(animationSteps.size() - 1));
+                    return false;
                 }
-            }, threadName);
+
+                shownStepIndex = (int) stepIndex;
+                animationPrinter.println(animationSteps.get(shownStepIndex));
+                return true;
+            } catch (Exception e) {
+                e.printStackTrace();
+                return false;
+            }
         }
 
-        /** Kills this bletchy thread. */
+        /** Kills this bletchy animation, printing the decoded string on the next frame. */
         public void kill() {
-            animationActive.set(true);
+            animationActive.set(false);
         }
 
         /**
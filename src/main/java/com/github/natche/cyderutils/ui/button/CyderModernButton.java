@@ -8,12 +8,13 @@ import com.github.natche.cyderutils.strings.StringUtil;
 import com.github.natche.cyderutils.threads.CyderThreadRunner;
 import com.github.natche.cyderutils.threads.ThreadUtil;
 import com.github.natche.cyderutils.ui.selection.CyderCheckbox;
+import com.github.natche.cyderutils.ui.shape.NineSliceSprite;
+import com.github.natche.cyderutils.ui.shape.ShapeCache;
 
 import javax.swing.*;
 import javax.swing.border.Border;
 import java.awt.*;
 import java.awt.event.*;
-import java.awt.geom.RoundRectangle2D;
 import java.util.ArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -317,10 +318,15 @@ public class CyderModernButton extends JLabel {
         Color color = getCurrentPaintedBackgroundColor();
 
         if (roundedCorners) {
-            graphics2D.fill(new RoundRectangle2D.Double(0, 0, width, height, CORNER_RADIUS, CORNER_RADIUS));
+            ShapeCache shapeCache = ShapeCache.INSTANCE;
+            NineSliceSprite sprite = shapeCache.getRoundedRectangleSprite(
+                    CORNER_RADIUS, borderLength, borderColor, color);
+            if (sprite.paint(graphics2D, 0, 0, width, height)) return;
+
+            // Too small to stretch the sprite or a shearing transform so fill the cached geometry
+            graphics2D.fill(shapeCache.getRoundedRectangle(width, height, CORNER_RADIUS, 0));
             graphics2D.setPaint(color);
-            graphics2D.fill(new RoundRectangle2D.Double(borderLength, borderLength,
-                    width - 2 * borderLength, height - 2 * borderLength, CORNER_RADIUS, CORNER_RADIUS));
+            graphics2D.fill(shapeCache.getRoundedRectangle(width, height, CORNER_RADIUS, borderLength));
         } else {
             graphics2D.fillRect(0, 0, width, height);
             graphics2D.setPaint(color);
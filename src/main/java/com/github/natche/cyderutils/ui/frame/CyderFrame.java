@@ -14,6 +14,7 @@ import com.github.natche.cyderutils.getter.GetConfirmationBuilder;
 import com.github.natche.cyderutils.getter.GetterUtil;
 import com.github.natche.cyderutils.handlers.internal.InformHandler;
 import com.github.natche.cyderutils.image.CyderImage;
+import com.github.natche.cyderutils.image.ScaledImageCache;
 import com.github.natche.cyderutils.layouts.CyderLayout;
 import com.github.natche.cyderutils.props.Props;
 import com.github.natche.cyderutils.strings.CyderStrings;
@@ -38,6 +39,7 @@ import com.github.natche.cyderutils.ui.pane.CyderOutputPane;
 import com.github.natche.cyderutils.ui.pane.CyderPanel;
 import com.github.natche.cyderutils.ui.pane.CyderScrollPane;
 import com.github.natche.cyderutils.ui.resizing.CyderComponentResizer;
+import com.github.natche.cyderutils.ui.shape.ShapeCache;
 import com.github.natche.cyderutils.utils.JvmUtil;
 import org.jetbrains.annotations.Nullable;
 
@@ -46,7 +48,6 @@ import javax.swing.border.LineBorder;
 import javax.swing.text.BadLocationException;
 import java.awt.*;
 import java.awt.event.*;
-import java.awt.geom.RoundRectangle2D;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -455,6 +456,7 @@ public class CyderFrame extends JFrame {
             this.background = cyderImage.getImageIcon();
         }
         unalteredBackgroundIcon = background;
+        backgroundScaleCache = null;
     }
 
     /**
@@ -1808,6 +1810,12 @@ public class CyderFrame extends JFrame {
     /** The arc length of the arc for rounded window shapes. */
     private static final int ROUNDED_ARC = 20;
 
+    /**
+     * The shape most recently applied via {@link #setShape(Shape)}, a cached shared instance
+     * which allows repeated revalidations to skip updating the native window when unchanged.
+     */
+    private Shape appliedShape;
+
     /** Revalidates and updates the frame's shape, that of being rounded or square. */
     private void revalidateFrameShape() {
         if (!isUndecorated()) return;
@@ -1819,15 +1827,22 @@ public class CyderFrame extends JFrame {
             // todo allow changing universal yet also override per frame
             boolean roundedFramesEnabled = true;
             if (isBorderlessFrame() || (resizerNotPresent && roundedFramesEnabled)) {
-                shape = new RoundRectangle2D.Double(0, 0, getWidth(), getHeight(), ROUNDED_ARC, ROUNDED_ARC);
+                shape = ShapeCache.INSTANCE.getRoundedRectangle(getWidth(), getHeight(), ROUNDED_ARC, 0);
             }
         } catch (Exception e) {
             e.printStackTrace();
         } finally {
-            setShape(shape);
+            if (shape != appliedShape) setShape(shape);
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void setShape(Shape shape) {
+        super.setShape(shape);
+        appliedShape = shape;
+    }
+
     /** The gap to keep between the drag label buttons and the start/end of the title label. */
     private static final int titleLabelComponentGap = 10;
 
@@ -2084,6 +2099,25 @@ public class CyderFrame extends JFrame {
      */
     private ImageIcon unalteredBackgroundIcon;
 
+    /** The recently scaled copies of {@link #unalteredBackgroundIcon}, created when first needed. */
+    private ScaledImageCache backgroundScaleCache;
+
+    /**
+     * Returns the cache of scaled copies of the unaltered background, creating it if necessary.
+     *
+     * @return the cache of scaled copies of the unaltered background
+     */
+    private ScaledImageCache getBackgroundScaleCache() {
+        if (backgroundScaleCache == null) {
+            BufferedImage source = unalteredBackgroundIcon.getImage() instanceof BufferedImage bufferedImage
+                    ? bufferedImage
+                    : CyderImage.fromImageIcon(unalteredBackgroundIcon).getBufferedImage();
+            backgroundScaleCache = new ScaledImageCache(source);
+        }
+
+        return backgroundScaleCache;
+    }
+
     /**
      * Sets whether the frame is resizable via the component resizer.
      * Note, {@link #initializeResizing()} must be called prior to enabling resizing.
@@ -2102,9 +2136,9 @@ public class CyderFrame extends JFrame {
             if (iconLabel == null) return;
             revalidateLayout();
 
-            if (cyderComponentResizer != null && cyderComponentResizer.shouldRefreshBackgroundOnResize()) {
-                Image scaledImage = unalteredBackgroundIcon.getImage().getScaledInstance(
-                        iconLabel.getWidth(), iconLabel.getHeight(), Image.SCALE_DEFAULT);
+            if (cyderComponentResizer != null && cyderComponentResizer.shouldRefreshBackgroundOnResize()
+                    && iconLabel.getWidth() > 0 && iconLabel.getHeight() > 0) {
+                BufferedImage scaledImage = getBackgroundScaleCache().get(iconLabel.getWidth(), iconLabel.getHeight());
                 iconLabel.setIcon(new ImageIcon(scaledImage));
             }
 
@@ -2115,6 +2149,23 @@ public class CyderFrame extends JFrame {
         }
     }
 
+    /**
+     * Sets the background to a previously scaled copy matching the current size of the frame, if one is cached.
+     * This is inexpensive enough to invoke on every event of a drag-resize,
+     * deferring new scales to {@link #refreshBackground()} once the drag settles.
+     *
+     * @return whether a cached copy of the background was used
+     */
+    @CanIgnoreReturnValue
+    public boolean refreshBackgroundFromCache() {
+        if (iconLabel == null || unalteredBackgroundIcon == null) return false;
+
+        Optional<BufferedImage> cachedImage = getBackgroundScaleCache()
+                .getIfPresent(iconLabel.getWidth(), iconLabel.getHeight());
+        cachedImage.ifPresent(image -> iconLabel.setIcon(new ImageIcon(image)));
+        return cachedImage.isPresent();
+    }
+
     /** Revalidates the iconLabel, iconPane, and associated CyderPanel if present. */
     public void revalidateLayout() {
         int w = width - 2 * FRAME_RESIZING_LEN;
@@ -2151,13 +2202,12 @@ public class CyderFrame extends JFrame {
         if (iconLabel == null) return;
 
         unalteredBackgroundIcon = icon;
-        Image scaledImage = unalteredBackgroundIcon.getImage()
-                .getScaledInstance(iconLabel.getWidth(), iconLabel.getHeight(), Image.SCALE_DEFAULT);
-        iconLabel.setIcon(new ImageIcon(scaledImage));
+        backgroundScaleCache = null;
         int x = FRAME_RESIZING_LEN;
         int y = FRAME_RESIZING_LEN;
         int w = width - 2 * FRAME_RESIZING_LEN;
         int h = height - 2 * FRAME_RESIZING_LEN;
+        if (w > 0 && h > 0) iconLabel.setIcon(new ImageIcon(getBackgroundScaleCache().get(w, h)));
         iconLabel.setBounds(x, y, w, h);
         iconPane.setBounds(x, y, w, h);
 
@@ -1,14 +1,16 @@
 package com.github.natche.cyderutils.ui.frame.notification;
 
-import com.google.common.base.Preconditions;
-import com.google.common.util.concurrent.Futures;
+import com.github.natche.cyderutils.animation.FrameAnimation;
 import com.github.natche.cyderutils.color.CyderColor;
-import com.github.natche.cyderutils.threads.ThreadUtil;
 import com.github.natche.cyderutils.ui.drag.CyderDragLabel;
 import com.github.natche.cyderutils.ui.frame.CyderFrame;
+import com.github.natche.cyderutils.ui.shape.ShapeCache;
+import com.github.natche.cyderutils.ui.shape.ShapeKey;
+import com.github.natche.cyderutils.ui.shape.ShapeKind;
 
 import java.awt.*;
 import java.awt.geom.GeneralPath;
+import java.util.concurrent.TimeUnit;
 
 public final class CyderBorderNotification extends CyderToastNotification {
     /** The offset from the top and bottom of the frame for border notifications. */
@@ -53,16 +55,28 @@ public final class CyderBorderNotification extends CyderToastNotification {
         notificationCyderColor.withOpacity(opacity.get());
         g2d.setColor(notificationCyderColor);
 
+        ShapeKey key = new ShapeKey(ShapeKind.NOTIFICATION_ARROW_BORDER,
+                container.getWidth(), container.getHeight(), 0, 0, arrowDirection);
+        g2d.fill(ShapeCache.INSTANCE.getShape(key, CyderBorderNotification::createArrowBorderPath));
+    }
+
+    /**
+     * Creates the arrow border path described by the provided key.
+     *
+     * @param key the key of kind {@link ShapeKind#NOTIFICATION_ARROW_BORDER}
+     * @return the arrow border path
+     */
+    private static GeneralPath createArrowBorderPath(ShapeKey key) {
         // Artificially inflate length to draw arrow
-        int componentWidth = container.getWidth() + 2 * borderLength;
-        int componentHeight = container.getHeight() + 2 * borderLength;
+        int componentWidth = key.width() + 2 * borderLength;
+        int componentHeight = key.height() + 2 * borderLength;
 
         int halfCompWidth = componentWidth / 2;
         int halfCompHeight = componentHeight / 2;
 
         GeneralPath outlinePath = new GeneralPath();
 
-        switch (arrowDirection) {
+        switch (key.direction()) {
             case TOP -> {
                 outlinePath.moveTo(2 * 2 + halfCompWidth - arrowLength, arrowLength);
                 outlinePath.lineTo(2 * 2 + halfCompWidth, 0);
@@ -90,7 +104,7 @@ public final class CyderBorderNotification extends CyderToastNotification {
         }
 
         outlinePath.closePath();
-        g2d.fill(outlinePath);
+        return outlinePath;
     }
 
     /**
@@ -103,15 +117,27 @@ public final class CyderBorderNotification extends CyderToastNotification {
         cyderColorNotificationBackground.withOpacity(opacity.get());
         g2d.setColor(cyderColorNotificationBackground);
 
+        ShapeKey key = new ShapeKey(ShapeKind.NOTIFICATION_ARROW_FILL,
+                container.getWidth(), container.getHeight(), 0, 0, arrowDirection);
+        g2d.fill(ShapeCache.INSTANCE.getShape(key, CyderBorderNotification::createArrowFillPath));
+    }
+
+    /**
+     * Creates the arrow fill path described by the provided key.
+     *
+     * @param key the key of kind {@link ShapeKind#NOTIFICATION_ARROW_FILL}
+     * @return the arrow fill path
+     */
+    private static GeneralPath createArrowFillPath(ShapeKey key) {
         GeneralPath fillPath = new GeneralPath();
 
-        int componentWidth = container.getWidth();
-        int componentHeight = container.getHeight();
+        int componentWidth = key.width();
+        int componentHeight = key.height();
 
-        int halfCompWidth = container.getWidth() / 2;
-        int halfCompHeight = container.getHeight() / 2;
+        int halfCompWidth = componentWidth / 2;
+        int halfCompHeight = componentHeight / 2;
 
-        switch (arrowDirection) {
+        switch (key.direction()) {
             case TOP -> {
                 fillPath.moveTo(2 * 2 + borderLength + halfCompWidth - arrowLength, arrowLength + borderLength);
                 fillPath.lineTo(2 * 2 + borderLength + halfCompWidth, borderLength);
@@ -147,122 +173,59 @@ public final class CyderBorderNotification extends CyderToastNotification {
         }
 
         fillPath.closePath();
-        g2d.fill(fillPath);
+        return fillPath;
     }
 
     /** {@inheritDoc} */
     @Override
-    public synchronized void appear() {
-        if (appearInvoked.get()) return;
-        if (animating.get()) return;
-        appearInvoked.set(true);
-        animating.set(true);
-
-        Futures.submit(() -> {
-            setToStartAndEndingPosition();
-            setVisible(true);
-
-            switch (notificationDirection) {
-                case TOP_LEFT, LEFT, BOTTOM_LEFT -> {
-                    for (int i = getX() ; i < CyderFrame.BORDER_LEN ; i += animationIncrement) {
-                        if (shouldStopAnimation()) break;
-                        setLocation(i, getY());
-                        ThreadUtil.sleep(animationTimeout);
-                    }
-                }
-                case TOP -> {
-                    for (int i = getY() ; i < CyderDragLabel.DEFAULT_HEIGHT ; i += animationIncrement) {
-                        if (shouldStopAnimation()) break;
-                        setBounds(getX(), i, getWidth(), getHeight());
-                        ThreadUtil.sleep(animationTimeout);
-                    }
-                }
-                case BOTTOM -> {
-                    for (int i = getY() ; i > getParent().getHeight() - CyderFrame.BORDER_LEN - getHeight()
-                            ; i -= animationIncrement) {
-                        if (shouldStopAnimation()) break;
-                        setBounds(getX(), i, getWidth(), getHeight());
-                        ThreadUtil.sleep(animationTimeout);
-                    }
-                }
-                case TOP_RIGHT, RIGHT, BOTTOM_RIGHT -> {
-                    for (int i = getX() ; i > getParent().getWidth() - getWidth() - CyderFrame.BORDER_LEN
-                            ; i -= animationIncrement) {
-                        if (shouldStopAnimation()) break;
-                        setLocation(i, getY());
-                        ThreadUtil.sleep(animationTimeout);
-                    }
-                }
-            }
-
-            animating.set(false);
-            setToMidAnimationPosition();
-            repaint();
-
-            // todo persistent notifications check return
-            if (shouldRemainVisibleUntilDismissed(visibleDuration.toMillis())) return;
-            ThreadUtil.sleep(visibleDuration.toMillis());
-            // todo persistent notifications check return
-            disappear();
-        }, appearAnimationService);
+    protected FrameAnimation createAppearAnimation() {
+        return createSlideAnimation(true);
     }
 
     /** {@inheritDoc} */
     @Override
-    public synchronized void disappear() {
-        Preconditions.checkState(appearInvoked.get());
-        Preconditions.checkState(!animating.get());
-        if (disappearInvoked.get()) return;
-        disappearInvoked.set(true);
-        animating.set(true);
-
-        Futures.submit(() -> {
-            setToMidAnimationPosition();
-
-            switch (notificationDirection) {
-                case TOP_LEFT, LEFT, BOTTOM_LEFT -> {
-                    for (int i = getX() ; i > CyderFrame.BORDER_LEN - getWidth() ; i -= animationIncrement) {
-                        if (shouldStopAnimation()) break;
-                        setBounds(i, getY(), getWidth(), getHeight());
-                        ThreadUtil.sleep(animationTimeout);
-                    }
-                }
-                case TOP -> {
-                    for (int i = getY() ; i > CyderDragLabel.DEFAULT_HEIGHT - getHeight() ; i -= animationIncrement) {
-                        if (shouldStopAnimation()) break;
-                        setBounds(getX(), i, getWidth(), getHeight());
-                        ThreadUtil.sleep(animationTimeout);
-                    }
-                }
-                case BOTTOM -> {
-                    for (int i = getY() ; i < getParent().getHeight() - CyderFrame.BORDER_LEN + getHeight()
-                            ; i += animationIncrement) {
-                        if (shouldStopAnimation()) break;
-                        setBounds(getX(), i, getWidth(), getHeight());
-                        ThreadUtil.sleep(animationTimeout);
-                    }
-                }
-                case TOP_RIGHT, RIGHT, BOTTOM_RIGHT -> {
-                    for (int i = getX() ; i < getParent().getWidth() + getWidth() - CyderFrame.BORDER_LEN
-                            ; i += animationIncrement) {
-                        if (shouldStopAnimation()) break;
-                        setBounds(i, getY(), getWidth(), getHeight());
-                        ThreadUtil.sleep(animationTimeout);
-                    }
-                }
-            }
+    protected FrameAnimation createDisappearAnimation() {
+        return createSlideAnimation(false);
+    }
 
-            setToStartAndEndingPosition();
+    /**
+     * Creates an animation which slides this notification between its start/end position
+     * and its mid animation position at a constant speed.
+     *
+     * @param appearing whether this notification should slide into view as opposed to out of view
+     * @return the animation
+     */
+    private FrameAnimation createSlideAnimation(boolean appearing) {
+        Point[] fromTo = new Point[2];
+
+        return elapsedNanos -> {
+            if (shouldStopAnimation()) return false;
+
+            if (elapsedNanos == 0) {
+                setToMidAnimationPosition();
+                Point midPoint = getLocation();
+                setToStartAndEndingPosition();
+                Point startPoint = getLocation();
+
+                fromTo[0] = appearing ? startPoint : midPoint;
+                fromTo[1] = appearing ? midPoint : startPoint;
+                setLocation(fromTo[0]);
+                setVisible(true);
+            }
 
-            setVisible(false);
-            Container parent = getParent();
-            if (parent != null) {
-                parent.remove(this);
-                parent.repaint();
+            Point from = fromTo[0];
+            Point to = fromTo[1];
+            int distance = Math.max(Math.abs(to.x - from.x), Math.abs(to.y - from.y));
+            long traveled = TimeUnit.NANOSECONDS.toMillis(elapsedNanos) * animationIncrement / animationTimeout;
+            if (traveled >= distance) {
+                setLocation(to);
+                return false;
             }
 
-            kill();
-        }, disappearAnimationService);
+            double progress = traveled / (double) distance;
+            setLocation((int) (from.x + (to.x - from.x) * progress), (int) (from.y + (to.y - from.y) * progress));
+            return true;
+        };
     }
 
     /** {@inheritDoc} */
@@ -144,7 +144,7 @@ public final class CyderInformNotification extends CyderNotification {
     @Override
     public void kill() {
         relativeFrame.removeComponentListener(repositionNotificationFrameListener);
-        killed.set(true);
+        if (!killed.getAndSet(true)) runOnKilledActions();
     }
 
     /** {@inheritDoc} */
@@ -172,6 +172,13 @@ public final class CyderInformNotification extends CyderNotification {
         return Optional.empty();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    Optional<String> getBuilderHtmlText() {
+        if (StringUtil.isNullOrEmpty(htmlText)) return Optional.empty();
+        return Optional.of(htmlText);
+    }
+
     /** {@inheritDoc} */
     @Override
     public void setToStartAndEndingPosition() {
@@ -1,9 +1,12 @@
 package com.github.natche.cyderutils.ui.frame.notification;
 
 import com.github.natche.cyderutils.ui.frame.CyderFrame;
+import com.google.common.base.Preconditions;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /** A notification for a {@link CyderFrame}. */
 public abstract class CyderNotification extends JLabel implements ICyderNotification {
@@ -16,6 +19,9 @@ public abstract class CyderNotification extends JLabel implements ICyderNotifica
     /** The magic number used to denote a notification should be shown until dismissed. */
     private static final int showUntilDismissed = -1;
 
+    /** The actions to invoke once this notification is killed. */
+    private final CopyOnWriteArrayList<Runnable> onKilledActions = new CopyOnWriteArrayList<>();
+
     /**
      * Returns whether the provided duration is indicative that a notification
      * should remain visible until dismissed by a user.
@@ -27,4 +33,39 @@ public abstract class CyderNotification extends JLabel implements ICyderNotifica
     boolean shouldRemainVisibleUntilDismissed(long duration) {
         return duration == showUntilDismissed;
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public void addOnKilledAction(Runnable action) {
+        Preconditions.checkNotNull(action);
+
+        onKilledActions.add(action);
+
+        // The notification may have been killed, and the actions already run, before the action was added
+        if (isKilled() && onKilledActions.remove(action)) action.run();
+    }
+
+    /**
+     * Returns the html text of the builder this notification was constructed from. Unlike
+     * {@link #getLabelText()}, this is never wrapped or styled for display.
+     *
+     * @return the html text of the builder if present, empty if a custom container is displayed
+     */
+    abstract Optional<String> getBuilderHtmlText();
+
+    /**
+     * Invokes and removes the actions added via {@link #addOnKilledAction(Runnable)}.
+     * Implementations must invoke this once they have been killed.
+     */
+    protected void runOnKilledActions() {
+        for (Runnable action : onKilledActions) {
+            if (!onKilledActions.remove(action)) continue;
+
+            try {
+                action.run();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
 }
@@ -1,12 +1,15 @@
 package com.github.natche.cyderutils.ui.frame.notification;
 
 import com.google.common.base.Preconditions;
-import com.google.common.util.concurrent.Futures;
+import com.github.natche.cyderutils.animation.AnimationScheduler;
+import com.github.natche.cyderutils.animation.FrameAnimation;
+import com.github.natche.cyderutils.animation.ScheduledAnimation;
 import com.github.natche.cyderutils.color.CyderColor;
 import com.github.natche.cyderutils.animation.Direction;
 import com.github.natche.cyderutils.strings.StringUtil;
-import com.github.natche.cyderutils.threads.CyderThreadFactory;
-import com.github.natche.cyderutils.threads.ThreadUtil;
+import com.github.natche.cyderutils.ui.shape.ShapeCache;
+import com.github.natche.cyderutils.ui.shape.ShapeKey;
+import com.github.natche.cyderutils.ui.shape.ShapeKind;
 
 import javax.swing.*;
 import java.awt.*;
@@ -14,8 +17,7 @@ import java.awt.geom.GeneralPath;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -67,13 +69,11 @@ public class CyderToastNotification extends CyderNotification {
     /** Whether the mouse is currently hovered over this notification. */
     private final AtomicBoolean isHovered = new AtomicBoolean();
 
-    /** The executor service for performing the disappear animation. */
-    protected final ExecutorService appearAnimationService =
-            Executors.newSingleThreadExecutor(new CyderThreadFactory("Notification Appear Animation"));
+    /** The appear or disappear animation currently scheduled, null if neither has been started. */
+    private ScheduledAnimation currentAnimation;
 
-    /** The executor service for performing the disappear animation. */
-    protected final ExecutorService disappearAnimationService =
-            Executors.newSingleThreadExecutor(new CyderThreadFactory("Notification Disappear Animation"));
+    /** The timer which invokes {@link #disappear()} once the visible duration elapses after appearing. */
+    private Timer visibleDurationTimer;
 
     /** The duration this notification should be visible for. */
     protected final Duration visibleDuration;
@@ -166,62 +166,18 @@ public class CyderToastNotification extends CyderNotification {
     private void paintOutline(Graphics2D g2d) {
         Preconditions.checkNotNull(g2d);
 
-        int componentWidth = container.getWidth();
-        int componentHeight = container.getHeight();
         Color borderColor = notificationBorderColor;
         if (isHovered.get()) borderColor = borderColor.darker();
         CyderColor cyderBorderColor = new CyderColor(borderColor);
         cyderBorderColor.withOpacity(opacity.get());
         g2d.setPaint(cyderBorderColor);
 
-        GeneralPath outlinePath = new GeneralPath();
-
         // Artificially inflate to account for border
-        componentHeight += (borderLength * 2);
-        componentWidth += (borderLength * 2);
-
-        // Starting point is shifted if arrow needs to be painted on a starting side
-        int x = 0;
-        int y = 0;
-        if (arrowDirection == Direction.LEFT) {
-            x = arrowLength;
-        } else if (arrowDirection == Direction.TOP) {
-            y = arrowLength;
-        }
-
-        // Y starts two curves down since we curve up first before going right
-        y += 2 * curveLength;
-
-        outlinePath.moveTo(x, y);
-        outlinePath.curveTo(x, y,
-                x + curveLength, y - curveLength,
-                x + 2 * curveLength, y - 2 * curveLength);
-        x += (2 * curveLength);
-        y -= (2 * curveLength);
-        outlinePath.lineTo(x + componentWidth, y);
-        x += componentWidth;
-        outlinePath.curveTo(x, y,
-                x + curveLength, y + curveLength,
-                x + 2 * curveLength, y + 2 * curveLength);
-        x += (2 * curveLength);
-        y += (2 * curveLength);
-        outlinePath.lineTo(x, y + componentHeight);
-        y += componentHeight;
-        outlinePath.curveTo(x, y,
-                x - curveLength, y + curveLength,
-                x - 2 * curveLength, y + 2 * curveLength);
-        x -= (2 * curveLength);
-        y += (2 * curveLength);
-        outlinePath.lineTo(x - componentWidth, y);
-        x -= componentWidth;
-        outlinePath.curveTo(x, y, x - curveLength, y - curveLength, x - 2 * curveLength, y - 2 * curveLength);
-        x -= (2 * curveLength);
-        y -= (2 * curveLength);
-        outlinePath.lineTo(x, y - componentHeight);
-        //noinspection UnusedAssignment
-        y -= componentHeight;
-        outlinePath.closePath();
-        g2d.fill(outlinePath);
+        int componentWidth = container.getWidth() + borderLength * 2;
+        int componentHeight = container.getHeight() + borderLength * 2;
+        ShapeKey key = new ShapeKey(ShapeKind.NOTIFICATION_BODY,
+                componentWidth, componentHeight, curveLength, 0, arrowDirection);
+        g2d.fill(ShapeCache.INSTANCE.getShape(key, CyderToastNotification::createBodyPath));
     }
 
     /**
@@ -232,64 +188,74 @@ public class CyderToastNotification extends CyderNotification {
     private void paintFill(Graphics2D g2d) {
         Preconditions.checkNotNull(g2d);
 
-        int componentWidth = container.getWidth();
-        int componentHeight = container.getHeight();
         Color fillColor = notificationBackgroundColor;
         if (isHovered.get()) fillColor = fillColor.darker();
         CyderColor cyderFillColor = new CyderColor(fillColor);
         cyderFillColor.withOpacity(opacity.get());
         g2d.setPaint(cyderFillColor);
 
-        GeneralPath fillPath = new GeneralPath();
+        // Offset due to border
+        ShapeKey key = new ShapeKey(ShapeKind.NOTIFICATION_BODY,
+                container.getWidth(), container.getHeight(), curveLength, borderLength, arrowDirection);
+        g2d.fill(ShapeCache.INSTANCE.getShape(key, CyderToastNotification::createBodyPath));
+    }
+
+    /**
+     * Creates the curved body path of a notification described by the provided key.
+     * The body is shifted away from the origin by the arrow length if the arrow is on its left or top side.
+     *
+     * @param key the key of kind {@link ShapeKind#NOTIFICATION_BODY}
+     * @return the body path
+     */
+    private static GeneralPath createBodyPath(ShapeKey key) {
+        int componentWidth = key.width();
+        int componentHeight = key.height();
+        int curveLength = key.arc();
+
+        GeneralPath path = new GeneralPath();
 
         // Starting point is shifted if arrow needs to be painted on a starting side
-        int x = 0;
-        int y = 0;
-        if (arrowDirection == Direction.LEFT) {
-            x = arrowLength;
-        } else if (arrowDirection == Direction.TOP) {
-            y = arrowLength;
+        int x = key.inset();
+        int y = key.inset();
+        if (key.direction() == Direction.LEFT) {
+            x += arrowLength;
+        } else if (key.direction() == Direction.TOP) {
+            y += arrowLength;
         }
 
         // Y starts two curves down since we curve up first before going right
         y += 2 * curveLength;
 
-        // Offset due to border
-        x += borderLength;
-        y += borderLength;
-
-        fillPath.moveTo(x, y);
-        fillPath.curveTo(x, y,
+        path.moveTo(x, y);
+        path.curveTo(x, y,
                 x + curveLength, y - curveLength,
                 x + 2 * curveLength, y - 2 * curveLength);
         x += 2 * curveLength;
         y -= 2 * curveLength;
-        fillPath.lineTo(x + componentWidth, y);
+        path.lineTo(x + componentWidth, y);
         x += componentWidth;
-        fillPath.curveTo(x, y,
+        path.curveTo(x, y,
                 x + curveLength, y + curveLength,
                 x + 2 * curveLength, y + 2 * curveLength);
         x += 2 * curveLength;
         y += 2 * curveLength;
-        fillPath.lineTo(x, y + componentHeight);
+        path.lineTo(x, y + componentHeight);
         y += componentHeight;
-        fillPath.curveTo(x, y,
+        path.curveTo(x, y,
                 x - curveLength, y + curveLength,
                 x - 2 * curveLength, y + 2 * curveLength);
         x -= 2 * curveLength;
         y += 2 * curveLength;
-        fillPath.lineTo(x - componentWidth, y);
+        path.lineTo(x - componentWidth, y);
         x -= componentWidth;
-        fillPath.curveTo(x, y,
+        path.curveTo(x, y,
                 x - curveLength, y - curveLength,
                 x - 2 * curveLength, y - 2 * curveLength);
         x -= 2 * curveLength;
         y -= 2 * curveLength;
-        fillPath.lineTo(x, y - componentHeight);
-        //noinspection UnusedAssignment
-        y -= componentHeight;
-        fillPath.closePath();
-        g2d.fill(fillPath);
+        path.lineTo(x, y - componentHeight);
+        path.closePath();
+        return path;
     }
 
     /** {@inheritDoc} */
@@ -300,38 +266,78 @@ public class CyderToastNotification extends CyderNotification {
         appearInvoked.set(true);
         animating.set(true);
 
-        Futures.submit(() -> {
-            setToStartAndEndingPosition();
-            opacity.set(0);
-            container.setVisible(false);
-            setVisible(true);
-
-            for (int i = 0 ; i < 255 ; i += opacityStep) {
-                if (shouldStopAnimation()) break;
-                opacity.set(i);
-                if (i > 255 / 2) {
-                    container.setVisible(true);
-                    container.repaint();
-                }
-                setToStartAndEndingPosition();
-                repaint();
-                ThreadUtil.sleep(animationDelay);
+        currentAnimation = AnimationScheduler.INSTANCE.schedule(createAppearAnimation(), this::onAppearFinished);
+    }
+
+    /**
+     * Creates the animation which brings this notification into view.
+     * The animation is advanced on the event dispatch thread by the {@link AnimationScheduler}.
+     *
+     * @return the animation which brings this notification into view
+     */
+    protected FrameAnimation createAppearAnimation() {
+        return elapsedNanos -> {
+            if (shouldStopAnimation()) return false;
+
+            if (elapsedNanos == 0) {
+                container.setVisible(false);
+                setVisible(true);
             }
 
-            animating.set(false);
-            opacity.set(255);
+            int newOpacity = (int) Math.min(255, opacityAfter(elapsedNanos));
+            opacity.set(newOpacity);
+            if (newOpacity > 255 / 2) container.setVisible(true);
+            setToStartAndEndingPosition();
             repaint();
+            return newOpacity < 255;
+        };
+    }
 
-            /*
-            Note to maintainers: yes, there are two checks here for the user preference of persisting notifications.
-            This is to address the case where the user toggles it while a notification is present.
-             */
-            // todo persistent notifications check here
-            if (shouldRemainVisibleUntilDismissed(visibleDuration.toMillis())) return;
-            ThreadUtil.sleep(visibleDuration.toMillis());
-            // todo persistent notifications check here
-            disappear();
-        }, appearAnimationService);
+    /**
+     * Creates the animation which removes this notification from view.
+     * The animation is advanced on the event dispatch thread by the {@link AnimationScheduler}.
+     *
+     * @return the animation which removes this notification from view
+     */
+    protected FrameAnimation createDisappearAnimation() {
+        return elapsedNanos -> {
+            if (shouldStopAnimation()) return false;
+
+            int newOpacity = (int) Math.max(0, 255 - opacityAfter(elapsedNanos));
+            opacity.set(newOpacity);
+            if (newOpacity < 255 * hideContainerOnOpacityFallsBelowRatio) container.setVisible(false);
+            setToStartAndEndingPosition();
+            repaint();
+            return newOpacity > 0;
+        };
+    }
+
+    /**
+     * Returns the change in opacity after the provided amount of time of a fade animation.
+     *
+     * @param elapsedNanos the nanoseconds elapsed since the fade animation started
+     * @return the change in opacity
+     */
+    private static long opacityAfter(long elapsedNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos) * opacityStep / animationDelay;
+    }
+
+    /** Invoked on the event dispatch thread once the appear animation completes or is stopped. */
+    private synchronized void onAppearFinished() {
+        animating.set(false);
+        if (isKilled()) return;
+
+        opacity.set(255);
+        container.setVisible(true);
+        setToMidAnimationPosition();
+        repaint();
+
+        // todo persistent notifications check here
+        if (shouldRemainVisibleUntilDismissed(visibleDuration.toMillis())) return;
+
+        visibleDurationTimer = new Timer((int) visibleDuration.toMillis(), e -> disappear());
+        visibleDurationTimer.setRepeats(false);
+        visibleDurationTimer.start();
     }
 
     /** {@inheritDoc} */
@@ -343,41 +349,40 @@ public class CyderToastNotification extends CyderNotification {
         disappearInvoked.set(true);
         animating.set(true);
 
-        Futures.submit(() -> {
-            setToStartAndEndingPosition();
-            opacity.set(255);
-
-            for (int i = 255 ; i >= 0 ; i -= opacityStep) {
-                if (shouldStopAnimation()) break;
-                opacity.set(i);
-                if (i < 255 * hideContainerOnOpacityFallsBelowRatio) {
-                    container.setVisible(false);
-                    container.repaint();
-                }
-                setToStartAndEndingPosition();
-                repaint();
-                ThreadUtil.sleep(animationDelay);
-            }
-
-            opacity.set(0);
-            repaint();
-
-            setVisible(false);
-            Container parent = getParent();
-            if (parent != null) {
-                parent.remove(this);
-                parent.repaint();
-            }
-
-            kill();
-        }, disappearAnimationService);
+        if (visibleDurationTimer != null) visibleDurationTimer.stop();
+        currentAnimation = AnimationScheduler.INSTANCE.schedule(createDisappearAnimation(), this::kill);
     }
 
     /** {@inheritDoc} */
     @Override
     public void kill() {
-        killed.set(true);
+        if (killed.getAndSet(true)) return;
         animating.set(false);
+
+        synchronized (this) {
+            if (visibleDurationTimer != null) visibleDurationTimer.stop();
+            if (currentAnimation != null) currentAnimation.cancel();
+        }
+
+        if (SwingUtilities.isEventDispatchThread()) {
+            removeFromParent();
+        } else {
+            SwingUtilities.invokeLater(this::removeFromParent);
+        }
+
+        runOnKilledActions();
+    }
+
+    /** Hides this notification and removes it from its parent. */
+    private void removeFromParent() {
+        opacity.set(0);
+        setVisible(false);
+
+        Container parent = getParent();
+        if (parent != null) {
+            parent.remove(this);
+            parent.repaint();
+        }
     }
 
     /** {@inheritDoc} */
@@ -396,6 +401,12 @@ public class CyderToastNotification extends CyderNotification {
     /** {@inheritDoc} */
     @Override
     public Optional<String> getLabelText() {
+        return getBuilderHtmlText();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    Optional<String> getBuilderHtmlText() {
         if (StringUtil.isNullOrEmpty(htmlText)) return Optional.empty();
         return Optional.of(htmlText);
     }
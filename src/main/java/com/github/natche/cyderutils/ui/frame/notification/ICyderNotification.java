@@ -21,6 +21,14 @@ public interface ICyderNotification {
      */
     boolean isKilled();
 
+    /**
+     * Adds an action to invoke exactly once when this notification is killed.
+     * If this notification has already been killed, the action is invoked immediately.
+     *
+     * @param action the action to invoke when this notification is killed
+     */
+    void addOnKilledAction(Runnable action);
+
     /**
      * Sets whether this notification should be painted as hovered.
      *
@@ -3,12 +3,11 @@ package com.github.natche.cyderutils.ui.frame.notification;
 import com.github.natche.cyderutils.bounds.BoundsString;
 import com.github.natche.cyderutils.color.CyderColors;
 import com.github.natche.cyderutils.strings.StringUtil;
-import com.github.natche.cyderutils.threads.CyderThreadFactory;
-import com.github.natche.cyderutils.threads.ThreadUtil;
 import com.github.natche.cyderutils.ui.frame.CyderFrame;
+import com.github.natche.cyderutils.ui.label.CachedTextLabel;
+import com.github.natche.cyderutils.ui.label.RenderedTextCache;
 import com.github.natche.cyderutils.utils.HtmlUtil;
 import com.google.common.base.Preconditions;
-import com.google.common.util.concurrent.Futures;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 
 import javax.swing.*;
@@ -16,13 +15,15 @@ import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-/** A controller for the notification queue system of a particular {@link CyderFrame}. */
+/**
+ * A controller for the notification queue system of a particular {@link CyderFrame}.
+ * The queue is event driven: the next notification is shown once the current one reports it has been killed
+ * and {@link #timeBetweenNotifications} has elapsed, so no thread is occupied while notifications are visible.
+ * A notification whose text matches one already showing or queued is coalesced into it.
+ */
 public final class NotificationController {
     /** The foreground color used for notifications. */
     private static final Color notificationForegroundColor = CyderColors.regularPurple;
@@ -51,20 +52,17 @@ public final class NotificationController {
     /** The frame this queue is controlling. */
     private final CyderFrame controlFrame;
 
-    /** The executor service for running the notification queue when necessary for the control frame. */
-    private final ExecutorService queueExecutor;
+    /** The timer which shows the next notification once {@link #timeBetweenNotifications} has elapsed. */
+    private final Timer timeBetweenNotificationsTimer;
 
-    /** Whether the notification queue is currently running. */
+    /** Whether a notification is showing or the gap following a notification has not yet elapsed. */
     private final AtomicBoolean queueRunning;
 
     /** Whether this controller has been killed. */
     private final AtomicBoolean killed;
 
-    /** The notification queue to pull from. */
-    private final ArrayList<CyderNotification> notificationQueue = new ArrayList<>();
-
-    /** The notification currently being shown/animated. */
-    private CyderNotification currentNotification;
+    /** The notification queue to pull from, holding the notification currently being shown/animated. */
+    private final NotificationQueue notificationQueue = new NotificationQueue();
 
     /**
      * Constructs a new notification controller.
@@ -75,19 +73,12 @@ public final class NotificationController {
         Preconditions.checkNotNull(controlFrame);
 
         this.controlFrame = controlFrame;
-        queueExecutor = Executors.newSingleThreadExecutor(generateCyderThreadFactory());
         queueRunning = new AtomicBoolean();
         killed = new AtomicBoolean();
-    }
 
-    /**
-     * Generates the thread factory for the notification queue executor service.
-     *
-     * @return the thread factory for the notification queue executor service
-     */
-    private CyderThreadFactory generateCyderThreadFactory() {
-        String threadName = "Notification Controller Queue, frame: " + "\"" + controlFrame.getTitle() + "\"";
-        return new CyderThreadFactory(threadName);
+        timeBetweenNotificationsTimer = new Timer((int) timeBetweenNotifications.toMillis(),
+                e -> onTimeBetweenNotificationsElapsed());
+        timeBetweenNotificationsTimer.setRepeats(false);
     }
 
     /**
@@ -118,6 +109,7 @@ public final class NotificationController {
      */
     public synchronized void toast(NotificationBuilder builder) {
         Preconditions.checkNotNull(builder);
+        if (notificationQueue.isDuplicate(builder)) return;
 
         JLabel mouseEventLabel = generateContainerIfNeededAndGenerateMouseEventLabel(builder);
         if (setContainerBoundsExceedsCurrentLimit(builder)) {
@@ -151,6 +143,7 @@ public final class NotificationController {
      */
     public synchronized void borderNotify(NotificationBuilder builder) {
         Preconditions.checkNotNull(builder);
+        if (notificationQueue.isDuplicate(builder)) return;
 
         JLabel mouseEventLabel = generateContainerIfNeededAndGenerateMouseEventLabel(builder);
         if (setContainerBoundsExceedsCurrentLimit(builder)) {
@@ -193,10 +186,11 @@ public final class NotificationController {
                 builder.setViewDuration(msPerWord * HtmlUtil.cleanAndCountWords(notificationText));
             }
 
-            JLabel textContainerLabel = new JLabel(notificationText);
+            JLabel textContainerLabel = new CachedTextLabel(notificationText);
             textContainerLabel.setSize(notificationWidth, notificationHeight);
             textContainerLabel.setFont(notificationFont);
             textContainerLabel.setForeground(notificationForegroundColor);
+            RenderedTextCache.INSTANCE.prerender(textContainerLabel);
 
             mouseEventLabel = generateAndAddMouseEventLabel(textContainerLabel, tooltip);
             builder.setContainer(textContainerLabel);
@@ -222,10 +216,11 @@ public final class NotificationController {
     }
 
     /** Kills this notification controller, revoking all notifications currently displaying and clearing the queue. */
-    public void kill() {
+    public synchronized void kill() {
         killed.set(true);
-        notificationQueue.clear();
-        if (currentNotification != null) currentNotification.kill();
+        timeBetweenNotificationsTimer.stop();
+        notificationQueue.clearQueued();
+        notificationQueue.getCurrentNotification().ifPresent(CyderNotification::kill);
     }
 
     /**
@@ -245,9 +240,11 @@ public final class NotificationController {
      * @return whether a notification was revoked
      */
     @CanIgnoreReturnValue
-    public boolean revokeCurrentNotification(boolean animate) {
-        if (currentNotification == null) return false;
+    public synchronized boolean revokeCurrentNotification(boolean animate) {
+        Optional<CyderNotification> optionalNotification = notificationQueue.getCurrentNotification();
+        if (optionalNotification.isEmpty()) return false;
 
+        CyderNotification currentNotification = optionalNotification.get();
         if (animate) {
             currentNotification.disappear();
         } else {
@@ -269,15 +266,15 @@ public final class NotificationController {
 
         AtomicBoolean revoked = new AtomicBoolean(false);
 
-        if (currentNotification != null) {
+        notificationQueue.getCurrentNotification().ifPresent(currentNotification -> {
             Optional<String> optionalText = currentNotification.getLabelText();
             if (optionalText.isPresent() && optionalText.get().equals(expectedText)) {
                 currentNotification.kill();
                 revoked.set(true);
             }
-        }
+        });
 
-        notificationQueue.removeIf(notification -> {
+        notificationQueue.removeQueuedIf(notification -> {
             Optional<String> optionalText = notification.getLabelText();
             boolean ret = optionalText.isPresent() && optionalText.get().equals(expectedText);
             if (ret) revoked.set(true);
@@ -288,16 +285,16 @@ public final class NotificationController {
     }
 
     /** Revokes all notifications currently showing and from the queue. */
-    public void revokeAllNotifications() {
-        notificationQueue.clear();
-        if (currentNotification != null) currentNotification.kill();
+    public synchronized void revokeAllNotifications() {
+        notificationQueue.clearQueued();
+        notificationQueue.getCurrentNotification().ifPresent(CyderNotification::kill);
     }
 
     /** Revalidates the position of the current notification if it is not in the middle of an animation. */
     public void revalidateCurrentNotificationPosition() {
-        if (currentNotification != null && !currentNotification.isAnimating()) {
-            currentNotification.setToMidAnimationPosition();
-        }
+        notificationQueue.getCurrentNotification().ifPresent(currentNotification -> {
+            if (!currentNotification.isAnimating()) currentNotification.setToMidAnimationPosition();
+        });
     }
 
     /**
@@ -337,23 +334,38 @@ public final class NotificationController {
         return (int) Math.ceil(controlFrame.getWidth() * maxNotificationToFrameHeightRatio);
     }
 
-    /** Starts the notification queue if necessary. */
+    /** Shows the next notification in the queue if no notification is showing and the queue is not paused. */
     private synchronized void startQueueIfNecessary() {
-        if (queueRunning.get() || notificationQueue.isEmpty()) return;
+        if (killed.get() || queueRunning.get() || notificationQueue.isEmpty()) return;
         queueRunning.set(true);
 
-        Futures.submit(() -> {
-            while (!notificationQueue.isEmpty() && !killed.get()) {
-                currentNotification = notificationQueue.remove(0);
-                controlFrame.getTrueContentPane().add(currentNotification, JLayeredPane.DRAG_LAYER);
-                currentNotification.appear();
-                while (!currentNotification.isKilled()) Thread.onSpinWait();
-                currentNotification = null;
-                ThreadUtil.sleep(timeBetweenNotifications.toMillis());
-            }
+        CyderNotification notification = notificationQueue.showNext();
+        notification.addOnKilledAction(() -> onNotificationKilled(notification));
 
-            queueRunning.set(false);
-        }, queueExecutor);
+        SwingUtilities.invokeLater(() -> {
+            if (notification.isKilled()) return;
+            controlFrame.getTrueContentPane().add(notification, JLayeredPane.DRAG_LAYER);
+            notification.appear();
+        });
+    }
+
+    /**
+     * Invoked once a notification shown by this controller has been killed.
+     * The next notification is shown after {@link #timeBetweenNotifications}.
+     *
+     * @param notification the notification which was killed
+     */
+    private synchronized void onNotificationKilled(CyderNotification notification) {
+        if (!notificationQueue.clearCurrentNotification(notification)) return;
+
+        if (killed.get()) return;
+        timeBetweenNotificationsTimer.restart();
+    }
+
+    /** Invoked once the gap following a notification has elapsed, showing the next notification if present. */
+    private synchronized void onTimeBetweenNotificationsElapsed() {
+        queueRunning.set(false);
+        startQueueIfNecessary();
     }
 
     /**
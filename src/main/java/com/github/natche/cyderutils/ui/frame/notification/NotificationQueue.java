@@ -0,0 +1,160 @@
+package com.github.natche.cyderutils.ui.frame.notification;
+
+import com.github.natche.cyderutils.strings.StringUtil;
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * The notifications waiting to be shown by a {@link NotificationController} and the notification currently showing.
+ * A text notification whose builder text matches that of the notification showing or a queued notification is a
+ * duplicate and should be coalesced into the existing one. Only queued and showing notifications are compared against,
+ * so a text may be shown again once its notification has been killed.
+ * <p>
+ * This class is not thread safe; the owning controller synchronizes access.
+ */
+final class NotificationQueue {
+    /** The notifications waiting to be shown. */
+    private final ArrayDeque<CyderNotification> queuedNotifications = new ArrayDeque<>();
+
+    /** The notification currently showing, null if none. */
+    private CyderNotification currentNotification;
+
+    /** Constructs a new empty notification queue. */
+    NotificationQueue() {}
+
+    /**
+     * Returns whether the provided builder describes a text notification whose text
+     * matches that of the notification currently showing or a queued notification.
+     *
+     * @param builder the builder
+     * @return whether the notification should be coalesced into an existing one
+     * @throws NullPointerException if the provided builder is null
+     */
+    boolean isDuplicate(NotificationBuilder builder) {
+        Preconditions.checkNotNull(builder);
+        if (builder.getContainer() != null) return false;
+
+        return isDuplicate(builder.getHtmlText(), currentNotification, queuedNotifications);
+    }
+
+    /**
+     * Returns whether the provided html text matches the builder text of the provided current notification,
+     * if not killed, or of any of the queued notifications. Builder text is compared rather than the label text
+     * as notifications such as {@link CyderInformNotification}s display their text wrapped and styled.
+     *
+     * @param htmlText            the html text of the notification to be queued
+     * @param currentNotification the notification currently showing, null if none
+     * @param queuedNotifications the notifications queued
+     * @return whether a notification with the provided text should be coalesced into an existing one
+     */
+    static boolean isDuplicate(String htmlText, CyderNotification currentNotification,
+                               Iterable<? extends CyderNotification> queuedNotifications) {
+        if (StringUtil.isNullOrEmpty(htmlText)) return false;
+
+        if (currentNotification != null && !currentNotification.isKilled()
+                && hasBuilderHtmlText(currentNotification, htmlText)) return true;
+        for (CyderNotification notification : queuedNotifications) {
+            if (hasBuilderHtmlText(notification, htmlText)) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns whether the provided notification was built from the provided html text.
+     *
+     * @param notification the notification
+     * @param htmlText     the html text
+     * @return whether the provided notification was built from the provided html text
+     */
+    private static boolean hasBuilderHtmlText(CyderNotification notification, String htmlText) {
+        Optional<String> optionalText = notification.getBuilderHtmlText();
+        return optionalText.isPresent() && optionalText.get().equals(htmlText);
+    }
+
+    /**
+     * Adds the provided notification to the end of the queue.
+     *
+     * @param notification the notification
+     * @throws NullPointerException if the provided notification is null
+     */
+    void add(CyderNotification notification) {
+        Preconditions.checkNotNull(notification);
+
+        queuedNotifications.add(notification);
+    }
+
+    /**
+     * Removes the notification at the head of the queue and makes it the notification currently showing.
+     *
+     * @return the notification now showing
+     * @throws IllegalStateException if the queue is empty
+     */
+    CyderNotification showNext() {
+        Preconditions.checkState(!queuedNotifications.isEmpty());
+
+        currentNotification = queuedNotifications.poll();
+        return currentNotification;
+    }
+
+    /**
+     * Returns the notification currently showing.
+     *
+     * @return the notification currently showing if present, empty optional else
+     */
+    Optional<CyderNotification> getCurrentNotification() {
+        return Optional.ofNullable(currentNotification);
+    }
+
+    /**
+     * Clears the notification currently showing if it is the provided notification.
+     *
+     * @param notification the notification which is no longer showing
+     * @return whether the provided notification was the notification currently showing
+     */
+    boolean clearCurrentNotification(CyderNotification notification) {
+        if (currentNotification == null || currentNotification != notification) return false;
+
+        currentNotification = null;
+        return true;
+    }
+
+    /**
+     * Removes each queued notification which satisfies the provided predicate.
+     *
+     * @param predicate the predicate
+     * @return whether any notification was removed
+     * @throws NullPointerException if the provided predicate is null
+     */
+    boolean removeQueuedIf(Predicate<CyderNotification> predicate) {
+        Preconditions.checkNotNull(predicate);
+
+        return queuedNotifications.removeIf(predicate);
+    }
+
+    /** Removes every queued notification. */
+    void clearQueued() {
+        queuedNotifications.clear();
+    }
+
+    /**
+     * Returns whether no notifications are queued.
+     *
+     * @return whether no notifications are queued
+     */
+    boolean isEmpty() {
+        return queuedNotifications.isEmpty();
+    }
+
+    /**
+     * Returns the number of queued notifications, excluding the notification currently showing.
+     *
+     * @return the number of queued notifications
+     */
+    int size() {
+        return queuedNotifications.size();
+    }
+}
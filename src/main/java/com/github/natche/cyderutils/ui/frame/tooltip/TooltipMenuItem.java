@@ -5,6 +5,7 @@ import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.github.natche.cyderutils.color.CyderColors;
 import com.github.natche.cyderutils.font.CyderFonts;
 import com.github.natche.cyderutils.ui.frame.CyderFrame;
+import com.github.natche.cyderutils.ui.label.CachedTextLabel;
 
 import javax.swing.*;
 import java.awt.event.MouseAdapter;
@@ -88,7 +89,7 @@ public final class TooltipMenuItem {
      * @return a label using the set properties for a tooltip menu
      */
     public JLabel buildMenuItemLabel() {
-        JLabel menuItemLabel = new JLabel(text);
+        JLabel menuItemLabel = new CachedTextLabel(text);
         menuItemLabel.setForeground(CyderColors.vanilla);
         menuItemLabel.setFont(CyderFonts.DEFAULT_FONT_SMALL);
         menuItemLabel.addMouseListener(new MouseAdapter() {
@@ -0,0 +1,33 @@
+package com.github.natche.cyderutils.ui.label;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * A label whose text is painted from the {@link RenderedTextCache} when possible.
+ * Only labels of this type are painted through the cache, so it should be used solely for labels showing
+ * static text which is frequently repeated, such as notifications and menu items. Labels whose text
+ * changes constantly would only churn the cache.
+ */
+public class CachedTextLabel extends JLabel {
+    /** The serialization version of this label. */
+    private static final long serialVersionUID = 1L;
+
+    /** Constructs a new cached text label with no text. */
+    public CachedTextLabel() {}
+
+    /**
+     * Constructs a new cached text label.
+     *
+     * @param text the text
+     */
+    public CachedTextLabel(String text) {
+        super(text);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (!RenderedTextCache.INSTANCE.paint(this, g)) super.paintComponent(g);
+    }
+}
@@ -0,0 +1,303 @@
+package com.github.natche.cyderutils.ui.label;
+
+import com.google.common.base.Preconditions;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A cache of label text pre-rendered into translucent images.
+ * Rendering styled text, particularly HTML, through Swing's view machinery on every paint is expensive,
+ * while the same strings are painted repeatedly. Labels painted through {@link #paint(JLabel, Graphics)}
+ * blit a cached image when one exists for their current text, font, color, size, alignment, insets,
+ * and device scale, otherwise they paint normally and the image is rendered in a later event.
+ * Images are rendered on the event dispatch thread as the HTML views of labels share state which is not
+ * thread-safe. Only opted-in labels, such as {@link CachedTextLabel}s, showing static text should be painted
+ * through this cache. Memory is bounded by {@link #setMaximumBytes(long)} with least-recently-used eviction.
+ */
+public enum RenderedTextCache {
+    /** The rendered text cache instance. */
+    INSTANCE;
+
+    /** The default maximum number of bytes of images retained. */
+    private static final long DEFAULT_MAXIMUM_BYTES = 32L * 1024 * 1024;
+
+    /** The number of bytes per pixel of a rendered image. */
+    private static final int BYTES_PER_PIXEL = 4;
+
+    /** The rendered images, least recently used first. */
+    private final LinkedHashMap<Key, BufferedImage> renderedImages = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** The keys currently queued to be rendered, accessed only on the event dispatch thread. */
+    private final Set<Key> pendingRenders = new HashSet<>();
+
+    /** The maximum number of bytes of images retained. */
+    private long maximumBytes = DEFAULT_MAXIMUM_BYTES;
+
+    /** The number of bytes of images currently retained. */
+    private long cachedBytes;
+
+    /**
+     * The state of a label which determines how its text is rendered.
+     *
+     * @param text                the text
+     * @param font                the font
+     * @param foreground          the foreground color
+     * @param width               the width of the label
+     * @param height              the height of the label
+     * @param horizontalAlignment the horizontal alignment of the text
+     * @param verticalAlignment   the vertical alignment of the text
+     * @param insets              the insets of the label
+     * @param scaleX              the horizontal device scale
+     * @param scaleY              the vertical device scale
+     */
+    private record Key(String text, Font font, Color foreground, int width, int height,
+                       int horizontalAlignment, int verticalAlignment, Insets insets,
+                       double scaleX, double scaleY) {
+        /**
+         * Returns the number of bytes an image rendered for this key occupies.
+         *
+         * @return the number of bytes an image rendered for this key occupies
+         */
+        long imageBytes() {
+            return (long) imageWidth() * imageHeight() * BYTES_PER_PIXEL;
+        }
+
+        /**
+         * Returns the width in device pixels of an image rendered for this key.
+         *
+         * @return the width in device pixels of an image rendered for this key
+         */
+        int imageWidth() {
+            return (int) Math.ceil(width * scaleX);
+        }
+
+        /**
+         * Returns the height in device pixels of an image rendered for this key.
+         *
+         * @return the height in device pixels of an image rendered for this key
+         */
+        int imageHeight() {
+            return (int) Math.ceil(height * scaleY);
+        }
+    }
+
+    /**
+     * Paints the text of the provided label from the cache if an image has been rendered for its current state.
+     * Otherwise, the image is rendered in a later event so that subsequent paints may use it.
+     * This is intended to be invoked from {@link JComponent#paintComponent(Graphics)}, falling back
+     * to the default painting when false is returned.
+     *
+     * @param label    the label to paint
+     * @param graphics the graphics of the label
+     * @return whether the label was painted from the cache
+     * @throws NullPointerException if either argument is null
+     */
+    public boolean paint(JLabel label, Graphics graphics) {
+        Preconditions.checkNotNull(label);
+        Preconditions.checkNotNull(graphics);
+
+        if (!(graphics instanceof Graphics2D graphics2D)) return false;
+        AffineTransform transform = graphics2D.getTransform();
+        if (transform.getShearX() != 0 || transform.getShearY() != 0) return false;
+
+        Optional<Key> optionalKey = createKey(label, transform.getScaleX(), transform.getScaleY());
+        if (optionalKey.isEmpty()) return false;
+        Key key = optionalKey.get();
+
+        BufferedImage image;
+        synchronized (this) {
+            image = renderedImages.get(key);
+        }
+
+        if (image == null) {
+            queueRender(key);
+            return false;
+        }
+
+        if (label.isOpaque()) {
+            graphics.setColor(label.getBackground());
+            graphics.fillRect(0, 0, label.getWidth(), label.getHeight());
+        }
+        graphics.drawImage(image, 0, 0, key.width(), key.height(), null);
+        return true;
+    }
+
+    /**
+     * Queues the text of the provided label in its current state to be rendered on the event dispatch thread,
+     * at the scale of the default screen, so that its first paint may use the cache.
+     *
+     * @param label the label
+     * @return whether the label is eligible to be rendered from the cache
+     * @throws NullPointerException if the provided label is null
+     */
+    @CanIgnoreReturnValue
+    public boolean prerender(JLabel label) {
+        Preconditions.checkNotNull(label);
+
+        AffineTransform defaultTransform = getDefaultScreenTransform();
+        Optional<Key> optionalKey = createKey(label, defaultTransform.getScaleX(), defaultTransform.getScaleY());
+        optionalKey.ifPresent(this::queueRender);
+        return optionalKey.isPresent();
+    }
+
+    /**
+     * Returns the maximum number of bytes of images retained.
+     *
+     * @return the maximum number of bytes of images retained
+     */
+    public synchronized long getMaximumBytes() {
+        return maximumBytes;
+    }
+
+    /**
+     * Sets the maximum number of bytes of images retained, evicting images if necessary.
+     *
+     * @param maximumBytes the maximum number of bytes of images retained
+     * @throws IllegalArgumentException if the provided maximum is negative
+     */
+    public synchronized void setMaximumBytes(long maximumBytes) {
+        Preconditions.checkArgument(maximumBytes >= 0);
+
+        this.maximumBytes = maximumBytes;
+        evictIfNecessary();
+    }
+
+    /**
+     * Returns the number of bytes of images currently retained.
+     *
+     * @return the number of bytes of images currently retained
+     */
+    public synchronized long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    /**
+     * Returns the number of images currently retained.
+     *
+     * @return the number of images currently retained
+     */
+    public synchronized int size() {
+        return renderedImages.size();
+    }
+
+    /** Removes all images from this cache. */
+    public synchronized void clear() {
+        renderedImages.clear();
+        cachedBytes = 0;
+    }
+
+    /**
+     * Creates the key describing the current state of the provided label if it may be painted from the cache.
+     * Labels with an icon, without text, which are disabled, or which are empty are painted normally.
+     *
+     * @param label  the label
+     * @param scaleX the horizontal device scale
+     * @param scaleY the vertical device scale
+     * @return the key if the label may be painted from the cache
+     */
+    private Optional<Key> createKey(JLabel label, double scaleX, double scaleY) {
+        String text = label.getText();
+        if (text == null || text.isEmpty()) return Optional.empty();
+        if (label.getIcon() != null || !label.isEnabled()) return Optional.empty();
+        if (label.getWidth() <= 0 || label.getHeight() <= 0) return Optional.empty();
+        if (scaleX <= 0 || scaleY <= 0) return Optional.empty();
+
+        Key key = new Key(text, label.getFont(), label.getForeground(), label.getWidth(), label.getHeight(),
+                label.getHorizontalAlignment(), label.getVerticalAlignment(), label.getInsets(), scaleX, scaleY);
+        if (key.font() == null || key.foreground() == null) return Optional.empty();
+        if (key.imageBytes() > getMaximumBytes()) return Optional.empty();
+        return Optional.of(key);
+    }
+
+    /**
+     * Queues the image for the provided key to be rendered on the event dispatch thread
+     * if not already cached or queued.
+     *
+     * @param key the key
+     */
+    private void queueRender(Key key) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> queueRender(key));
+            return;
+        }
+
+        synchronized (this) {
+            if (renderedImages.containsKey(key)) return;
+        }
+        if (!pendingRenders.add(key)) return;
+
+        // Rendered in a later event so that the paint which missed the cache is not delayed
+        SwingUtilities.invokeLater(() -> {
+            try {
+                BufferedImage image = render(key);
+                synchronized (this) {
+                    if (renderedImages.put(key, image) == null) cachedBytes += key.imageBytes();
+                    evictIfNecessary();
+                }
+            } catch (Exception e) {
+                e.printStackTrace();
+            } finally {
+                pendingRenders.remove(key);
+            }
+        });
+    }
+
+    /** Evicts the least recently used images until the retained bytes do not exceed the maximum. */
+    private synchronized void evictIfNecessary() {
+        Iterator<Map.Entry<Key, BufferedImage>> iterator = renderedImages.entrySet().iterator();
+        while (cachedBytes > maximumBytes && iterator.hasNext()) {
+            cachedBytes -= iterator.next().getKey().imageBytes();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Renders the text described by the provided key into a new translucent image.
+     * This must be invoked on the event dispatch thread.
+     * A new label, never shown, is configured from the key and painted, so the result matches
+     * the label the key was created from.
+     *
+     * @param key the key
+     * @return the rendered image
+     */
+    private static BufferedImage render(Key key) {
+        JLabel renderLabel = new JLabel(key.text());
+        renderLabel.setFont(key.font());
+        renderLabel.setForeground(key.foreground());
+        renderLabel.setHorizontalAlignment(key.horizontalAlignment());
+        renderLabel.setVerticalAlignment(key.verticalAlignment());
+        renderLabel.setBorder(new EmptyBorder(key.insets()));
+        renderLabel.setOpaque(false);
+        renderLabel.setSize(key.width(), key.height());
+
+        BufferedImage image = new BufferedImage(key.imageWidth(), key.imageHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.scale(key.scaleX(), key.scaleY());
+        renderLabel.paint(graphics);
+        graphics.dispose();
+        return image;
+    }
+
+    /**
+     * Returns the default transform of the default screen, the identity transform if headless.
+     *
+     * @return the default transform of the default screen
+     */
+    private static AffineTransform getDefaultScreenTransform() {
+        if (GraphicsEnvironment.isHeadless()) return new AffineTransform();
+
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDefaultConfiguration().getDefaultTransform();
+    }
+}
@@ -11,7 +11,6 @@ import com.github.natche.cyderutils.ui.frame.CyderFrame;
 import com.github.natche.cyderutils.ui.label.CyderLabel;
 import com.github.natche.cyderutils.ui.pane.CyderOutputPane;
 import com.github.natche.cyderutils.ui.pane.CyderScrollPane;
-import org.jsoup.internal.StringUtil;
 
 import javax.annotation.Nullable;
 import javax.swing.*;
@@ -22,12 +21,19 @@ import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.Optional;
 
 /**
  * A scroll list with clickable elements.
  * The elements may be separated by a bar or simply a new line.
  * Each element may have a single click and double click action.
+ * <p>
+ * Elements are stored in a lightweight model indexed by their text, with selection tracked in a bit set.
+ * In the {@link RenderMode#DOCUMENT} mode, a label is inserted into a text pane for every element.
+ * In the {@link RenderMode#VIRTUALIZED} mode, only the rows within the visible region are painted
+ * using a single cell renderer, allowing lists of hundreds of thousands of elements.
  */
 public class CyderScrollList {
     /** The color selected items are given. */
@@ -45,6 +51,12 @@ public class CyderScrollList {
     /** The height of separation labels. */
     private static final int SEP_LABEL_HEIGHT = 5;
 
+    /** The vertical space reserved below the text of each row for the separation bar in virtualized mode. */
+    private static final int VIRTUALIZED_SEP_SPACING = 2 * SEP_LABEL_HEIGHT;
+
+    /** The horizontal offset of the text of each row in virtualized mode. */
+    private static final int VIRTUALIZED_TEXT_OFFSET = 2;
+
     /** The width of this scroll list. */
     private int width;
 
@@ -57,11 +69,34 @@ public class CyderScrollList {
     /** The color non-selected items are given. */
     private Color nonSelectedColor = CyderColors.navy;
 
-    /** The inner JTextPane object to hold our printed components. */
+    /** The inner JTextPane object to hold our printed components in document mode. */
     private JTextPane listPane;
 
+    /** The view painting the visible rows in virtualized mode. */
+    private VirtualizedListView virtualizedView;
+
     /** The list of elements of for this scroll list. */
-    private final ArrayList<JLabel> elements;
+    private final ArrayList<ListElement> elements;
+
+    /** The index of the first element with each text. */
+    private final HashMap<String, Integer> elementIndices;
+
+    /** The indices of the selected elements. */
+    private final BitSet selectedIndices;
+
+    /** The labels inserted into the list pane by the last refresh in document mode. */
+    private final ArrayList<JLabel> renderedLabels;
+
+    /**
+     * An element of a scroll list.
+     *
+     * @param text              the text of the element
+     * @param singleClickAction the action to invoke when the element is clicked once, null for none
+     * @param doubleClickAction the action to invoke when the element is double clicked, null for none
+     */
+    private record ListElement(String text,
+                               @Nullable Runnable singleClickAction,
+                               @Nullable Runnable doubleClickAction) {}
 
     /** The selection policies for the scroll list. */
     public enum SelectionPolicy {
@@ -72,6 +107,18 @@ public class CyderScrollList {
     /** The currently set selection policy for the scroll list. */
     private SelectionPolicy selectionPolicy;
 
+    /** The modes in which the elements of a scroll list may be rendered. */
+    public enum RenderMode {
+        /** A label component is inserted into a text pane for every element. */
+        DOCUMENT,
+
+        /** Only the visible rows are painted, using a single cell renderer. */
+        VIRTUALIZED
+    }
+
+    /** The mode in which the elements of this scroll list are rendered. */
+    private RenderMode renderMode = RenderMode.DOCUMENT;
+
     /** The font to use for the scroll list. */
     private Font scrollFont = CyderFonts.SEGOE_20;
 
@@ -122,6 +169,9 @@ public class CyderScrollList {
         this.darkMode = darkMode;
 
         elements = new ArrayList<>();
+        elementIndices = new HashMap<>();
+        selectedIndices = new BitSet();
+        renderedLabels = new ArrayList<>();
 
         if (darkMode) {
             nonSelectedColor = CyderColors.defaultDarkModeTextColor;
@@ -150,6 +200,25 @@ public class CyderScrollList {
         scrollFont = Preconditions.checkNotNull(font);
     }
 
+    /**
+     * Returns the mode in which the elements of this scroll list are rendered.
+     *
+     * @return the mode in which the elements of this scroll list are rendered
+     */
+    public RenderMode getRenderMode() {
+        return renderMode;
+    }
+
+    /**
+     * Sets the mode in which the elements of this scroll list are rendered.
+     * This must be set before {@link #generateScrollList()} is invoked.
+     *
+     * @param renderMode the mode in which the elements of this scroll list are rendered
+     */
+    public void setRenderMode(RenderMode renderMode) {
+        this.renderMode = Preconditions.checkNotNull(renderMode);
+    }
+
     /** The border to surround the component with. */
     private Border border;
 
@@ -185,15 +254,24 @@ public class CyderScrollList {
      * </ul>
      */
     public void refreshList() {
+        if (virtualizedView != null) {
+            virtualizedView.revalidate();
+            virtualizedView.repaint();
+            return;
+        }
+
         // todo allow configuration
         boolean compactMode = false;
 
         CyderOutputPane outputPane = new CyderOutputPane(listPane);
         outputPane.getJTextPane().setText("");
+        renderedLabels.clear();
 
        try {
            for (int i = 0 ; i < elements.size() ; i++) {
-               outputPane.getStringUtil().printlnComponent(elements.get(i));
+               JLabel elementLabel = generateElementLabel(elements.get(i));
+               renderedLabels.add(elementLabel);
+               outputPane.getStringUtil().printlnComponent(elementLabel);
 
                if (i != elements.size() - 1 && !compactMode) {
                    outputPane.getStringUtil().printlnComponent(generateSepLabel());
@@ -204,6 +282,26 @@ public class CyderScrollList {
        }
     }
 
+    /**
+     * Generates the label used to render the provided element in document mode.
+     *
+     * @param element the element
+     * @return the label
+     */
+    private JLabel generateElementLabel(ListElement element) {
+        JLabel elementLabel = new JLabel(element.text());
+        elementLabel.setForeground(isSelected(element.text()) ? selectedColor : nonSelectedColor);
+        elementLabel.setFont(scrollFont);
+        elementLabel.setVerticalAlignment(SwingConstants.CENTER);
+        elementLabel.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                onElementMouseClicked(element, e);
+            }
+        });
+        return elementLabel;
+    }
+
     /**
      * Generates the CyderScrollList component based on the constructed and set properties.
      *
@@ -216,20 +314,27 @@ public class CyderScrollList {
         retLabel.setOpaque(true);
         retLabel.setVisible(true);
 
-        listPane = new JTextPane();
-        listPane.setEditable(false);
-        listPane.setAutoscrolls(false);
-        listPane.setBounds(0, 0, width, height);
-        listPane.setFocusable(true);
-        listPane.setOpaque(false);
-        listPane.setBackground(darkMode ? CyderColors.darkModeBackgroundColor : CyderColors.vanilla);
-
-        UiUtil.setJTextPaneDocumentAlignment(listPane, UiUtil.JTextPaneAlignment.LEFT);
+        JComponent view;
+        if (renderMode == RenderMode.VIRTUALIZED) {
+            virtualizedView = new VirtualizedListView();
+            view = virtualizedView;
+        } else {
+            listPane = new JTextPane();
+            listPane.setEditable(false);
+            listPane.setAutoscrolls(false);
+            listPane.setBounds(0, 0, width, height);
+            listPane.setFocusable(true);
+            listPane.setOpaque(false);
+            listPane.setBackground(darkMode ? CyderColors.darkModeBackgroundColor : CyderColors.vanilla);
+
+            UiUtil.setJTextPaneDocumentAlignment(listPane, UiUtil.JTextPaneAlignment.LEFT);
+            view = listPane;
+        }
 
         refreshList();
         scrollLists.add(this);
 
-        scrollPane = new CyderScrollPane(listPane);
+        scrollPane = new CyderScrollPane(view);
         scrollPane.setThumbSize(5);
         scrollPane.getViewport().setOpaque(false);
         scrollPane.setFocusable(true);
@@ -242,7 +347,7 @@ public class CyderScrollList {
         scrollPane.setBounds(0, 0, width, height);
         retLabel.add(scrollPane);
 
-        listPane.setCaretPosition(0);
+        if (listPane != null) listPane.setCaretPosition(0);
 
         return retLabel;
     }
@@ -264,13 +369,7 @@ public class CyderScrollList {
      */
     @SuppressWarnings("BooleanMethodIsAlwaysInverted")
     public boolean elementInList(String text) {
-        for (JLabel element : elements) {
-            if (element.getText().equals(text)) {
-                return true;
-            }
-        }
-
-        return false;
+        return elementIndices.containsKey(text);
     }
 
     /**
@@ -282,18 +381,7 @@ public class CyderScrollList {
         Preconditions.checkNotNull(labelText);
         Preconditions.checkArgument(!labelText.isEmpty());
 
-        JLabel addElement = new JLabel(labelText);
-        addElement.setForeground(nonSelectedColor);
-        addElement.setFont(scrollFont);
-        addElement.setVerticalAlignment(SwingConstants.CENTER);
-        addElement.addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseClicked(MouseEvent e) {
-                onElementClicked(addElement.getText(), e);
-            }
-        });
-
-        elements.add(addElement);
+        addElement(new ListElement(labelText, null, null));
     }
 
     /**
@@ -308,19 +396,7 @@ public class CyderScrollList {
         Preconditions.checkNotNull(singleClickAction);
         Preconditions.checkArgument(!elementInList(labelText));
 
-        JLabel addElement = new JLabel(labelText);
-        addElement.setForeground(nonSelectedColor);
-        addElement.setFont(scrollFont);
-        addElement.setVerticalAlignment(SwingConstants.CENTER);
-        addElement.addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseClicked(MouseEvent e) {
-                singleClickAction.run();
-                onElementClicked(addElement.getText(), e);
-            }
-        });
-
-        elements.add(addElement);
+        addElement(new ListElement(labelText, singleClickAction, null));
     }
 
     /**
@@ -333,26 +409,9 @@ public class CyderScrollList {
         Preconditions.checkNotNull(labelText);
         Preconditions.checkArgument(!labelText.isEmpty());
         Preconditions.checkNotNull(doubleClickAction);
-        Preconditions.checkArgument(!elementInList(labelText),
-                labelText + " already in: " + StringUtil.join(elements, ","));
-
-        JLabel addElement = new JLabel(labelText);
-        addElement.setForeground(nonSelectedColor);
-        addElement.setFont(scrollFont);
-        addElement.setVerticalAlignment(SwingConstants.CENTER);
-        addElement.addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseClicked(MouseEvent e) {
-                if (e.getClickCount() == 2) {
-                    doubleClickAction.run();
-                    addElement.setForeground(nonSelectedColor);
-                } else {
-                    onElementClicked(addElement.getText(), e);
-                }
-            }
-        });
+        Preconditions.checkArgument(!elementInList(labelText), labelText + " already in list");
 
-        elements.add(addElement);
+        addElement(new ListElement(labelText, null, doubleClickAction));
     }
 
     /**
@@ -371,24 +430,18 @@ public class CyderScrollList {
         Preconditions.checkNotNull(doubleClickAction);
         Preconditions.checkArgument(!elementInList(labelText));
 
-        JLabel addElement = new JLabel(labelText);
-        addElement.setForeground(nonSelectedColor);
-        addElement.setFont(scrollFont);
-        addElement.setVerticalAlignment(SwingConstants.CENTER);
-        addElement.addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseClicked(MouseEvent e) {
-                if (e.getClickCount() > 1) {
-                    doubleClickAction.run();
-                    addElement.setForeground(nonSelectedColor);
-                } else {
-                    singleClickAction.run();
-                    onElementClicked(addElement.getText(), e);
-                }
-            }
-        });
+        addElement(new ListElement(labelText, singleClickAction, doubleClickAction));
+    }
 
-        elements.add(addElement);
+    /**
+     * Appends the provided element to the model.
+     *
+     * @param element the element to add
+     */
+    private void addElement(ListElement element) {
+        elementIndices.putIfAbsent(element.text(), elements.size());
+        elements.add(element);
+        onModelChanged();
     }
 
     /**
@@ -400,16 +453,19 @@ public class CyderScrollList {
         Preconditions.checkNotNull(elementText);
         Preconditions.checkArgument(!elementText.isEmpty());
 
-        for (JLabel element : elements) {
-            if (element.getText().equals(elementText)) {
-                element.setForeground(selectedColor);
-            }
-        }
+        Integer index = elementIndices.get(elementText);
+        if (index == null) return;
+
+        selectedIndices.set(index);
+        onSelectionChanged();
     }
 
     /** Removes all elements from the scroll list. */
     public void removeAllElements() {
         elements.clear();
+        elementIndices.clear();
+        selectedIndices.clear();
+        onModelChanged();
     }
 
     /**
@@ -421,14 +477,77 @@ public class CyderScrollList {
         Preconditions.checkNotNull(labelText);
         Preconditions.checkArgument(!labelText.isEmpty());
 
-        for (JLabel element : elements) {
-            if (element.getText().equals(labelText)) {
-                elements.remove(element);
-                break;
-            }
+        Integer index = elementIndices.get(labelText);
+        if (index == null) return;
+
+        BitSet removed = new BitSet();
+        removed.set(index);
+        removeElements(removed);
+    }
+
+    /**
+     * Removes the elements at the provided indices, shifting the remaining elements and their selection state.
+     *
+     * @param removedIndices the indices of the elements to remove
+     */
+    private void removeElements(BitSet removedIndices) {
+        if (removedIndices.isEmpty()) return;
+
+        ArrayList<ListElement> remaining = new ArrayList<>(elements.size() - removedIndices.cardinality());
+        BitSet remainingSelected = new BitSet();
+        for (int i = 0 ; i < elements.size() ; i++) {
+            if (removedIndices.get(i)) continue;
+            if (selectedIndices.get(i)) remainingSelected.set(remaining.size());
+            remaining.add(elements.get(i));
+        }
+
+        elements.clear();
+        elements.addAll(remaining);
+        selectedIndices.clear();
+        selectedIndices.or(remainingSelected);
+        rebuildElementIndices();
+        onModelChanged();
+    }
+
+    /** Rebuilds the index of the first element with each text. */
+    private void rebuildElementIndices() {
+        elementIndices.clear();
+        for (int i = 0 ; i < elements.size() ; i++) {
+            elementIndices.putIfAbsent(elements.get(i).text(), i);
         }
     }
 
+    /**
+     * Returns whether the element with the provided text is selected.
+     *
+     * @param text the text of the element
+     * @return whether the element with the provided text is selected
+     */
+    private boolean isSelected(String text) {
+        Integer index = elementIndices.get(text);
+        return index != null && selectedIndices.get(index);
+    }
+
+    /**
+     * Invokes the actions of the provided element in response to the provided mouse click.
+     *
+     * @param element    the clicked element
+     * @param mouseEvent the mouse event
+     */
+    private void onElementMouseClicked(ListElement element, MouseEvent mouseEvent) {
+        if (element.doubleClickAction() != null && mouseEvent.getClickCount() > 1) {
+            element.doubleClickAction().run();
+
+            Integer index = elementIndices.get(element.text());
+            if (index != null) selectedIndices.clear(index);
+            onSelectionChanged();
+            return;
+        }
+
+        if (element.singleClickAction() != null) element.singleClickAction().run();
+        onElementClicked(element.text(), mouseEvent);
+    }
+
     /**
      * The action to invoke on a single-click of the element with the provided text.
      *
@@ -439,25 +558,26 @@ public class CyderScrollList {
         Preconditions.checkNotNull(mouseEvent);
         Preconditions.checkArgument(!clickedText.isEmpty());
 
-        JLabel element = elements.stream().filter(e -> e.getText().equals(clickedText)).findFirst().orElseThrow();
+        Integer index = elementIndices.get(clickedText);
+        if (index == null) return;
+
+        boolean wasSelected = selectedIndices.get(index);
         switch (selectionPolicy) {
             case SINGLE -> {
-                boolean wasSelected = element.getForeground().equals(selectedColor);
-                deselectAllElements();
-                element.setForeground(wasSelected ? nonSelectedColor : selectedColor);
+                selectedIndices.clear();
+                if (!wasSelected) selectedIndices.set(index);
             }
             case MULTIPLE -> {
-                boolean wasSelected = element.getForeground().equals(selectedColor);
                 if (!mouseEvent.isControlDown()) {
-                    deselectAllElements();
-                    element.setForeground(selectedColor);
+                    selectedIndices.clear();
+                    selectedIndices.set(index);
                 } else {
-                    element.setForeground(wasSelected ? nonSelectedColor : selectedColor);
+                    selectedIndices.flip(index);
                 }
             }
         }
 
-        element.repaint();
+        onSelectionChanged();
     }
 
     /**
@@ -466,15 +586,9 @@ public class CyderScrollList {
      * @return a list of all currently selected elements
      */
     public ImmutableList<String> getSelectedElements() {
-        ArrayList<String> ret = new ArrayList<>();
-
-        elements.forEach(element -> {
-            if (element.getForeground().equals(selectedColor)) {
-                ret.add(element.getText());
-            }
-        });
-
-        return ImmutableList.copyOf(ret);
+        ImmutableList.Builder<String> ret = ImmutableList.builder();
+        selectedIndices.stream().forEach(index -> ret.add(elements.get(index).text()));
+        return ret.build();
     }
 
     /**
@@ -483,25 +597,24 @@ public class CyderScrollList {
      * @return the currently selected element
      */
     public Optional<String> getSelectedElement() {
-        for (JLabel element : elements) {
-            if (element.getForeground().equals(selectedColor)) {
-                return Optional.of(element.getText());
-            }
-        }
-
-        return Optional.empty();
+        int index = selectedIndices.nextSetBit(0);
+        if (index == -1) return Optional.empty();
+        return Optional.of(elements.get(index).text());
     }
 
     /** Removes all selected elements on this scroll list. */
     public void removeSelectedElements() {
-        elements.removeIf(element -> element.getForeground().equals(selectedColor));
+        removeElements((BitSet) selectedIndices.clone());
     }
 
     /** Removes the first element from this scroll list. */
     public void removeSelectedElement() {
-        Optional<JLabel> remove = elements.stream().filter(element -> element.getForeground()
-                .equals(selectedColor)).findFirst();
-        remove.ifPresent(elements::remove);
+        int index = selectedIndices.nextSetBit(0);
+        if (index == -1) return;
+
+        BitSet removed = new BitSet();
+        removed.set(index);
+        removeElements(removed);
     }
 
     /**
@@ -510,7 +623,40 @@ public class CyderScrollList {
      * @return the number of currently selected elements
      */
     public int getSelectedElementCount() {
-        return (int) elements.stream().filter(element -> element.getForeground().equals(selectedColor)).count();
+        return selectedIndices.cardinality();
+    }
+
+    /**
+     * Returns the number of elements in this scroll list.
+     *
+     * @return the number of elements in this scroll list
+     */
+    public int getElementCount() {
+        return elements.size();
+    }
+
+    /** Updates the virtualized view, if present, following a change to the elements. */
+    private void onModelChanged() {
+        if (virtualizedView == null) return;
+
+        virtualizedView.revalidate();
+        virtualizedView.repaint();
+    }
+
+    /** Updates the rendered elements following a change to the selected elements. */
+    private void onSelectionChanged() {
+        if (virtualizedView != null) {
+            virtualizedView.repaint();
+            return;
+        }
+
+        for (JLabel label : renderedLabels) {
+            Color foreground = isSelected(label.getText()) ? selectedColor : nonSelectedColor;
+            if (!label.getForeground().equals(foreground)) {
+                label.setForeground(foreground);
+                label.repaint();
+            }
+        }
     }
 
     /**
@@ -570,7 +716,7 @@ public class CyderScrollList {
     /**
      * Returns the inner text pane object.
      *
-     * @return the inner text pane object
+     * @return the inner text pane object, null if the list was generated in virtualized mode
      */
     public JTextPane getListPane() {
         return listPane;
@@ -605,7 +751,166 @@ public class CyderScrollList {
 
     /** Deselects all selected elements from the scroll list. */
     public void deselectAllElements() {
-        elements.forEach(element -> element.setForeground(nonSelectedColor));
+        selectedIndices.clear();
+        onSelectionChanged();
+    }
+
+    /**
+     * Returns the index of the row containing the provided y coordinate of the virtualized view.
+     *
+     * @param y         the y coordinate
+     * @param rowHeight the height of each row
+     * @param rowCount  the number of rows
+     * @return the index of the row, -1 if the coordinate is outside every row
+     */
+    static int getRowAt(int y, int rowHeight, int rowCount) {
+        Preconditions.checkArgument(rowHeight > 0);
+
+        if (y < 0) return -1;
+        int row = y / rowHeight;
+        return row < rowCount ? row : -1;
+    }
+
+    /**
+     * Returns the index of the first row of the virtualized view intersecting the provided region.
+     *
+     * @param regionY   the y coordinate of the region
+     * @param rowHeight the height of each row
+     * @return the index of the first row intersecting the region
+     */
+    static int getFirstVisibleRow(int regionY, int rowHeight) {
+        Preconditions.checkArgument(rowHeight > 0);
+
+        return Math.max(0, regionY / rowHeight);
+    }
+
+    /**
+     * Returns the index of the last row of the virtualized view intersecting the provided region.
+     * A row beginning exactly at the bottom edge of the region does not intersect it.
+     *
+     * @param regionY      the y coordinate of the region
+     * @param regionHeight the height of the region
+     * @param rowHeight    the height of each row
+     * @param rowCount     the number of rows
+     * @return the index of the last row intersecting the region, less than the first if none do
+     */
+    static int getLastVisibleRow(int regionY, int regionHeight, int rowHeight, int rowCount) {
+        Preconditions.checkArgument(rowHeight > 0);
+
+        if (regionHeight <= 0) return getFirstVisibleRow(regionY, rowHeight) - 1;
+        return Math.min(rowCount - 1, (regionY + regionHeight - 1) / rowHeight);
+    }
+
+    /**
+     * A view which paints only the rows of the scroll list intersecting the visible region
+     * using a single cell renderer.
+     */
+    private final class VirtualizedListView extends JComponent implements Scrollable {
+        /** The serialization version of this view. */
+        private static final long serialVersionUID = 1L;
+
+        /** The label used to paint the text of every row. */
+        private final JLabel cellRenderer = new JLabel();
+
+        /** The pane the cell renderer is painted through. */
+        private final CellRendererPane cellRendererPane = new CellRendererPane();
+
+        /** Constructs a new virtualized list view. */
+        VirtualizedListView() {
+            cellRenderer.setVerticalAlignment(SwingConstants.CENTER);
+            add(cellRendererPane);
+            setFocusable(true);
+            setOpaque(false);
+
+            addMouseListener(new MouseAdapter() {
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    int index = getRowAt(e.getY(), getRowHeight(), elements.size());
+                    if (index != -1) onElementMouseClicked(elements.get(index), e);
+                }
+            });
+        }
+
+        /**
+         * Returns the height of each row including the space for the separation bar.
+         *
+         * @return the height of each row
+         */
+        private int getRowHeight() {
+            return getTextHeight() + VIRTUALIZED_SEP_SPACING;
+        }
+
+        /**
+         * Returns the height of the text of each row.
+         *
+         * @return the height of the text of each row
+         */
+        private int getTextHeight() {
+            return getFontMetrics(scrollFont).getHeight();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Dimension getPreferredSize() {
+            return new Dimension(width, elements.size() * getRowHeight());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void paintComponent(Graphics g) {
+            Rectangle clip = g.getClipBounds();
+            if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+
+            int rowHeight = getRowHeight();
+            int textHeight = getTextHeight();
+            int firstRow = getFirstVisibleRow(clip.y, rowHeight);
+            int lastRow = getLastVisibleRow(clip.y, clip.height, rowHeight, elements.size());
+
+            cellRenderer.setFont(scrollFont);
+            for (int row = firstRow ; row <= lastRow ; row++) {
+                int y = row * rowHeight;
+                cellRenderer.setText(elements.get(row).text());
+                cellRenderer.setForeground(selectedIndices.get(row) ? selectedColor : nonSelectedColor);
+                cellRendererPane.paintComponent(g, cellRenderer, this, VIRTUALIZED_TEXT_OFFSET, y,
+                        getWidth() - VIRTUALIZED_TEXT_OFFSET, textHeight);
+
+                if (row != elements.size() - 1) {
+                    g.setColor(darkMode ? CyderColors.defaultDarkModeTextColor : nonSelectedColor);
+                    g.fillRect(0, y + textHeight + (VIRTUALIZED_SEP_SPACING - SEP_LABEL_HEIGHT) / 2,
+                            getWidth(), SEP_LABEL_HEIGHT);
+                }
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Dimension getPreferredScrollableViewportSize() {
+            return getPreferredSize();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+            return orientation == SwingConstants.VERTICAL ? getRowHeight() : VIRTUALIZED_TEXT_OFFSET;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+            return orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean getScrollableTracksViewportWidth() {
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean getScrollableTracksViewportHeight() {
+            return getParent() instanceof JViewport viewport && viewport.getHeight() > getPreferredSize().height;
+        }
     }
 
     /** {@inheritDoc} */
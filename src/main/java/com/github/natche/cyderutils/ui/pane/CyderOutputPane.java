@@ -98,6 +98,15 @@ public class CyderOutputPane {
         }
     }
 
+    /**
+     * Acquires the semaphore lock if it is immediately available.
+     *
+     * @return whether the lock was acquired
+     */
+    public boolean tryAcquireLock() {
+        return semaphore.tryAcquire();
+    }
+
     /** Releases the semaphore lock. */
     public void releaseLock() {
         semaphore.release();
@@ -79,7 +79,17 @@ public final class CyderPanel extends JLabel {
     public void repaint() {
         if (!disableContentRepainting) {
             super.repaint();
-            revalidateComponents();
+            requestRevalidation();
+        }
+    }
+
+    /**
+     * Requests that the components managed by the linked layout be revalidated on the event dispatch thread.
+     * Requests made within the same event-loop tick are coalesced into a single pass.
+     */
+    public void requestRevalidation() {
+        if (cyderLayout != null) {
+            cyderLayout.requestRevalidation();
         }
     }
 
@@ -26,6 +26,12 @@ public final class CyderComponentResizer extends MouseAdapter {
     /** The default inset value. */
     private static final int DEFAULT_INSET = Props.frameBorderLength.getValue();
 
+    /**
+     * The time in ms a drag must be idle before a frame's background is scaled to the new size.
+     * Until then, only previously scaled backgrounds are reused.
+     */
+    private static final int BACKGROUND_REFRESH_DEBOUNCE_MS = 150;
+
     /** A list of the focusable states of all components on the frame prior to the current resize event. */
     private final ArrayList<FocusWrappedComponent> focusWrappedComponents = new ArrayList<>();
 
@@ -71,9 +77,20 @@ public final class CyderComponentResizer extends MouseAdapter {
     /** Whether resizing is allowed. */
     private boolean resizingAllowed = true;
 
+    /** The frame whose background is refreshed once {@link #backgroundRefreshTimer} fires. */
+    private CyderFrame backgroundRefreshFrame;
+
+    /** The timer which refreshes the background of the frame being resized once the drag settles. */
+    private final Timer backgroundRefreshTimer;
+
     /** Constructs a new component resizer. */
     public CyderComponentResizer() {
         setSnapSize(DEFAULT_SNAP_SIZE);
+
+        backgroundRefreshTimer = new Timer(BACKGROUND_REFRESH_DEBOUNCE_MS, e -> {
+            if (backgroundRefreshFrame != null) backgroundRefreshFrame.refreshBackground();
+        });
+        backgroundRefreshTimer.setRepeats(false);
     }
 
     /**
@@ -274,6 +291,8 @@ public final class CyderComponentResizer extends MouseAdapter {
     @Override
     public void mouseReleased(MouseEvent e) {
         currentlyResizing = false;
+        backgroundRefreshTimer.stop();
+        backgroundRefreshFrame = null;
         Component source = e.getComponent();
         source.setCursor(sourceCursor);
 
@@ -299,8 +318,11 @@ public final class CyderComponentResizer extends MouseAdapter {
         SwingUtilities.convertPointToScreen(dragPoint, source);
         changeBounds(source, dragDirection.getDragOrdinal(), currentBounds, pressedPoint, dragPoint);
 
+        // The frame revalidates its layout when its bounds change, so only the background is handled here
         if (source instanceof CyderFrame frame && refreshBackgroundOnResize) {
-            frame.revalidateLayout();
+            frame.refreshBackgroundFromCache();
+            backgroundRefreshFrame = frame;
+            backgroundRefreshTimer.restart();
         }
     }
 
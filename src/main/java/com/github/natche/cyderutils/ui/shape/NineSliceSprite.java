@@ -0,0 +1,347 @@
+package com.github.natche.cyderutils.ui.shape;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nullable;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.HashMap;
+import java.util.function.Consumer;
+
+/**
+ * A small pre-rasterized image painted at any size of at least {@link #getSourceSize()} by 9-slice stretching.
+ * The four corners are drawn unscaled, the edges are stretched along their length, and the center is stretched
+ * in both directions. This suits shapes such as rounded rectangles whose edges are uniform between their corners,
+ * turning a repaint of antialiased geometry into nine image blits. A center slice of a single opaque color
+ * is filled rather than blitted.
+ * <p>
+ * The source is rasterized once per device scale and, where the graphics device supports it, copied into a
+ * {@link VolatileImage} so the blits may be accelerated. Lost volatile contents are restored from the rasterized
+ * copy. This class should only be used on the event dispatch thread.
+ */
+public final class NineSliceSprite {
+    /** The logical size of each corner which is never stretched. */
+    private final int cornerSize;
+
+    /** The painter which paints the source into a square of {@link #getSourceSize()} logical pixels. */
+    private final Consumer<Graphics2D> sourcePainter;
+
+    /** The rasterized source for each device scale painted at. */
+    private final HashMap<DeviceScale, SpriteRaster> rasters = new HashMap<>();
+
+    /**
+     * Constructs a new nine slice sprite.
+     *
+     * @param cornerSize    the logical size of each corner which is never stretched
+     * @param sourcePainter the painter which paints the source into a square of
+     *                      {@code 2 * cornerSize + 1} logical pixels
+     * @throws NullPointerException     if the provided painter is null
+     * @throws IllegalArgumentException if the provided corner size is negative
+     */
+    public NineSliceSprite(int cornerSize, Consumer<Graphics2D> sourcePainter) {
+        Preconditions.checkArgument(cornerSize >= 0);
+        Preconditions.checkNotNull(sourcePainter);
+
+        this.cornerSize = cornerSize;
+        this.sourcePainter = sourcePainter;
+    }
+
+    /**
+     * Returns the logical size of each corner which is never stretched.
+     *
+     * @return the logical size of each corner
+     */
+    public int getCornerSize() {
+        return cornerSize;
+    }
+
+    /**
+     * Returns the logical width and height of the source, the smallest size this sprite may be painted at.
+     *
+     * @return the logical width and height of the source
+     */
+    public int getSourceSize() {
+        return 2 * cornerSize + 1;
+    }
+
+    /**
+     * Paints this sprite stretched to the provided bounds.
+     * Nothing is painted if the bounds are smaller than the source or the transform of the provided
+     * graphics object shears, in which case the caller should paint the geometry itself.
+     *
+     * @param g2d    the graphics object to paint with
+     * @param x      the x value of the bounds
+     * @param y      the y value of the bounds
+     * @param width  the width of the bounds
+     * @param height the height of the bounds
+     * @return whether this sprite was painted
+     * @throws NullPointerException if the provided graphics object is null
+     */
+    public boolean paint(Graphics2D g2d, int x, int y, int width, int height) {
+        Preconditions.checkNotNull(g2d);
+
+        int sourceSize = getSourceSize();
+        if (width < sourceSize || height < sourceSize) return false;
+
+        AffineTransform transform = g2d.getTransform();
+        if (transform.getShearX() != 0 || transform.getShearY() != 0) return false;
+        double scaleX = Math.abs(transform.getScaleX());
+        double scaleY = Math.abs(transform.getScaleY());
+        if (scaleX == 0 || scaleY == 0) return false;
+
+        SpriteRaster raster = rasters.computeIfAbsent(new DeviceScale(scaleX, scaleY), this::rasterize);
+        VolatileImage accelerated = raster.validateAccelerated(g2d.getDeviceConfiguration());
+        if (accelerated != null) {
+            drawSlices(g2d, accelerated, raster, x, y, width, height);
+            if (!accelerated.contentsLost()) return true;
+        }
+
+        drawSlices(g2d, raster.image(), raster, x, y, width, height);
+        return true;
+    }
+
+    /** Discards all rasterized copies of the source, forcing them to be rasterized again when next painted. */
+    public void invalidate() {
+        rasters.values().forEach(SpriteRaster::flush);
+        rasters.clear();
+    }
+
+    /**
+     * Draws the nine slices of the provided image to the provided logical bounds.
+     *
+     * @param g2d    the graphics object to paint with
+     * @param image  the rasterized source
+     * @param raster the raster describing the device dimensions of the source
+     * @param x      the x value of the bounds
+     * @param y      the y value of the bounds
+     * @param width  the width of the bounds
+     * @param height the height of the bounds
+     */
+    private void drawSlices(Graphics2D g2d, Image image, SpriteRaster raster,
+                            int x, int y, int width, int height) {
+        int[] destinationXs = {x, x + cornerSize, x + width - cornerSize, x + width};
+        int[] destinationYs = {y, y + cornerSize, y + height - cornerSize, y + height};
+        int[] sourceXs = {0, raster.cornerWidth(), raster.width() - raster.cornerWidth(), raster.width()};
+        int[] sourceYs = {0, raster.cornerHeight(), raster.height() - raster.cornerHeight(), raster.height()};
+
+        for (int row = 0 ; row < 3 ; row++) {
+            for (int column = 0 ; column < 3 ; column++) {
+                if (row == 1 && column == 1 && raster.opaqueCenterColor() != null) {
+                    // A solid center is filled directly as blending a stretched image is far slower without a GPU
+                    Paint paint = g2d.getPaint();
+                    g2d.setPaint(raster.opaqueCenterColor());
+                    g2d.fillRect(destinationXs[1], destinationYs[1],
+                            destinationXs[2] - destinationXs[1], destinationYs[2] - destinationYs[1]);
+                    g2d.setPaint(paint);
+                    continue;
+                }
+
+                g2d.drawImage(image,
+                        destinationXs[column], destinationYs[row],
+                        destinationXs[column + 1], destinationYs[row + 1],
+                        sourceXs[column], sourceYs[row],
+                        sourceXs[column + 1], sourceYs[row + 1], null);
+            }
+        }
+    }
+
+    /**
+     * Rasterizes the source at the provided device scale.
+     *
+     * @param scale the device scale
+     * @return the rasterized source
+     */
+    private SpriteRaster rasterize(DeviceScale scale) {
+        int sourceSize = getSourceSize();
+        int cornerWidth = (int) Math.round(cornerSize * scale.scaleX());
+        int cornerHeight = (int) Math.round(cornerSize * scale.scaleY());
+        int width = Math.max(2 * cornerWidth + 1, (int) Math.ceil(sourceSize * scale.scaleX()));
+        int height = Math.max(2 * cornerHeight + 1, (int) Math.ceil(sourceSize * scale.scaleY()));
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.scale(scale.scaleX(), scale.scaleY());
+        sourcePainter.accept(graphics);
+        graphics.dispose();
+
+        Color opaqueCenterColor = findOpaqueCenterColor(image, cornerWidth, cornerHeight);
+        return new SpriteRaster(image, width, height, cornerWidth, cornerHeight, opaqueCenterColor);
+    }
+
+    /**
+     * Returns the color of the center slice of the provided image if every pixel of it is the same opaque color.
+     *
+     * @param image        the rasterized source
+     * @param cornerWidth  the width of each corner in device pixels
+     * @param cornerHeight the height of each corner in device pixels
+     * @return the color of the center slice if solid and opaque, null otherwise
+     */
+    @Nullable
+    private static Color findOpaqueCenterColor(BufferedImage image, int cornerWidth, int cornerHeight) {
+        int centerRgb = image.getRGB(cornerWidth, cornerHeight);
+        if ((centerRgb >>> 24) != 0xFF) return null;
+
+        for (int x = cornerWidth ; x < image.getWidth() - cornerWidth ; x++) {
+            for (int y = cornerHeight ; y < image.getHeight() - cornerHeight ; y++) {
+                if (image.getRGB(x, y) != centerRgb) return null;
+            }
+        }
+
+        return new Color(centerRgb);
+    }
+
+    /**
+     * The scale of the device a sprite is painted on.
+     *
+     * @param scaleX the horizontal device scale
+     * @param scaleY the vertical device scale
+     */
+    private record DeviceScale(double scaleX, double scaleY) {}
+
+    /** The source rasterized at a particular device scale along with its accelerated copy. */
+    private static final class SpriteRaster {
+        /** The rasterized source. */
+        private final BufferedImage image;
+
+        /** The width of the rasterized source in device pixels. */
+        private final int width;
+
+        /** The height of the rasterized source in device pixels. */
+        private final int height;
+
+        /** The width of each corner in device pixels. */
+        private final int cornerWidth;
+
+        /** The height of each corner in device pixels. */
+        private final int cornerHeight;
+
+        /** The color of the center slice if every pixel of it is the same opaque color, null otherwise. */
+        private final Color opaqueCenterColor;
+
+        /** The accelerated copy of the rasterized source, null if not yet created or unsupported. */
+        private VolatileImage accelerated;
+
+        /** Whether creating an accelerated copy failed, after which the rasterized source is always used. */
+        private boolean accelerationUnsupported;
+
+        /**
+         * Constructs a new sprite raster.
+         *
+         * @param image             the rasterized source
+         * @param width             the width of the rasterized source in device pixels
+         * @param height            the height of the rasterized source in device pixels
+         * @param cornerWidth       the width of each corner in device pixels
+         * @param cornerHeight      the height of each corner in device pixels
+         * @param opaqueCenterColor the color of the center slice if solid and opaque, null otherwise
+         */
+        SpriteRaster(BufferedImage image, int width, int height, int cornerWidth, int cornerHeight,
+                     @Nullable Color opaqueCenterColor) {
+            this.image = image;
+            this.width = width;
+            this.height = height;
+            this.cornerWidth = cornerWidth;
+            this.cornerHeight = cornerHeight;
+            this.opaqueCenterColor = opaqueCenterColor;
+        }
+
+        /**
+         * Returns the accelerated copy of the rasterized source valid for the provided configuration,
+         * creating or restoring it if necessary.
+         *
+         * @param configuration the configuration of the device being painted on
+         * @return the accelerated copy, null if acceleration is unavailable
+         */
+        @Nullable
+        VolatileImage validateAccelerated(@Nullable GraphicsConfiguration configuration) {
+            if (accelerationUnsupported || configuration == null) return null;
+
+            try {
+                int status = accelerated == null
+                        ? VolatileImage.IMAGE_INCOMPATIBLE
+                        : accelerated.validate(configuration);
+                if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                    flush();
+                    accelerated = configuration.createCompatibleVolatileImage(width, height, Transparency.TRANSLUCENT);
+                    status = VolatileImage.IMAGE_RESTORED;
+                }
+                if (status == VolatileImage.IMAGE_RESTORED) copySourceToAccelerated();
+                return accelerated;
+            } catch (Exception e) {
+                accelerationUnsupported = true;
+                flush();
+                return null;
+            }
+        }
+
+        /** Replaces the contents of the accelerated copy with the rasterized source. */
+        private void copySourceToAccelerated() {
+            Graphics2D graphics = accelerated.createGraphics();
+            graphics.setComposite(AlphaComposite.Src);
+            graphics.drawImage(image, 0, 0, null);
+            graphics.dispose();
+        }
+
+        /** Releases the accelerated copy if present. */
+        void flush() {
+            if (accelerated != null) accelerated.flush();
+            accelerated = null;
+        }
+
+        /**
+         * Returns the rasterized source.
+         *
+         * @return the rasterized source
+         */
+        BufferedImage image() {
+            return image;
+        }
+
+        /**
+         * Returns the width of the rasterized source in device pixels.
+         *
+         * @return the width of the rasterized source in device pixels
+         */
+        int width() {
+            return width;
+        }
+
+        /**
+         * Returns the height of the rasterized source in device pixels.
+         *
+         * @return the height of the rasterized source in device pixels
+         */
+        int height() {
+            return height;
+        }
+
+        /**
+         * Returns the width of each corner in device pixels.
+         *
+         * @return the width of each corner in device pixels
+         */
+        int cornerWidth() {
+            return cornerWidth;
+        }
+
+        /**
+         * Returns the height of each corner in device pixels.
+         *
+         * @return the height of each corner in device pixels
+         */
+        int cornerHeight() {
+            return cornerHeight;
+        }
+
+        /**
+         * Returns the color of the center slice if every pixel of it is the same opaque color.
+         *
+         * @return the color of the center slice if solid and opaque, null otherwise
+         */
+        @Nullable
+        Color opaqueCenterColor() {
+            return opaqueCenterColor;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.github.natche.cyderutils.ui.shape;
+
+import com.google.common.base.Preconditions;
+
+import java.awt.*;
+import java.awt.geom.RoundRectangle2D;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A cache of prebuilt geometry and pre-rasterized sprites shared by the rounded Cyder components.
+ * Components repaint far more often than their size or appearance changes, so rather than rebuilding
+ * paths on every paint call they look up the shape for their current {@link ShapeKey}.
+ * Both shapes and sprites are evicted least-recently-used first.
+ * <p>
+ * Shapes returned by this cache are shared and must not be mutated.
+ */
+public enum ShapeCache {
+    /** The shape cache instance. */
+    INSTANCE;
+
+    /** The maximum number of shapes retained. */
+    private static final int MAXIMUM_SHAPES = 256;
+
+    /** The maximum number of sprites retained. */
+    private static final int MAXIMUM_SPRITES = 64;
+
+    /** The cached shapes, least recently used first. */
+    private final LinkedHashMap<ShapeKey, Shape> shapes = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ShapeKey, Shape> eldest) {
+            return size() > MAXIMUM_SHAPES;
+        }
+    };
+
+    /** The cached rounded rectangle sprites, least recently used first. */
+    private final LinkedHashMap<RoundedRectangleSpriteKey, NineSliceSprite> sprites
+            = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<RoundedRectangleSpriteKey, NineSliceSprite> eldest) {
+            boolean remove = size() > MAXIMUM_SPRITES;
+            if (remove) eldest.getValue().invalidate();
+            return remove;
+        }
+    };
+
+    /**
+     * The parameters which fully determine the appearance of a rounded rectangle sprite.
+     *
+     * @param arc          the arc of the corners
+     * @param borderLength the length of the border
+     * @param borderColor  the color of the border
+     * @param fillColor    the color within the border
+     */
+    private record RoundedRectangleSpriteKey(int arc, int borderLength, Color borderColor, Color fillColor) {}
+
+    /**
+     * Returns the shape for the provided key, building it with the provided factory if not cached.
+     *
+     * @param key     the key fully determining the geometry of the shape
+     * @param factory the function to build the shape from the key if not cached
+     * @return the shape
+     * @throws NullPointerException if either argument is null or the factory returns null
+     */
+    public synchronized Shape getShape(ShapeKey key, Function<ShapeKey, ? extends Shape> factory) {
+        Preconditions.checkNotNull(key);
+        Preconditions.checkNotNull(factory);
+
+        Shape shape = shapes.get(key);
+        if (shape == null) {
+            shape = Preconditions.checkNotNull(factory.apply(key));
+            shapes.put(key, shape);
+        }
+
+        return shape;
+    }
+
+    /**
+     * Returns a rounded rectangle of the provided outer size with its bounds inset on all sides.
+     *
+     * @param width  the outer width
+     * @param height the outer height
+     * @param arc    the width and height of the arc of the corners
+     * @param inset  the length to inset the rectangle from each side of the outer size
+     * @return the rounded rectangle
+     * @throws IllegalArgumentException if any argument is negative
+     */
+    public Shape getRoundedRectangle(int width, int height, int arc, int inset) {
+        ShapeKey key = new ShapeKey(ShapeKind.ROUNDED_RECTANGLE, width, height, arc, inset, null);
+        return getShape(key, ShapeCache::createRoundedRectangle);
+    }
+
+    /**
+     * Returns a sprite of a filled rounded rectangle surrounded by a border, equivalent to filling the rounded
+     * rectangle of {@link #getRoundedRectangle(int, int, int, int)} with an inset of zero using the border color
+     * followed by the rounded rectangle inset by the border length using the fill color.
+     *
+     * @param arc          the width and height of the arc of the corners
+     * @param borderLength the length of the border
+     * @param borderColor  the color of the border
+     * @param fillColor    the color within the border
+     * @return the sprite
+     * @throws NullPointerException     if either color is null
+     * @throws IllegalArgumentException if the arc or border length is negative
+     */
+    public synchronized NineSliceSprite getRoundedRectangleSprite(int arc, int borderLength,
+                                                                  Color borderColor, Color fillColor) {
+        Preconditions.checkArgument(arc >= 0);
+        Preconditions.checkArgument(borderLength >= 0);
+        Preconditions.checkNotNull(borderColor);
+        Preconditions.checkNotNull(fillColor);
+
+        RoundedRectangleSpriteKey key = new RoundedRectangleSpriteKey(arc, borderLength, borderColor, fillColor);
+        return sprites.computeIfAbsent(key, ShapeCache::createRoundedRectangleSprite);
+    }
+
+    /**
+     * Returns the number of shapes currently retained.
+     *
+     * @return the number of shapes currently retained
+     */
+    public synchronized int getShapeCount() {
+        return shapes.size();
+    }
+
+    /**
+     * Returns the number of sprites currently retained.
+     *
+     * @return the number of sprites currently retained
+     */
+    public synchronized int getSpriteCount() {
+        return sprites.size();
+    }
+
+    /** Removes all shapes and sprites from this cache. */
+    public synchronized void clear() {
+        shapes.clear();
+        sprites.values().forEach(NineSliceSprite::invalidate);
+        sprites.clear();
+    }
+
+    /**
+     * Creates the rounded rectangle described by the provided key.
+     *
+     * @param key the key of kind {@link ShapeKind#ROUNDED_RECTANGLE}
+     * @return the rounded rectangle
+     */
+    private static Shape createRoundedRectangle(ShapeKey key) {
+        return new RoundRectangle2D.Double(key.inset(), key.inset(),
+                key.width() - 2 * key.inset(), key.height() - 2 * key.inset(), key.arc(), key.arc());
+    }
+
+    /**
+     * Creates the rounded rectangle sprite described by the provided key.
+     * The corners span the border and the curve of the inner rectangle so that the edges between them are uniform.
+     *
+     * @param key the key
+     * @return the rounded rectangle sprite
+     */
+    private static NineSliceSprite createRoundedRectangleSprite(RoundedRectangleSpriteKey key) {
+        int cornerSize = key.borderLength() + (key.arc() + 1) / 2;
+
+        return new NineSliceSprite(cornerSize, graphics -> {
+            int sourceSize = 2 * cornerSize + 1;
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+
+            graphics.setPaint(key.borderColor());
+            graphics.fill(new RoundRectangle2D.Double(0, 0, sourceSize, sourceSize, key.arc(), key.arc()));
+            graphics.setPaint(key.fillColor());
+            graphics.fill(new RoundRectangle2D.Double(key.borderLength(), key.borderLength(),
+                    sourceSize - 2 * key.borderLength(), sourceSize - 2 * key.borderLength(), key.arc(), key.arc()));
+        });
+    }
+}
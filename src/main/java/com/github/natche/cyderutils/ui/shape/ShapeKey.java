@@ -0,0 +1,32 @@
+package com.github.natche.cyderutils.ui.shape;
+
+import com.github.natche.cyderutils.animation.Direction;
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nullable;
+
+/**
+ * The parameters which fully determine the geometry of a cached shape.
+ *
+ * @param kind      the kind of shape
+ * @param width     the width of the shape or of the content it surrounds
+ * @param height    the height of the shape or of the content it surrounds
+ * @param arc       the arc or curve length of the corners of the shape
+ * @param inset     the offset of the shape from the origin
+ * @param direction the direction of the arrow of the shape, null if the shape has no arrow
+ */
+public record ShapeKey(ShapeKind kind, int width, int height, int arc, int inset, @Nullable Direction direction) {
+    /**
+     * Constructs a new shape key.
+     *
+     * @throws NullPointerException     if the provided kind is null
+     * @throws IllegalArgumentException if any dimension is negative
+     */
+    public ShapeKey {
+        Preconditions.checkNotNull(kind);
+        Preconditions.checkArgument(width >= 0);
+        Preconditions.checkArgument(height >= 0);
+        Preconditions.checkArgument(arc >= 0);
+        Preconditions.checkArgument(inset >= 0);
+    }
+}
@@ -0,0 +1,16 @@
+package com.github.natche.cyderutils.ui.shape;
+
+/** The kinds of shapes held by the {@link ShapeCache}. */
+public enum ShapeKind {
+    /** A rounded rectangle. */
+    ROUNDED_RECTANGLE,
+
+    /** The curved body of a notification, optionally offset to leave room for its arrow. */
+    NOTIFICATION_BODY,
+
+    /** The border of the arrow of a notification. */
+    NOTIFICATION_ARROW_BORDER,
+
+    /** The fill of the arrow of a notification. */
+    NOTIFICATION_ARROW_FILL
+}
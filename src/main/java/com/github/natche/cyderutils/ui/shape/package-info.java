@@ -0,0 +1,5 @@
+/**
+ * Caches of prebuilt geometry and pre-rasterized sprites shared by the rounded Cyder ui components,
+ * allowing repaints to reuse work instead of rebuilding paths on every paint call.
+ */
+package com.github.natche.cyderutils.ui.shape;
@@ -3,13 +3,12 @@ package com.github.natche.cyderutils.utils;
 import com.google.common.base.Preconditions;
 import com.github.natche.cyderutils.constants.CyderRegexPatterns;
 import com.github.natche.cyderutils.exceptions.IllegalMethodException;
+import com.github.natche.cyderutils.network.scrapers.ScrapingRuntime;
 import com.github.natche.cyderutils.strings.CyderStrings;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
-import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 
+import java.io.IOException;
 import java.util.Optional;
 
 /** Utilities related to {@link Jsoup}. */
@@ -24,7 +23,8 @@ public class JsoupUtils {
     }
 
     /**
-     * Reads and returns a {@link Jsoup} {@link Document} read from the provided url.
+     * Reads and returns a {@link Jsoup} {@link Document} read from the provided url after rendering it
+     * in a pooled headless browser session.
      *
      * @param url the url to read, parse, and return a Document from
      * @return the Document
@@ -32,24 +32,31 @@ public class JsoupUtils {
      * @throws IllegalArgumentException if the provided url is empty or not a valid url
      */
     public static Optional<Document> readDocument(String url) {
+        return readDocument(url, ScrapingRuntime.RenderMode.JAVASCRIPT);
+    }
+
+    /**
+     * Reads and returns a {@link Jsoup} {@link Document} read from the provided url using the
+     * {@link ScrapingRuntime}, which caches documents for a short time.
+     *
+     * @param url        the url to read, parse, and return a Document from
+     * @param renderMode how the page must be loaded for its document to be complete
+     * @return the Document
+     * @throws NullPointerException     if the provided url or render mode is null
+     * @throws IllegalArgumentException if the provided url is empty or not a valid url
+     */
+    public static Optional<Document> readDocument(String url, ScrapingRuntime.RenderMode renderMode) {
         Preconditions.checkNotNull(url);
+        Preconditions.checkNotNull(renderMode);
         Preconditions.checkArgument(!url.isEmpty());
         Preconditions.checkArgument(CyderRegexPatterns.urlFormationPattern.matcher(url).matches());
 
-        Document doc = null;
-
         try {
-            ChromeOptions options = new ChromeOptions();
-            options.addArguments("--headless");
-            options.addArguments("--disable-gpu");
-            options.addArguments("--no-sandbox");
-
-            WebDriver driver = new ChromeDriver(options);
-            driver.get(url);
-            String pageSource = driver.getPageSource();
-            doc = Jsoup.parse(pageSource);
-        } catch (Exception ignored) {}
+            return Optional.of(ScrapingRuntime.INSTANCE.readDocument(url, renderMode));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
 
-        return Optional.ofNullable(doc);
+        return Optional.empty();
     }
 }
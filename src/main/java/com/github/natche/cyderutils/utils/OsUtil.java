@@ -2,11 +2,13 @@ package com.github.natche.cyderutils.utils;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.github.natche.cyderutils.enumerations.SystemPropertyKey;
 import com.github.natche.cyderutils.exceptions.IllegalMethodException;
 import com.github.natche.cyderutils.managers.RobotManager;
 import com.github.natche.cyderutils.strings.CyderStrings;
+import com.github.natche.cyderutils.threads.ThreadUtil;
 
 import java.awt.*;
 import java.awt.datatransfer.StringSelection;
@@ -14,11 +16,24 @@ import java.io.File;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.NetworkInterface;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileSystemException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.text.DecimalFormat;
+import java.time.Duration;
 import java.util.List;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -55,11 +70,14 @@ public final class OsUtil {
     /** The file separator character used for this operating system. */
     public static final String FILE_SEP = SystemPropertyKey.FILE_SEPARATOR.getProperty();
 
-    /** The maximum number of times something should be attempted to be deleted. */
-    public static final int MAX_FILE_DELETION_ATTEMPTS = 500;
+    /** The maximum number of times something should be attempted to be deleted when failing transiently. */
+    public static final int MAX_FILE_DELETION_ATTEMPTS = 6;
 
-    /** The maximum number of times something should be attempted to be created. */
-    public static final int MAX_FILE_CREATION_ATTEMPTS = 500;
+    /** The maximum number of times something should be attempted to be created when failing transiently. */
+    public static final int MAX_FILE_CREATION_ATTEMPTS = 6;
+
+    /** The delay before the first retry of a transiently failing file operation, doubled for each retry. */
+    private static final Duration INITIAL_RETRY_BACKOFF = Duration.ofMillis(2);
 
     /** The default user directory. */
     public static final String USER_DIR = SystemPropertyKey.USER_DIR.getProperty();
@@ -279,7 +297,7 @@ public final class OsUtil {
      * Deletes the provided file/folder recursively.
      *
      * @param fileOrFolder the folder/file to delete
-     * @param log          whether to log the delete operation. Ideally this is
+     * @param log          whether to log the paths which could not be deleted. Ideally this is
      *                     always true but some rare cases require logging to be skipped
      * @return whether the folder/file was successfully deleted
      */
@@ -287,26 +305,166 @@ public final class OsUtil {
     public static boolean deleteFile(File fileOrFolder, boolean log) {
         checkNotNull(fileOrFolder);
 
-        // directory means recursive case to delete contents
-        if (fileOrFolder.isDirectory()) {
-            File[] files = fileOrFolder.listFiles();
+        Path path = fileOrFolder.toPath();
+        if (!Files.exists(path, LinkOption.NOFOLLOW_LINKS)) return false;
+
+        DeletionResult result = deleteTree(path, true);
+        if (log) result.failures().values().forEach(Throwable::printStackTrace);
+        return result.isSuccessful();
+    }
 
-            if (files != null && files.length != 0) {
-                Arrays.stream(files).forEach(file -> deleteFile(file, log));
+    /** The return record from {@link #deleteTree(Path, boolean)}. */
+    public record DeletionResult(long deletedCount, ImmutableMap<Path, IOException> failures) {
+        /**
+         * Returns whether every path beneath and including the root was deleted.
+         *
+         * @return whether every path beneath and including the root was deleted
+         */
+        public boolean isSuccessful() {
+            return failures.isEmpty();
+        }
+    }
+
+    /**
+     * Deletes the provided file or directory tree in post-order without following symbolic links.
+     * Deletions failing due to a transient error are retried with exponential backoff.
+     * Directories containing a path which could not be deleted are left in place
+     * and are not reported as failures themselves.
+     *
+     * @param root     the file or directory to delete
+     * @param parallel whether to delete the subtrees of the root directory in parallel
+     * @return the result of the deletion including the paths which could not be deleted
+     * @throws NullPointerException if the provided root is null
+     */
+    @CanIgnoreReturnValue
+    public static DeletionResult deleteTree(Path root, boolean parallel) {
+        checkNotNull(root);
+
+        AtomicLong deletedCount = new AtomicLong();
+        Map<Path, IOException> failures = new ConcurrentHashMap<>();
+
+        if (parallel && Files.isDirectory(root, LinkOption.NOFOLLOW_LINKS)) {
+            try (Stream<Path> children = Files.list(root)) {
+                children.collect(Collectors.toList()).parallelStream()
+                        .forEach(child -> deleteSubtree(child, deletedCount, failures));
+                if (failures.isEmpty()) deletePath(root, deletedCount, failures);
+            } catch (IOException e) {
+                failures.put(root, e);
             }
+        } else {
+            deleteSubtree(root, deletedCount, failures);
+        }
+
+        return new DeletionResult(deletedCount.get(), ImmutableMap.copyOf(failures));
+    }
+
+    /**
+     * Deletes the provided file or directory tree in post-order on the calling thread.
+     *
+     * @param root         the file or directory to delete
+     * @param deletedCount the count of deleted paths to increment
+     * @param failures     the map to record paths which could not be deleted in
+     */
+    private static void deleteSubtree(Path root, AtomicLong deletedCount, Map<Path, IOException> failures) {
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    deletePath(file, deletedCount, failures);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exception) {
+                    if (!(exception instanceof NoSuchFileException)) failures.put(file, exception);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path directory, IOException exception) {
+                    if (exception != null) {
+                        failures.put(directory, exception);
+                    } else if (failures.keySet().stream().noneMatch(failure -> failure.startsWith(directory))) {
+                        deletePath(directory, deletedCount, failures);
+                    }
+
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            failures.put(root, e);
         }
+    }
 
-        // contents deleted so now can delete as if it was a file if it isn't
-        int inc = 0;
-        while (inc < MAX_FILE_DELETION_ATTEMPTS) {
-            if (fileOrFolder.delete()) {
-                return true;
+    /**
+     * Deletes the provided path, retrying transient failures.
+     *
+     * @param path         the path to delete
+     * @param deletedCount the count of deleted paths to increment
+     * @param failures     the map to record the path in if it could not be deleted
+     */
+    private static void deletePath(Path path, AtomicLong deletedCount, Map<Path, IOException> failures) {
+        try {
+            retryTransientFailures(() -> Files.delete(path), MAX_FILE_DELETION_ATTEMPTS);
+            deletedCount.incrementAndGet();
+        } catch (NoSuchFileException ignored) {
+            // Removed by someone else, the result is the same
+        } catch (IOException e) {
+            failures.put(path, e);
+        }
+    }
+
+    /** A file system operation which may throw an {@link IOException}. */
+    @FunctionalInterface
+    private interface FileSystemOperation {
+        /**
+         * Performs this operation.
+         *
+         * @throws IOException if the operation fails
+         */
+        void perform() throws IOException;
+    }
+
+    /**
+     * Performs the provided operation, retrying with exponential backoff
+     * while it fails due to a transient error and attempts remain.
+     *
+     * @param operation   the operation to perform
+     * @param maxAttempts the maximum number of times to attempt the operation
+     * @throws IOException the exception thrown by the final attempt if the operation never succeeded
+     */
+    private static void retryTransientFailures(FileSystemOperation operation, int maxAttempts) throws IOException {
+        Duration backoff = INITIAL_RETRY_BACKOFF;
+
+        for (int attempt = 1 ; ; attempt++) {
+            try {
+                operation.perform();
+                return;
+            } catch (IOException e) {
+                if (attempt >= maxAttempts || !isTransientFailure(e)) throw e;
             }
 
-            inc++;
+            ThreadUtil.sleep(backoff);
+            backoff = backoff.multipliedBy(2);
         }
+    }
 
-        return false;
+    /**
+     * Returns whether the provided exception may be resolved by retrying the operation which threw it.
+     * Only Windows reports such failures, a sharing violation when another process, such as an indexer or
+     * anti-virus scanner, briefly holds a handle to the path, or a directory which is not yet empty as the
+     * deletion of a child held open in such a way is still pending. A denied access, such as that of a
+     * read-only file, is permanent and is not retried.
+     *
+     * @param exception the exception
+     * @return whether the provided exception may be resolved by retrying
+     */
+    private static boolean isTransientFailure(IOException exception) {
+        if (OPERATING_SYSTEM != OperatingSystem.WINDOWS) return false;
+
+        // Sharing violations are reported as the base class, unlike denied access or missing paths
+        return exception instanceof DirectoryNotEmptyException
+                || exception.getClass().equals(FileSystemException.class);
     }
 
     /** The deletion failed tag. */
@@ -314,6 +472,7 @@ public final class OsUtil {
 
     /**
      * Creates the provided file/folder if possible.
+     * Creation failing due to a transient error is retried with exponential backoff.
      *
      * @param file   the file/folder to attempt to create
      * @param isFile whether to treat the file as a directory or as a file
@@ -322,23 +481,17 @@ public final class OsUtil {
     public static boolean createFile(File file, boolean isFile) {
         checkNotNull(file);
 
-        try {
-            int attempts = 0;
-            while (attempts < MAX_FILE_CREATION_ATTEMPTS) {
-                boolean created;
-
-                if (isFile) {
-                    created = file.createNewFile();
-                } else {
-                    created = file.mkdirs();
-                }
-
-                if (file.exists() && created) {
-                    return true;
-                }
+        Path path = file.toPath();
+        if (Files.exists(path, LinkOption.NOFOLLOW_LINKS)) return false;
 
-                attempts++;
+        try {
+            if (isFile) {
+                retryTransientFailures(() -> Files.createFile(path), MAX_FILE_CREATION_ATTEMPTS);
+            } else {
+                retryTransientFailures(() -> Files.createDirectories(path), MAX_FILE_CREATION_ATTEMPTS);
             }
+
+            return true;
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -1,17 +1,29 @@
 package com.github.natche.cyderutils.utils;
 
+import com.github.natche.cyderutils.files.DataUnit;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.github.natche.cyderutils.exceptions.FatalException;
 import com.github.natche.cyderutils.exceptions.IllegalMethodException;
 import com.github.natche.cyderutils.strings.CyderStrings;
 
-import java.math.BigInteger;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 /** Static utility class containing methods related to security. */
 public final class SecurityUtil {
@@ -29,8 +41,18 @@ public final class SecurityUtil {
         /** The name of this hashing algorithm. */
         private final String name;
 
+        /** The digest for this algorithm owned by the calling thread, avoiding a provider lookup per hash. */
+        private final ThreadLocal<MessageDigest> digest;
+
         HashingAlgorithm(String name) {
             this.name = name;
+            this.digest = ThreadLocal.withInitial(() -> {
+                try {
+                    return MessageDigest.getInstance(name);
+                } catch (NoSuchAlgorithmException e) {
+                    throw new FatalException("Hashing algorithm not supported: " + name);
+                }
+            });
         }
 
         /**
@@ -41,8 +63,30 @@ public final class SecurityUtil {
         public String getName() {
             return name;
         }
+
+        /**
+         * Returns the reset digest for this algorithm owned by the calling thread.
+         * The returned digest must not escape the calling thread.
+         *
+         * @return the reset digest for this algorithm owned by the calling thread
+         */
+        private MessageDigest getDigest() {
+            MessageDigest ret = digest.get();
+            ret.reset();
+            return ret;
+        }
     }
 
+    /** The characters used to encode a nibble as hexadecimal. */
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /** The size of the buffers used when streaming content into a digest. */
+    private static final int STREAMING_BUFFER_SIZE = (int) DataUnit.KILOBYTE.get(64);
+
+    /** The direct buffer owned by the calling thread for streaming file channels into a digest. */
+    private static final ThreadLocal<ByteBuffer> streamingBuffer
+            = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(STREAMING_BUFFER_SIZE));
+
     /** Suppress default constructor. */
     private SecurityUtil() {
         throw new IllegalMethodException(CyderStrings.ATTEMPTED_INSTANTIATION);
@@ -81,14 +125,12 @@ public final class SecurityUtil {
         Preconditions.checkNotNull(input);
         Preconditions.checkArgument(input.length > 0);
 
+        byte[] bytes = toBytes(input);
         try {
-            MessageDigest md = MessageDigest.getInstance(HashingAlgorithm.SHA256.getName());
-            return md.digest(toBytes(input));
-        } catch (Exception ex) {
-            ex.printStackTrace();
+            return HashingAlgorithm.SHA256.getDigest().digest(bytes);
+        } finally {
+            Arrays.fill(bytes, (byte) 0);
         }
-
-        throw new FatalException("Unable to compute SHA256 of input");
     }
 
     /**
@@ -101,14 +143,12 @@ public final class SecurityUtil {
         Preconditions.checkNotNull(input);
         Preconditions.checkArgument(input.length > 0);
 
+        byte[] bytes = toBytes(input);
         try {
-            MessageDigest md = MessageDigest.getInstance(HashingAlgorithm.SHA1.getName());
-            return md.digest(toBytes(input));
-        } catch (Exception ex) {
-            ex.printStackTrace();
+            return HashingAlgorithm.SHA1.getDigest().digest(bytes);
+        } finally {
+            Arrays.fill(bytes, (byte) 0);
         }
-
-        throw new FatalException("Unable to compute SHA1 of input");
     }
 
     /**
@@ -121,14 +161,12 @@ public final class SecurityUtil {
         Preconditions.checkNotNull(input);
         Preconditions.checkArgument(input.length > 0);
 
+        byte[] bytes = toBytes(input);
         try {
-            MessageDigest md = MessageDigest.getInstance(HashingAlgorithm.MD5.getName());
-            return md.digest(toBytes(input));
-        } catch (Exception ex) {
-            ex.printStackTrace();
+            return HashingAlgorithm.MD5.getDigest().digest(bytes);
+        } finally {
+            Arrays.fill(bytes, (byte) 0);
         }
-
-        throw new FatalException("Unable to compute MD5 of input");
     }
 
     /**
@@ -141,18 +179,118 @@ public final class SecurityUtil {
         Preconditions.checkNotNull(input);
         Preconditions.checkArgument(input.length > 0);
 
+        return HashingAlgorithm.SHA256.getDigest().digest(input);
+    }
+
+    /**
+     * Returns the hash of the provided bytes using the provided algorithm.
+     *
+     * @param algorithm the hashing algorithm to use
+     * @param input     the bytes to hash
+     * @return the hashed bytes
+     * @throws NullPointerException if the provided algorithm or input is null
+     */
+    public static byte[] hash(HashingAlgorithm algorithm, byte[] input) {
+        Preconditions.checkNotNull(algorithm);
+        Preconditions.checkNotNull(input);
+
+        return algorithm.getDigest().digest(input);
+    }
+
+    /**
+     * Returns the hash of the contents of the file at the provided path using the provided algorithm.
+     * The file is streamed through a direct buffer so its contents are never fully loaded into memory.
+     *
+     * @param algorithm the hashing algorithm to use
+     * @param path      the path to the file to hash
+     * @return the hashed contents of the file
+     * @throws NullPointerException if the provided algorithm or path is null
+     * @throws IOException          if the file cannot be read
+     */
+    public static byte[] hash(HashingAlgorithm algorithm, Path path) throws IOException {
+        Preconditions.checkNotNull(algorithm);
+        Preconditions.checkNotNull(path);
+
+        MessageDigest digest = algorithm.getDigest();
+        ByteBuffer buffer = streamingBuffer.get();
+        buffer.clear();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+
+        return digest.digest();
+    }
+
+    /**
+     * Returns the hash of the remaining contents of the provided stream using the provided algorithm.
+     * The stream is read until exhausted but is not closed.
+     *
+     * @param algorithm   the hashing algorithm to use
+     * @param inputStream the stream to hash
+     * @return the hashed contents of the stream
+     * @throws NullPointerException if the provided algorithm or stream is null
+     * @throws IOException          if the stream cannot be read
+     */
+    public static byte[] hash(HashingAlgorithm algorithm, InputStream inputStream) throws IOException {
+        Preconditions.checkNotNull(algorithm);
+        Preconditions.checkNotNull(inputStream);
+
+        MessageDigest digest = algorithm.getDigest();
+        byte[] buffer = new byte[STREAMING_BUFFER_SIZE];
+
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+
+        return digest.digest();
+    }
+
+    /**
+     * Hashes the contents of the files at the provided paths in parallel using the provided algorithm.
+     * Duplicate paths are hashed once and the returned map iterates in the order the paths were provided.
+     *
+     * @param algorithm the hashing algorithm to use
+     * @param paths     the paths to the files to hash
+     * @return a map of each provided path to the hash of its contents
+     * @throws NullPointerException if the provided algorithm or paths are null
+     * @throws IOException          if any of the files cannot be read
+     */
+    public static ImmutableMap<Path, byte[]> hashAll(HashingAlgorithm algorithm,
+                                                     Collection<Path> paths) throws IOException {
+        Preconditions.checkNotNull(algorithm);
+        Preconditions.checkNotNull(paths);
+
+        ImmutableList<Path> uniquePaths = ImmutableSet.copyOf(paths).asList();
+        byte[][] hashes = new byte[uniquePaths.size()][];
+
         try {
-            MessageDigest md = MessageDigest.getInstance(HashingAlgorithm.SHA256.getName());
-            return md.digest(input);
-        } catch (Exception ex) {
-            ex.printStackTrace();
+            IntStream.range(0, uniquePaths.size()).parallel().forEach(index -> {
+                try {
+                    hashes[index] = hash(algorithm, uniquePaths.get(index));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
 
-        throw new FatalException("Unable to compute SHA256 of input");
+        ImmutableMap.Builder<Path, byte[]> ret = ImmutableMap.builderWithExpectedSize(uniquePaths.size());
+        for (int i = 0 ; i < uniquePaths.size() ; i++) {
+            ret.put(uniquePaths.get(i), hashes[i]);
+        }
+        return ret.build();
     }
 
     /**
-     * Returns a string representing the byte array.
+     * Returns a lowercase hex string representing the byte array.
+     * Each byte is encoded as exactly two characters so leading zeros are preserved.
      *
      * @param hash the array of bytes
      * @return a string representing the byte array
@@ -161,14 +299,14 @@ public final class SecurityUtil {
         Preconditions.checkNotNull(hash);
         Preconditions.checkArgument(hash.length > 0);
 
-        BigInteger number = new BigInteger(1, hash);
-        StringBuilder hexString = new StringBuilder(number.toString(16));
-
-        while (hexString.length() < 32) {
-            hexString.insert(0, '0');
+        char[] ret = new char[hash.length * 2];
+        for (int i = 0 ; i < hash.length ; i++) {
+            int value = hash[i] & 0xFF;
+            ret[i * 2] = HEX_DIGITS[value >>> 4];
+            ret[i * 2 + 1] = HEX_DIGITS[value & 0x0F];
         }
 
-        return hexString.toString();
+        return new String(ret);
     }
 
     /**
@@ -178,15 +316,9 @@ public final class SecurityUtil {
      * @return a unique uuid
      */
     public static String generateUuid() {
-        try {
-            MessageDigest salt = MessageDigest.getInstance(HashingAlgorithm.SHA256.getName());
-            salt.update(UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8));
-            return UUID.nameUUIDFromBytes(salt.digest()).toString();
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-        throw new FatalException("Unable to compute SHA256 of input");
+        byte[] salt = HashingAlgorithm.SHA256.getDigest()
+                .digest(UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8));
+        return UUID.nameUUIDFromBytes(salt).toString();
     }
 
     /**
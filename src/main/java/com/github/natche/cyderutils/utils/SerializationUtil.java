@@ -85,6 +85,21 @@ public final class SerializationUtil {
         return gson.fromJson(reader, clazz);
     }
 
+    /**
+     * Serializes the text read from the provided reader to the provided type.
+     *
+     * @param reader the reader to read from to obtain the text to serialize
+     * @param type   the type to serialize to
+     * @param <T>    the type of the type to serialize
+     * @return the serialized json
+     */
+    public static <T> T fromJson(Reader reader, Type type) {
+        Preconditions.checkNotNull(reader);
+        Preconditions.checkNotNull(type);
+
+        return gson.fromJson(reader, type);
+    }
+
     /**
      * Serializes the provided json to the provided type.
      *
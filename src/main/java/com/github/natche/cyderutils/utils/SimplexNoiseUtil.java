@@ -1,12 +1,20 @@
 package com.github.natche.cyderutils.utils;
 
 import com.github.natche.cyderutils.strings.ToStringUtil;
+import com.google.common.base.Preconditions;
+
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 /**
  * Class for generated OpenSimplexNoise. I obviously didn't write this since I
  * have somewhat of a life (as much as a full-time employed software engineer with a
  * massive passion project like Cyder can have).
  *
+ * <p>
+ * Gradients are stored per permutation index in flat primitive tables, and grids of points may be filled in bulk,
+ * optionally summing several octaves of fractal Brownian motion, with rows filled in parallel.
+ *
  * @author Kurt Spencer
  * @see <a href="https://gist.github.com/KdotJPG/b1270127455a94ac5d19">Source gist</a>
  */
@@ -31,10 +39,19 @@ public final class SimplexNoiseUtil {
     private static final int P_SIZE = 2048;
     private static final int P_MASK = 2047;
 
+    /** The number of values filled above which rows are filled in parallel. */
+    private static final int PARALLEL_FILL_THRESHOLD = 1 << 14;
+
     private final short[] perm;
-    private final Grad2[] permGrad2;
-    private final Grad3[] permGrad3;
-    private final Grad4[] permGrad4;
+
+    /** The x and y of the gradient of each permutation index, two values per index. */
+    private final double[] permGradients2D;
+
+    /** The x, y, and z of the gradient of each permutation index, three values per index. */
+    private final double[] permGradients3D;
+
+    /** The x, y, z, and w of the gradient of each permutation index, four values per index. */
+    private final double[] permGradients4D;
 
     public SimplexNoiseUtil() {
         this(DEFAULT_SEED);
@@ -42,22 +59,40 @@ public final class SimplexNoiseUtil {
 
     public SimplexNoiseUtil(short[] perm) {
         this.perm = perm;
-        permGrad2 = new Grad2[P_SIZE];
-        permGrad3 = new Grad3[P_SIZE];
-        permGrad4 = new Grad4[P_SIZE];
+        permGradients2D = new double[P_SIZE * 2];
+        permGradients3D = new double[P_SIZE * 3];
+        permGradients4D = new double[P_SIZE * 4];
 
         for (int i = 0 ; i < P_SIZE ; i++) {
-            permGrad2[i] = GRADIENTS_2D[perm[i]];
-            permGrad3[i] = GRADIENTS_3D[perm[i]];
-            permGrad4[i] = GRADIENTS_4D[perm[i]];
+            Grad2 grad2 = GRADIENTS_2D[perm[i]];
+            permGradients2D[i * 2] = grad2.dx;
+            permGradients2D[i * 2 + 1] = grad2.dy;
+
+            Grad3 grad3 = GRADIENTS_3D[perm[i]];
+            permGradients3D[i * 3] = grad3.dx;
+            permGradients3D[i * 3 + 1] = grad3.dy;
+            permGradients3D[i * 3 + 2] = grad3.dz;
+
+            Grad4 grad4 = GRADIENTS_4D[perm[i]];
+            permGradients4D[i * 4] = grad4.dx;
+            permGradients4D[i * 4 + 1] = grad4.dy;
+            permGradients4D[i * 4 + 2] = grad4.dz;
+            permGradients4D[i * 4 + 3] = grad4.dw;
         }
     }
 
     public SimplexNoiseUtil(long seed) {
-        perm = new short[P_SIZE];
-        permGrad2 = new Grad2[P_SIZE];
-        permGrad3 = new Grad3[P_SIZE];
-        permGrad4 = new Grad4[P_SIZE];
+        this(generatePermutation(seed));
+    }
+
+    /**
+     * Returns the permutation generated by the provided seed.
+     *
+     * @param seed the seed
+     * @return the permutation
+     */
+    private static short[] generatePermutation(long seed) {
+        short[] perm = new short[P_SIZE];
         short[] source = new short[P_SIZE];
         for (short i = 0 ; i < P_SIZE ; i++)
             source[i] = i;
@@ -67,11 +102,9 @@ public final class SimplexNoiseUtil {
             if (r < 0)
                 r += (i + 1);
             perm[i] = source[r];
-            permGrad2[i] = GRADIENTS_2D[perm[i]];
-            permGrad3[i] = GRADIENTS_3D[perm[i]];
-            permGrad4[i] = GRADIENTS_4D[perm[i]];
             source[r] = source[i];
         }
+        return perm;
     }
 
     // 2D OpenSimplex Noise.
@@ -2043,19 +2076,321 @@ public final class SimplexNoiseUtil {
         return value;
     }
 
+    /**
+     * The octaves summed by fractal Brownian motion, each sampling the noise at a higher frequency
+     * and a lower amplitude than the last. The sum is divided by the total amplitude to remain within
+     * the range of a single octave.
+     *
+     * @param count      the number of octaves
+     * @param lacunarity the factor the frequency is multiplied by between octaves
+     * @param gain       the factor the amplitude is multiplied by between octaves
+     */
+    public record Octaves(int count, double lacunarity, double gain) {
+        /** A single octave, equivalent to evaluating the noise directly. */
+        public static final Octaves SINGLE = new Octaves(1, 2, 0.5);
+
+        /**
+         * Constructs new octaves.
+         *
+         * @throws IllegalArgumentException if the count, lacunarity, or gain is not positive
+         */
+        public Octaves {
+            Preconditions.checkArgument(count > 0);
+            Preconditions.checkArgument(lacunarity > 0);
+            Preconditions.checkArgument(gain > 0);
+        }
+    }
+
+    /**
+     * Returns the fractal Brownian motion of the 2D noise at the provided point.
+     *
+     * @param x       the x coordinate
+     * @param y       the y coordinate
+     * @param octaves the octaves to sum
+     * @return the fractal noise at the point
+     */
+    public double evalFractal(double x, double y, Octaves octaves) {
+        if (octaves.count() == 1) return eval(x, y);
+
+        double sum = 0;
+        double amplitude = 1;
+        double frequency = 1;
+        double totalAmplitude = 0;
+        for (int octave = 0 ; octave < octaves.count() ; octave++) {
+            sum += amplitude * eval(x * frequency, y * frequency);
+            totalAmplitude += amplitude;
+            amplitude *= octaves.gain();
+            frequency *= octaves.lacunarity();
+        }
+        return sum / totalAmplitude;
+    }
+
+    /**
+     * Returns the fractal Brownian motion of the 3D noise at the provided point.
+     *
+     * @param x       the x coordinate
+     * @param y       the y coordinate
+     * @param z       the z coordinate
+     * @param octaves the octaves to sum
+     * @return the fractal noise at the point
+     */
+    public double evalFractal(double x, double y, double z, Octaves octaves) {
+        if (octaves.count() == 1) return eval(x, y, z);
+
+        double sum = 0;
+        double amplitude = 1;
+        double frequency = 1;
+        double totalAmplitude = 0;
+        for (int octave = 0 ; octave < octaves.count() ; octave++) {
+            sum += amplitude * eval(x * frequency, y * frequency, z * frequency);
+            totalAmplitude += amplitude;
+            amplitude *= octaves.gain();
+            frequency *= octaves.lacunarity();
+        }
+        return sum / totalAmplitude;
+    }
+
+    /**
+     * Returns the fractal Brownian motion of the 4D noise at the provided point.
+     *
+     * @param x       the x coordinate
+     * @param y       the y coordinate
+     * @param z       the z coordinate
+     * @param w       the w coordinate
+     * @param octaves the octaves to sum
+     * @return the fractal noise at the point
+     */
+    public double evalFractal(double x, double y, double z, double w, Octaves octaves) {
+        if (octaves.count() == 1) return eval(x, y, z, w);
+
+        double sum = 0;
+        double amplitude = 1;
+        double frequency = 1;
+        double totalAmplitude = 0;
+        for (int octave = 0 ; octave < octaves.count() ; octave++) {
+            sum += amplitude * eval(x * frequency, y * frequency, z * frequency, w * frequency);
+            totalAmplitude += amplitude;
+            amplitude *= octaves.gain();
+            frequency *= octaves.lacunarity();
+        }
+        return sum / totalAmplitude;
+    }
+
+    /**
+     * Fills the provided array with the 2D noise of a grid of points, row by row.
+     * The point at {@code column} and {@code row} is stored at {@code row * width + column}.
+     *
+     * @param out    the array to fill
+     * @param x0     the x coordinate of the first column
+     * @param y0     the y coordinate of the first row
+     * @param dx     the distance between columns
+     * @param dy     the distance between rows
+     * @param width  the number of columns
+     * @param height the number of rows
+     * @throws NullPointerException     if the provided array is null
+     * @throws IllegalArgumentException if the width or height is negative or the array is too short
+     */
+    public void fill2D(double[] out, double x0, double y0, double dx, double dy, int width, int height) {
+        fill2D(out, x0, y0, dx, dy, width, height, Octaves.SINGLE);
+    }
+
+    /**
+     * Fills the provided array with the fractal Brownian motion of the 2D noise of a grid of points, row by row.
+     * The point at {@code column} and {@code row} is stored at {@code row * width + column}.
+     *
+     * @param out     the array to fill
+     * @param x0      the x coordinate of the first column
+     * @param y0      the y coordinate of the first row
+     * @param dx      the distance between columns
+     * @param dy      the distance between rows
+     * @param width   the number of columns
+     * @param height  the number of rows
+     * @param octaves the octaves to sum
+     * @throws NullPointerException     if the provided array or octaves are null
+     * @throws IllegalArgumentException if the width or height is negative or the array is too short
+     */
+    public void fill2D(double[] out, double x0, double y0, double dx, double dy,
+                       int width, int height, Octaves octaves) {
+        checkFillArguments(out, octaves, width, height);
+
+        fillRows(height, width, row -> {
+            double y = y0 + row * dy;
+            int offset = row * width;
+            for (int column = 0 ; column < width ; column++) {
+                out[offset + column] = evalFractal(x0 + column * dx, y, octaves);
+            }
+        });
+    }
+
+    /**
+     * Fills the provided array with the 3D noise of a grid of points, row by row and slice by slice.
+     * The point at {@code column}, {@code row}, and {@code slice} is stored at
+     * {@code (slice * height + row) * width + column}.
+     *
+     * @param out    the array to fill
+     * @param x0     the x coordinate of the first column
+     * @param y0     the y coordinate of the first row
+     * @param z0     the z coordinate of the first slice
+     * @param dx     the distance between columns
+     * @param dy     the distance between rows
+     * @param dz     the distance between slices
+     * @param width  the number of columns
+     * @param height the number of rows
+     * @param depth  the number of slices
+     * @throws NullPointerException     if the provided array is null
+     * @throws IllegalArgumentException if any dimension is negative or the array is too short
+     */
+    public void fill3D(double[] out, double x0, double y0, double z0, double dx, double dy, double dz,
+                       int width, int height, int depth) {
+        fill3D(out, x0, y0, z0, dx, dy, dz, width, height, depth, Octaves.SINGLE);
+    }
+
+    /**
+     * Fills the provided array with the fractal Brownian motion of the 3D noise of a grid of points,
+     * row by row and slice by slice. The point at {@code column}, {@code row}, and {@code slice} is stored at
+     * {@code (slice * height + row) * width + column}.
+     *
+     * @param out     the array to fill
+     * @param x0      the x coordinate of the first column
+     * @param y0      the y coordinate of the first row
+     * @param z0      the z coordinate of the first slice
+     * @param dx      the distance between columns
+     * @param dy      the distance between rows
+     * @param dz      the distance between slices
+     * @param width   the number of columns
+     * @param height  the number of rows
+     * @param depth   the number of slices
+     * @param octaves the octaves to sum
+     * @throws NullPointerException     if the provided array or octaves are null
+     * @throws IllegalArgumentException if any dimension is negative or the array is too short
+     */
+    public void fill3D(double[] out, double x0, double y0, double z0, double dx, double dy, double dz,
+                       int width, int height, int depth, Octaves octaves) {
+        checkFillArguments(out, octaves, width, height, depth);
+
+        fillRows(height * depth, width, row -> {
+            double y = y0 + row % height * dy;
+            double z = z0 + row / height * dz;
+            int offset = row * width;
+            for (int column = 0 ; column < width ; column++) {
+                out[offset + column] = evalFractal(x0 + column * dx, y, z, octaves);
+            }
+        });
+    }
+
+    /**
+     * Fills the provided array with the 4D noise of a grid of points, such as a volume changing over time.
+     * The point at {@code column}, {@code row}, {@code slice}, and {@code frame} is stored at
+     * {@code ((frame * depth + slice) * height + row) * width + column}.
+     *
+     * @param out    the array to fill
+     * @param x0     the x coordinate of the first column
+     * @param y0     the y coordinate of the first row
+     * @param z0     the z coordinate of the first slice
+     * @param w0     the w coordinate of the first frame
+     * @param dx     the distance between columns
+     * @param dy     the distance between rows
+     * @param dz     the distance between slices
+     * @param dw     the distance between frames
+     * @param width  the number of columns
+     * @param height the number of rows
+     * @param depth  the number of slices
+     * @param frames the number of frames
+     * @throws NullPointerException     if the provided array is null
+     * @throws IllegalArgumentException if any dimension is negative or the array is too short
+     */
+    public void fill4D(double[] out, double x0, double y0, double z0, double w0,
+                       double dx, double dy, double dz, double dw, int width, int height, int depth, int frames) {
+        fill4D(out, x0, y0, z0, w0, dx, dy, dz, dw, width, height, depth, frames, Octaves.SINGLE);
+    }
+
+    /**
+     * Fills the provided array with the fractal Brownian motion of the 4D noise of a grid of points.
+     * The point at {@code column}, {@code row}, {@code slice}, and {@code frame} is stored at
+     * {@code ((frame * depth + slice) * height + row) * width + column}.
+     *
+     * @param out     the array to fill
+     * @param x0      the x coordinate of the first column
+     * @param y0      the y coordinate of the first row
+     * @param z0      the z coordinate of the first slice
+     * @param w0      the w coordinate of the first frame
+     * @param dx      the distance between columns
+     * @param dy      the distance between rows
+     * @param dz      the distance between slices
+     * @param dw      the distance between frames
+     * @param width   the number of columns
+     * @param height  the number of rows
+     * @param depth   the number of slices
+     * @param frames  the number of frames
+     * @param octaves the octaves to sum
+     * @throws NullPointerException     if the provided array or octaves are null
+     * @throws IllegalArgumentException if any dimension is negative or the array is too short
+     */
+    public void fill4D(double[] out, double x0, double y0, double z0, double w0,
+                       double dx, double dy, double dz, double dw,
+                       int width, int height, int depth, int frames, Octaves octaves) {
+        checkFillArguments(out, octaves, width, height, depth, frames);
+
+        fillRows(height * depth * frames, width, row -> {
+            double y = y0 + row % height * dy;
+            double z = z0 + row / height % depth * dz;
+            double w = w0 + row / (height * depth) * dw;
+            int offset = row * width;
+            for (int column = 0 ; column < width ; column++) {
+                out[offset + column] = evalFractal(x0 + column * dx, y, z, w, octaves);
+            }
+        });
+    }
+
+    /**
+     * Validates the arguments of a fill.
+     *
+     * @param out        the array to fill
+     * @param octaves    the octaves to sum
+     * @param dimensions the number of points along each dimension
+     * @throws NullPointerException     if the provided array or octaves are null
+     * @throws IllegalArgumentException if any dimension is negative or the array is too short
+     */
+    private static void checkFillArguments(double[] out, Octaves octaves, int... dimensions) {
+        Preconditions.checkNotNull(out);
+        Preconditions.checkNotNull(octaves);
+
+        long points = 1;
+        for (int dimension : dimensions) {
+            Preconditions.checkArgument(dimension >= 0);
+            points *= dimension;
+        }
+        Preconditions.checkArgument(out.length >= points);
+    }
+
+    /**
+     * Fills each row using the provided filler, in parallel on the common fork join pool
+     * if the number of values filled is large enough to outweigh the cost of splitting.
+     *
+     * @param rows   the number of rows
+     * @param width  the number of values per row
+     * @param filler the filler of the row with an index
+     */
+    private static void fillRows(int rows, int width, IntConsumer filler) {
+        IntStream indices = IntStream.range(0, rows);
+        if ((long) rows * width >= PARALLEL_FILL_THRESHOLD) indices = indices.parallel();
+        indices.forEach(filler);
+    }
+
     private double extrapolate(int xsb, int ysb, double dx, double dy) {
-        Grad2 grad = permGrad2[perm[xsb & P_MASK] ^ (ysb & P_MASK)];
-        return grad.dx * dx + grad.dy * dy;
+        int index = (perm[xsb & P_MASK] ^ (ysb & P_MASK)) * 2;
+        return permGradients2D[index] * dx + permGradients2D[index + 1] * dy;
     }
 
     private double extrapolate(int xsb, int ysb, int zsb, double dx, double dy, double dz) {
-        Grad3 grad = permGrad3[perm[perm[xsb & P_MASK] ^ (ysb & P_MASK)] ^ (zsb & P_MASK)];
-        return grad.dx * dx + grad.dy * dy + grad.dz * dz;
+        int index = (perm[perm[xsb & P_MASK] ^ (ysb & P_MASK)] ^ (zsb & P_MASK)) * 3;
+        return permGradients3D[index] * dx + permGradients3D[index + 1] * dy + permGradients3D[index + 2] * dz;
     }
 
     private double extrapolate(int xsb, int ysb, int zsb, int wsb, double dx, double dy, double dz, double dw) {
-        Grad4 grad = permGrad4[perm[perm[perm[xsb & P_MASK] ^ (ysb & P_MASK)] ^ (zsb & P_MASK)] ^ (wsb & P_MASK)];
-        return grad.dx * dx + grad.dy * dy + grad.dz * dz + grad.dw * dw;
+        int index = (perm[perm[perm[xsb & P_MASK] ^ (ysb & P_MASK)] ^ (zsb & P_MASK)] ^ (wsb & P_MASK)) * 4;
+        return permGradients4D[index] * dx + permGradients4D[index + 1] * dy
+                + permGradients4D[index + 2] * dz + permGradients4D[index + 3] * dw;
     }
 
     private static int fastFloor(double x) {
@@ -0,0 +1,328 @@
+package com.github.natche.cyderutils.watchdog;
+
+import com.github.natche.cyderutils.threads.CyderThreadFactory;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+
+import java.awt.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * A monitor of the responsiveness of the event dispatch thread.
+ * Every probe interval, a timestamped probe event is posted via {@link EventQueue#invokeLater(Runnable)}
+ * and the delay until it is dispatched is recorded in a {@link LatencyHistogram}. At most one probe is
+ * outstanding at a time so a frozen event queue is never flooded. If a probe remains undispatched for longer
+ * than the stall threshold, the stack of the event dispatch thread is captured and stall listeners are notified,
+ * attributing the freeze to the handler responsible for it.
+ */
+public final class EdtLatencyMonitor {
+    /** The value of {@link #outstandingProbeNanos} when no probe is awaiting dispatch. */
+    private static final long NO_OUTSTANDING_PROBE = Long.MIN_VALUE;
+
+    /** The maximum number of stalls retained by {@link #getRecentStalls()}. */
+    private static final int MAX_RECENT_STALLS = 16;
+
+    /** The name of the thread which posts probes and detects stalls. */
+    private static final String MONITOR_THREAD_NAME = "EDT Latency Monitor";
+
+    /** The interval between probes. */
+    private final Duration probeInterval;
+
+    /** The time a probe may remain undispatched before a stall is reported. */
+    private final Duration stallThreshold;
+
+    /** The source of monotonic time in nanoseconds, {@link System#nanoTime()} outside of tests. */
+    private final LongSupplier nanoClock;
+
+    /** The histogram of probe dispatch delays. */
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    /** The most recently detected stalls, oldest first. */
+    private final ArrayDeque<EdtStall> recentStalls = new ArrayDeque<>();
+
+    /** The listeners to notify, on the monitor thread, when a stall is detected. */
+    private final CopyOnWriteArrayList<Consumer<EdtStall>> stallListeners = new CopyOnWriteArrayList<>();
+
+    /** The value of the {@link #nanoClock} when the outstanding probe was posted. */
+    private final AtomicLong outstandingProbeNanos = new AtomicLong(NO_OUTSTANDING_PROBE);
+
+    /** Whether a stall has already been reported for the outstanding probe. */
+    private final AtomicBoolean outstandingProbeStallReported = new AtomicBoolean();
+
+    /** The total number of stalls detected. */
+    private final AtomicLong stallCount = new AtomicLong();
+
+    /** The event dispatch thread, recorded by the first dispatched probe. */
+    private volatile Thread eventDispatchThread;
+
+    /** The executor posting probes, null if this monitor is not running. */
+    private ScheduledExecutorService monitorExecutor;
+
+    /**
+     * Constructs a new EDT latency monitor.
+     *
+     * @param probeInterval  the interval between probes
+     * @param stallThreshold the time a probe may remain undispatched before a stall is reported
+     * @throws NullPointerException     if either argument is null
+     * @throws IllegalArgumentException if either argument is not positive
+     */
+    public EdtLatencyMonitor(Duration probeInterval, Duration stallThreshold) {
+        this(probeInterval, stallThreshold, System::nanoTime);
+    }
+
+    /**
+     * Constructs a new EDT latency monitor measuring time with the provided clock.
+     *
+     * @param probeInterval  the interval between probes
+     * @param stallThreshold the time a probe may remain undispatched before a stall is reported
+     * @param nanoClock      the source of monotonic time in nanoseconds
+     * @throws NullPointerException     if any argument is null
+     * @throws IllegalArgumentException if either duration is not positive
+     */
+    EdtLatencyMonitor(Duration probeInterval, Duration stallThreshold, LongSupplier nanoClock) {
+        Preconditions.checkNotNull(probeInterval);
+        Preconditions.checkNotNull(stallThreshold);
+        Preconditions.checkNotNull(nanoClock);
+        Preconditions.checkArgument(!probeInterval.isNegative() && !probeInterval.isZero());
+        Preconditions.checkArgument(!stallThreshold.isNegative() && !stallThreshold.isZero());
+
+        this.probeInterval = probeInterval;
+        this.stallThreshold = stallThreshold;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Starts posting probes to the event queue.
+     *
+     * @throws IllegalStateException if this monitor is already running
+     */
+    public synchronized void start() {
+        Preconditions.checkState(monitorExecutor == null);
+
+        CyderThreadFactory threadFactory = new CyderThreadFactory(MONITOR_THREAD_NAME);
+        monitorExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = threadFactory.newThread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long intervalNanos = probeInterval.toNanos();
+        monitorExecutor.scheduleAtFixedRate(this::tick, 0, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Stops posting probes to the event queue. Recorded statistics are retained. */
+    public synchronized void stop() {
+        if (monitorExecutor == null) return;
+
+        monitorExecutor.shutdownNow();
+        monitorExecutor = null;
+    }
+
+    /**
+     * Returns whether this monitor is posting probes.
+     *
+     * @return whether this monitor is posting probes
+     */
+    public synchronized boolean isRunning() {
+        return monitorExecutor != null;
+    }
+
+    /**
+     * Adds the provided listener to be notified when a stall is detected.
+     * Listeners are invoked on the monitor thread, not the event dispatch thread.
+     *
+     * @param listener the listener
+     * @throws NullPointerException if the provided listener is null
+     */
+    public void addStallListener(Consumer<EdtStall> listener) {
+        Preconditions.checkNotNull(listener);
+
+        stallListeners.add(listener);
+    }
+
+    /**
+     * Removes the provided listener.
+     *
+     * @param listener the listener
+     * @return whether the listener was removed
+     * @throws NullPointerException if the provided listener is null
+     */
+    @CanIgnoreReturnValue
+    public boolean removeStallListener(Consumer<EdtStall> listener) {
+        Preconditions.checkNotNull(listener);
+
+        return stallListeners.remove(listener);
+    }
+
+    /**
+     * Returns the dispatch delay at or below which the provided percentage of probes were dispatched.
+     *
+     * @param percentile the percentile in the range [0, 100]
+     * @return the dispatch delay at the provided percentile
+     * @throws IllegalArgumentException if the provided percentile is not in the range [0, 100]
+     */
+    public Duration getLatencyAtPercentile(double percentile) {
+        return histogram.getValueAtPercentile(percentile);
+    }
+
+    /**
+     * Returns the longest dispatch delay of any probe, that is, the longest freeze observed.
+     *
+     * @return the longest dispatch delay of any probe
+     */
+    public Duration getMaxLatency() {
+        return histogram.getMax();
+    }
+
+    /**
+     * Returns the mean dispatch delay of all probes.
+     *
+     * @return the mean dispatch delay of all probes
+     */
+    public Duration getMeanLatency() {
+        return histogram.getMean();
+    }
+
+    /**
+     * Returns the number of probes which have been dispatched.
+     *
+     * @return the number of probes which have been dispatched
+     */
+    public long getProbeCount() {
+        return histogram.getCount();
+    }
+
+    /**
+     * Returns the number of stalls detected.
+     *
+     * @return the number of stalls detected
+     */
+    public long getStallCount() {
+        return stallCount.get();
+    }
+
+    /**
+     * Returns how long the outstanding probe has been waiting for dispatch.
+     * A value approaching the stall threshold indicates the event dispatch thread is currently frozen.
+     *
+     * @return how long the outstanding probe has been waiting, zero if no probe is outstanding
+     */
+    public Duration getCurrentDelay() {
+        long postedNanos = outstandingProbeNanos.get();
+        if (postedNanos == NO_OUTSTANDING_PROBE) return Duration.ZERO;
+        return Duration.ofNanos(Math.max(0, nanoClock.getAsLong() - postedNanos));
+    }
+
+    /**
+     * Returns the state of the event dispatch thread.
+     *
+     * @return the state of the event dispatch thread, null if no probe has been dispatched yet
+     */
+    public Thread.State getEventDispatchThreadState() {
+        Thread edt = eventDispatchThread;
+        return edt == null ? null : edt.getState();
+    }
+
+    /**
+     * Returns the most recently detected stalls, oldest first.
+     *
+     * @return the most recently detected stalls
+     */
+    public ImmutableList<EdtStall> getRecentStalls() {
+        synchronized (recentStalls) {
+            return ImmutableList.copyOf(recentStalls);
+        }
+    }
+
+    /** Clears all recorded latencies and stalls. */
+    public void reset() {
+        histogram.reset();
+        stallCount.set(0);
+        synchronized (recentStalls) {
+            recentStalls.clear();
+        }
+    }
+
+    /** Posts a probe if none is outstanding, otherwise checks whether the outstanding probe has stalled. */
+    void tick() {
+        try {
+            long nowNanos = nanoClock.getAsLong();
+            long postedNanos = outstandingProbeNanos.get();
+
+            if (postedNanos == NO_OUTSTANDING_PROBE) {
+                outstandingProbeStallReported.set(false);
+                outstandingProbeNanos.set(nowNanos);
+                EventQueue.invokeLater(() -> onProbeDispatched(nowNanos));
+                return;
+            }
+
+            long waitingNanos = nowNanos - postedNanos;
+            if (waitingNanos >= stallThreshold.toNanos() && outstandingProbeStallReported.compareAndSet(false, true)) {
+                onStallDetected(Duration.ofNanos(waitingNanos));
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Records the dispatch delay of a probe. Invoked on the event dispatch thread.
+     *
+     * @param postedNanos the value of the {@link #nanoClock} when the probe was posted
+     */
+    private void onProbeDispatched(long postedNanos) {
+        eventDispatchThread = Thread.currentThread();
+        histogram.record(Math.max(0, nanoClock.getAsLong() - postedNanos));
+        outstandingProbeNanos.set(NO_OUTSTANDING_PROBE);
+    }
+
+    /**
+     * Captures the stack of the event dispatch thread and notifies the stall listeners.
+     *
+     * @param observed how long the outstanding probe has been waiting
+     */
+    private void onStallDetected(Duration observed) {
+        Thread edt = eventDispatchThread;
+        ImmutableList<StackTraceElement> stack = edt == null
+                ? ImmutableList.of()
+                : ImmutableList.copyOf(edt.getStackTrace());
+        EdtStall stall = new EdtStall(Instant.now().minus(observed), observed, stack);
+
+        stallCount.incrementAndGet();
+        synchronized (recentStalls) {
+            if (recentStalls.size() == MAX_RECENT_STALLS) recentStalls.removeFirst();
+            recentStalls.addLast(stall);
+        }
+
+        for (Consumer<EdtStall> listener : stallListeners) {
+            try {
+                listener.accept(stall);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "EdtLatencyMonitor{"
+                + "probeInterval=" + probeInterval
+                + ", stallThreshold=" + stallThreshold
+                + ", running=" + isRunning()
+                + ", stallCount=" + stallCount.get()
+                + ", histogram=" + histogram
+                + "}";
+    }
+}
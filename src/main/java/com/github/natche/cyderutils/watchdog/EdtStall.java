@@ -0,0 +1,38 @@
+package com.github.natche.cyderutils.watchdog;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A stall of the event dispatch thread detected by an {@link EdtLatencyMonitor}.
+ *
+ * @param start    the approximate instant the stalled probe was posted to the event queue
+ * @param observed how long the probe had been waiting when the stall was detected
+ * @param stack    the stack of the event dispatch thread when the stall was detected,
+ *                 empty if the event dispatch thread was not yet known
+ */
+public record EdtStall(Instant start, Duration observed, ImmutableList<StackTraceElement> stack) {
+    /**
+     * Constructs a new EDT stall.
+     *
+     * @throws NullPointerException if any argument is null
+     */
+    public EdtStall {
+        Preconditions.checkNotNull(start);
+        Preconditions.checkNotNull(observed);
+        Preconditions.checkNotNull(stack);
+    }
+
+    /**
+     * Returns the frame the event dispatch thread was executing when the stall was detected, if known.
+     * This is usually the slow handler responsible for the stall, or the call it is blocked in.
+     *
+     * @return the top frame of the stack, null if the stack is empty
+     */
+    public StackTraceElement topFrame() {
+        return stack.isEmpty() ? null : stack.get(0);
+    }
+}
@@ -0,0 +1,171 @@
+package com.github.natche.cyderutils.watchdog;
+
+import com.google.common.base.Preconditions;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size, log-linear histogram of latencies in the style of an HDR histogram.
+ * Latencies below {@link #LINEAR_BUCKET_COUNT} nanoseconds are recorded exactly, and every
+ * power of two above that is split into {@link #SUB_BUCKET_COUNT} equal buckets, bounding
+ * the relative error of any reported value to roughly three percent.
+ * Recording is lock-free and safe to perform concurrently with reads.
+ */
+public final class LatencyHistogram {
+    /** The number of sub-buckets each power of two is split into. */
+    private static final int SUB_BUCKET_COUNT = 32;
+
+    /** The number of bits needed to represent a sub-bucket index. */
+    private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKET_COUNT);
+
+    /** The number of leading buckets which each hold exactly one nanosecond value. */
+    private static final int LINEAR_BUCKET_COUNT = SUB_BUCKET_COUNT * 2;
+
+    /** The power of two of the smallest value recorded in a sub-bucket. */
+    private static final int FIRST_LOGARITHMIC_POWER = SUB_BUCKET_BITS + 1;
+
+    /** The total number of buckets, covering every non-negative long value. */
+    private static final int BUCKET_COUNT
+            = LINEAR_BUCKET_COUNT + (Long.SIZE - 1 - FIRST_LOGARITHMIC_POWER) * SUB_BUCKET_COUNT;
+
+    /** The number of values recorded in each bucket. */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    /** The total number of values recorded. */
+    private final AtomicLong totalCount = new AtomicLong();
+
+    /** The largest value recorded in nanoseconds. */
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /** The sum of all values recorded in nanoseconds. */
+    private final AtomicLong sumNanos = new AtomicLong();
+
+    /** Constructs a new empty latency histogram. */
+    public LatencyHistogram() {}
+
+    /**
+     * Records the provided latency.
+     *
+     * @param latencyNanos the latency in nanoseconds
+     * @throws IllegalArgumentException if the provided latency is negative
+     */
+    public void record(long latencyNanos) {
+        Preconditions.checkArgument(latencyNanos >= 0);
+
+        counts.incrementAndGet(bucketIndex(latencyNanos));
+        totalCount.incrementAndGet();
+        sumNanos.addAndGet(latencyNanos);
+        maxNanos.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    /**
+     * Returns the number of latencies recorded.
+     *
+     * @return the number of latencies recorded
+     */
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * Returns the largest latency recorded, zero if none have been recorded.
+     *
+     * @return the largest latency recorded
+     */
+    public Duration getMax() {
+        return Duration.ofNanos(maxNanos.get());
+    }
+
+    /**
+     * Returns the mean of the latencies recorded, zero if none have been recorded.
+     *
+     * @return the mean of the latencies recorded
+     */
+    public Duration getMean() {
+        long count = totalCount.get();
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(sumNanos.get() / count);
+    }
+
+    /**
+     * Returns the latency at or below which the provided percentage of recorded latencies fall.
+     * The returned value is the upper bound of the bucket containing the percentile, never exceeding
+     * the maximum recorded latency.
+     *
+     * @param percentile the percentile in the range [0, 100]
+     * @return the latency at the provided percentile, zero if no latencies have been recorded
+     * @throws IllegalArgumentException if the provided percentile is not in the range [0, 100]
+     */
+    public Duration getValueAtPercentile(double percentile) {
+        Preconditions.checkArgument(percentile >= 0 && percentile <= 100);
+
+        long count = totalCount.get();
+        if (count == 0) return Duration.ZERO;
+
+        long targetCount = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long cumulativeCount = 0;
+        for (int i = 0 ; i < BUCKET_COUNT ; i++) {
+            cumulativeCount += counts.get(i);
+            if (cumulativeCount >= targetCount) {
+                return Duration.ofNanos(Math.min(bucketUpperBound(i), maxNanos.get()));
+            }
+        }
+
+        return getMax();
+    }
+
+    /** Clears all recorded latencies. */
+    public void reset() {
+        for (int i = 0 ; i < BUCKET_COUNT ; i++) {
+            counts.set(i, 0);
+        }
+
+        totalCount.set(0);
+        sumNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    /**
+     * Returns the index of the bucket the provided value is recorded in.
+     *
+     * @param value the non-negative value
+     * @return the index of the bucket the provided value is recorded in
+     */
+    private static int bucketIndex(long value) {
+        if (value < LINEAR_BUCKET_COUNT) return (int) value;
+
+        int power = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = power - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return LINEAR_BUCKET_COUNT + (power - FIRST_LOGARITHMIC_POWER) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Returns the largest value recorded in the bucket at the provided index.
+     *
+     * @param index the bucket index
+     * @return the largest value recorded in the bucket at the provided index
+     */
+    private static long bucketUpperBound(int index) {
+        if (index < LINEAR_BUCKET_COUNT) return index;
+
+        int logarithmicIndex = index - LINEAR_BUCKET_COUNT;
+        int power = logarithmicIndex / SUB_BUCKET_COUNT + FIRST_LOGARITHMIC_POWER;
+        int shift = power - SUB_BUCKET_BITS;
+        long lowerBound = (long) (logarithmicIndex % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "LatencyHistogram{"
+                + "count=" + getCount()
+                + ", mean=" + getMean()
+                + ", p50=" + getValueAtPercentile(50)
+                + ", p99=" + getValueAtPercentile(99)
+                + ", max=" + getMax()
+                + "}";
+    }
+}
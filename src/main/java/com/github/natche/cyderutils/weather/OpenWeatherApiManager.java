@@ -1,16 +1,14 @@
 package com.github.natche.cyderutils.weather;
 
+import com.github.natche.cyderutils.network.HttpTransport;
 import com.github.natche.cyderutils.threads.CyderThreadRunner;
 import com.github.natche.cyderutils.threads.ThreadUtil;
-import com.github.natche.cyderutils.utils.SerializationUtil;
 import com.github.natche.cyderutils.weather.parsers.WeatherData;
 import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.CheckReturnValue;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.URL;
+import java.io.InputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
@@ -140,9 +138,8 @@ public final class OpenWeatherApiManager {
 
         String queryString = getQueryUrl(weatherDataApiKey, KEY_VALIDATION_LOCATION, MeasurementScale.IMPERIAL);
 
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(new URL(queryString).openStream()))) {
-            reader.readLine();
+        try (InputStream inputStream = HttpTransport.INSTANCE.openStream(queryString)) {
+            inputStream.read();
             return true;
         } catch (IOException ignored) {
             return false;
@@ -168,10 +165,8 @@ public final class OpenWeatherApiManager {
      */
     private void refreshWeatherData() throws IOException {
         String queryString = getQueryUrl(apiKey, location, measurementScale);
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new URL(queryString).openStream()))) {
-            weatherData = SerializationUtil.fromJson(reader, WeatherData.class);
-            lastRefreshInstant = Instant.now();
-        }
+        weatherData = HttpTransport.INSTANCE.readJson(queryString, WeatherData.class);
+        lastRefreshInstant = Instant.now();
     }
 
     /**
@@ -30,7 +30,6 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.Optional;
-import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 
 import static com.github.natche.cyderutils.youtube.YouTubeConstants.*;
@@ -175,11 +174,8 @@ public class YouTubeAudioDownload {
         Preconditions.checkNotNull(query);
         Preconditions.checkArgument(!query.isEmpty());
 
-        Future<String> futureUuid = YouTubeUtil.getMostLikelyUuid(query);
-        while (!futureUuid.isDone()) Thread.onSpinWait();
-
         try {
-            this.providedDownloadString = YouTubeUtil.buildVideoUrl(futureUuid.get());
+            this.providedDownloadString = YouTubeUtil.buildVideoUrl(YouTubeUtil.getMostLikelyUuid(query).get());
         } catch (Exception e) {
             throw new YouTubeException(e.getMessage());
         }
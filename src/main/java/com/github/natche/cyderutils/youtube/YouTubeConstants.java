@@ -17,6 +17,9 @@ public final class YouTubeConstants {
     /** The YouTube video base url. */
     static final String YOUTUBE_VIDEO_BASE = "https://www.youtube.com/watch?v=";
 
+    /** The YouTube oEmbed base url, to which the encoded url of a video is appended. */
+    static final String YOUTUBE_OEMBED_BASE = "https://www.youtube.com/oembed?format=json&url=";
+
     /** A link to set environment variables for Windows. */
     static final String environmentVariables
             = "https://www.architectryan.com/2018/03/17/add-to-the-path-on-windows-10/";
@@ -0,0 +1,191 @@
+package com.github.natche.cyderutils.youtube;
+
+import com.github.natche.cyderutils.exceptions.IllegalMethodException;
+import com.github.natche.cyderutils.strings.CyderStrings;
+import com.github.natche.cyderutils.strings.LevenshteinMatcher;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static com.github.natche.cyderutils.youtube.YouTubeConstants.*;
+
+/**
+ * Utilities for ranking the videos of a YouTube search against the query which produced them.
+ * The titles of the candidate videos are fetched concurrently within a deadline and scored by their
+ * bounded levenshtein distance to the query using a single {@link LevenshteinMatcher}, the best distance
+ * found so far bounding the next.
+ */
+public final class YouTubeSearchRanker {
+    /**
+     * Suppress default constructor.
+     *
+     * @throws IllegalMethodException if invoked
+     */
+    private YouTubeSearchRanker() {
+        throw new IllegalMethodException(CyderStrings.ATTEMPTED_INSTANTIATION);
+    }
+
+    /**
+     * A candidate video of a search ranked against the query.
+     *
+     * @param uuid           the uuid of the video
+     * @param searchPosition the zero-indexed position of the video within the search results
+     * @param distance       the levenshtein distance between the title of the video and the query,
+     *                       empty if the title could not be fetched in time or the distance exceeded the
+     *                       best distance found before it
+     */
+    public record RankedVideo(String uuid, int searchPosition, OptionalInt distance) {
+        /**
+         * Constructs a new ranked video.
+         *
+         * @throws NullPointerException     if the uuid or distance is null
+         * @throws IllegalArgumentException if the search position is negative
+         */
+        public RankedVideo {
+            Preconditions.checkNotNull(uuid);
+            Preconditions.checkNotNull(distance);
+            Preconditions.checkArgument(searchPosition >= 0);
+        }
+    }
+
+    /** The comparator ordering scored videos by distance before unscored videos, ties by search position. */
+    private static final Comparator<RankedVideo> rankComparator = Comparator
+            .<RankedVideo>comparingInt(video -> video.distance().orElse(Integer.MAX_VALUE))
+            .thenComparingInt(RankedVideo::searchPosition);
+
+    /**
+     * Extracts the distinct video uuids from the raw results of a YouTube search in search order.
+     *
+     * @param searchResults the raw results of a YouTube search
+     * @param maximum       the maximum number of uuids to extract
+     * @return the distinct video uuids in search order
+     * @throws NullPointerException     if the provided results are null
+     * @throws IllegalArgumentException if the maximum is less than one
+     */
+    public static ImmutableList<String> extractCandidateUuids(String searchResults, int maximum) {
+        Preconditions.checkNotNull(searchResults);
+        Preconditions.checkArgument(maximum > 0);
+
+        LinkedHashSet<String> uuids = new LinkedHashSet<>();
+        int index = searchResults.indexOf(videoIdHtmlSubstring);
+        while (index != -1 && uuids.size() < maximum) {
+            int start = index + videoIdHtmlSubstring.length();
+            if (start + UUID_LENGTH <= searchResults.length()) {
+                String uuid = searchResults.substring(start, start + UUID_LENGTH);
+                if (UUID_PATTERN.matcher(uuid).matches()) uuids.add(uuid);
+            }
+            index = searchResults.indexOf(videoIdHtmlSubstring, start);
+        }
+
+        return ImmutableList.copyOf(uuids);
+    }
+
+    /**
+     * Fetches the titles of the provided candidate videos concurrently and ranks the candidates against the query.
+     * Candidates whose titles are not fetched before the deadline are ranked after all scored candidates.
+     *
+     * @param query        the search query
+     * @param uuids        the candidate uuids in search order
+     * @param titleFetcher the function fetching the title of the video with a uuid, empty if it cannot be fetched
+     * @param deadline     the maximum time to wait for titles
+     * @param executor     the executor to fetch titles on
+     * @return a future completed with the ranked candidates, best first
+     * @throws NullPointerException     if any argument is null
+     * @throws IllegalArgumentException if the deadline is negative
+     */
+    public static CompletableFuture<ImmutableList<RankedVideo>> rankCandidates(
+            String query, List<String> uuids, Function<String, Optional<String>> titleFetcher,
+            Duration deadline, Executor executor) {
+        Preconditions.checkNotNull(query);
+        Preconditions.checkNotNull(uuids);
+        Preconditions.checkNotNull(titleFetcher);
+        Preconditions.checkNotNull(deadline);
+        Preconditions.checkNotNull(executor);
+        Preconditions.checkArgument(!deadline.isNegative());
+
+        ImmutableList<String> candidates = ImmutableList.copyOf(uuids);
+        List<CompletableFuture<Optional<String>>> titleFutures = new ArrayList<>(candidates.size());
+        candidates.forEach(uuid -> titleFutures.add(CompletableFuture.supplyAsync(() -> titleFetcher.apply(uuid),
+                executor).exceptionally(throwable -> Optional.empty())));
+
+        return CompletableFuture.allOf(titleFutures.toArray(CompletableFuture[]::new))
+                .completeOnTimeout(null, deadline.toNanos(), TimeUnit.NANOSECONDS)
+                .thenApply(ignored -> {
+                    Map<String, String> titles = new HashMap<>();
+                    for (int i = 0 ; i < candidates.size() ; i++) {
+                        String uuid = candidates.get(i);
+                        titleFutures.get(i).getNow(Optional.empty()).ifPresent(title -> titles.put(uuid, title));
+                    }
+                    return rank(query, candidates, titles);
+                });
+    }
+
+    /**
+     * Ranks the provided candidate videos against the query using their titles.
+     * Candidates are scored in search order, each bounded by the best distance found before it so that
+     * scoring exits early for titles which cannot be the best. Candidates without a title are unscored.
+     *
+     * @param query  the search query
+     * @param uuids  the candidate uuids in search order
+     * @param titles the titles of the candidates by uuid
+     * @return the ranked candidates, best first, ties ordered by search position
+     * @throws NullPointerException if any argument is null
+     */
+    public static ImmutableList<RankedVideo> rank(String query, List<String> uuids, Map<String, String> titles) {
+        Preconditions.checkNotNull(query);
+        Preconditions.checkNotNull(uuids);
+        Preconditions.checkNotNull(titles);
+
+        LevenshteinMatcher matcher = new LevenshteinMatcher(normalize(query));
+        int bestDistance = Integer.MAX_VALUE;
+
+        List<RankedVideo> ranked = new ArrayList<>(uuids.size());
+        for (int position = 0 ; position < uuids.size() ; position++) {
+            String uuid = uuids.get(position);
+            String title = titles.get(uuid);
+
+            OptionalInt distance = OptionalInt.empty();
+            if (title != null) {
+                int bounded = matcher.distance(normalize(title), bestDistance);
+                if (bounded <= bestDistance) {
+                    distance = OptionalInt.of(bounded);
+                    bestDistance = bounded;
+                }
+            }
+
+            ranked.add(new RankedVideo(uuid, position, distance));
+        }
+
+        ranked.sort(rankComparator);
+        return ImmutableList.copyOf(ranked);
+    }
+
+    /**
+     * Normalizes the provided title or query for comparison by removing the YouTube title suffix,
+     * converting to lower case, and trimming.
+     *
+     * @param text the title or query
+     * @return the normalized text
+     */
+    private static String normalize(String text) {
+        String ret = text;
+        if (ret.endsWith(YOUTUBE_VIDEO_URL_TITLE_SUFFIX)) {
+            ret = ret.substring(0, ret.length() - YOUTUBE_VIDEO_URL_TITLE_SUFFIX.length());
+        }
+        return ret.toLowerCase(Locale.ROOT).trim();
+    }
+}
@@ -5,28 +5,60 @@ import com.google.common.collect.ImmutableList;
 import com.github.natche.cyderutils.constants.CyderRegexPatterns;
 import com.github.natche.cyderutils.exceptions.IllegalMethodException;
 import com.github.natche.cyderutils.image.CyderImage;
+import com.github.natche.cyderutils.network.HttpTransport;
 import com.github.natche.cyderutils.network.NetworkUtil;
 import com.github.natche.cyderutils.props.Props;
 import com.github.natche.cyderutils.strings.CyderStrings;
-import com.github.natche.cyderutils.strings.LevenshteinUtil;
 import com.github.natche.cyderutils.strings.StringUtil;
 import com.github.natche.cyderutils.threads.CyderThreadFactory;
 import com.github.natche.cyderutils.utils.ArrayUtil;
 import com.github.natche.cyderutils.utils.SecurityUtil;
+import com.github.natche.cyderutils.youtube.parsers.YouTubeOEmbed;
 
 import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.regex.Matcher;
-import java.util.stream.IntStream;
 
 import static com.github.natche.cyderutils.youtube.YouTubeConstants.*;
 
 /** Utility methods related to YouTube videos. */
 public final class YouTubeUtil {
+    /** The maximum time to wait for the titles of candidate videos when finding the most likely uuid. */
+    private static final Duration TITLE_FETCH_DEADLINE = Duration.ofSeconds(5);
+
+    /** The maximum number of queries whose most likely uuid is cached. */
+    private static final int MAXIMUM_CACHED_QUERIES = 64;
+
+    /** The most likely uuids of recent queries, least recently used first. */
+    private static final LinkedHashMap<String, String> mostLikelyUuids = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAXIMUM_CACHED_QUERIES;
+        }
+    };
+
+    /** The executor used to find most likely uuids and fetch the titles of candidate videos concurrently. */
+    private static final ExecutorService mostLikelyUuidExecutor;
+
+    static {
+        CyderThreadFactory threadFactory = new CyderThreadFactory("MostLikelyUuid finder");
+        mostLikelyUuidExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = threadFactory.newThread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     /**
      * Suppress default constructor.
      *
@@ -82,46 +114,61 @@ public final class YouTubeUtil {
     }
 
     /**
-     * Retrieves the most likely valid video UUID for the provided YouTube query if present. Empty optional else.
+     * Retrieves the most likely valid video UUID for the provided YouTube query.
+     * The titles of the candidate videos are fetched concurrently and ranked by
+     * {@link YouTubeSearchRanker}; the result is cached per query.
      *
      * @param youTubeQuery the raw query as if the input was entered directly into the YouTube search bar
-     * @return the most likely UUID for the search query if present. Empty optional else
+     * @return the most likely UUID for the search query, completed exceptionally with a {@link YouTubeException}
+     * if the search returned no videos
      */
-    public static Future<String> getMostLikelyUuid(String youTubeQuery) {
+    public static CompletableFuture<String> getMostLikelyUuid(String youTubeQuery) {
         Preconditions.checkNotNull(youTubeQuery);
         Preconditions.checkArgument(!youTubeQuery.isEmpty());
 
-        return Executors.newSingleThreadExecutor(
-                new CyderThreadFactory("MostLikelyUuid finder, query=" + youTubeQuery)).submit(() -> {
-            String query = YOUTUBE_QUERY_BASE + youTubeQuery.replaceAll(CyderRegexPatterns.whiteSpaceRegex, querySpace);
-            String jsonString = NetworkUtil.readUrl(query);
-
-            LinkedHashMap<Integer, String> levenshteinDistanceToUuids = new LinkedHashMap<>();
+        synchronized (mostLikelyUuids) {
+            String cached = mostLikelyUuids.get(youTubeQuery);
+            if (cached != null) return CompletableFuture.completedFuture(cached);
+        }
 
-            if (jsonString.contains(videoIdHtmlSubstring)) {
-                ArrayList<String> uuids = new ArrayList<>();
+        return CompletableFuture.supplyAsync(() -> {
+            String query = YOUTUBE_QUERY_BASE + youTubeQuery.replaceAll(CyderRegexPatterns.whiteSpaceRegex, querySpace);
+            return YouTubeSearchRanker.extractCandidateUuids(NetworkUtil.readUrl(query),
+                    Props.maxYouTubeUuidChecksPlayCommand.getValue());
+        }, mostLikelyUuidExecutor).thenCompose(uuids -> {
+            if (uuids.isEmpty()) {
+                throw new YouTubeException("Could not find YouTube uuid for query: " + youTubeQuery);
+            }
 
-                String[] parts = jsonString.split(videoIdHtmlSubstring);
-                IntStream.range(0, Math.min(parts.length, Props.maxYouTubeUuidChecksPlayCommand.getValue()))
-                        .forEach(index -> {
-                            String part = parts[index];
+            return YouTubeSearchRanker.rankCandidates(youTubeQuery, uuids, YouTubeUtil::getVideoTitle,
+                    TITLE_FETCH_DEADLINE, mostLikelyUuidExecutor);
+        }).thenApply(ranked -> {
+            String uuid = ranked.get(0).uuid();
+            synchronized (mostLikelyUuids) {
+                mostLikelyUuids.put(youTubeQuery, uuid);
+            }
+            return uuid;
+        });
+    }
 
-                            if (part.length() >= UUID_LENGTH) {
-                                String uuid = part.substring(0, UUID_LENGTH);
-                                if (UUID_PATTERN.matcher(uuid).matches() && !uuids.contains(uuid)) {
-                                    uuids.add(uuid);
-                                }
-                            }
-                        });
+    /**
+     * Returns the title of the video with the provided uuid. The title is read from the small oEmbed
+     * response of the video rather than its watch page, so fetching the titles of many candidates
+     * holds each connection to YouTube only briefly.
+     *
+     * @param uuid the uuid of the video
+     * @return the title of the video if it could be read
+     */
+    private static Optional<String> getVideoTitle(String uuid) {
+        String url = YOUTUBE_OEMBED_BASE + URLEncoder.encode(buildVideoUrl(uuid), StandardCharsets.UTF_8);
 
-                uuids.forEach(uuid -> NetworkUtil.getUrlTitle(YouTubeUtil.buildVideoUrl(uuid))
-                        .ifPresent(title -> levenshteinDistanceToUuids.put(
-                                LevenshteinUtil.computeLevenshteinDistance(title, youTubeQuery), uuid)));
-            }
+        try {
+            return Optional.ofNullable(HttpTransport.INSTANCE.readJson(url, YouTubeOEmbed.class).getTitle());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
 
-            return levenshteinDistanceToUuids.get(levenshteinDistanceToUuids.keySet().stream().mapToInt(i -> i).min()
-                    .orElseThrow(() -> new YouTubeException("Could not find YouTube uuid for query: " + youTubeQuery)));
-        });
+        return Optional.empty();
     }
 
     /** Outputs instructions to the console due to YouTube-dl or ffmpeg not being installed. */
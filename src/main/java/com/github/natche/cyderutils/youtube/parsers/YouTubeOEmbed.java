@@ -0,0 +1,57 @@
+package com.github.natche.cyderutils.youtube.parsers;
+
+import java.util.Objects;
+
+/** The oEmbed response describing a YouTube video. */
+public class YouTubeOEmbed {
+    /** The title of the video. */
+    private String title;
+
+    /** Constructs a new YouTubeOEmbed object. */
+    public YouTubeOEmbed() {}
+
+    /**
+     * Returns the title of the video.
+     *
+     * @return the title of the video
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Sets the title of the video.
+     *
+     * @param title the title of the video
+     */
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (!(o instanceof YouTubeOEmbed)) {
+            return false;
+        }
+
+        YouTubeOEmbed other = (YouTubeOEmbed) o;
+        return Objects.equals(other.title, title);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(title);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "YouTubeOEmbed{"
+                + "title=\"" + title + "\""
+                + "}";
+    }
+}
@@ -0,0 +1,141 @@
+package com.github.natche.cyderutils.animation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link AnimationScheduler}. Frames are advanced directly within a single event so the
+ * frame timer, which only fires between events, cannot interleave with them.
+ */
+class AnimationSchedulerTest {
+    /** The scheduler under test. */
+    private static final AnimationScheduler scheduler = AnimationScheduler.INSTANCE;
+
+    /** Creates a new instance of this class for testing purposes. */
+    AnimationSchedulerTest() {}
+
+    /**
+     * Waits for animations scheduled by other tests to finish so frames advanced directly affect only
+     * the animations of the current test.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @BeforeEach
+    void awaitIdleScheduler() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (scheduler.isRunning() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(scheduler.isRunning());
+    }
+
+    /** Tests for ticking an animation with the time elapsed since its first frame until it completes. */
+    @Test
+    void testTicksUntilComplete() throws Exception {
+        List<Long> elapsed = new ArrayList<>();
+        AtomicInteger finishedCount = new AtomicInteger();
+
+        EventQueue.invokeAndWait(() -> {
+            ScheduledAnimation animation = scheduler.schedule(elapsedNanos -> {
+                elapsed.add(elapsedNanos);
+                return elapsedNanos < 20;
+            }, finishedCount::incrementAndGet);
+            assertTrue(scheduler.isRunning());
+            assertEquals(0, scheduler.getActiveAnimationCount());
+
+            long start = System.nanoTime();
+            scheduler.advanceFrame(start);
+            assertEquals(1, scheduler.getActiveAnimationCount());
+            scheduler.advanceFrame(start + 10);
+            assertFalse(animation.isFinished());
+            assertEquals(0, finishedCount.get());
+
+            // Completing removes the animation and stops the timer as none remain
+            scheduler.advanceFrame(start + 25);
+            assertTrue(animation.isFinished());
+            assertEquals(1, finishedCount.get());
+            assertEquals(0, scheduler.getActiveAnimationCount());
+            assertFalse(scheduler.isRunning());
+            assertFalse(animation.cancel());
+
+            scheduler.advanceFrame(start + 40);
+            assertEquals(List.of(0L, 10L, 25L), elapsed);
+            assertEquals(1, finishedCount.get());
+        });
+    }
+
+    /** Tests for removing canceled animations while others continue to be ticked. */
+    @Test
+    void testCancel() throws Exception {
+        AtomicInteger firstTicks = new AtomicInteger();
+        AtomicInteger secondTicks = new AtomicInteger();
+        AtomicInteger thirdTicks = new AtomicInteger();
+        AtomicInteger finishedCount = new AtomicInteger();
+
+        EventQueue.invokeAndWait(() -> {
+            ScheduledAnimation first = scheduler.schedule(elapsedNanos -> firstTicks.incrementAndGet() > 0,
+                    finishedCount::incrementAndGet);
+            ScheduledAnimation second = scheduler.schedule(elapsedNanos -> secondTicks.incrementAndGet() > 0);
+
+            long start = System.nanoTime();
+            scheduler.advanceFrame(start);
+            assertEquals(2, scheduler.getActiveAnimationCount());
+
+            assertTrue(first.cancel());
+            assertFalse(first.cancel());
+            assertFalse(first.isFinished());
+
+            // The canceled animation is removed on the next frame without being ticked
+            scheduler.advanceFrame(start + 10);
+            assertTrue(first.isFinished());
+            assertEquals(1, finishedCount.get());
+            assertEquals(1, firstTicks.get());
+            assertEquals(2, secondTicks.get());
+            assertEquals(1, scheduler.getActiveAnimationCount());
+            assertTrue(scheduler.isRunning());
+
+            // An animation canceled before its first frame is never ticked
+            ScheduledAnimation third = scheduler.schedule(elapsedNanos -> thirdTicks.incrementAndGet() > 0);
+            assertTrue(third.cancel());
+            assertTrue(second.cancel());
+            scheduler.advanceFrame(start + 20);
+            assertTrue(second.isFinished());
+            assertTrue(third.isFinished());
+            assertEquals(2, secondTicks.get());
+            assertEquals(0, thirdTicks.get());
+            assertEquals(0, scheduler.getActiveAnimationCount());
+            assertFalse(scheduler.isRunning());
+        });
+    }
+
+    /** Tests for the frame timer driving an animation to completion and stopping once none remain. */
+    @Test
+    void testTimerStops() throws Exception {
+        AtomicInteger ticks = new AtomicInteger();
+        CountDownLatch finished = new CountDownLatch(1);
+
+        ScheduledAnimation animation = scheduler.schedule(elapsedNanos -> {
+            ticks.incrementAndGet();
+            return elapsedNanos < TimeUnit.MILLISECONDS.toNanos(50);
+        }, finished::countDown);
+        assertTrue(scheduler.isRunning());
+
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        assertTrue(animation.isFinished());
+        assertTrue(ticks.get() >= 2);
+
+        EventQueue.invokeAndWait(() -> {
+            assertEquals(0, scheduler.getActiveAnimationCount());
+            assertFalse(scheduler.isRunning());
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.natche.cyderutils.files;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the {@link MappedTextFile}. */
+class MappedTextFileTest {
+    /** Creates a new instance of this class for testing purposes. */
+    MappedTextFileTest() {}
+
+    /**
+     * Writes the provided contents to a temporary file.
+     *
+     * @param contents the contents
+     * @return the temporary file
+     */
+    private static File writeTempFile(String contents) throws IOException {
+        File ret = Files.createTempFile("mapped_text_file_test", ".txt").toFile();
+        ret.deleteOnExit();
+        Files.writeString(ret.toPath(), contents, StandardCharsets.UTF_8);
+        return ret;
+    }
+
+    /** Tests for counting and decoding lines. */
+    @Test
+    void testLines() throws IOException {
+        try (MappedTextFile mapped = new MappedTextFile(writeTempFile("first\r\nsecond\n\nfourth é\n"))) {
+            assertEquals(4L, (long) mapped.getLineCount().join());
+            assertTrue(mapped.isIndexed());
+            assertEquals(1.0, mapped.getIndexingProgress());
+            assertEquals(ImmutableList.of("first", "second", "", "fourth é"), mapped.getLines(0, 10));
+            assertEquals(ImmutableList.of("", "fourth é"), mapped.getLines(2, 2));
+            assertEquals(ImmutableList.of(), mapped.getLines(4, 1));
+        }
+
+        try (MappedTextFile mapped = new MappedTextFile(writeTempFile(""))) {
+            assertEquals(0L, (long) mapped.getLineCount().join());
+            assertEquals(ImmutableList.of(), mapped.getLines(0, 1));
+        }
+
+        try (MappedTextFile mapped = new MappedTextFile(writeTempFile("no newline"))) {
+            assertEquals(1L, (long) mapped.getLineCount().join());
+            assertEquals(ImmutableList.of("no newline"), mapped.getLines(0, 1));
+        }
+    }
+
+    /** Tests for decoding lines from a file spanning many indexing chunks. */
+    @Test
+    void testManyChunks() throws IOException {
+        StringBuilder contents = new StringBuilder();
+        int lineCount = 400_000;
+        for (int i = 0 ; i < lineCount ; i++) {
+            contents.append("line number ").append(i).append(i % 7 == 0 ? "" : " padding padding").append('\n');
+        }
+
+        try (MappedTextFile mapped = new MappedTextFile(writeTempFile(contents.toString()))) {
+            assertTrue(mapped.length() > 1 << 23);
+            assertEquals((long) lineCount, (long) mapped.getLineCount().join());
+            for (int line : new int[]{0, 1, 63, 64, 65, 123_457, 250_000, lineCount - 1}) {
+                String expected = "line number " + line + (line % 7 == 0 ? "" : " padding padding");
+                assertEquals(ImmutableList.of(expected), mapped.getLines(line, 1));
+            }
+            assertEquals(2, mapped.getLines(lineCount - 2, 5).size());
+
+            List<MappedTextFile.SearchHit> hits = Collections.synchronizedList(new ArrayList<>());
+            assertEquals(1L, (long) mapped.search("line number 314159 ", hits::add).join());
+            assertEquals(314_159L, hits.get(0).line());
+        }
+    }
+
+    /** Tests for searching the mapped bytes. */
+    @Test
+    void testSearch() throws IOException {
+        try (MappedTextFile mapped = new MappedTextFile(writeTempFile("abcab\nxxab\nab"))) {
+            List<MappedTextFile.SearchHit> hits = Collections.synchronizedList(new ArrayList<>());
+            assertEquals(4L, (long) mapped.search("ab", hits::add).join());
+            assertEquals(List.of(
+                    new MappedTextFile.SearchHit(0, 0),
+                    new MappedTextFile.SearchHit(0, 3),
+                    new MappedTextFile.SearchHit(1, 8),
+                    new MappedTextFile.SearchHit(2, 11)), hits);
+
+            assertEquals(0L, (long) mapped.search("abx", hit -> fail()).join());
+            assertThrows(IllegalArgumentException.class, () -> mapped.search("", hit -> {}));
+        }
+    }
+}
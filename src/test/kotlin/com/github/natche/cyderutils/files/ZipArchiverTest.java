@@ -0,0 +1,134 @@
+package com.github.natche.cyderutils.files;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the {@link ZipArchiver}. */
+class ZipArchiverTest {
+    /** The temporary directory of the current test. */
+    private Path temp;
+
+    /** Creates a new instance of this class for testing purposes. */
+    ZipArchiverTest() {}
+
+    /**
+     * Creates the temporary directory of the current test.
+     *
+     * @throws IOException if the directory cannot be created
+     */
+    @BeforeEach
+    void createTemporaryDirectory() throws IOException {
+        temp = Files.createTempDirectory("zip_archiver_test");
+    }
+
+    /**
+     * Deletes the temporary directory of the current test.
+     *
+     * @throws IOException if the directory cannot be deleted
+     */
+    @AfterEach
+    void deleteTemporaryDirectory() throws IOException {
+        MoreFiles.deleteRecursively(temp, RecursiveDeleteOption.ALLOW_INSECURE);
+    }
+
+    /**
+     * Returns compressible but irregular bytes spanning several chunks.
+     *
+     * @param length the number of bytes
+     * @return the bytes
+     */
+    private static byte[] largeContents(int length) {
+        Random random = new Random(11);
+        byte[] ret = new byte[length];
+        for (int i = 0 ; i < length ; i++) {
+            ret[i] = (byte) (i % 4096 < 2048 ? 'a' + random.nextInt(4) : i >> 12);
+        }
+        return ret;
+    }
+
+    /** Tests for archiving a directory tree and extracting it again. */
+    @Test
+    void testRoundTrip() throws IOException {
+        Path source = Files.createDirectories(temp.resolve("tree"));
+        Files.createDirectories(source.resolve("empty"));
+        Files.createDirectories(source.resolve("nested/deeper"));
+        Files.writeString(source.resolve("small.txt"), "hello world é", StandardCharsets.UTF_8);
+        Files.write(source.resolve("nested/deeper/large.bin"), largeContents(3 * (1 << 20) + 12_345));
+        Files.write(source.resolve("nested/empty.bin"), new byte[0]);
+        byte[] random = new byte[5000];
+        new Random(3).nextBytes(random);
+        Files.write(source.resolve("nested/random.bin"), random);
+
+        File archive = temp.resolve("tree.zip").toFile();
+        ImmutableList<String> names = ZipArchiver.archive(source.toFile(), archive, 3);
+        assertEquals(ImmutableList.of("tree/", "tree/empty/", "tree/nested/", "tree/nested/deeper/",
+                "tree/nested/deeper/large.bin", "tree/nested/empty.bin", "tree/nested/random.bin",
+                "tree/small.txt"), names);
+
+        try (ZipFile zipFile = new ZipFile(archive)) {
+            assertEquals(names.size(), zipFile.size());
+            ZipEntry large = zipFile.getEntry("tree/nested/deeper/large.bin");
+            assertEquals(ZipEntry.DEFLATED, large.getMethod());
+            assertTrue(large.getCompressedSize() < large.getSize());
+            assertEquals(ZipEntry.STORED, zipFile.getEntry("tree/nested/random.bin").getMethod());
+            assertTrue(zipFile.getEntry("tree/empty/").isDirectory());
+        }
+
+        Path destination = Files.createDirectories(temp.resolve("out"));
+        ImmutableList<File> extracted = FileUtil.unzip(archive, destination.toFile());
+        assertEquals(4, extracted.size());
+        for (File file : extracted) {
+            Path relative = destination.resolve("tree").relativize(file.toPath());
+            assertArrayEquals(Files.readAllBytes(source.resolve(relative)), Files.readAllBytes(file.toPath()));
+        }
+        assertTrue(Files.isDirectory(destination.resolve("tree/empty")));
+
+        File single = temp.resolve("single.zip").toFile();
+        assertTrue(FileUtil.zip(source.resolve("small.txt").toString(), single.getAbsolutePath()));
+        try (ZipFile zipFile = new ZipFile(single)) {
+            assertEquals(1, zipFile.size());
+            assertEquals("hello world é", new String(zipFile.getInputStream(zipFile.getEntry("small.txt"))
+                    .readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    /** Tests for rejecting entries which would be extracted outside the destination. */
+    @Test
+    void testZipSlip() throws IOException {
+        File archive = temp.resolve("evil.zip").toFile();
+        try (ZipOutputStream outputStream = new ZipOutputStream(new FileOutputStream(archive))) {
+            outputStream.putNextEntry(new ZipEntry("fine.txt"));
+            outputStream.write("fine".getBytes(StandardCharsets.UTF_8));
+            outputStream.putNextEntry(new ZipEntry("../evil.txt"));
+            outputStream.write("evil".getBytes(StandardCharsets.UTF_8));
+        }
+
+        File destination = Files.createDirectories(temp.resolve("out")).toFile();
+        assertThrows(ZipException.class, () -> ZipArchiver.extract(archive, destination));
+        assertFalse(Files.exists(temp.resolve("evil.txt")));
+        assertTrue(Arrays.asList(destination.list()).contains("fine.txt"));
+
+        assertThrows(IllegalArgumentException.class, () -> ZipArchiver.archive(temp.resolve("missing").toFile(),
+                temp.resolve("missing.zip").toFile()));
+        assertThrows(IllegalArgumentException.class, () -> ZipArchiver.archive(archive, destination, 0));
+    }
+}
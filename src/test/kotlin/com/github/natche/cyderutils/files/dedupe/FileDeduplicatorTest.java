@@ -0,0 +1,97 @@
+package com.github.natche.cyderutils.files.dedupe;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the {@link FileDeduplicator}. */
+class FileDeduplicatorTest {
+    /** The directory test files are written to. */
+    private Path directory;
+
+    /** Creates a new instance of this class for testing purposes. */
+    FileDeduplicatorTest() {}
+
+    /** Creates the directory test files are written to. */
+    @BeforeEach
+    void setup() throws IOException {
+        directory = Files.createTempDirectory("FileDeduplicatorTest");
+    }
+
+    /** Deletes the directory test files were written to. */
+    @AfterEach
+    void teardown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Returns the provided number of bytes with every byte set to the provided value.
+     *
+     * @param length the number of bytes
+     * @param value  the value of each byte
+     * @return the bytes
+     */
+    private static byte[] bytes(int length, int value) {
+        byte[] ret = new byte[length];
+        Arrays.fill(ret, (byte) value);
+        return ret;
+    }
+
+    /** Tests for the contentsEqual method. */
+    @Test
+    void testContentsEqual() throws IOException {
+        Path first = Files.write(directory.resolve("first"), bytes(10_000, 1));
+        Path same = Files.write(directory.resolve("same"), bytes(10_000, 1));
+        byte[] middleDiffers = bytes(10_000, 1);
+        middleDiffers[5_000] = 2;
+        Path different = Files.write(directory.resolve("different"), middleDiffers);
+        Path shorter = Files.write(directory.resolve("shorter"), bytes(9_999, 1));
+
+        assertThrows(NullPointerException.class, () -> FileDeduplicator.contentsEqual(null, first));
+        assertThrows(IllegalArgumentException.class, () -> FileDeduplicator.contentsEqual(directory, first));
+
+        assertTrue(FileDeduplicator.contentsEqual(first, first));
+        assertTrue(FileDeduplicator.contentsEqual(first, same));
+        assertFalse(FileDeduplicator.contentsEqual(first, different));
+        assertFalse(FileDeduplicator.contentsEqual(first, shorter));
+    }
+
+    /** Tests for the findDuplicates methods. */
+    @Test
+    void testFindDuplicates() throws IOException {
+        Path nested = Files.createDirectory(directory.resolve("nested"));
+
+        // Large files sharing their head and tail samples but differing in the middle
+        byte[] middleDiffers = bytes(20_000, 3);
+        middleDiffers[10_000] = 4;
+        Path large = Files.write(directory.resolve("large"), bytes(20_000, 3));
+        Path largeCopy = Files.write(nested.resolve("largeCopy"), bytes(20_000, 3));
+        Files.write(directory.resolve("largeDifferent"), middleDiffers);
+
+        Path small = Files.write(directory.resolve("small"), bytes(100, 5));
+        Path smallCopy = Files.write(nested.resolve("smallCopy"), bytes(100, 5));
+        Files.write(directory.resolve("smallDifferent"), bytes(100, 6));
+        Files.write(directory.resolve("unique"), bytes(7, 7));
+
+        // Groups are sorted by path and ordered by their first path
+        ImmutableList<ImmutableList<Path>> expected = ImmutableList.of(
+                ImmutableList.of(large, largeCopy),
+                ImmutableList.of(smallCopy, small));
+        assertEquals(expected, FileDeduplicator.findDuplicates(directory));
+        assertEquals(ImmutableList.of(ImmutableList.of(smallCopy, small)),
+                FileDeduplicator.findDuplicates(ImmutableList.of(small, smallCopy, large, small)));
+        assertEquals(ImmutableList.of(), FileDeduplicator.findDuplicates(nested));
+    }
+}
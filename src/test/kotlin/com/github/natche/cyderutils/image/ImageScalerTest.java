@@ -0,0 +1,72 @@
+package com.github.natche.cyderutils.image;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the {@link ImageScaler}. */
+class ImageScalerTest {
+    /** Creates a new instance of this class for testing purposes. */
+    ImageScalerTest() {}
+
+    /**
+     * Returns a new image of the provided size filled with the provided color.
+     *
+     * @param width  the width
+     * @param height the height
+     * @param color  the fill color
+     * @return the image
+     */
+    private static BufferedImage solidImage(int width, int height, Color color) {
+        BufferedImage ret = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = ret.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        return ret;
+    }
+
+    /** Tests for the scale methods. */
+    @Test
+    void testScale() {
+        BufferedImage source = solidImage(1000, 300, new Color(10, 200, 30));
+
+        assertThrows(NullPointerException.class, () -> ImageScaler.scale(null, 10, 10));
+        assertThrows(IllegalArgumentException.class, () -> ImageScaler.scale(source, 0, 10));
+        assertThrows(NullPointerException.class, () -> ImageScaler.scale(source, 10, 10, null));
+
+        for (ScalingMethod method : ScalingMethod.values()) {
+            for (Dimension size : new Dimension[]{new Dimension(97, 31), new Dimension(1000, 300),
+                    new Dimension(2000, 150), new Dimension(1, 1)}) {
+                BufferedImage scaled = ImageScaler.scale(source, size.width, size.height, method);
+                assertNotSame(source, scaled);
+                assertEquals(size.width, scaled.getWidth());
+                assertEquals(size.height, scaled.getHeight());
+                assertEquals(source.getRGB(0, 0), scaled.getRGB(size.width / 2, size.height / 2), method.name());
+            }
+        }
+    }
+
+    /** Tests for the {@link ScaledImageCache}. */
+    @Test
+    void testScaledImageCache() {
+        ScaledImageCache cache = new ScaledImageCache(solidImage(50, 50, Color.red), 2, ScalingMethod.FAST);
+
+        BufferedImage first = cache.get(10, 10);
+        assertSame(first, cache.get(10, 10));
+        assertTrue(cache.getIfPresent(20, 20).isEmpty());
+
+        cache.get(20, 20);
+        cache.get(10, 10);
+        cache.get(30, 30);
+        assertEquals(2, cache.size());
+        assertTrue(cache.getIfPresent(10, 10).isPresent());
+        assertTrue(cache.getIfPresent(20, 20).isEmpty());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+}
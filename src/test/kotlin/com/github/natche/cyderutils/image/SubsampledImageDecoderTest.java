@@ -0,0 +1,96 @@
+package com.github.natche.cyderutils.image;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the {@link SubsampledImageDecoder} and {@link DecodedImageCache}. */
+class SubsampledImageDecoderTest {
+    /** Creates a new instance of this class for testing purposes. */
+    SubsampledImageDecoderTest() {}
+
+    /**
+     * Writes a new png of the provided size filled with the provided color to a temporary file.
+     *
+     * @param width  the width
+     * @param height the height
+     * @param color  the fill color
+     * @return the temporary file
+     */
+    private static File writeSolidPng(int width, int height, Color color) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+
+        File ret = Files.createTempFile("subsampled_image_decoder_test", ".png").toFile();
+        ret.deleteOnExit();
+        ImageIO.write(image, "png", ret);
+        return ret;
+    }
+
+    /** Tests for computing the fitted size and subsampling factor. */
+    @Test
+    void testComputations() {
+        assertEquals(new Dimension(800, 533), SubsampledImageDecoder.computeFittedSize(
+                6000, 4000, new Dimension(800, 800)));
+        assertEquals(new Dimension(300, 800), SubsampledImageDecoder.computeFittedSize(
+                1500, 4000, new Dimension(800, 800)));
+        assertEquals(new Dimension(200, 100), SubsampledImageDecoder.computeFittedSize(
+                200, 100, new Dimension(800, 800)));
+
+        assertEquals(7, SubsampledImageDecoder.computeSubsampling(6000, 4000, new Dimension(800, 533)));
+        assertEquals(1, SubsampledImageDecoder.computeSubsampling(200, 100, new Dimension(200, 100)));
+    }
+
+    /** Tests for decoding images to fit within bounds. */
+    @Test
+    void testDecodeToFit() throws IOException {
+        File file = writeSolidPng(2400, 1200, new Color(20, 120, 220));
+
+        assertEquals(new Dimension(2400, 1200), SubsampledImageDecoder.readDimensions(file));
+
+        SubsampledImageDecoder.DecodedImage decoded = SubsampledImageDecoder.decodeToFit(
+                file, new Dimension(800, 800));
+        assertEquals(800, decoded.image().getWidth());
+        assertEquals(400, decoded.image().getHeight());
+        assertEquals(2400, decoded.sourceWidth());
+        assertEquals(1200, decoded.sourceHeight());
+        assertEquals(new Color(20, 120, 220).getRGB(), decoded.image().getRGB(400, 200) | 0xFF000000);
+
+        File notAnImage = Files.createTempFile("subsampled_image_decoder_test", ".png").toFile();
+        notAnImage.deleteOnExit();
+        assertThrows(IOException.class, () -> SubsampledImageDecoder.decodeToFit(notAnImage, new Dimension(8, 8)));
+    }
+
+    /** Tests for the decoded image cache. */
+    @Test
+    void testDecodedImageCache() throws IOException {
+        File first = writeSolidPng(1600, 1600, Color.RED);
+        File second = writeSolidPng(100, 50, Color.GREEN);
+
+        DecodedImageCache cache = new DecodedImageCache(new Dimension(400, 400), 1, "Decoded Image Cache Test");
+        try {
+            cache.prefetch(List.of(first));
+            assertEquals(400, cache.get(first).image().getWidth());
+            assertSame(cache.get(first), cache.get(first));
+
+            assertEquals(100, cache.get(second).image().getWidth());
+            assertEquals(1, cache.size());
+
+            cache.invalidate(second);
+            assertEquals(0, cache.size());
+        } finally {
+            cache.shutdown();
+        }
+    }
+}
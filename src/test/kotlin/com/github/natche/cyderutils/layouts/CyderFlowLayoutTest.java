@@ -0,0 +1,192 @@
+package com.github.natche.cyderutils.layouts;
+
+import com.github.natche.cyderutils.ui.pane.CyderPanel;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the incremental layout passes of the {@link CyderFlowLayout}. */
+class CyderFlowLayoutTest {
+    /** The width of the panels laid out, which fits three components per row. */
+    private static final int PANEL_WIDTH = 300;
+
+    /** The height of the panels laid out. */
+    private static final int PANEL_HEIGHT = 200;
+
+    /** The width of each component. */
+    private static final int COMPONENT_WIDTH = 80;
+
+    /** The height of each component. */
+    private static final int COMPONENT_HEIGHT = 30;
+
+    /** Creates a new instance of this class for testing purposes. */
+    CyderFlowLayoutTest() {}
+
+    /** A component which counts the number of times it is moved. */
+    private static final class TrackedComponent extends JLabel {
+        /** The number of times this component has been moved. */
+        private int moves;
+
+        /** Constructs a new tracked component of the default component size. */
+        TrackedComponent() {
+            setSize(COMPONENT_WIDTH, COMPONENT_HEIGHT);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void setBounds(int x, int y, int width, int height) {
+            if (x != getX() || y != getY()) moves++;
+            super.setBounds(x, y, width, height);
+        }
+
+        /**
+         * Returns the number of times this component has been moved and resets the count.
+         *
+         * @return the number of times this component has been moved
+         */
+        int takeMoves() {
+            int ret = moves;
+            moves = 0;
+            return ret;
+        }
+    }
+
+    /**
+     * Runs the provided runnable on the event dispatch thread and waits for the
+     * layout passes it requested to complete.
+     *
+     * @param runnable the runnable
+     * @throws InterruptedException      if interrupted while waiting
+     * @throws InvocationTargetException if the runnable or a layout pass throws
+     */
+    private static void runAndLayout(Runnable runnable) throws InterruptedException, InvocationTargetException {
+        EventQueue.invokeAndWait(runnable);
+        EventQueue.invokeAndWait(() -> {});
+    }
+
+    /**
+     * Returns a new panel of the default size managed by the provided layout.
+     *
+     * @param layout the layout
+     * @return the panel
+     */
+    private static CyderPanel createPanel(CyderFlowLayout layout) {
+        CyderPanel panel = new CyderPanel(layout);
+        panel.setSize(PANEL_WIDTH, PANEL_HEIGHT);
+        return panel;
+    }
+
+    /**
+     * Returns the bounds of the provided number of components laid out by a new layout in a single pass.
+     *
+     * @param componentCount the number of components
+     * @return the bounds of each component
+     */
+    private static List<Rectangle> layOutFully(int componentCount) throws Exception {
+        List<Rectangle> ret = new ArrayList<>();
+        runAndLayout(() -> {
+            CyderFlowLayout layout = new CyderFlowLayout();
+            createPanel(layout);
+            List<Component> components = new ArrayList<>();
+            for (int i = 0 ; i < componentCount ; i++) {
+                TrackedComponent component = new TrackedComponent();
+                components.add(component);
+                layout.addComponent(component);
+            }
+            layout.revalidateComponents();
+            components.forEach(component -> ret.add(component.getBounds()));
+        });
+        return ret;
+    }
+
+    /**
+     * Asserts the provided components have the bounds a full layout of the same number of components produces.
+     *
+     * @param components the components
+     */
+    private static void assertMatchesFullLayout(List<TrackedComponent> components) throws Exception {
+        List<Rectangle> expected = layOutFully(components.size());
+        for (int i = 0 ; i < components.size() ; i++) {
+            assertEquals(expected.get(i), components.get(i).getBounds());
+        }
+    }
+
+    /** Tests for adding and removing components reflowing only the rows they affect. */
+    @Test
+    void testIncrementalReflow() throws Exception {
+        CyderFlowLayout layout = new CyderFlowLayout();
+        List<TrackedComponent> components = new ArrayList<>();
+        runAndLayout(() -> {
+            CyderPanel panel = createPanel(layout);
+            for (int i = 0 ; i < 7 ; i++) {
+                TrackedComponent component = new TrackedComponent();
+                components.add(component);
+                layout.addComponent(component);
+            }
+            assertEquals(0, panel.getComponentCount());
+        });
+
+        // Rows of three, three, and one
+        assertEquals(7, layout.getLayoutComponents().size());
+        assertEquals(components.get(0).getY(), components.get(2).getY());
+        assertTrue(components.get(3).getY() > components.get(2).getY());
+        assertTrue(components.get(6).getY() > components.get(5).getY());
+        assertTrue(components.stream().allMatch(component -> component.getParent() != null));
+        assertMatchesFullLayout(components);
+        components.forEach(TrackedComponent::takeMoves);
+
+        // Appending to the last row leaves the first two rows in place
+        TrackedComponent appended = new TrackedComponent();
+        components.add(appended);
+        runAndLayout(() -> layout.addComponent(appended));
+        for (int i = 0 ; i < 6 ; i++) assertEquals(0, components.get(i).takeMoves());
+        assertEquals(1, components.get(6).takeMoves());
+        assertEquals(components.get(6).getY(), appended.getY());
+        assertMatchesFullLayout(components);
+        appended.takeMoves();
+
+        // Removing from the second row leaves the first row in place
+        TrackedComponent removed = components.remove(4);
+        runAndLayout(() -> layout.removeComponent(removed));
+        assertNull(removed.getParent());
+        for (int i = 0 ; i < 3 ; i++) assertEquals(0, components.get(i).takeMoves());
+        assertEquals(1, components.get(4).takeMoves());
+        assertEquals(components.get(3).getY(), components.get(5).getY());
+        assertMatchesFullLayout(components);
+        components.forEach(TrackedComponent::takeMoves);
+
+        // A pass with nothing changed moves nothing
+        runAndLayout(layout::revalidateComponents);
+        assertTrue(components.stream().allMatch(component -> component.takeMoves() == 0));
+    }
+
+    /** Tests for resizing a component reflowing the rows. */
+    @Test
+    void testComponentResize() throws Exception {
+        CyderFlowLayout layout = new CyderFlowLayout();
+        List<TrackedComponent> components = new ArrayList<>();
+        runAndLayout(() -> {
+            createPanel(layout);
+            for (int i = 0 ; i < 3 ; i++) {
+                TrackedComponent component = new TrackedComponent();
+                components.add(component);
+                layout.addComponent(component);
+            }
+        });
+        assertEquals(components.get(0).getY(), components.get(2).getY());
+
+        // Widening the first component pushes the last component onto a new row
+        runAndLayout(() -> {
+            components.get(0).setSize(2 * COMPONENT_WIDTH, COMPONENT_HEIGHT);
+            layout.revalidateComponents();
+        });
+        assertEquals(components.get(0).getY(), components.get(1).getY());
+        assertTrue(components.get(2).getY() > components.get(1).getY());
+    }
+}
@@ -0,0 +1,149 @@
+package com.github.natche.cyderutils.layouts;
+
+import com.google.common.collect.ImmutableList;
+import com.github.natche.cyderutils.ui.pane.CyderPanel;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.lang.reflect.InvocationTargetException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for placing, replacing, and clearing the cells of a {@link CyderGridLayout}. */
+class CyderGridLayoutTest {
+    /** The width and height of the panels laid out, giving cells of 100 by 100 in a two by two grid. */
+    private static final int PANEL_SIZE = 200;
+
+    /** Creates a new instance of this class for testing purposes. */
+    CyderGridLayoutTest() {}
+
+    /**
+     * Runs the provided runnable on the event dispatch thread and waits for the
+     * layout passes it requested to complete.
+     *
+     * @param runnable the runnable
+     * @throws InterruptedException      if interrupted while waiting
+     * @throws InvocationTargetException if the runnable or a layout pass throws
+     */
+    private static void runAndLayout(Runnable runnable) throws InterruptedException, InvocationTargetException {
+        EventQueue.invokeAndWait(runnable);
+        EventQueue.invokeAndWait(() -> {});
+    }
+
+    /**
+     * Returns a new component of the provided size.
+     *
+     * @param width  the width of the component
+     * @param height the height of the component
+     * @return the component
+     */
+    private static JLabel createComponent(int width, int height) {
+        JLabel ret = new JLabel();
+        ret.setSize(width, height);
+        return ret;
+    }
+
+    /**
+     * Returns a new two by two grid layout managing a panel of {@link #PANEL_SIZE}.
+     *
+     * @return the layout
+     */
+    private static CyderGridLayout createLayout() throws Exception {
+        CyderGridLayout layout = new CyderGridLayout(2);
+        runAndLayout(() -> new CyderPanel(layout).setSize(PANEL_SIZE, PANEL_SIZE));
+        return layout;
+    }
+
+    /** Tests for placing components in cells. */
+    @Test
+    void testPlace() throws Exception {
+        CyderGridLayout layout = createLayout();
+        JLabel middle = createComponent(40, 20);
+        JLabel topLeft = createComponent(40, 20);
+        JLabel overflowing = createComponent(150, 20);
+
+        runAndLayout(() -> {
+            assertTrue(layout.addComponent(middle, 0, 0));
+            assertTrue(layout.addComponent(topLeft, 1, 1, GridPosition.TOP_LEFT));
+            assertTrue(layout.addComponent(overflowing, 1, 0));
+            assertNull(middle.getParent());
+        });
+
+        assertEquals(new Rectangle(30, 40, 40, 20), middle.getBounds());
+        assertEquals(new Rectangle(100, 100, 40, 20), topLeft.getBounds());
+        assertEquals(new Rectangle(100, 0, 100, 20), overflowing.getBounds());
+        CyderPanel panel = (CyderPanel) middle.getParent();
+        assertNotNull(panel);
+        assertSame(panel, topLeft.getParent());
+        assertEquals(ImmutableList.of(middle, topLeft, overflowing), layout.getLayoutComponents());
+
+        assertThrows(IllegalArgumentException.class, () -> layout.addComponent(createComponent(1, 1), 2, 0));
+        assertThrows(IllegalStateException.class, () -> layout.addComponent(middle, 0, 1));
+
+        // Resizing the panel repositions every component
+        runAndLayout(() -> panel.setSize(2 * PANEL_SIZE, 2 * PANEL_SIZE));
+        runAndLayout(layout::revalidateComponents);
+        assertEquals(new Rectangle(80, 90, 40, 20), middle.getBounds());
+        assertEquals(new Rectangle(200, 200, 40, 20), topLeft.getBounds());
+    }
+
+    /** Tests for replacing the component of an occupied cell. */
+    @Test
+    void testReplace() throws Exception {
+        CyderGridLayout layout = createLayout();
+        JLabel original = createComponent(40, 20);
+        JLabel replacement = createComponent(20, 40);
+
+        runAndLayout(() -> assertTrue(layout.addComponent(original, 1, 0)));
+        runAndLayout(() -> assertFalse(layout.addComponent(replacement, 1, 0)));
+        assertNull(replacement.getParent());
+        assertEquals(ImmutableList.of(original), layout.getLayoutComponents());
+
+        Container panel = original.getParent();
+        runAndLayout(() -> {
+            assertTrue(layout.removeComponent(1, 0));
+            assertTrue(layout.addComponent(replacement, 1, 0));
+        });
+        assertNull(original.getParent());
+        assertSame(panel, replacement.getParent());
+        assertEquals(new Rectangle(140, 30, 20, 40), replacement.getBounds());
+        assertEquals(ImmutableList.of(replacement), layout.getLayoutComponents());
+    }
+
+    /** Tests for clearing cells and reusing the first empty cell. */
+    @Test
+    void testClear() throws Exception {
+        CyderGridLayout layout = createLayout();
+        JLabel[] components = new JLabel[4];
+        for (int i = 0 ; i < components.length ; i++) components[i] = createComponent(40, 20);
+
+        runAndLayout(() -> {
+            for (JLabel component : components) assertTrue(layout.addComponent(component, GridPosition.MIDDLE));
+            assertFalse(layout.addComponent(createComponent(40, 20), GridPosition.MIDDLE));
+        });
+
+        // Cells are filled in column-major order
+        assertEquals(new Rectangle(30, 140, 40, 20), components[1].getBounds());
+        assertEquals(new Rectangle(130, 40, 40, 20), components[2].getBounds());
+        assertEquals(4, components[0].getParent().getComponentCount());
+
+        JLabel refill = createComponent(40, 20);
+        runAndLayout(() -> {
+            layout.removeComponent(components[1]);
+            assertFalse(layout.removeComponent(0, 1));
+        });
+        assertNull(components[1].getParent());
+        assertEquals(3, components[0].getParent().getComponentCount());
+
+        // The cleared cell is the first empty cell
+        runAndLayout(() -> assertTrue(layout.addComponent(refill, GridPosition.MIDDLE)));
+        assertEquals(new Rectangle(30, 140, 40, 20), refill.getBounds());
+
+        runAndLayout(() -> {
+            for (Component component : layout.getLayoutComponents()) layout.removeComponent(component);
+        });
+        assertTrue(layout.getLayoutComponents().isEmpty());
+        assertNull(components[0].getParent());
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.natche.cyderutils.layouts;
+
+import com.github.natche.cyderutils.ui.pane.CyderPanel;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the coalesced revalidation of a {@link CyderLayout}. */
+class CyderLayoutTest {
+    /** Creates a new instance of this class for testing purposes. */
+    CyderLayoutTest() {}
+
+    /** A flow layout which counts its layout passes. */
+    private static final class CountingLayout extends CyderFlowLayout {
+        /** The number of layout passes, including those which had nothing to do. */
+        private final AtomicInteger passes = new AtomicInteger();
+
+        /** {@inheritDoc} */
+        @Override
+        public void revalidateComponents() {
+            passes.incrementAndGet();
+            super.revalidateComponents();
+        }
+    }
+
+    /** Tests for coalescing requests made before the posted pass runs into a single pass. */
+    @Test
+    void testRequestRevalidation() throws Exception {
+        CountingLayout layout = new CountingLayout();
+        CyderPanel panel = new CyderPanel(layout);
+        EventQueue.invokeAndWait(() -> {});
+        int initialPasses = layout.passes.get();
+
+        // Hold the event dispatch thread so every request is made before the posted pass can run
+        CountDownLatch handlerStarted = new CountDownLatch(1);
+        CountDownLatch releaseHandler = new CountDownLatch(1);
+        EventQueue.invokeLater(() -> {
+            handlerStarted.countDown();
+            try {
+                releaseHandler.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        handlerStarted.await();
+
+        for (int i = 0 ; i < 10 ; i++) layout.requestRevalidation();
+        panel.requestRevalidation();
+        panel.repaint();
+        releaseHandler.countDown();
+        EventQueue.invokeAndWait(() -> {});
+        assertEquals(initialPasses + 1, layout.passes.get());
+
+        // A request made after the pass ran posts a new pass
+        layout.requestRevalidation();
+        EventQueue.invokeAndWait(() -> {});
+        assertEquals(initialPasses + 2, layout.passes.get());
+
+        // Disabled content repainting does not request a pass
+        panel.setDisableContentRepainting(true);
+        panel.repaint();
+        EventQueue.invokeAndWait(() -> {});
+        assertEquals(initialPasses + 2, layout.passes.get());
+    }
+}
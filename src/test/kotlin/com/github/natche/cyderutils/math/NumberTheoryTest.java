@@ -0,0 +1,113 @@
+package com.github.natche.cyderutils.math;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the {@link NumberTheory} engine and the {@link NumberUtil} methods built on it. */
+class NumberTheoryTest {
+    /** Creates a new instance of this class for testing purposes. */
+    NumberTheoryTest() {}
+
+    /**
+     * Returns whether the provided value is prime using trial division.
+     *
+     * @param value the value
+     * @return whether the value is prime
+     */
+    private static boolean isPrimeTrialDivision(long value) {
+        if (value < 2) return false;
+        for (long divisor = 2 ; divisor * divisor <= value ; divisor++) {
+            if (value % divisor == 0) return false;
+        }
+        return true;
+    }
+
+    /** Tests for primality within and beyond the sieve. */
+    @Test
+    void testIsPrime() {
+        for (int i = -5 ; i < 200_000 ; i++) {
+            assertEquals(isPrimeTrialDivision(i), NumberTheory.INSTANCE.isPrime(i));
+        }
+        assertFalse(NumberUtil.isPrime(0));
+        assertFalse(NumberUtil.isPrime(1));
+        assertFalse(NumberUtil.isPrime(4));
+        assertTrue(NumberUtil.isPrime(Integer.MAX_VALUE));
+
+        // Strong pseudoprimes to several small bases
+        assertFalse(NumberUtil.isPrime(3_215_031_751L));
+        assertFalse(NumberUtil.isPrime(3_825_123_056_546_413_051L));
+        assertFalse(NumberUtil.isPrime(3_474_749_660_383L));
+        assertTrue(NumberUtil.isPrime(Long.MAX_VALUE - 24));
+        assertFalse(NumberUtil.isPrime(Long.MAX_VALUE));
+
+        Random random = new Random(3);
+        for (int i = 0 ; i < 20_000 ; i++) {
+            long value = random.nextLong() >>> (1 + random.nextInt(40));
+            assertEquals(BigInteger.valueOf(value).isProbablePrime(64), NumberUtil.isPrime(value), "" + value);
+        }
+    }
+
+    /** Tests for iterating primes. */
+    @Test
+    void testPrimes() {
+        assertEquals(List.of(2L, 3L, 5L, 7L, 11L, 13L), NumberTheory.INSTANCE.primes().limit(6).boxed().toList());
+        assertEquals(List.of(97L, 101L, 103L), NumberTheory.INSTANCE.primes(97, 107).boxed().toList());
+        assertEquals(List.of(), NumberTheory.INSTANCE.primes(24, 29).boxed().toList());
+        assertEquals(3_001_134, NumberTheory.INSTANCE.primes(0, 50_000_000).count());
+
+        assertEquals(1_000_000_007L, NumberTheory.INSTANCE.nextPrime(1_000_000_000L));
+        assertEquals(Long.MAX_VALUE - 24, NumberTheory.INSTANCE.nextPrime(Long.MAX_VALUE - 100));
+        assertThrows(ArithmeticException.class, () -> NumberTheory.INSTANCE.nextPrime(Long.MAX_VALUE - 24));
+    }
+
+    /** Tests for factorization. */
+    @Test
+    void testPrimeFactors() {
+        assertEquals(ImmutableList.of(), NumberUtil.primeFactors(1));
+        assertEquals(ImmutableList.of(2, 3, 5), NumberUtil.primeFactors(360));
+        assertEquals(ImmutableList.of(Integer.MAX_VALUE), NumberUtil.primeFactors(Integer.MAX_VALUE));
+        assertEquals(ImmutableList.of(46_337), NumberUtil.primeFactors(46_337 * 46_337));
+        assertEquals(ImmutableList.of(3, 7, 11, 31, 151, 331), NumberUtil.primeFactors(Integer.MAX_VALUE - 1 >> 1));
+        assertThrows(IllegalArgumentException.class, () -> NumberUtil.primeFactors(0));
+
+        for (int value = 2 ; value < 100_000 ; value++) {
+            int smallest = NumberTheory.INSTANCE.smallestPrimeFactor(value);
+            assertEquals(0, value % smallest);
+            assertTrue(isPrimeTrialDivision(smallest));
+            for (int divisor = 2 ; divisor < smallest && divisor * divisor <= value ; divisor++) {
+                assertNotEquals(0, value % divisor);
+            }
+        }
+    }
+
+    /** Tests for the Fibonacci and Catalan numbers. */
+    @Test
+    void testSequences() {
+        assertEquals(0, NumberUtil.computeNthFibonacci(0));
+        assertEquals(55, NumberUtil.computeNthFibonacci(10));
+        assertEquals(1_836_311_903, NumberUtil.computeNthFibonacci(46));
+        assertThrows(ArithmeticException.class, () -> NumberUtil.computeNthFibonacci(47));
+        assertEquals(new BigInteger("2971215073"), NumberUtil.computeNthFibonacciBigInteger(47));
+        assertEquals(new BigInteger("354224848179261915075"), NumberUtil.computeNthFibonacciBigInteger(100));
+        for (int n = 0 ; n <= 46 ; n++) {
+            assertEquals(BigInteger.valueOf(NumberUtil.computeNthFibonacci(n)),
+                    NumberUtil.computeNthFibonacciBigInteger(n));
+        }
+
+        assertEquals(1, NumberUtil.computeNthCatalan(0));
+        assertEquals(42, NumberUtil.computeNthCatalan(5));
+        assertEquals(1_767_263_190, NumberUtil.computeNthCatalan(19));
+        assertThrows(ArithmeticException.class, () -> NumberUtil.computeNthCatalan(20));
+        assertEquals(new BigInteger("6564120420"), NumberUtil.computeNthCatalanBigInteger(20));
+        for (int n = 0 ; n <= 19 ; n++) {
+            assertEquals(BigInteger.valueOf(NumberUtil.computeNthCatalan(n)),
+                    NumberUtil.computeNthCatalanBigInteger(n));
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.github.natche.cyderutils.network;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the {@link HttpTransport}, run against a local stub server. */
+class HttpTransportTest {
+    /** The local stub server. */
+    private HttpServer server;
+
+    /** The base url of the local stub server. */
+    private String baseUrl;
+
+    /** Constructs a new instance of this class for testing purposes. */
+    HttpTransportTest() {}
+
+    /**
+     * A model deserialized from the stub server.
+     *
+     * @param name  the name
+     * @param value the value
+     */
+    record Model(String name, int value) {}
+
+    /** Starts the local stub server. */
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.start();
+        baseUrl = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+        HttpTransport.INSTANCE.clearCache();
+    }
+
+    /** Stops the local stub server. */
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    /**
+     * Sends the provided body with the provided status code.
+     *
+     * @param exchange   the exchange
+     * @param statusCode the status code
+     * @param body       the body
+     */
+    private static void respond(HttpExchange exchange, int statusCode, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(statusCode, body.length == 0 ? -1 : body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    /** Tests for reading gzip encoded responses. */
+    @Test
+    void testGzip() throws IOException {
+        server.createContext("/gzip", exchange -> {
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            assertEquals("gzip", acceptEncoding);
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write("{\"name\": \"gzipped\", \"value\": 42}".getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            respond(exchange, 200, compressed.toByteArray());
+        });
+
+        Model model = HttpTransport.INSTANCE.readJson(baseUrl + "/gzip", Model.class);
+        assertEquals(new Model("gzipped", 42), model);
+        assertEquals("{\"name\": \"gzipped\", \"value\": 42}", HttpTransport.INSTANCE.readString(baseUrl + "/gzip"));
+    }
+
+    /** Tests for revalidating cached responses using entity tags. */
+    @Test
+    void testConditionalRequests() throws IOException {
+        AtomicInteger fullResponses = new AtomicInteger();
+        server.createContext("/etag", exchange -> {
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                respond(exchange, 304, new byte[0]);
+            } else {
+                fullResponses.incrementAndGet();
+                respond(exchange, 200, "versioned".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+
+        assertEquals("versioned", HttpTransport.INSTANCE.readString(baseUrl + "/etag"));
+        assertEquals("versioned", HttpTransport.INSTANCE.readString(baseUrl + "/etag"));
+        assertEquals("versioned", HttpTransport.INSTANCE.readString(baseUrl + "/etag"));
+        assertEquals(1, fullResponses.get());
+        assertEquals(1, HttpTransport.INSTANCE.getCachedResponseCount());
+    }
+
+    /** Tests for retrying transient failures and failing on unsuccessful responses. */
+    @Test
+    void testRetriesAndFailures() throws IOException {
+        AtomicInteger attempts = new AtomicInteger();
+        server.createContext("/flaky", exchange -> {
+            if (attempts.incrementAndGet() < 3) {
+                respond(exchange, 503, new byte[0]);
+            } else {
+                respond(exchange, 200, "recovered".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        server.createContext("/missing", exchange -> respond(exchange, 404, new byte[0]));
+
+        assertEquals("recovered", HttpTransport.INSTANCE.readString(baseUrl + "/flaky"));
+        assertEquals(3, attempts.get());
+
+        assertThrows(IOException.class, () -> HttpTransport.INSTANCE.readString(baseUrl + "/missing"));
+        assertThrows(IOException.class, () -> HttpTransport.INSTANCE.openStream(baseUrl + "/missing"));
+        assertThrows(IllegalArgumentException.class, () -> HttpTransport.INSTANCE.readString("ftp://localhost/"));
+    }
+
+    /** Tests for HEAD requests and streamed bodies. */
+    @Test
+    void testHeadAndStream() throws IOException {
+        server.createContext("/stream", exchange -> respond(exchange, 200,
+                "streamed body".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(200, HttpTransport.INSTANCE.head(baseUrl + "/stream", Duration.ofSeconds(5)));
+        assertTrue(NetworkUtil.urlReachable(baseUrl + "/stream"));
+
+        for (int i = 0 ; i < 20 ; i++) {
+            try (InputStream inputStream = HttpTransport.INSTANCE.openStream(baseUrl + "/stream")) {
+                assertEquals("streamed body", new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals("streamed body", NetworkUtil.readUrl(baseUrl + "/stream"));
+    }
+
+    /** Tests for reading urls whose query contains characters which are not legal within a uri. */
+    @Test
+    void testLenientQuery() throws IOException {
+        server.createContext("/search", exchange -> respond(exchange, 200,
+                exchange.getRequestURI().getQuery().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("q=100% pure", NetworkUtil.readUrl(baseUrl + "/search?q=100% pure"));
+        assertEquals("q=\"quoted\"+song|live", HttpTransport.INSTANCE.readString(
+                baseUrl + "/search?q=\"quoted\"+song|live"));
+        assertEquals("q=already encoded", NetworkUtil.readUrl(baseUrl + "/search?q=already%20encoded"));
+
+        assertEquals("q=100%25%22pure%22", HttpTransport.toUri(baseUrl + "/search?q=100%\"pure\"").getRawQuery());
+        assertThrows(IllegalArgumentException.class, () -> HttpTransport.toUri("not a url"));
+    }
+
+    /** Tests for waiting out Retry-After delays and probing without retrying. */
+    @Test
+    void testRetryAfterAndProbe() throws IOException {
+        AtomicInteger attempts = new AtomicInteger();
+        server.createContext("/limited", exchange -> {
+            if (attempts.incrementAndGet() == 1) {
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                respond(exchange, 429, new byte[0]);
+            } else {
+                respond(exchange, 200, "allowed".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        AtomicInteger unavailableAttempts = new AtomicInteger();
+        server.createContext("/unavailable", exchange -> {
+            unavailableAttempts.incrementAndGet();
+            exchange.getResponseHeaders().add("Retry-After", "3600");
+            respond(exchange, 503, new byte[0]);
+        });
+
+        long start = System.nanoTime();
+        assertEquals("allowed", HttpTransport.INSTANCE.readString(baseUrl + "/limited"));
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(900).toNanos());
+        assertEquals(2, attempts.get());
+
+        // A delay longer than is worth waiting fails immediately
+        assertThrows(IOException.class, () -> HttpTransport.INSTANCE.readString(baseUrl + "/unavailable"));
+        assertEquals(1, unavailableAttempts.get());
+
+        assertEquals(200, HttpTransport.INSTANCE.probe(baseUrl + "/limited", Duration.ofSeconds(5)));
+        AtomicInteger probeAttempts = new AtomicInteger();
+        server.createContext("/down", exchange -> {
+            probeAttempts.incrementAndGet();
+            respond(exchange, 503, new byte[0]);
+        });
+        assertFalse(NetworkUtil.urlReachable(baseUrl + "/down"));
+        assertEquals(1, probeAttempts.get());
+    }
+
+    /** Tests for timing out on leaked streams and releasing their permits once garbage collected. */
+    @Test
+    void testLeakedStreams() throws IOException, InterruptedException {
+        server.createContext("/leak", exchange -> respond(exchange, 200,
+                "leaked".getBytes(StandardCharsets.UTF_8)));
+
+        List<InputStream> leaked = new ArrayList<>();
+        for (int i = 0 ; i < 6 ; i++) {
+            leaked.add(HttpTransport.INSTANCE.openStream(baseUrl + "/leak"));
+        }
+        assertThrows(IOException.class, () -> HttpTransport.INSTANCE.head(baseUrl + "/leak", Duration.ofMillis(200)));
+
+        leaked.clear();
+        boolean recovered = false;
+        for (int i = 0 ; i < 50 && !recovered ; i++) {
+            System.gc();
+            Thread.sleep(100);
+            try {
+                recovered = HttpTransport.INSTANCE.head(baseUrl + "/leak", Duration.ofMillis(100)) == 200;
+            } catch (IOException ignored) {}
+        }
+        assertTrue(recovered);
+    }
+}
@@ -0,0 +1,167 @@
+package com.github.natche.cyderutils.network;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the {@link LatencyMonitor}. */
+class LatencyMonitorTest {
+    /** The categorizer used by the tests. */
+    private static final LatencyCategorizer categorizer = new LatencyCategorizer(ImmutableMap.of(
+            500L, "Low",
+            1000L, "High"), "Unreachable");
+
+    /** Constructs a new instance of this class for testing purposes. */
+    LatencyMonitorTest() {}
+
+    /**
+     * Waits until the provided condition is met or five seconds elapse.
+     *
+     * @param condition the condition
+     * @return whether the condition was met
+     */
+    private static boolean awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() - deadline > 0) return false;
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    /** Tests for monitoring many open and closed local endpoints from one monitor. */
+    @Test
+    void testMonitorLocalEndpoints() throws Exception {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        LatencyMonitor monitor = new LatencyMonitor("Latency Monitor Test");
+        assertFalse(monitor.isRunning());
+
+        List<ServerSocket> sockets = new ArrayList<>();
+        List<LatencyMonitor.Endpoint> openEndpoints = new ArrayList<>();
+        try {
+            for (int i = 0 ; i < 50 ; i++) {
+                ServerSocket socket = new ServerSocket(0, 50, loopback);
+                sockets.add(socket);
+                openEndpoints.add(monitor.monitor(new InetSocketAddress(loopback, socket.getLocalPort()),
+                        Duration.ofMillis(20), Duration.ofSeconds(1), categorizer));
+            }
+
+            ServerSocket closedSocket = new ServerSocket(0, 50, loopback);
+            int closedPort = closedSocket.getLocalPort();
+            closedSocket.close();
+            LatencyMonitor.Endpoint closedEndpoint = monitor.monitor(new InetSocketAddress(loopback, closedPort),
+                    Duration.ofMillis(20), Duration.ofSeconds(1), categorizer);
+
+            assertTrue(monitor.isRunning());
+            assertEquals(51, monitor.getEndpoints().size());
+
+            assertTrue(awaitCondition(() -> openEndpoints.stream()
+                    .allMatch(endpoint -> endpoint.getStatistics().getSuccessCount() >= 3)));
+            for (LatencyMonitor.Endpoint endpoint : openEndpoints) {
+                assertTrue(endpoint.getStatistics().isReachable());
+                assertEquals("Low", endpoint.getStatus());
+                assertTrue(endpoint.getStatistics().getAverageLatency().isPresent());
+                assertTrue(endpoint.getStatistics().getPercentileLatency(50).isPresent());
+                assertFalse(endpoint.getStatistics().getHistogram().isEmpty());
+            }
+
+            assertTrue(awaitCondition(() -> closedEndpoint.getStatistics().getFailureCount() >= 2));
+            assertFalse(closedEndpoint.getStatistics().isReachable());
+            assertEquals("Unreachable", closedEndpoint.getStatus());
+
+            openEndpoints.forEach(LatencyMonitor.Endpoint::cancel);
+            closedEndpoint.cancel();
+            assertTrue(awaitCondition(() -> !monitor.isRunning()));
+            assertTrue(monitor.getEndpoints().isEmpty());
+        } finally {
+            for (ServerSocket socket : sockets) socket.close();
+        }
+    }
+
+    /** Tests for the high latency checker backed by a monitor. */
+    @Test
+    void testHighLatencyChecker() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            HighLatencyChecker checker = new HighLatencyChecker.Builder("Checker Test")
+                    .setIpAddress("127.0.0.1")
+                    .setPort(socket.getLocalPort())
+                    .setLatencyCategorizer(categorizer)
+                    .setPingDelay(Duration.ofMillis(20))
+                    .setLatencyMonitor(new LatencyMonitor("High Latency Checker Test"))
+                    .build();
+
+            assertEquals("Unreachable", checker.getCurrentStatus());
+            assertEquals(Long.MAX_VALUE, checker.getCurrentLatency());
+
+            checker.start();
+            assertTrue(checker.isRunning());
+            assertThrows(IllegalStateException.class, checker::start);
+
+            assertTrue(awaitCondition(() -> checker.getCurrentStatus().equals("Low")));
+            assertTrue(checker.getCurrentLatency() < 500);
+
+            checker.stop();
+            assertFalse(checker.isRunning());
+            assertDoesNotThrow(checker::start);
+            checker.stop();
+        }
+    }
+
+    /** Tests for monitoring an address which could not be resolved. */
+    @Test
+    void testUnresolvedEndpoint() throws Exception {
+        LatencyMonitor monitor = new LatencyMonitor("Unresolved Latency Monitor Test");
+        LatencyMonitor.Endpoint endpoint = monitor.monitor(InetSocketAddress.createUnresolved("unresolved.invalid", 80),
+                Duration.ofMillis(20), Duration.ofSeconds(1), categorizer);
+
+        assertTrue(awaitCondition(() -> endpoint.getStatistics().getFailureCount() >= 2));
+        assertFalse(endpoint.getStatistics().isReachable());
+        assertEquals("Unreachable", endpoint.getStatus());
+        endpoint.cancel();
+
+        HighLatencyChecker checker = new HighLatencyChecker.Builder("Unresolved Checker Test")
+                .setIpAddress("999.999.999.999")
+                .setLatencyCategorizer(categorizer)
+                .setPingDelay(Duration.ofMillis(20))
+                .setLatencyMonitor(monitor)
+                .build();
+        checker.start();
+        assertTrue(awaitCondition(() -> checker.getStatistics().orElseThrow().getFailureCount() >= 2));
+        assertEquals("Unreachable", checker.getCurrentStatus());
+        assertEquals(Long.MAX_VALUE, checker.getCurrentLatency());
+        checker.stop();
+        assertTrue(awaitCondition(() -> !monitor.isRunning()));
+    }
+
+    /** Tests for the latency statistics. */
+    @Test
+    void testLatencyStatistics() {
+        LatencyStatistics statistics = new LatencyStatistics(4, 0.5);
+        assertFalse(statistics.isReachable());
+        assertTrue(statistics.getAverageLatency().isEmpty());
+
+        statistics.recordSuccess(Duration.ofMillis(10));
+        statistics.recordSuccess(Duration.ofMillis(20));
+        assertEquals(Duration.ofMillis(15), statistics.getAverageLatency().orElseThrow());
+        assertEquals(Duration.ofMillis(20), statistics.getLatestLatency().orElseThrow());
+
+        for (int i = 0 ; i < 4 ; i++) statistics.recordSuccess(Duration.ofMillis(100));
+        assertEquals(4, statistics.getWindowCount());
+        assertEquals(Duration.ofMillis(100), statistics.getPercentileLatency(0).orElseThrow());
+        assertEquals(ImmutableMap.of(Duration.ofMillis(131072 / 1000).plusNanos(72000), 4),
+                statistics.getHistogram());
+
+        statistics.recordFailure();
+        assertFalse(statistics.isReachable());
+        assertEquals(1, statistics.getConsecutiveFailures());
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.natche.cyderutils.network;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Range;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the {@link PortProber}. */
+class PortProberTest {
+    /** Constructs a new instance of this class for testing purposes. */
+    PortProberTest() {}
+
+    /** Tests for probing local ports. */
+    @Test
+    void testProbeLocal() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> PortProber.isLocalPortAvailable(-1));
+        assertThrows(IllegalArgumentException.class, () -> PortProber.probeLocal(Range.closed(-1, 10)));
+
+        try (ServerSocket socket = new ServerSocket(0)) {
+            int boundPort = socket.getLocalPort();
+            assertFalse(PortProber.isLocalPortAvailable(boundPort));
+
+            List<PortProbeResult> results = PortProber.probeLocal(Range.singleton(boundPort)).toList();
+            assertEquals(1, results.size());
+            assertEquals(PortProbeResult.Status.IN_USE, results.get(0).status());
+            assertEquals(boundPort, results.get(0).port());
+        }
+
+        assertTrue(PortProber.findAvailableLocalPort(Range.closed(25000, 26000)).isPresent());
+        assertEquals(10, PortProber.findAvailableLocalPorts(Range.closed(25000, 26000)).limit(10).count());
+    }
+
+    /** Tests for probing remote ports. */
+    @Test
+    void testProbeRemote() throws Exception {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+
+        try (ServerSocket openSocket = new ServerSocket(0, 50, loopback);
+             ServerSocket closedSocket = new ServerSocket(0, 50, loopback)) {
+            int openPort = openSocket.getLocalPort();
+            int closedPort = closedSocket.getLocalPort();
+            closedSocket.close();
+
+            ImmutableList<InetSocketAddress> targets = ImmutableList.of(
+                    new InetSocketAddress(loopback, openPort),
+                    new InetSocketAddress(loopback, closedPort),
+                    InetSocketAddress.createUnresolved("unresolved.invalid", 80));
+
+            try (Stream<PortProbeResult> results = PortProber.probeRemote(targets, Duration.ofSeconds(2), 2)) {
+                var statuses = results.collect(Collectors.toMap(PortProbeResult::port, PortProbeResult::status));
+                assertEquals(PortProbeResult.Status.OPEN, statuses.get(openPort));
+                assertEquals(PortProbeResult.Status.CLOSED, statuses.get(closedPort));
+                assertEquals(PortProbeResult.Status.UNRESOLVED, statuses.get(80));
+            }
+
+            assertTrue(new Port(openPort).isOpenOn(loopback.getHostAddress()));
+
+            try (Stream<PortProbeResult> results = PortProber.probeRemote(loopback.getHostAddress(),
+                    Range.closed(openPort, openPort))) {
+                PortProbeResult result = results.findFirst().orElseThrow();
+                assertEquals(PortProbeResult.Status.OPEN, result.status());
+                assertEquals(loopback, result.address().getAddress());
+            }
+        }
+
+        try (Stream<PortProbeResult> results = PortProber.probeRemote("unresolved.invalid", Range.closed(1, 3))) {
+            List<PortProbeResult> unresolved = results.toList();
+            assertEquals(3, unresolved.size());
+            assertTrue(unresolved.stream().allMatch(result -> result.status() == PortProbeResult.Status.UNRESOLVED));
+        }
+
+        assertThrows(IllegalArgumentException.class,
+                () -> PortProber.probeRemote(ImmutableList.of(), Duration.ZERO, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> PortProber.probeRemote(ImmutableList.of(), Duration.ofSeconds(1), 0));
+    }
+}
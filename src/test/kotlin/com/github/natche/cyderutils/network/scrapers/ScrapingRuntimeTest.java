@@ -0,0 +1,154 @@
+package com.github.natche.cyderutils.network.scrapers;
+
+import com.sun.net.httpserver.HttpServer;
+import com.github.natche.cyderutils.utils.JsoupUtils;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the {@link ScrapingRuntime} and {@link SessionPool}, run against a local HTML fixture server. */
+class ScrapingRuntimeTest {
+    /** The HTML fixture served by the local server. */
+    private static final String FIXTURE = "<html><head><title>Fixture</title></head>"
+            + "<body><table class=\"iptab\"><tbody><tr><td>City</td><td>Springfield</td></tr></tbody></table>"
+            + "</body></html>";
+
+    /** The local fixture server. */
+    private HttpServer server;
+
+    /** The url of the fixture. */
+    private String fixtureUrl;
+
+    /** The number of requests served for the fixture. */
+    private final AtomicInteger fixtureRequests = new AtomicInteger();
+
+    /** Constructs a new instance of this class for testing purposes. */
+    ScrapingRuntimeTest() {}
+
+    /** Starts the local fixture server. */
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/fixture", exchange -> {
+            fixtureRequests.incrementAndGet();
+            byte[] body = FIXTURE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        server.start();
+        fixtureUrl = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort()
+                + "/fixture";
+        ScrapingRuntime.INSTANCE.clearCache();
+    }
+
+    /** Stops the local fixture server and restores the default time to live. */
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        ScrapingRuntime.INSTANCE.setTimeToLive(Duration.ofMinutes(ScrapingRuntime.DEFAULT_TIME_TO_LIVE_MINUTES));
+        ScrapingRuntime.INSTANCE.clearCache();
+        ScrapingRuntime.INSTANCE.resetBrowserSessionCreator();
+    }
+
+    /** Tests for reading and caching static documents. */
+    @Test
+    void testStaticDocuments() throws IOException {
+        Document document = ScrapingRuntime.INSTANCE.readDocument(fixtureUrl, ScrapingRuntime.RenderMode.STATIC);
+        assertEquals("Fixture", document.title());
+        assertEquals("Springfield", document.select("table.iptab td").get(1).text());
+
+        document.title("Modified");
+        Document cached = ScrapingRuntime.INSTANCE.readDocument(fixtureUrl, ScrapingRuntime.RenderMode.STATIC);
+        assertEquals("Fixture", cached.title());
+        assertEquals(1, fixtureRequests.get());
+        assertEquals(1, ScrapingRuntime.INSTANCE.getCachedDocumentCount());
+
+        ScrapingRuntime.INSTANCE.setTimeToLive(Duration.ZERO);
+        ScrapingRuntime.INSTANCE.clearCache();
+        ScrapingRuntime.INSTANCE.readDocument(fixtureUrl, ScrapingRuntime.RenderMode.STATIC);
+        ScrapingRuntime.INSTANCE.readDocument(fixtureUrl, ScrapingRuntime.RenderMode.STATIC);
+        assertEquals(3, fixtureRequests.get());
+        assertEquals(0, ScrapingRuntime.INSTANCE.getCachedDocumentCount());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> ScrapingRuntime.INSTANCE.setTimeToLive(Duration.ofSeconds(-1)));
+    }
+
+    /** Tests for borrowing, reusing, discarding, and closing pooled sessions. */
+    @Test
+    void testSessionPool() throws InterruptedException {
+        AtomicInteger created = new AtomicInteger();
+        List<Integer> closed = new ArrayList<>();
+        SessionPool<Integer> pool = new SessionPool<>(created::incrementAndGet, closed::add, 2);
+
+        SessionPool.Lease<Integer> first = pool.borrow(Duration.ofSeconds(1));
+        SessionPool.Lease<Integer> second = pool.borrow(Duration.ofSeconds(1));
+        assertEquals(1, (int) first.getSession());
+        assertEquals(2, (int) second.getSession());
+        assertThrows(IllegalStateException.class, () -> pool.borrow(Duration.ofMillis(50)));
+
+        first.close();
+        try (SessionPool.Lease<Integer> reused = pool.borrow(Duration.ofSeconds(1))) {
+            assertEquals(1, (int) reused.getSession());
+            reused.discard();
+        }
+        assertEquals(List.of(1), closed);
+        assertEquals(1, pool.getSessionCount());
+
+        try (SessionPool.Lease<Integer> fresh = pool.borrow(Duration.ofSeconds(1))) {
+            assertEquals(3, (int) fresh.getSession());
+        }
+        assertEquals(1, pool.getIdleSessionCount());
+
+        pool.close();
+        assertEquals(List.of(1, 3), closed);
+        second.close();
+        assertEquals(List.of(1, 3, 2), closed);
+        assertEquals(0, pool.getSessionCount());
+        assertThrows(IllegalStateException.class, () -> pool.borrow(Duration.ofSeconds(1)));
+    }
+
+    /** Tests for reporting a browser session which cannot be started, such as without a browser installed. */
+    @Test
+    void testBrowserSessionCreationFailure() {
+        AtomicInteger attempts = new AtomicInteger();
+        ScrapingRuntime.INSTANCE.setBrowserSessionCreator(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("No browser installed");
+        });
+
+        IOException exception = assertThrows(IOException.class,
+                () -> ScrapingRuntime.INSTANCE.readDocument(fixtureUrl, ScrapingRuntime.RenderMode.JAVASCRIPT));
+        assertEquals("No browser installed", exception.getCause().getMessage());
+        assertEquals(Optional.empty(), JsoupUtils.readDocument(fixtureUrl, ScrapingRuntime.RenderMode.JAVASCRIPT));
+        assertEquals(2, attempts.get());
+        assertEquals(0, fixtureRequests.get());
+
+        AtomicInteger created = new AtomicInteger();
+        SessionPool<Integer> pool = new SessionPool<>(() -> {
+            if (created.incrementAndGet() == 1) throw new IllegalStateException("First creation fails");
+            return created.get();
+        }, session -> {}, 1);
+        assertThrows(IllegalStateException.class, () -> pool.borrow(Duration.ofSeconds(1)));
+        assertEquals(0, pool.getSessionCount());
+        assertDoesNotThrow(() -> pool.borrow(Duration.ofSeconds(1)).close());
+        pool.close();
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.natche.cyderutils.props;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the {@link PropLoader}. */
+class PropLoaderTest {
+    /** The temporary directory of the current test. */
+    private Path temp;
+
+    /** Creates a new instance of this class for testing purposes. */
+    PropLoaderTest() {}
+
+    /**
+     * Creates the temporary directory of the current test.
+     *
+     * @throws IOException if the directory cannot be created
+     */
+    @BeforeEach
+    void createTemporaryDirectory() throws IOException {
+        temp = Files.createTempDirectory("prop_loader_test");
+    }
+
+    /**
+     * Deletes the temporary directory of the current test and disables snapshots.
+     *
+     * @throws IOException if the directory cannot be deleted
+     */
+    @AfterEach
+    void deleteTemporaryDirectory() throws IOException {
+        PropLoader.setSnapshotsEnabled(false);
+        MoreFiles.deleteRecursively(temp, RecursiveDeleteOption.ALLOW_INSECURE);
+    }
+
+    /** Tests for extracting props from a directory with snapshots disabled and enabled. */
+    @Test
+    void testSnapshotsEnabled() throws IOException {
+        Files.writeString(temp.resolve("prop_main.ini"), "# comment\nfirst: 1\na\\:b: second");
+        Files.writeString(temp.resolve("ignored.ini"), "ignored: true");
+        File snapshotFile = temp.resolve(PropConstants.localPropsSnapshotFile.getName()).toFile();
+        ImmutableMap<String, String> expected = ImmutableMap.of("first", "1", "a:b", "second");
+
+        assertFalse(PropLoader.areSnapshotsEnabled());
+        assertEquals(expected, PropLoader.extractPropsFromDirectory(temp.toFile()));
+        assertFalse(snapshotFile.exists());
+
+        PropLoader.setSnapshotsEnabled(true);
+        assertTrue(PropLoader.areSnapshotsEnabled());
+        assertEquals(expected, PropLoader.extractPropsFromDirectory(temp.toFile()));
+        assertTrue(snapshotFile.isFile());
+        assertEquals(expected, PropLoader.extractPropsFromDirectory(temp.toFile()));
+
+        Files.writeString(temp.resolve("prop_extra.ini"), "third: 3");
+        ImmutableMap<String, String> reloaded = PropLoader.extractPropsFromDirectory(temp.toFile());
+        assertEquals(3, reloaded.size());
+        assertEquals("3", reloaded.get("third"));
+    }
+}
@@ -0,0 +1,57 @@
+package com.github.natche.cyderutils.props;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the {@link PropRegistry}. */
+class PropRegistryTest {
+    /** Creates a new instance of this class for testing purposes. */
+    PropRegistryTest() {}
+
+    /** Clears the values installed by a test. */
+    @AfterEach
+    void clearInstalledValues() {
+        PropRegistry.install(ImmutableMap.of());
+    }
+
+    /** Tests for installing values into registered props. */
+    @Test
+    void testInstall() {
+        Prop<Integer> integerProp = new Prop<>("prop_registry_test_integer", 1, Integer.class);
+        Prop<Double> doubleProp = new Prop<>("prop_registry_test_double", 1.0, Double.class);
+        Prop<String> stringProp = new Prop<>("prop_registry_test_string", "default", String.class);
+        assertTrue(PropRegistry.getRegisteredProps().contains(integerProp));
+        assertEquals(integerProp, PropRegistry.getRegisteredProps().get(integerProp.getSlot()));
+
+        PropRegistry.install(ImmutableMap.of(
+                "prop_registry_test_integer", "42",
+                "prop_registry_test_double", "not a double",
+                "prop_registry_test_string", "custom"));
+        assertEquals((Integer) 42, integerProp.getValue());
+        assertFalse(doubleProp.customValuePresent());
+        assertEquals((Double) 1.0, doubleProp.getValue());
+        assertEquals("custom", stringProp.getValue());
+
+        PropRegistry.install(ImmutableMap.of("prop_registry_test_integer", "7"));
+        assertEquals((Integer) 7, integerProp.getValue());
+        assertFalse(stringProp.customValuePresent());
+        assertEquals("default", stringProp.getValue());
+    }
+
+    /** Tests for registering props after values have been installed. */
+    @Test
+    void testRegisterAfterInstall() {
+        PropRegistry.install(ImmutableMap.of(
+                "prop_registry_test_late", "true",
+                "prop_registry_test_late_malformed", "1.5"));
+
+        Prop<Boolean> lateProp = new Prop<>("prop_registry_test_late", false, Boolean.class);
+        assertTrue(lateProp.getValue());
+        Prop<Integer> malformedProp = new Prop<>("prop_registry_test_late_malformed", 3, Integer.class);
+        assertFalse(malformedProp.customValuePresent());
+        assertEquals((Integer) 3, malformedProp.getValue());
+    }
+}
@@ -0,0 +1,73 @@
+package com.github.natche.cyderutils.props;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the {@link PropSnapshot}. */
+class PropSnapshotTest {
+    /** The temporary directory of the current test. */
+    private Path temp;
+
+    /** Creates a new instance of this class for testing purposes. */
+    PropSnapshotTest() {}
+
+    /**
+     * Creates the temporary directory of the current test.
+     *
+     * @throws IOException if the directory cannot be created
+     */
+    @BeforeEach
+    void createTemporaryDirectory() throws IOException {
+        temp = Files.createTempDirectory("prop_snapshot_test");
+    }
+
+    /**
+     * Deletes the temporary directory of the current test.
+     *
+     * @throws IOException if the directory cannot be deleted
+     */
+    @AfterEach
+    void deleteTemporaryDirectory() throws IOException {
+        MoreFiles.deleteRecursively(temp, RecursiveDeleteOption.ALLOW_INSECURE);
+    }
+
+    /** Tests for writing and reading a snapshot and rejecting stale snapshots. */
+    @Test
+    void testReadWrite() throws IOException {
+        File propFile = Files.writeString(temp.resolve("prop_a.ini"), "key: value").toFile();
+        File otherPropFile = Files.writeString(temp.resolve("prop_b.ini"), "other: é").toFile();
+        ImmutableList<File> propFiles = ImmutableList.of(propFile, otherPropFile);
+        File snapshotFile = temp.resolve("snapshot.bin").toFile();
+        ImmutableMap<String, String> props = ImmutableMap.of("key", "value", "other", "é");
+
+        assertEquals(Optional.empty(), PropSnapshot.read(snapshotFile, propFiles));
+        PropSnapshot.write(snapshotFile, propFiles, props);
+        assertEquals(Optional.of(props), PropSnapshot.read(snapshotFile, propFiles));
+        assertEquals(Optional.empty(), PropSnapshot.read(snapshotFile, ImmutableList.of(propFile)));
+
+        // A same-size edit which preserves the modification time is caught by the checksum
+        long lastModified = propFile.lastModified();
+        Files.writeString(propFile.toPath(), "key: other");
+        assertTrue(propFile.setLastModified(lastModified));
+        assertEquals(lastModified, propFile.lastModified());
+        assertEquals(Optional.empty(), PropSnapshot.read(snapshotFile, propFiles));
+
+        PropSnapshot.write(snapshotFile, propFiles, props);
+        assertTrue(PropSnapshot.read(snapshotFile, propFiles).isPresent());
+        Files.write(snapshotFile.toPath(), new byte[]{0x43, 0x50, 0x52, 0x50, 0, 0, 0, 2, 0, 0});
+        assertEquals(Optional.empty(), PropSnapshot.read(snapshotFile, propFiles));
+    }
+}
@@ -0,0 +1,110 @@
+package com.github.natche.cyderutils.strings;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the {@link FuzzyStringIndex}. */
+class FuzzyStringIndexTest {
+    /** Creates a new instance of this class for testing purposes. */
+    FuzzyStringIndexTest() {}
+
+    /**
+     * Returns a random string of the provided length over a small alphabet.
+     *
+     * @param random the random
+     * @param length the length
+     * @return the random string
+     */
+    private static String randomString(Random random, int length) {
+        StringBuilder ret = new StringBuilder(length);
+        for (int i = 0 ; i < length ; i++) {
+            ret.append((char) ('a' + random.nextInt(5)));
+        }
+        return ret.toString();
+    }
+
+    /**
+     * Returns the closest of the provided strings within the tolerance of the query by scanning every string.
+     *
+     * @param strings   the strings
+     * @param query     the query
+     * @param tolerance the maximum distance of a match
+     * @param limit     the maximum number of matches
+     * @return the matches, closest first, ties ordered by value
+     */
+    private static List<FuzzyStringIndex.Match> scan(List<String> strings, String query, int tolerance, int limit) {
+        return strings.stream()
+                .map(string -> new FuzzyStringIndex.Match(string,
+                        LevenshteinUtil.computeLevenshteinDistance(query, string)))
+                .filter(match -> match.distance() <= tolerance)
+                .sorted(Comparator.comparingInt(FuzzyStringIndex.Match::distance)
+                        .thenComparing(FuzzyStringIndex.Match::value))
+                .limit(limit)
+                .toList();
+    }
+
+    /** Tests for searching against a full scan, including after removals. */
+    @Test
+    void testSearch() {
+        Random random = new Random(11);
+        List<String> strings = new ArrayList<>();
+        FuzzyStringIndex index = new FuzzyStringIndex();
+        for (int i = 0 ; i < 3000 ; i++) {
+            String string = randomString(random, random.nextInt(12));
+            if (index.add(string)) strings.add(string);
+        }
+        assertEquals(strings.size(), index.size());
+
+        for (int i = 0 ; i < 300 ; i++) {
+            String query = randomString(random, random.nextInt(14));
+            int tolerance = random.nextInt(4);
+            assertEquals(scan(strings, query, tolerance, Integer.MAX_VALUE), index.search(query, tolerance));
+            assertEquals(scan(strings, query, tolerance, 3), index.search(query, tolerance, 3));
+        }
+
+        // Enough removals to compact the index
+        for (int i = 0 ; i < 2000 ; i++) {
+            String string = strings.remove(random.nextInt(strings.size()));
+            assertTrue(index.remove(string));
+            assertFalse(index.contains(string));
+            assertFalse(index.remove(string));
+        }
+        assertEquals(strings.size(), index.size());
+
+        for (int i = 0 ; i < 100 ; i++) {
+            String query = randomString(random, random.nextInt(14));
+            assertEquals(scan(strings, query, 2, Integer.MAX_VALUE), index.search(query, 2));
+        }
+    }
+
+    /** Tests for finding the closest and similar strings. */
+    @Test
+    void testFindClosestAndSearchSimilar() {
+        FuzzyStringIndex index = FuzzyStringIndex.of(List.of("weather", "whether", "pizza", "youtube", "hello"));
+
+        assertFalse(index.add("pizza"));
+        assertEquals(5, index.size());
+
+        assertEquals(new FuzzyStringIndex.Match("pizza", 1), index.findClosest("piza", 2).orElseThrow());
+        assertTrue(index.findClosest("piza", 0).isEmpty());
+        assertEquals(ImmutableList.of(new FuzzyStringIndex.Match("weather", 1),
+                new FuzzyStringIndex.Match("whether", 1)), index.search("wether", 2));
+
+        assertEquals(ImmutableList.of(new FuzzyStringIndex.Match("youtube", 1)),
+                index.searchSimilar("yutube", 0.8, 5));
+        assertEquals(ImmutableList.of(), index.searchSimilar("yutube", 0.9, 5));
+        assertEquals(ImmutableList.of(new FuzzyStringIndex.Match("hello", 0)),
+                index.searchSimilar("hello", 1.0, 5));
+
+        assertThrows(IllegalArgumentException.class, () -> index.search("a", -1));
+        assertThrows(IllegalArgumentException.class, () -> index.search("a", 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> index.searchSimilar("a", 0, 1));
+    }
+}
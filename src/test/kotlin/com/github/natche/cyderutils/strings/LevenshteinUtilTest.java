@@ -0,0 +1,140 @@
+package com.github.natche.cyderutils.strings;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the {@link LevenshteinUtil}. */
+class LevenshteinUtilTest {
+    /** Creates a new instance of this class for testing purposes. */
+    LevenshteinUtilTest() {}
+
+    /**
+     * Returns a random string of the provided length over a small alphabet.
+     *
+     * @param random the random
+     * @param length the length
+     * @return the random string
+     */
+    private static String randomString(Random random, int length) {
+        StringBuilder ret = new StringBuilder(length);
+        for (int i = 0 ; i < length ; i++) {
+            ret.append((char) ('a' + random.nextInt(4)));
+        }
+        return ret.toString();
+    }
+
+    /**
+     * Returns the levenshtein distance between the provided strings using the full dynamic programming matrix.
+     *
+     * @param alpha the first string
+     * @param beta  the second string
+     * @return the levenshtein distance
+     */
+    private static int referenceDistance(String alpha, String beta) {
+        int[][] matrix = new int[alpha.length() + 1][beta.length() + 1];
+        for (int i = 0 ; i <= alpha.length() ; i++) matrix[i][0] = i;
+        for (int j = 0 ; j <= beta.length() ; j++) matrix[0][j] = j;
+        for (int i = 1 ; i <= alpha.length() ; i++) {
+            for (int j = 1 ; j <= beta.length() ; j++) {
+                int substitution = matrix[i - 1][j - 1] + (alpha.charAt(i - 1) == beta.charAt(j - 1) ? 0 : 1);
+                matrix[i][j] = Math.min(substitution, Math.min(matrix[i - 1][j], matrix[i][j - 1]) + 1);
+            }
+        }
+        return matrix[alpha.length()][beta.length()];
+    }
+
+    /** Tests for computing the levenshtein distance. */
+    @Test
+    void testComputeLevenshteinDistance() {
+        assertEquals(0, LevenshteinUtil.computeLevenshteinDistance("", ""));
+        assertEquals(3, LevenshteinUtil.computeLevenshteinDistance("kitten", "sitting"));
+        assertEquals(3, LevenshteinUtil.computeLevenshteinDistance("", "abc"));
+        assertEquals(2, LevenshteinUtil.computeLevenshteinDistance("flaw", "lawn"));
+    }
+
+    /** Tests for computing the bounded levenshtein distance. */
+    @Test
+    void testComputeBoundedLevenshteinDistance() {
+        assertEquals(3, LevenshteinUtil.computeBoundedLevenshteinDistance("kitten", "sitting", 3));
+        assertEquals(3, LevenshteinUtil.computeBoundedLevenshteinDistance("kitten", "sitting", 10));
+        assertEquals(3, LevenshteinUtil.computeBoundedLevenshteinDistance("kitten", "sitting", 2));
+        assertEquals(1, LevenshteinUtil.computeBoundedLevenshteinDistance("kitten", "sitting", 0));
+        assertEquals(3, LevenshteinUtil.computeBoundedLevenshteinDistance("abc", "", Integer.MAX_VALUE));
+        assertEquals(0, LevenshteinUtil.computeBoundedLevenshteinDistance("", "", Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class,
+                () -> LevenshteinUtil.computeBoundedLevenshteinDistance("a", "b", -1));
+
+        Random random = new Random(42);
+        for (int i = 0 ; i < 2000 ; i++) {
+            int maximumLength = i % 2 == 0 ? 12 : 160;
+            String alpha = randomString(random, random.nextInt(maximumLength));
+            String beta = randomString(random, random.nextInt(maximumLength));
+            int expected = referenceDistance(alpha, beta);
+            int maximumDistance = random.nextInt(10);
+            assertEquals(Math.min(expected, maximumDistance + 1),
+                    LevenshteinUtil.computeBoundedLevenshteinDistance(alpha, beta, maximumDistance));
+        }
+    }
+
+    /** Tests for the bit-parallel levenshtein matcher, including queries spanning several blocks. */
+    @Test
+    void testLevenshteinMatcher() {
+        Random random = new Random(7);
+        for (int i = 0 ; i < 500 ; i++) {
+            String query = randomString(random, random.nextInt(200));
+            LevenshteinMatcher matcher = new LevenshteinMatcher(query);
+            for (int j = 0 ; j < 5 ; j++) {
+                String candidate = randomString(random, random.nextInt(200));
+                int expected = referenceDistance(query, candidate);
+                assertEquals(expected, matcher.distance(candidate));
+                assertEquals(expected, LevenshteinUtil.computeLevenshteinDistance(query, candidate));
+
+                int maximumDistance = random.nextInt(expected + 2);
+                assertEquals(Math.min(expected, maximumDistance + 1), matcher.distance(candidate, maximumDistance));
+            }
+        }
+
+        LevenshteinMatcher unicode = new LevenshteinMatcher("\u00e9t\u00e9 \u2603");
+        assertEquals(1, unicode.distance("\u00e9t\u00e9 \u2602"));
+        assertEquals(5, unicode.distance(""));
+
+        LevenshteinMatcher matcher = new LevenshteinMatcher("kitten");
+        List<String> candidates = List.of("kitten", "sitting", "mitten", "a completely different candidate");
+        assertArrayEquals(new int[]{0, 3, 1, 29}, matcher.distances(candidates, Integer.MAX_VALUE));
+
+        int[] distances = new int[5];
+        matcher.distances(candidates, 2, distances);
+        assertArrayEquals(new int[]{0, 3, 1, 3, 0}, distances);
+        assertThrows(IllegalArgumentException.class, () -> matcher.distances(candidates, 2, new int[3]));
+    }
+
+    /** Tests for long strings, whose match masks are sized by their distinct chars or avoided altogether. */
+    @Test
+    void testLongStrings() {
+        Random random = new Random(13);
+        String alpha = randomString(random, 40_000);
+        StringBuilder edited = new StringBuilder(alpha);
+        for (int i = 0 ; i < 25 ; i++) {
+            edited.setCharAt(i * 1500, 'z');
+        }
+        String beta = edited.toString();
+        assertTrue(LevenshteinMatcher.tableWords(alpha) < 1 << 14);
+        assertEquals(25, LevenshteinUtil.computeLevenshteinDistance(alpha, beta));
+
+        // Every char distinct, so the match masks would be quadratic in the length
+        StringBuilder distinct = new StringBuilder();
+        for (int i = 0 ; i < 6000 ; i++) {
+            distinct.append((char) (0x4E00 + i));
+        }
+        String gamma = distinct.toString();
+        String delta = gamma.substring(10) + "abc";
+        assertTrue(LevenshteinMatcher.tableWords(gamma) > 1 << 20);
+        assertEquals(new LevenshteinMatcher(gamma).distance(delta),
+                LevenshteinUtil.computeLevenshteinDistance(gamma, delta));
+        assertEquals(13, LevenshteinUtil.computeLevenshteinDistance(delta, gamma));
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.natche.cyderutils.strings;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the {@link WordMatcher}. */
+class WordMatcherTest {
+    /** Creates a new instance of this class for testing purposes. */
+    WordMatcherTest() {}
+
+    /**
+     * Returns a random string of the provided length over a small alphabet.
+     *
+     * @param random the random
+     * @param length the length
+     * @return the random string
+     */
+    private static String randomString(Random random, int length) {
+        String alphabet = "abAB é";
+        StringBuilder ret = new StringBuilder(length);
+        for (int i = 0 ; i < length ; i++) {
+            ret.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return ret.toString();
+    }
+
+    /** Tests for finding words against a naive scan of every word at every index. */
+    @Test
+    void testFindAll() {
+        Random random = new Random(5);
+        for (int i = 0 ; i < 300 ; i++) {
+            LinkedHashSet<String> words = new LinkedHashSet<>();
+            int wordCount = 1 + random.nextInt(8);
+            for (int j = 0 ; j < wordCount ; j++) {
+                String word = randomString(random, 1 + random.nextInt(4)).toLowerCase().replace(' ', 'a');
+                words.add(word);
+            }
+            String text = randomString(random, random.nextInt(40));
+            WordMatcher matcher = new WordMatcher.Builder()
+                    .addWords(words)
+                    .setBoundary(WordMatcher.Boundary.ANYWHERE)
+                    .build();
+
+            String lowerText = text.toLowerCase();
+            List<WordMatcher.Match> expected = new ArrayList<>();
+            for (String word : words) {
+                for (int start = lowerText.indexOf(word) ; start != -1 ; start = lowerText.indexOf(word, start + 1)) {
+                    expected.add(new WordMatcher.Match(word, start, start + word.length()));
+                }
+            }
+            expected.sort(Comparator.comparingInt(WordMatcher.Match::end)
+                    .thenComparing(Comparator.comparingInt(WordMatcher.Match::start)));
+
+            assertEquals(expected, matcher.findAll(text));
+            assertEquals(!expected.isEmpty(), matcher.containsAny(text));
+        }
+    }
+
+    /** Tests for normalization and boundaries. */
+    @Test
+    void testNormalizationAndBoundaries() {
+        WordMatcher matcher = new WordMatcher.Builder()
+                .addWords(List.of("hello", "HELLO", "world", "lo"))
+                .setNormalization(WordMatcher.Normalization.LEET_AND_CASE)
+                .build();
+        assertEquals(ImmutableList.of("hello", "world", "lo"), matcher.getWords());
+        assertEquals(ImmutableList.of(new WordMatcher.Match("hello", 4, 9), new WordMatcher.Match("world", 10, 15)),
+                matcher.findAll("Oh, H3LL0 w0rld! hellos"));
+        assertEquals(ImmutableSet.of("world", "hello"), matcher.findWords("w0rld, he770"));
+        assertFalse(matcher.containsAny("helloworld"));
+
+        WordMatcher whitespace = new WordMatcher.Builder()
+                .addWord("hi")
+                .setBoundary(WordMatcher.Boundary.WHITESPACE)
+                .build();
+        assertEquals(ImmutableList.of(new WordMatcher.Match("hi", 0, 2), new WordMatcher.Match("hi", 8, 10)),
+                whitespace.findAll("hi hi, \thi"));
+
+        WordMatcher surrogates = new WordMatcher.Builder().addWord("😀").build();
+        assertEquals(ImmutableList.of(new WordMatcher.Match("😀", 2, 4)),
+                surrogates.findAll("a 😀 b"));
+
+        assertThrows(IllegalArgumentException.class, () -> new WordMatcher.Builder().addWord(""));
+        assertFalse(new WordMatcher.Builder().build().containsAny("anything"));
+    }
+
+    /** Tests for the leet and word utilities of {@link StringUtil} built on the matcher normalization. */
+    @Test
+    void testStringUtilWords() {
+        assertEquals("hello world", StringUtil.filterLeet("  h3ll0 \t w0r7d  "));
+        assertEquals("aabcceefghiiijlnoppprsstxz", StringUtil.filterLeet("4@8({3&}9#1!|]7~0?qQ2$5+*%"));
+        assertEquals("   ", StringUtil.filterLeet("   "));
+        assertEquals("", StringUtil.filterLeet(""));
+
+        assertTrue(StringUtil.hasWord("say Hello there", "hello"));
+        assertTrue(StringUtil.hasWord("  HELLO", "hello"));
+        assertFalse(StringUtil.hasWord("say hellothere", "hello"));
+        assertFalse(StringUtil.hasWord("say hello there", "hello there"));
+        assertTrue(StringUtil.hasWord("/*hello*/", "hello", true));
+        assertFalse(StringUtil.hasWord("/*hello*/", "hello", false));
+    }
+}
@@ -0,0 +1,175 @@
+package com.github.natche.cyderutils.ui.frame.notification;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the coalescing of duplicate notifications by the {@link NotificationQueue}
+ * of a {@link NotificationController}. Controllers require a shown frame, so notifications
+ * are enqueued following the controller's rule rather than through a controller.
+ */
+class NotificationQueueTest {
+    /** Creates a new instance of this class for testing purposes. */
+    NotificationQueueTest() {}
+
+    /**
+     * Returns a new toast notification built from the provided text which displays its text
+     * wrapped and styled, as a {@link CyderInformNotification} does.
+     *
+     * @param htmlText the html text
+     * @return the notification
+     */
+    private static CyderToastNotification createStyledNotification(String htmlText) {
+        JLabel container = new JLabel(htmlText);
+        container.setSize(100, 20);
+        NotificationBuilder builder = new NotificationBuilder(htmlText).setContainer(container);
+        return new CyderToastNotification(builder) {
+            @Override
+            public Optional<String> getLabelText() {
+                return Optional.of("<html><div style='text-align: center'>" + htmlText + "</div></html>");
+            }
+        };
+    }
+
+    /**
+     * Enqueues a notification for each of the provided texts unless it would be coalesced.
+     *
+     * @param current the notification currently showing, null if none
+     * @param queue   the queue
+     * @param texts   the texts of the notifications to enqueue
+     */
+    private static void enqueue(CyderNotification current, ArrayDeque<CyderNotification> queue, List<String> texts) {
+        for (String text : texts) {
+            if (!NotificationQueue.isDuplicate(text, current, queue)) queue.add(createStyledNotification(text));
+        }
+    }
+
+    /**
+     * Offers a batch of notifications with the provided texts to the provided queue as the controller does,
+     * adding each one which is not a duplicate.
+     *
+     * @param queue the queue
+     * @param texts the texts of the notifications to offer
+     * @return the number of notifications added
+     */
+    private static int offer(NotificationQueue queue, String... texts) {
+        int added = 0;
+        for (String text : texts) {
+            if (queue.isDuplicate(new NotificationBuilder(text))) continue;
+
+            queue.add(createStyledNotification(text));
+            added++;
+        }
+        return added;
+    }
+
+    /**
+     * Returns the builder texts of the notifications queued in the provided queue, in queue order,
+     * showing and killing each of them.
+     *
+     * @param queue the queue
+     * @return the texts of the queued notifications
+     */
+    private static List<String> drain(NotificationQueue queue) {
+        List<String> ret = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            CyderNotification notification = queue.showNext();
+            ret.add(notification.getBuilderHtmlText().orElseThrow());
+            notification.kill();
+            assertTrue(queue.clearCurrentNotification(notification));
+        }
+        return ret;
+    }
+
+    /** Tests for coalescing duplicates of queued and showing notifications. */
+    @Test
+    void testCoalescing() {
+        ArrayDeque<CyderNotification> queue = new ArrayDeque<>();
+        enqueue(null, queue, List.of("Saved", "Saved", "Deleted", "Saved", "Deleted", "Renamed"));
+        assertEquals(3, queue.size());
+        assertEquals(List.of("Saved", "Deleted", "Renamed"),
+                queue.stream().map(notification -> notification.getBuilderHtmlText().orElseThrow()).toList());
+
+        CyderNotification current = queue.poll();
+        enqueue(current, queue, List.of("Saved", "Deleted"));
+        assertEquals(2, queue.size());
+
+        // Once the showing notification is killed its text may be shown again
+        current.kill();
+        enqueue(current, queue, List.of("Saved"));
+        assertEquals(3, queue.size());
+
+        assertFalse(NotificationQueue.isDuplicate("", null, queue));
+        assertFalse(NotificationQueue.isDuplicate("Unseen", null, queue));
+    }
+
+    /** Tests for suppressing duplicates within a batch and across batches while passing distinct texts. */
+    @Test
+    void testBatches() {
+        NotificationQueue queue = new NotificationQueue();
+
+        // Duplicates within a batch are suppressed while distinct texts pass through in order
+        assertEquals(3, offer(queue, "Saved", "Saved", "Deleted", "Saved", "Renamed", "Deleted"));
+        assertEquals(3, queue.size());
+
+        // Duplicates of a queued notification from a later batch are suppressed
+        assertEquals(1, offer(queue, "Deleted", "Copied", "Renamed"));
+        assertEquals(4, queue.size());
+
+        // Duplicates of the showing notification are suppressed although it is no longer queued
+        CyderNotification showing = queue.showNext();
+        assertEquals(Optional.of(showing), queue.getCurrentNotification());
+        assertEquals(Optional.of("Saved"), showing.getBuilderHtmlText());
+        assertEquals(3, queue.size());
+        assertEquals(0, offer(queue, "Saved", "Copied"));
+
+        // Notifications with custom containers are never coalesced
+        JLabel container = new JLabel("Saved");
+        container.setSize(100, 20);
+        assertFalse(queue.isDuplicate(new NotificationBuilder("Saved").setContainer(container)));
+
+        showing.kill();
+        assertTrue(queue.clearCurrentNotification(showing));
+        assertEquals(List.of("Deleted", "Renamed", "Copied"), drain(queue));
+    }
+
+    /** Tests for evicting texts once their notifications have been shown and killed. */
+    @Test
+    void testEviction() {
+        NotificationQueue queue = new NotificationQueue();
+        assertTrue(queue.getCurrentNotification().isEmpty());
+        assertThrows(IllegalStateException.class, queue::showNext);
+
+        for (int i = 0 ; i < 100 ; i++) {
+            assertEquals(1, offer(queue, "Saved", "Saved"));
+            assertEquals(1, queue.size());
+
+            CyderNotification notification = queue.showNext();
+            assertTrue(queue.isEmpty());
+            assertEquals(0, offer(queue, "Saved"));
+
+            // A killed notification no longer suppresses its text, even before it is cleared
+            notification.kill();
+            assertFalse(queue.isDuplicate(new NotificationBuilder("Saved")));
+            assertTrue(queue.clearCurrentNotification(notification));
+            assertFalse(queue.clearCurrentNotification(notification));
+            assertTrue(queue.getCurrentNotification().isEmpty());
+        }
+
+        // Revoked and cleared notifications no longer suppress their texts
+        assertEquals(3, offer(queue, "Saved", "Deleted", "Renamed"));
+        assertTrue(queue.removeQueuedIf(notification -> notification.getBuilderHtmlText().orElseThrow()
+                .equals("Deleted")));
+        assertEquals(1, offer(queue, "Deleted"));
+        queue.clearQueued();
+        assertTrue(queue.isEmpty());
+        assertEquals(3, offer(queue, "Saved", "Deleted", "Renamed"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.github.natche.cyderutils.ui.label;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the {@link RenderedTextCache}. */
+class RenderedTextCacheTest {
+    /** Creates a new instance of this class for testing purposes. */
+    RenderedTextCacheTest() {}
+
+    /** Empties the cache and restores its default maximum. */
+    @AfterEach
+    void clearCache() {
+        RenderedTextCache.INSTANCE.setMaximumBytes(32L * 1024 * 1024);
+        RenderedTextCache.INSTANCE.clear();
+    }
+
+    /**
+     * Returns a new label showing HTML text at a fixed size.
+     *
+     * @param text the text
+     * @return the label
+     */
+    private static CachedTextLabel createLabel(String text) {
+        CachedTextLabel label = new CachedTextLabel(text);
+        label.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 14));
+        label.setForeground(Color.WHITE);
+        label.setSize(160, 40);
+        return label;
+    }
+
+    /**
+     * Paints the provided label into a new translucent image on the event dispatch thread.
+     *
+     * @param label   the label
+     * @param painted set to whether the label was painted from the cache
+     * @return the image
+     */
+    private static BufferedImage paintFromCache(JLabel label, AtomicBoolean painted)
+            throws InterruptedException, InvocationTargetException {
+        BufferedImage image = new BufferedImage(label.getWidth(), label.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        SwingUtilities.invokeAndWait(() -> {
+            Graphics2D graphics = image.createGraphics();
+            painted.set(RenderedTextCache.INSTANCE.paint(label, graphics));
+            graphics.dispose();
+        });
+        return image;
+    }
+
+    /** Tests for rendering on the event dispatch thread and painting cached images. */
+    @Test
+    void testPaint() throws InterruptedException, InvocationTargetException {
+        CachedTextLabel label = createLabel("<html><b>Cached</b> text</html>");
+
+        AtomicBoolean painted = new AtomicBoolean();
+        paintFromCache(label, painted);
+        assertFalse(painted.get());
+
+        // The render queued by the miss runs in a later event
+        SwingUtilities.invokeAndWait(() -> {});
+        assertEquals(1, RenderedTextCache.INSTANCE.size());
+        assertEquals(160L * 40 * 4, RenderedTextCache.INSTANCE.getCachedBytes());
+
+        BufferedImage cached = paintFromCache(label, painted);
+        assertTrue(painted.get());
+
+        BufferedImage expected = new BufferedImage(160, 40, BufferedImage.TYPE_INT_ARGB);
+        SwingUtilities.invokeAndWait(() -> {
+            Graphics2D graphics = expected.createGraphics();
+            label.paint(graphics);
+            graphics.dispose();
+        });
+        boolean anyText = false;
+        for (int y = 0 ; y < 40 ; y++) {
+            for (int x = 0 ; x < 160 ; x++) {
+                assertEquals(expected.getRGB(x, y), cached.getRGB(x, y));
+                anyText |= cached.getRGB(x, y) != 0;
+            }
+        }
+        assertTrue(anyText);
+
+        label.setText("<html>Changed</html>");
+        paintFromCache(label, painted);
+        assertFalse(painted.get());
+        SwingUtilities.invokeAndWait(() -> {});
+        assertEquals(2, RenderedTextCache.INSTANCE.size());
+    }
+
+    /** Tests for eligibility, prerendering, and eviction. */
+    @Test
+    void testPrerenderAndEviction() throws InterruptedException, InvocationTargetException {
+        assertFalse(RenderedTextCache.INSTANCE.prerender(createLabel("")));
+        CachedTextLabel disabled = createLabel("Disabled");
+        disabled.setEnabled(false);
+        assertFalse(RenderedTextCache.INSTANCE.prerender(disabled));
+
+        assertTrue(RenderedTextCache.INSTANCE.prerender(createLabel("First")));
+        assertTrue(RenderedTextCache.INSTANCE.prerender(createLabel("Second")));
+        assertTrue(RenderedTextCache.INSTANCE.prerender(createLabel("First")));
+        SwingUtilities.invokeAndWait(() -> {});
+        SwingUtilities.invokeAndWait(() -> {});
+        assertEquals(2, RenderedTextCache.INSTANCE.size());
+
+        RenderedTextCache.INSTANCE.setMaximumBytes(160L * 40 * 4);
+        assertEquals(1, RenderedTextCache.INSTANCE.size());
+        RenderedTextCache.INSTANCE.setMaximumBytes(0);
+        assertEquals(0, RenderedTextCache.INSTANCE.size());
+        assertEquals(0, RenderedTextCache.INSTANCE.getCachedBytes());
+        assertThrows(IllegalArgumentException.class, () -> RenderedTextCache.INSTANCE.setMaximumBytes(-1));
+    }
+}
@@ -0,0 +1,159 @@
+package com.github.natche.cyderutils.ui.list;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.InputEvent;
+import java.awt.event.MouseEvent;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the virtualized mode of the {@link CyderScrollList}. */
+class CyderScrollListTest {
+    /** The number of elements added to the virtualized lists. */
+    private static final int ELEMENT_COUNT = 1000;
+
+    /** Creates a new instance of this class for testing purposes. */
+    CyderScrollListTest() {}
+
+    /**
+     * Returns a new virtualized scroll list of {@link #ELEMENT_COUNT} elements which has been generated and laid out.
+     *
+     * @param selectionPolicy the selection policy of the list
+     * @return the scroll list
+     */
+    private static CyderScrollList createVirtualizedList(CyderScrollList.SelectionPolicy selectionPolicy) {
+        CyderScrollList list = new CyderScrollList(200, 100, selectionPolicy);
+        list.setRenderMode(CyderScrollList.RenderMode.VIRTUALIZED);
+        for (int i = 0 ; i < ELEMENT_COUNT ; i++) {
+            list.addElement("element " + i);
+        }
+
+        list.generateScrollList();
+        list.getScrollPane().doLayout();
+        return list;
+    }
+
+    /**
+     * Returns the view painting the rows of the provided virtualized list.
+     *
+     * @param list the scroll list
+     * @return the view
+     */
+    private static JComponent getView(CyderScrollList list) {
+        return (JComponent) list.getScrollPane().getViewport().getView();
+    }
+
+    /**
+     * Returns the height of each row of the provided virtualized list.
+     *
+     * @param list the scroll list
+     * @return the height of each row
+     */
+    private static int getRowHeight(CyderScrollList list) {
+        Scrollable view = (Scrollable) getView(list);
+        return view.getScrollableUnitIncrement(new Rectangle(), SwingConstants.VERTICAL, 1);
+    }
+
+    /**
+     * Dispatches a click of the first mouse button at the provided y coordinate of the view of the provided list.
+     *
+     * @param list       the scroll list
+     * @param y          the y coordinate
+     * @param clickCount the number of clicks
+     * @param modifiers  the modifiers held down
+     */
+    private static void click(CyderScrollList list, int y, int clickCount, int modifiers) {
+        JComponent view = getView(list);
+        view.dispatchEvent(new MouseEvent(view, MouseEvent.MOUSE_CLICKED, System.currentTimeMillis(),
+                modifiers, 10, y, 10, y, clickCount, false, MouseEvent.BUTTON1));
+    }
+
+    /** Tests for the rows intersecting a region of the virtualized view. */
+    @Test
+    void testVisibleRows() {
+        assertEquals(0, CyderScrollList.getFirstVisibleRow(0, 10));
+        assertEquals(9, CyderScrollList.getLastVisibleRow(0, 100, 10, 1000));
+        assertEquals(10, CyderScrollList.getFirstVisibleRow(105, 10));
+        assertEquals(20, CyderScrollList.getLastVisibleRow(105, 100, 10, 1000));
+        assertEquals(0, CyderScrollList.getFirstVisibleRow(-5, 10));
+
+        // Clamped to the last row, or before the first if there are none
+        assertEquals(4, CyderScrollList.getLastVisibleRow(0, 100, 10, 5));
+        assertEquals(-1, CyderScrollList.getLastVisibleRow(0, 100, 10, 0));
+        assertEquals(9, CyderScrollList.getLastVisibleRow(100, 0, 10, 1000));
+
+        assertEquals(0, CyderScrollList.getRowAt(0, 10, 5));
+        assertEquals(4, CyderScrollList.getRowAt(49, 10, 5));
+        assertEquals(-1, CyderScrollList.getRowAt(50, 10, 5));
+        assertEquals(-1, CyderScrollList.getRowAt(-1, 10, 5));
+        assertThrows(IllegalArgumentException.class, () -> CyderScrollList.getRowAt(0, 0, 5));
+    }
+
+    /** Tests for selecting elements by clicking the rows of the virtualized view. */
+    @Test
+    void testSelection() {
+        CyderScrollList list = createVirtualizedList(CyderScrollList.SelectionPolicy.SINGLE);
+        int rowHeight = getRowHeight(list);
+
+        click(list, 5 * rowHeight + 1, 1, 0);
+        assertEquals(Optional.of("element 5"), list.getSelectedElement());
+        click(list, 6 * rowHeight - 1, 1, 0);
+        assertEquals(0, list.getSelectedElementCount());
+        click(list, ELEMENT_COUNT * rowHeight + 1, 1, 0);
+        assertEquals(0, list.getSelectedElementCount());
+
+        list.setSelectionPolicy(CyderScrollList.SelectionPolicy.MULTIPLE);
+        click(list, 3 * rowHeight, 1, 0);
+        click(list, 999 * rowHeight, 1, InputEvent.CTRL_DOWN_MASK);
+        assertEquals(ImmutableList.of("element 3", "element 999"), list.getSelectedElements());
+        click(list, 7 * rowHeight, 1, 0);
+        assertEquals(ImmutableList.of("element 7"), list.getSelectedElements());
+
+        AtomicInteger singleClicks = new AtomicInteger();
+        AtomicInteger doubleClicks = new AtomicInteger();
+        list.addElementWithSingleAndDoubleClickAction("actions",
+                singleClicks::incrementAndGet, doubleClicks::incrementAndGet);
+        click(list, ELEMENT_COUNT * rowHeight, 1, 0);
+        assertEquals(1, singleClicks.get());
+        assertEquals(ImmutableList.of("actions"), list.getSelectedElements());
+        click(list, ELEMENT_COUNT * rowHeight, 2, 0);
+        assertEquals(1, doubleClicks.get());
+        assertEquals(0, list.getSelectedElementCount());
+    }
+
+    /** Tests for scrolling the virtualized view. */
+    @Test
+    void testScrolling() {
+        CyderScrollList list = createVirtualizedList(CyderScrollList.SelectionPolicy.SINGLE);
+        int rowHeight = getRowHeight(list);
+        JComponent view = getView(list);
+        assertEquals(ELEMENT_COUNT * rowHeight, view.getPreferredSize().height);
+        assertFalse(((Scrollable) view).getScrollableTracksViewportHeight());
+
+        JViewport viewport = list.getScrollPane().getViewport();
+        viewport.setViewPosition(new Point(0, 500 * rowHeight));
+        Rectangle visible = viewport.getViewRect();
+        assertTrue(visible.height > 0);
+        assertEquals(visible.height,
+                ((Scrollable) view).getScrollableBlockIncrement(visible, SwingConstants.VERTICAL, 1));
+        assertEquals(500, CyderScrollList.getFirstVisibleRow(visible.y, rowHeight));
+        assertEquals(500 + (visible.height - 1) / rowHeight,
+                CyderScrollList.getLastVisibleRow(visible.y, visible.height, rowHeight, ELEMENT_COUNT));
+
+        // Clicks are resolved against the view, so a scrolled view selects the row under the mouse
+        click(list, visible.y + 1, 1, 0);
+        assertEquals(Optional.of("element 500"), list.getSelectedElement());
+
+        list.removeAllElements();
+        list.addElement("only");
+        assertEquals(rowHeight, view.getPreferredSize().height);
+        list.getScrollPane().doLayout();
+        viewport.doLayout();
+        assertTrue(((Scrollable) view).getScrollableTracksViewportHeight());
+    }
+}
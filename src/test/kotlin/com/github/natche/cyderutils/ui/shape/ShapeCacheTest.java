@@ -0,0 +1,91 @@
+package com.github.natche.cyderutils.ui.shape;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the {@link ShapeCache}. */
+class ShapeCacheTest {
+    /** Creates a new instance of this class for testing purposes. */
+    ShapeCacheTest() {}
+
+    /** Tests for the get shape method. */
+    @Test
+    void testGetShape() {
+        ShapeCache cache = ShapeCache.INSTANCE;
+        ShapeKey key = new ShapeKey(ShapeKind.NOTIFICATION_BODY, 10, 20, 2, 0, null);
+
+        assertThrows(NullPointerException.class, () -> cache.getShape(null, k -> new Rectangle()));
+        assertThrows(NullPointerException.class, () -> cache.getShape(key, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ShapeKey(ShapeKind.ROUNDED_RECTANGLE, -1, 0, 0, 0, null));
+
+        AtomicInteger factoryInvocations = new AtomicInteger();
+        Shape first = cache.getShape(key, k -> {
+            factoryInvocations.incrementAndGet();
+            return new Rectangle(k.width(), k.height());
+        });
+        Shape second = cache.getShape(key, k -> {
+            factoryInvocations.incrementAndGet();
+            return new Rectangle(k.width(), k.height());
+        });
+
+        assertSame(first, second);
+        assertEquals(1, factoryInvocations.get());
+    }
+
+    /** Tests for the get rounded rectangle method. */
+    @Test
+    void testGetRoundedRectangle() {
+        ShapeCache cache = ShapeCache.INSTANCE;
+
+        Shape outer = cache.getRoundedRectangle(100, 40, 20, 0);
+        Shape inner = cache.getRoundedRectangle(100, 40, 20, 5);
+
+        assertSame(outer, cache.getRoundedRectangle(100, 40, 20, 0));
+        assertEquals(new Rectangle2D.Double(0, 0, 100, 40), outer.getBounds2D());
+        assertEquals(new Rectangle2D.Double(5, 5, 90, 30), inner.getBounds2D());
+    }
+
+    /** Tests that a rounded rectangle sprite paints identically to filling the geometry directly. */
+    @Test
+    void testRoundedRectangleSprite() {
+        int arc = 20;
+        int borderLength = 5;
+        Color borderColor = Color.black;
+        Color fillColor = new Color(200, 30, 40);
+        NineSliceSprite sprite = ShapeCache.INSTANCE.getRoundedRectangleSprite(
+                arc, borderLength, borderColor, fillColor);
+
+        int width = 150;
+        int height = 45;
+        BufferedImage expected = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D expectedGraphics = expected.createGraphics();
+        expectedGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        expectedGraphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        expectedGraphics.setPaint(borderColor);
+        expectedGraphics.fill(new RoundRectangle2D.Double(0, 0, width, height, arc, arc));
+        expectedGraphics.setPaint(fillColor);
+        expectedGraphics.fill(new RoundRectangle2D.Double(borderLength, borderLength,
+                width - 2 * borderLength, height - 2 * borderLength, arc, arc));
+        expectedGraphics.dispose();
+
+        BufferedImage actual = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D actualGraphics = actual.createGraphics();
+        assertTrue(sprite.paint(actualGraphics, 0, 0, width, height));
+        assertFalse(sprite.paint(actualGraphics, 0, 0, sprite.getSourceSize() - 1, height));
+        actualGraphics.dispose();
+
+        for (int x = 0 ; x < width ; x++) {
+            for (int y = 0 ; y < height ; y++) {
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+}
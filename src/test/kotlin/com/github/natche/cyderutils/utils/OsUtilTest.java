@@ -0,0 +1,126 @@
+package com.github.natche.cyderutils.utils;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/** Tests for the file deletion methods of {@link OsUtil}. */
+class OsUtilTest {
+    /** The temporary directory of the current test. */
+    private Path temp;
+
+    /** Creates a new instance of this class for testing purposes. */
+    OsUtilTest() {}
+
+    /**
+     * Creates the temporary directory of the current test.
+     *
+     * @throws IOException if the directory cannot be created
+     */
+    @BeforeEach
+    void createTemporaryDirectory() throws IOException {
+        temp = Files.createTempDirectory("os_util_test");
+    }
+
+    /**
+     * Deletes the temporary directory of the current test.
+     *
+     * @throws IOException if the directory cannot be deleted
+     */
+    @AfterEach
+    void deleteTemporaryDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(temp)) {
+            paths.filter(Files::isDirectory).forEach(path -> path.toFile().setWritable(true));
+        }
+        MoreFiles.deleteRecursively(temp, RecursiveDeleteOption.ALLOW_INSECURE);
+    }
+
+    /**
+     * Creates a nested tree of four directories and five files beneath the provided root.
+     *
+     * @param root the root of the tree
+     * @return the root of the tree
+     * @throws IOException if the tree cannot be created
+     */
+    private static Path createTree(Path root) throws IOException {
+        Files.createDirectories(root.resolve("first/second"));
+        Files.createDirectories(root.resolve("empty"));
+        Files.writeString(root.resolve("top.txt"), "top");
+        Files.writeString(root.resolve("first/one.txt"), "one");
+        Files.writeString(root.resolve("first/two.txt"), "two");
+        Files.writeString(root.resolve("first/second/three.txt"), "three");
+        Files.write(root.resolve("first/second/four.bin"), new byte[4096]);
+        return root;
+    }
+
+    /** Tests for deleting a nested tree sequentially and in parallel. */
+    @Test
+    void testDeleteTree() throws IOException {
+        for (boolean parallel : new boolean[]{false, true}) {
+            Path root = createTree(temp.resolve("tree" + parallel));
+            OsUtil.DeletionResult result = OsUtil.deleteTree(root, parallel);
+            assertTrue(result.isSuccessful());
+            assertEquals(9, result.deletedCount());
+            assertFalse(Files.exists(root));
+        }
+
+        Path file = Files.writeString(temp.resolve("file.txt"), "file");
+        OsUtil.DeletionResult result = OsUtil.deleteTree(file, true);
+        assertTrue(result.isSuccessful());
+        assertEquals(1, result.deletedCount());
+        assertFalse(Files.exists(file));
+
+        Path tree = createTree(temp.resolve("tree"));
+        assertTrue(OsUtil.deleteFile(tree.toFile(), false));
+        assertFalse(Files.exists(tree));
+    }
+
+    /** Tests for deleting a root which does not exist. */
+    @Test
+    void testDeleteMissingRoot() {
+        Path missing = temp.resolve("missing");
+        for (boolean parallel : new boolean[]{false, true}) {
+            OsUtil.DeletionResult result = OsUtil.deleteTree(missing, parallel);
+            assertTrue(result.isSuccessful());
+            assertEquals(0, result.deletedCount());
+        }
+
+        assertFalse(OsUtil.deleteFile(missing.toFile()));
+        assertThrows(NullPointerException.class, () -> OsUtil.deleteTree(null, true));
+    }
+
+    /** Tests for deleting a tree containing a file which cannot be deleted. */
+    @Test
+    void testDeleteTreeWithLockedFile() throws IOException {
+        Path root = createTree(temp.resolve("tree"));
+        Path locked = root.resolve("first/second");
+        assertTrue(locked.toFile().setWritable(false));
+        assumeFalse(Files.isWritable(locked), "Permissions are not enforced for the current user");
+
+        OsUtil.DeletionResult result = OsUtil.deleteTree(root, true);
+        assertFalse(result.isSuccessful());
+        assertEquals(2, result.failures().size());
+        assertTrue(result.failures().get(locked.resolve("three.txt")) instanceof AccessDeniedException);
+        assertTrue(result.failures().get(locked.resolve("four.bin")) instanceof AccessDeniedException);
+
+        // The directories containing the failures are left in place without being reported
+        assertEquals(4, result.deletedCount());
+        assertTrue(Files.exists(locked.resolve("three.txt")));
+        assertTrue(Files.isDirectory(root.resolve("first")));
+        assertFalse(Files.exists(root.resolve("first/one.txt")));
+        assertFalse(Files.exists(root.resolve("empty")));
+
+        assertFalse(OsUtil.deleteFile(root.toFile(), false));
+    }
+}
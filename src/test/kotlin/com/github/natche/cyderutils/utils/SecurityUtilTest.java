@@ -0,0 +1,85 @@
+package com.github.natche.cyderutils.utils;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the hashing methods of {@link SecurityUtil}. */
+class SecurityUtilTest {
+    /** The SHA-256 of "abc". */
+    private static final String abcSha256
+            = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+    /** The SHA-1 of "abc". */
+    private static final String abcSha1 = "a9993e364706816aba3e25717850c26c9cd0d89d";
+
+    /** The MD5 of "abc". */
+    private static final String abcMd5 = "900150983cd24fb0d6963f7d28e17f72";
+
+    /** Creates a new instance of this class for testing purposes. */
+    SecurityUtilTest() {}
+
+    /** Tests for the toHexString method. */
+    @Test
+    void testToHexString() {
+        assertThrows(NullPointerException.class, () -> SecurityUtil.toHexString(null));
+        assertThrows(IllegalArgumentException.class, () -> SecurityUtil.toHexString(new byte[0]));
+
+        assertEquals("00", SecurityUtil.toHexString(new byte[]{0}));
+        assertEquals("000fff", SecurityUtil.toHexString(new byte[]{0, 15, (byte) 255}));
+        assertEquals(abcSha256, SecurityUtil.toHexString(SecurityUtil.getSha256("abc".toCharArray())));
+        assertEquals(abcSha1, SecurityUtil.toHexString(SecurityUtil.getSha1("abc".toCharArray())));
+        assertEquals(abcMd5, SecurityUtil.toHexString(SecurityUtil.getMd5("abc".toCharArray())));
+    }
+
+    /** Tests for the hash methods. */
+    @Test
+    void testHash() throws IOException {
+        byte[] abc = "abc".getBytes(StandardCharsets.UTF_8);
+        assertEquals(abcSha256, SecurityUtil.toHexString(
+                SecurityUtil.hash(SecurityUtil.HashingAlgorithm.SHA256, abc)));
+        assertEquals(abcMd5, SecurityUtil.toHexString(
+                SecurityUtil.hash(SecurityUtil.HashingAlgorithm.MD5, new ByteArrayInputStream(abc))));
+
+        Path file = Files.createTempFile("SecurityUtilTest", ".txt");
+        try {
+            Files.write(file, abc);
+            assertEquals(abcSha1, SecurityUtil.toHexString(
+                    SecurityUtil.hash(SecurityUtil.HashingAlgorithm.SHA1, file)));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /** Tests for the hashAll method. */
+    @Test
+    void testHashAll() throws IOException {
+        Path first = Files.createTempFile("SecurityUtilTest", ".txt");
+        Path second = Files.createTempFile("SecurityUtilTest", ".txt");
+        try {
+            Files.writeString(first, "abc");
+            Files.writeString(second, "");
+
+            ImmutableMap<Path, byte[]> hashes = SecurityUtil.hashAll(SecurityUtil.HashingAlgorithm.SHA256,
+                    ImmutableList.of(first, second, first));
+            assertEquals(ImmutableList.of(first, second), hashes.keySet().asList());
+            assertEquals(abcSha256, SecurityUtil.toHexString(hashes.get(first)));
+            assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+                    SecurityUtil.toHexString(hashes.get(second)));
+
+            assertThrows(IOException.class, () -> SecurityUtil.hashAll(SecurityUtil.HashingAlgorithm.SHA256,
+                    ImmutableList.of(first.resolveSibling("SecurityUtilTestMissing.txt"))));
+        } finally {
+            Files.delete(first);
+            Files.delete(second);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.natche.cyderutils.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the bulk and fractal methods of the {@link SimplexNoiseUtil}. */
+class SimplexNoiseUtilTest {
+    /** Creates a new instance of this class for testing purposes. */
+    SimplexNoiseUtilTest() {}
+
+    /** Tests for filling grids, both sequentially and in parallel. */
+    @Test
+    void testFill() {
+        SimplexNoiseUtil noise = new SimplexNoiseUtil(42);
+
+        // Large enough to be filled in parallel
+        int width = 300;
+        int height = 200;
+        double[] plane = new double[width * height];
+        noise.fill2D(plane, -3.5, 2, 0.05, 0.07, width, height);
+        for (int row = 0 ; row < height ; row++) {
+            for (int column = 0 ; column < width ; column++) {
+                assertEquals(noise.eval(-3.5 + column * 0.05, 2 + row * 0.07), plane[row * width + column]);
+            }
+        }
+
+        double[] volume = new double[7 * 5 * 3];
+        noise.fill3D(volume, 1, 2, 3, 0.3, 0.2, 0.1, 7, 5, 3);
+        for (int slice = 0 ; slice < 3 ; slice++) {
+            for (int row = 0 ; row < 5 ; row++) {
+                for (int column = 0 ; column < 7 ; column++) {
+                    assertEquals(noise.eval(1 + column * 0.3, 2 + row * 0.2, 3 + slice * 0.1),
+                            volume[(slice * 5 + row) * 7 + column]);
+                }
+            }
+        }
+
+        SimplexNoiseUtil.Octaves octaves = new SimplexNoiseUtil.Octaves(4, 2, 0.5);
+        double[] frames = new double[4 * 3 * 2 * 2];
+        noise.fill4D(frames, 0, 0, 0, 10, 0.4, 0.3, 0.2, 0.1, 4, 3, 2, 2, octaves);
+        for (int frame = 0 ; frame < 2 ; frame++) {
+            for (int slice = 0 ; slice < 2 ; slice++) {
+                for (int row = 0 ; row < 3 ; row++) {
+                    for (int column = 0 ; column < 4 ; column++) {
+                        assertEquals(noise.evalFractal(column * 0.4, row * 0.3, slice * 0.2, 10 + frame * 0.1,
+                                octaves), frames[((frame * 2 + slice) * 3 + row) * 4 + column]);
+                    }
+                }
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> noise.fill2D(new double[5], 0, 0, 1, 1, 3, 2));
+        assertThrows(IllegalArgumentException.class, () -> noise.fill3D(new double[5], 0, 0, 0, 1, 1, 1, -1, 1, 1));
+        assertThrows(NullPointerException.class, () -> noise.fill2D(null, 0, 0, 1, 1, 1, 1));
+    }
+
+    /** Tests for summing octaves of fractal Brownian motion. */
+    @Test
+    void testEvalFractal() {
+        SimplexNoiseUtil noise = new SimplexNoiseUtil();
+
+        assertEquals(noise.eval(0.3, 0.7), noise.evalFractal(0.3, 0.7, SimplexNoiseUtil.Octaves.SINGLE));
+        assertEquals(noise.eval(0.3, 0.7, 1.1), noise.evalFractal(0.3, 0.7, 1.1, SimplexNoiseUtil.Octaves.SINGLE));
+
+        SimplexNoiseUtil.Octaves octaves = new SimplexNoiseUtil.Octaves(3, 2, 0.5);
+        double expected = (noise.eval(0.3, 0.7) + 0.5 * noise.eval(0.6, 1.4) + 0.25 * noise.eval(1.2, 2.8)) / 1.75;
+        assertEquals(expected, noise.evalFractal(0.3, 0.7, octaves), 1e-12);
+
+        for (int i = 0 ; i < 1000 ; i++) {
+            double value = noise.evalFractal(i * 0.37, i * -0.11, 0.5 * i, octaves);
+            assertTrue(value >= -1 && value <= 1);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new SimplexNoiseUtil.Octaves(0, 2, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new SimplexNoiseUtil.Octaves(2, 0, 0.5));
+    }
+}
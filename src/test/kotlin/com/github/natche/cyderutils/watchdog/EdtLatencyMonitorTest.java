@@ -0,0 +1,91 @@
+package com.github.natche.cyderutils.watchdog;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the {@link EdtLatencyMonitor}. */
+class EdtLatencyMonitorTest {
+    /** Creates a new instance of this class for testing purposes. */
+    EdtLatencyMonitorTest() {}
+
+    /**
+     * Blocks until every event currently queued has been dispatched.
+     *
+     * @throws InterruptedException      if interrupted while waiting
+     * @throws InvocationTargetException if an event throws
+     */
+    private static void flushEventQueue() throws InterruptedException, InvocationTargetException {
+        EventQueue.invokeAndWait(() -> {});
+    }
+
+    /** Tests for recording dispatch delays and detecting a stall using a manual clock. */
+    @Test
+    void testStallDetection() throws Exception {
+        AtomicLong clock = new AtomicLong(1_000_000_000L);
+        EdtLatencyMonitor monitor = new EdtLatencyMonitor(Duration.ofMillis(100), Duration.ofSeconds(5), clock::get);
+        List<EdtStall> stalls = new ArrayList<>();
+        monitor.addStallListener(stalls::add);
+        assertNull(monitor.getEventDispatchThreadState());
+
+        // A probe dispatched promptly is recorded without a stall
+        monitor.tick();
+        clock.addAndGet(Duration.ofMillis(3).toNanos());
+        assertEquals(Duration.ofMillis(3), monitor.getCurrentDelay());
+        flushEventQueue();
+        assertEquals(1, monitor.getProbeCount());
+        assertEquals(Duration.ZERO, monitor.getCurrentDelay());
+        assertNotNull(monitor.getEventDispatchThreadState());
+
+        // A probe queued behind a blocked handler is reported once it waits for the stall threshold
+        CountDownLatch handlerStarted = new CountDownLatch(1);
+        CountDownLatch releaseHandler = new CountDownLatch(1);
+        EventQueue.invokeLater(() -> {
+            handlerStarted.countDown();
+            try {
+                releaseHandler.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        handlerStarted.await();
+
+        monitor.tick();
+        clock.addAndGet(Duration.ofMillis(4999).toNanos());
+        monitor.tick();
+        assertTrue(stalls.isEmpty());
+
+        clock.addAndGet(Duration.ofMillis(1).toNanos());
+        monitor.tick();
+        assertEquals(1, stalls.size());
+        assertEquals(Duration.ofSeconds(5), stalls.get(0).observed());
+        assertTrue(stalls.get(0).stack().stream()
+                .anyMatch(frame -> frame.getClassName().equals(CountDownLatch.class.getName())));
+        assertEquals(Thread.State.WAITING, monitor.getEventDispatchThreadState());
+
+        // The same stalled probe is reported only once
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        monitor.tick();
+        assertEquals(1, stalls.size());
+        assertEquals(1, monitor.getStallCount());
+        assertEquals(stalls, monitor.getRecentStalls());
+
+        releaseHandler.countDown();
+        flushEventQueue();
+        assertEquals(2, monitor.getProbeCount());
+        assertEquals(Duration.ofSeconds(10), monitor.getMaxLatency());
+
+        monitor.reset();
+        assertEquals(0, monitor.getStallCount());
+        assertTrue(monitor.getRecentStalls().isEmpty());
+        assertFalse(monitor.isRunning());
+    }
+}
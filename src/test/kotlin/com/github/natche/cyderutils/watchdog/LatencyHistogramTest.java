@@ -0,0 +1,45 @@
+package com.github.natche.cyderutils.watchdog;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the {@link LatencyHistogram}. */
+class LatencyHistogramTest {
+    /** Creates a new instance of this class for testing purposes. */
+    LatencyHistogramTest() {}
+
+    /** Tests for recording latencies and reading percentiles. */
+    @Test
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(-1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101));
+        assertEquals(Duration.ZERO, histogram.getValueAtPercentile(50));
+
+        for (int i = 1 ; i <= 1000 ; i++) {
+            histogram.record(i * 1_000_000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(Duration.ofMillis(1000), histogram.getMax());
+        assertEquals(Duration.ofNanos(500_500_000L), histogram.getMean());
+        assertEquals(Duration.ofMillis(1000), histogram.getValueAtPercentile(100));
+
+        long median = histogram.getValueAtPercentile(50).toNanos();
+        assertTrue(median >= 500_000_000L && median <= 500_000_000L * 1.04);
+        long p99 = histogram.getValueAtPercentile(99).toNanos();
+        assertTrue(p99 >= 990_000_000L && p99 <= 1_000_000_000L);
+
+        histogram.record(7);
+        assertEquals(Duration.ofNanos(7), histogram.getValueAtPercentile(0));
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Duration.ofNanos(Long.MAX_VALUE), histogram.getValueAtPercentile(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(Duration.ZERO, histogram.getMax());
+    }
+}
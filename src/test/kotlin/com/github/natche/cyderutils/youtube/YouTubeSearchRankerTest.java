@@ -0,0 +1,74 @@
+package com.github.natche.cyderutils.youtube;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests for the {@link YouTubeSearchRanker}. */
+class YouTubeSearchRankerTest {
+    /** Creates a new instance of this class for testing purposes. */
+    YouTubeSearchRankerTest() {}
+
+    /** Tests for extracting candidate uuids from search results. */
+    @Test
+    void testExtractCandidateUuids() {
+        String results = "{\"videoId\":\"aaaaaaaaaaa\"}{\"videoId\":\"bbbbbbbbbbb\"}"
+                + "{\"videoId\":\"aaaaaaaaaaa\"}{\"videoId\":\"bad!\"}{\"videoId\":\"ccccccccccc\"}";
+
+        assertEquals(ImmutableList.of("aaaaaaaaaaa", "bbbbbbbbbbb", "ccccccccccc"),
+                YouTubeSearchRanker.extractCandidateUuids(results, 10));
+        assertEquals(ImmutableList.of("aaaaaaaaaaa"), YouTubeSearchRanker.extractCandidateUuids(results, 1));
+        assertEquals(ImmutableList.of(), YouTubeSearchRanker.extractCandidateUuids("no videos", 10));
+    }
+
+    /** Tests for ranking candidates by their titles. */
+    @Test
+    void testRank() {
+        List<String> uuids = List.of("first", "second", "third", "fourth");
+        Map<String, String> titles = Map.of(
+                "first", "Something Else Entirely - YouTube",
+                "second", "Never Gonna Give You Up - YouTube",
+                "fourth", "never gonna give you up");
+
+        ImmutableList<YouTubeSearchRanker.RankedVideo> ranked = YouTubeSearchRanker.rank(
+                "never gonna give you up", uuids, titles);
+        assertEquals(List.of("second", "fourth", "first", "third"),
+                ranked.stream().map(YouTubeSearchRanker.RankedVideo::uuid).toList());
+        assertEquals(OptionalInt.of(0), ranked.get(0).distance());
+        assertEquals(OptionalInt.of(0), ranked.get(1).distance());
+        assertTrue(ranked.get(3).distance().isEmpty());
+    }
+
+    /** Tests for fetching titles concurrently within a deadline. */
+    @Test
+    void testRankCandidates() {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            ImmutableList<YouTubeSearchRanker.RankedVideo> ranked = YouTubeSearchRanker.rankCandidates(
+                    "query", List.of("slow", "close", "exact"), uuid -> {
+                        if (uuid.equals("slow")) {
+                            try {
+                                Thread.sleep(5000);
+                            } catch (InterruptedException ignored) {}
+                            return Optional.of("query");
+                        }
+                        return Optional.of(uuid.equals("exact") ? "Query" : "queries");
+                    }, Duration.ofMillis(500), executor).join();
+
+            assertEquals(List.of("exact", "close", "slow"),
+                    ranked.stream().map(YouTubeSearchRanker.RankedVideo::uuid).toList());
+            assertTrue(ranked.get(2).distance().isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}